@@ -0,0 +1,27 @@
+package com.example.avro.util;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Names of the JMS properties that carry the hop timestamps of a request back to perf-tester.
+ * Between the services the timestamps travel in the {@code MqMessage} fields; the reply put on
+ * MQ copies them into these properties, together with the two stamps of the reply leg. Values
+ * are microseconds since the epoch on the clock of the service that took them.
+ */
+public final class HopTimestamps {
+
+    public static final String MQ_RECEIVED = "hopMqReceived";
+    public static final String KAFKA_REQUEST_SENT = "hopKafkaRequestSent";
+    public static final String KAFKA_REQUEST_RECEIVED = "hopKafkaRequestReceived";
+    public static final String KAFKA_RESPONSE_SENT = "hopKafkaResponseSent";
+    public static final String KAFKA_RESPONSE_RECEIVED = "hopKafkaResponseReceived";
+    public static final String MQ_REPLY_SENT = "hopMqReplySent";
+
+    private HopTimestamps() {
+    }
+
+    public static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
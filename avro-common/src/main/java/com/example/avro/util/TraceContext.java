@@ -0,0 +1,22 @@
+package com.example.avro.util;
+
+/**
+ * W3C trace context of a request. perf-tester puts a {@code traceparent} on every request; the
+ * consumers pass it on unchanged, as a Kafka header between them and as a JMS property on the
+ * reply, and log its trace id so the logs of one message can be found from its trace.
+ */
+public final class TraceContext {
+
+    /** Name of the JMS property and of the Kafka header. */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private TraceContext() {
+    }
+
+    /** The trace id of a {@code traceparent} value, or null when there is none. */
+    public static String traceId(String traceparent) {
+        return traceparent != null && traceparent.length() == TRACEPARENT_LENGTH ? traceparent.substring(3, 35) : null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Java Flight Recorder control at {@code /actuator/jfr}, so a test run can record the service
+ * while it measures. Shared by perf-tester and the consumers, which import it into their context. {@code POST} starts a recording with a JFR settings profile, {@code DELETE}
+ * stops it and keeps the dump, and {@code GET} downloads the dump of the last recording.
+ *
+ * <p>Dumps can be downloaded by anyone who reaches the actuator, so the events that copy the
+ * environment, the system properties and the JVM command line, which may carry credentials, are
+ * never recorded.
+ */
+@Slf4j
+@Endpoint(id = "jfr")
+public class JfrEndpoint implements AutoCloseable {
+
+    public static final String DEFAULT_PROFILE = "profile";
+
+    static final List<String> SENSITIVE_EVENTS =
+            List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String profile;
+    private Path dump;
+
+    /**
+     * Starts a recording, replacing one still in progress.
+     *
+     * @param profile JFR settings to record with: {@code default} for low overhead or {@code profile}
+     *                (the default) for method samples and allocation sites at a higher rate
+     */
+    @WriteOperation
+    public Status start(@OptionalParameter String profile) {
+        var settings = profile != null ? profile : DEFAULT_PROFILE;
+        var configuration = configuration(settings);
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+            }
+            recording = new Recording(configuration);
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setName("perf-test");
+            recording.start();
+            this.profile = settings;
+            log.info("JFR recording started with profile '{}'", settings);
+            return new Status(true, settings, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops the recording and keeps its dump for download; 404 when nothing is recording. */
+    @DeleteOperation
+    public WebEndpointResponse<Status> stop() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            deleteDump();
+            dump = Files.createTempFile("jfr-", ".jfr");
+            try (var stopped = recording) {
+                recording = null;
+                stopped.stop();
+                stopped.dump(dump);
+            }
+            var size = Files.size(dump);
+            log.info("JFR recording stopped: {} bytes", size);
+            return new WebEndpointResponse<>(new Status(false, profile, size));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Downloads the dump of the last stopped recording; 404 when there is none. */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download() {
+        lock.lock();
+        try {
+            if (dump == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(new FileSystemResource(dump));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+            deleteDump();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteDump() throws IOException {
+        if (dump != null) {
+            Files.deleteIfExists(dump);
+            dump = null;
+        }
+    }
+
+    private static Configuration configuration(String profile) {
+        try {
+            return Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR profile '" + profile + "'",
+                    "Unknown JFR profile", e);
+        }
+    }
+
+    /**
+     * @param recording whether a recording is in progress
+     * @param profile   JFR settings of the current or last recording
+     * @param dumpBytes size of the dump kept for download, 0 while recording
+     */
+    public record Status(boolean recording, String profile, long dumpBytes) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Fields shared by the JFR events of the messaging hot paths. Each service extends it with one
+ * event per hot path, named and categorised after the service; the events are committed by
+ * {@link MessageEvents}, only for messages at least as slow as the configured threshold.
+ *
+ * <p>The fields are protected because JFR generates {@code commit()} in each subclass, which
+ * lives in the service's own package.
+ */
+@Category("Messaging")
+@StackTrace(false)
+public class MessageEvent extends Event {
+
+    @Label("Correlation ID")
+    protected String correlationId;
+
+    @Label("Payload Size")
+    @DataAmount
+    protected long payloadBytes;
+
+    @Label("Latency")
+    @Timespan
+    protected long latency;
+
+    @Label("Thread Type")
+    @Description("virtual or platform")
+    protected String threadType;
+
+    protected MessageEvent() {
+        // Only the hot-path events of the services are committed
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.profiling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Commits the JFR events of the messaging hot paths. Messages faster than
+ * {@code app.jfr.event-threshold-ms} (10 by default, 0 records every message) cost one
+ * comparison, and the fields of slower ones are only filled in while a recording has the event
+ * enabled, so a recording can explain outliers without DEBUG logging.
+ *
+ * <p>Shared by perf-tester and the consumers, which each {@code @Import} it.
+ */
+public class MessageEvents {
+
+    static final String VIRTUAL = "virtual";
+    static final String PLATFORM = "platform";
+
+    private final long thresholdNanos;
+
+    public MessageEvents(@Value("${app.jfr.event-threshold-ms:10}") long thresholdMs) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Commits an event of the given type when the message was at least as slow as the threshold.
+     *
+     * @param type          event type of the hot path, such as {@code MessageSendEvent::new}
+     * @param correlationId id the message is correlated by through the pipeline
+     * @param payload       message body, measured in UTF-8 bytes
+     * @param latencyNanos  how long the hot path, or for responses the round trip, took
+     */
+    public <E extends MessageEvent> void record(Supplier<E> type, @Nullable String correlationId,
+                                                @Nullable String payload, long latencyNanos) {
+        if (latencyNanos < thresholdNanos) {
+            return;
+        }
+        var event = type.get();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.correlationId = correlationId;
+        event.payloadBytes = payload != null ? payload.getBytes(StandardCharsets.UTF_8).length : 0;
+        event.latency = latencyNanos;
+        event.threadType = Thread.currentThread().isVirtual() ? VIRTUAL : PLATFORM;
+        event.commit();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.tuning;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concurrency of a service's Kafka listener containers, which only takes effect when a container
+ * restarts. Shared by the consumers' tuning endpoints.
+ */
+public final class KafkaListenerTuning {
+
+    /** Requested concurrency for one consumer per partition. */
+    public static final String AUTO = "auto";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final KafkaAdmin kafkaAdmin;
+
+    public KafkaListenerTuning(KafkaListenerEndpointRegistry registry, KafkaAdmin kafkaAdmin) {
+        this.registry = registry;
+        this.kafkaAdmin = kafkaAdmin;
+    }
+
+    /** Consumers per container, by listener id. */
+    public Map<String, Integer> concurrency() {
+        var concurrency = new LinkedHashMap<String, Integer>();
+        for (var container : containers()) {
+            concurrency.put(container.getListenerId(), container.getConcurrency());
+        }
+        return concurrency;
+    }
+
+    /** Validates the requested concurrency and resolves it per container; empty when none was requested. */
+    public Map<ConcurrentMessageListenerContainer<?, ?>, Integer> targets(@Nullable String requested) {
+        if (requested == null) {
+            return Map.of();
+        }
+        var auto = AUTO.equalsIgnoreCase(requested.trim());
+        var value = auto ? 0 : positive(requested);
+        var targets = new LinkedHashMap<ConcurrentMessageListenerContainer<?, ?>, Integer>();
+        for (var container : containers()) {
+            // Consumers beyond the partition count would only sit idle in the group
+            var partitions = partitions(container);
+            targets.put(container, auto ? partitions : Math.min(value, partitions));
+        }
+        return targets;
+    }
+
+    /** Running containers whose concurrency changes, or all running ones when {@code restartAll} is set. */
+    public List<ConcurrentMessageListenerContainer<?, ?>> toRestart(
+            Map<ConcurrentMessageListenerContainer<?, ?>, Integer> targets, boolean restartAll) {
+        var restart = new ArrayList<ConcurrentMessageListenerContainer<?, ?>>();
+        for (var container : containers()) {
+            var target = targets.getOrDefault(container, container.getConcurrency());
+            if (container.isRunning() && (restartAll || target != container.getConcurrency())) {
+                restart.add(container);
+            }
+        }
+        return restart;
+    }
+
+    private int partitions(ConcurrentMessageListenerContainer<?, ?> container) {
+        return kafkaAdmin.describeTopics(container.getContainerProperties().getTopics()).values().stream()
+                .mapToInt(topic -> topic.partitions().size())
+                .sum();
+    }
+
+    private List<ConcurrentMessageListenerContainer<?, ?>> containers() {
+        var containers = new ArrayList<ConcurrentMessageListenerContainer<?, ?>>();
+        for (var container : registry.getListenerContainers()) {
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent) {
+                containers.add(concurrent);
+            }
+        }
+        return containers;
+    }
+
+    private static int positive(String value) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            parsed = 0;
+        }
+        if (parsed < 1) {
+            throw new InvalidEndpointRequestException(
+                    "kafkaConcurrency must be a positive number or '" + AUTO + "': " + value,
+                    "Invalid kafkaConcurrency");
+        }
+        return parsed;
+    }
+}
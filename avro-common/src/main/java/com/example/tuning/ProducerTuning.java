@@ -0,0 +1,54 @@
+package com.example.tuning;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code linger.ms} and {@code batch.size} of the Kafka producer, which take effect once it is rebuilt. */
+public final class ProducerTuning {
+
+    private final ProducerFactory<?, ?> producerFactory;
+
+    public ProducerTuning(ProducerFactory<?, ?> producerFactory) {
+        this.producerFactory = producerFactory;
+    }
+
+    public Map<String, Object> settings() {
+        var configs = producerFactory.getConfigurationProperties();
+        var settings = new LinkedHashMap<String, Object>();
+        settings.put(ProducerConfig.LINGER_MS_CONFIG, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        settings.put(ProducerConfig.BATCH_SIZE_CONFIG, configs.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        return settings;
+    }
+
+    /** Validates the requested settings as producer configs; empty when none was requested. */
+    public static Map<String, Object> updates(@Nullable Integer lingerMs, @Nullable Integer batchSize) {
+        var updates = new LinkedHashMap<String, Object>();
+        if (lingerMs != null) {
+            updates.put(ProducerConfig.LINGER_MS_CONFIG, notNegative("lingerMs", lingerMs));
+        }
+        if (batchSize != null) {
+            updates.put(ProducerConfig.BATCH_SIZE_CONFIG, notNegative("batchSize", batchSize));
+        }
+        return updates;
+    }
+
+    /** Applies the updates and drops the current producer, so the next send builds one with them. */
+    public void apply(Map<String, Object> updates) {
+        if (!updates.isEmpty()) {
+            producerFactory.updateConfigs(updates);
+            producerFactory.reset();
+        }
+    }
+
+    private static int notNegative(String name, int value) {
+        if (value < 0) {
+            throw new InvalidEndpointRequestException(name + " must not be negative: " + value, "Invalid " + name);
+        }
+        return value;
+    }
+}
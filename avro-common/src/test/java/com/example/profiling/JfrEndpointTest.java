@@ -0,0 +1,95 @@
+package com.example.profiling;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint = new JfrEndpoint();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        endpoint.close();
+    }
+
+    @Test
+    void stopShouldKeepTheRecordingForDownload() throws IOException {
+        assertThat(endpoint.start(null)).isEqualTo(new JfrEndpoint.Status(true, JfrEndpoint.DEFAULT_PROFILE, 0));
+
+        var stopped = endpoint.stop();
+
+        assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(stopped.getBody().recording()).isFalse();
+        var dump = endpoint.download().getBody().getFile().toPath();
+        assertThat(dump).hasSize(stopped.getBody().dumpBytes());
+        try (var file = new RecordingFile(dump)) {
+            assertThat(file.hasMoreEvents()).isTrue();
+        }
+    }
+
+    @Test
+    void recordingShouldLeaveOutEnvironmentSystemPropertiesAndCommandLine() throws IOException {
+        endpoint.start("profile");
+        endpoint.stop();
+
+        var dump = endpoint.download().getBody().getFile().toPath();
+        assertThat(RecordingFile.readAllEvents(dump))
+                .isNotEmpty()
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContainAnyElementsOf(JfrEndpoint.SENSITIVE_EVENTS);
+    }
+
+    @Test
+    void startShouldReplaceTheRecordingInProgress() throws IOException {
+        endpoint.start("profile");
+        endpoint.start("default");
+
+        assertThat(endpoint.stop().getBody().profile()).isEqualTo("default");
+    }
+
+    @Test
+    void nextStopShouldDeleteThePreviousDump() throws IOException {
+        endpoint.start("default");
+        endpoint.stop();
+        var first = endpoint.download().getBody().getFile().toPath();
+
+        endpoint.start("default");
+        endpoint.stop();
+
+        assertThat(first).doesNotExist();
+    }
+
+    @Test
+    void unknownProfileShouldBeRejected() {
+        assertThatThrownBy(() -> endpoint.start("no-such-profile"))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+    @Test
+    void stopAndDownloadWithoutRecordingShouldReturnNotFound() throws IOException {
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.download().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Test
+    void closeShouldEndTheRecordingAndDeleteTheDump() throws IOException {
+        endpoint.start("default");
+        endpoint.stop();
+        var dump = endpoint.download().getBody().getFile().toPath();
+        endpoint.start("default");
+
+        endpoint.close();
+
+        assertThat(Files.exists(dump)).isFalse();
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
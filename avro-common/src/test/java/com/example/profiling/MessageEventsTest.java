@@ -0,0 +1,70 @@
+package com.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageEventsTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofMillis(25).toNanos();
+
+    private final MessageEvents messageEvents = new MessageEvents(10);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void onlyMessagesSlowerThanTheThresholdShouldBeRecorded() throws Exception {
+        var file = tempDir.resolve("events.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(TestEvent.class);
+            recording.start();
+            messageEvents.record(TestEvent::new, "fast", "payload", FAST);
+            messageEvents.record(TestEvent::new, "slow", "payload", SLOW);
+            Thread.ofVirtual().start(() -> messageEvents.record(TestEvent::new, null, null, SLOW)).join();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.profiling.Test"))
+                .toList();
+
+        assertThat(events).hasSize(2);
+        var platform = events.getFirst();
+        assertThat(platform.getEventType().getCategoryNames()).containsExactly("Test", "Messaging");
+        assertThat(platform.getString("correlationId")).isEqualTo("slow");
+        assertThat(platform.getLong("payloadBytes")).isEqualTo(7);
+        assertThat(platform.getDuration("latency")).isEqualTo(Duration.ofNanos(SLOW));
+        assertThat(platform.getString("threadType")).isEqualTo(MessageEvents.PLATFORM);
+        var virtual = events.get(1);
+        assertThat(virtual.getString("correlationId")).isNull();
+        assertThat(virtual.getLong("payloadBytes")).isZero();
+        assertThat(virtual.getString("threadType")).isEqualTo(MessageEvents.VIRTUAL);
+    }
+
+    @Test
+    void eventsShouldNotBeFilledInWithoutARecording() {
+        var event = new TestEvent();
+
+        messageEvents.record(() -> event, "slow", "payload", SLOW);
+
+        assertThat(event.correlationId).isNull();
+    }
+
+    @Name("com.example.profiling.Test")
+    @Category({"Test", "Messaging"})
+    static class TestEvent extends MessageEvent {
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.tuning;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaListenerTuningTest {
+
+    private static final String TOPIC = "mq-requests";
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private ConcurrentMessageListenerContainer<String, Object> container;
+
+    @Mock
+    private MessageListenerContainer otherContainer;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    private KafkaListenerTuning tuning;
+
+    @BeforeEach
+    void setUp() {
+        tuning = new KafkaListenerTuning(registry, kafkaAdmin);
+    }
+
+    @Test
+    void concurrencyShouldBeReportedByListenerId() {
+        givenContainer(3);
+        when(container.getListenerId()).thenReturn("kafka-request");
+
+        assertThat(tuning.concurrency()).isEqualTo(Map.of("kafka-request", 3));
+    }
+
+    @Test
+    void autoShouldTargetOneConsumerPerPartition() {
+        givenContainer(2);
+        givenPartitions(6);
+
+        assertThat(tuning.targets(" AUTO ")).isEqualTo(Map.of(container, 6));
+    }
+
+    @Test
+    void explicitConcurrencyShouldBeCappedAtThePartitionCount() {
+        givenContainer(2);
+        givenPartitions(6);
+
+        assertThat(tuning.targets("20")).isEqualTo(Map.of(container, 6));
+        assertThat(tuning.targets("4")).isEqualTo(Map.of(container, 4));
+    }
+
+    @Test
+    void noRequestShouldTargetNothing() {
+        assertThat(tuning.targets(null)).isEmpty();
+    }
+
+    @Test
+    void invalidConcurrencyShouldBeRejected() {
+        assertThatThrownBy(() -> tuning.targets("many")).isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("kafkaConcurrency");
+        assertThatThrownBy(() -> tuning.targets("0")).isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+    @Test
+    void onlyRunningContainersWhoseConcurrencyChangesShouldRestart() {
+        givenContainer(2);
+        when(container.isRunning()).thenReturn(true);
+
+        assertThat(tuning.toRestart(Map.of(container, 2), false)).isEmpty();
+        assertThat(tuning.toRestart(Map.of(container, 4), false)).containsExactly(container);
+        assertThat(tuning.toRestart(Map.of(), true)).containsExactly(container);
+    }
+
+    @Test
+    void stoppedContainersShouldNotRestart() {
+        givenContainer(2);
+
+        assertThat(tuning.toRestart(Map.of(container, 4), true)).isEmpty();
+    }
+
+    private void givenContainer(int concurrency) {
+        when(registry.getListenerContainers()).thenReturn(List.of(container, otherContainer));
+        when(container.getConcurrency()).thenReturn(concurrency);
+    }
+
+    private void givenPartitions(int partitions) {
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        var partitionInfos = IntStream.range(0, partitions)
+                .mapToObj(partition -> new TopicPartitionInfo(partition, null, List.of(), List.of()))
+                .toList();
+        when(kafkaAdmin.describeTopics(TOPIC)).thenReturn(Map.of(TOPIC, new TopicDescription(TOPIC, false,
+                partitionInfos)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tuning;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProducerTuningTest {
+
+    @Mock
+    private ProducerFactory<String, Object> producerFactory;
+
+    @InjectMocks
+    private ProducerTuning tuning;
+
+    @Test
+    void settingsShouldReportLingerAndBatchSize() {
+        when(producerFactory.getConfigurationProperties()).thenReturn(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 5, ProducerConfig.BATCH_SIZE_CONFIG, 65536,
+                ProducerConfig.ACKS_CONFIG, "all"));
+
+        assertThat(tuning.settings()).containsExactly(
+                Map.entry(ProducerConfig.LINGER_MS_CONFIG, 5), Map.entry(ProducerConfig.BATCH_SIZE_CONFIG, 65536));
+    }
+
+    @Test
+    void updatesShouldHoldOnlyTheRequestedSettings() {
+        assertThat(ProducerTuning.updates(20, 131072)).isEqualTo(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 20, ProducerConfig.BATCH_SIZE_CONFIG, 131072));
+        assertThat(ProducerTuning.updates(null, null)).isEmpty();
+    }
+
+    @Test
+    void negativeSettingsShouldBeRejected() {
+        assertThatThrownBy(() -> ProducerTuning.updates(-1, null))
+                .isInstanceOf(InvalidEndpointRequestException.class).hasMessageContaining("lingerMs");
+        assertThatThrownBy(() -> ProducerTuning.updates(null, -1))
+                .isInstanceOf(InvalidEndpointRequestException.class).hasMessageContaining("batchSize");
+    }
+
+    @Test
+    void applyShouldRebuildTheProducer() {
+        var updates = Map.<String, Object>of(ProducerConfig.LINGER_MS_CONFIG, 20);
+
+        tuning.apply(updates);
+
+        var order = inOrder(producerFactory);
+        order.verify(producerFactory).updateConfigs(updates);
+        order.verify(producerFactory).reset();
+    }
+
+    @Test
+    void applyWithoutUpdatesShouldKeepTheProducer() {
+        tuning.apply(Map.of());
+
+        verify(producerFactory, never()).updateConfigs(any());
+        verify(producerFactory, never()).reset();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.avro.serialization;
+
+import com.example.avro.MqMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a Kafka response as kafka-consumer sends it, with every hop timestamp set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AvroSerializerBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    int payloadBytes;
+
+    private final AvroSerializer<MqMessage> serializer = new AvroSerializer<>();
+    private MqMessage message;
+
+    @Setup
+    public void setUp() {
+        var now = Instant.now();
+        message = MqMessage.newBuilder()
+                .setContent("X".repeat(payloadBytes) + " processed")
+                .setTimestamp(now)
+                .setMqReceivedAt(now)
+                .setKafkaRequestSentAt(now)
+                .setKafkaRequestReceivedAt(now)
+                .setKafkaResponseSentAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize("mq-responses", message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.persistence.ResponseTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a fixed-width response against a response template with one field of every
+ * type, for responses that pass and responses that fail every checked field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MessageExpectationBenchmark {
+
+    private static final String TRANSACTION_ID = "7d444840-9dc0-11d1-b245-5ffdce74fad2";
+
+    @Param({"256", "4096", "65536"})
+    int payloadBytes;
+
+    @Param({"true", "false"})
+    boolean passing;
+
+    private MessageExpectation expectation;
+    private String response;
+
+    @Setup
+    public void setUp() {
+        expectation = new MessageExpectation("benchmark", List.of(
+                new ResponseTemplate.ResponseField("status", 2, "00", "STATIC", " "),
+                new ResponseTemplate.ResponseField("transactionId", 36, "transactionId", "ECHO", " "),
+                new ResponseTemplate.ResponseField("processedAt", 14, "\\d{14}", "REGEX", " "),
+                new ResponseTemplate.ResponseField("body", payloadBytes, null, "IGNORE", " ")),
+                Map.of("transactionId", TRANSACTION_ID));
+        response = passing
+                ? "00" + TRANSACTION_ID + "20261019120000" + "X".repeat(payloadBytes)
+                : "99" + TRANSACTION_ID.toUpperCase() + "2026-10-19 12:0" + "X".repeat(payloadBytes);
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return expectation.validate(response);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.config.PerfProperties;
+import com.example.perftester.persistence.ResponseTemplate;
+import com.example.profiling.MessageEvents;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bookkeeping of one message through {@link PerformanceTracker}: {@code recordSend} on the
+ * sender thread, then {@code recordReceive} on a listener thread. The thread counts match the
+ * {@code 10-50} concurrency of the MQ listener.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PerformanceTrackerBenchmark {
+
+    private static final PerfProperties PERF_PROPERTIES = new PerfProperties(16000, 60000, 60000, 30000, 60, 15);
+    private static final MessageEvents MESSAGE_EVENTS = new MessageEvents(10);
+    private static final int MESSAGE_COUNT = 1_000_000;
+    private static final String TRANSACTION_ID = "7d444840-9dc0-11d1-b245-5ffdce74fad2";
+    private static final String RESPONSE = "00" + TRANSACTION_ID + "X".repeat(4096);
+
+    /** Whether the response is validated against a response template, as for scenario messages. */
+    @Param({"false", "true"})
+    boolean validated;
+
+    private PerformanceTracker tracker;
+    private MessageExpectation expectation;
+
+    @Setup(Level.Iteration)
+    public void start() {
+        // A fresh run per iteration keeps the completion history at the size of one run
+        tracker = new PerformanceTracker(new SimpleMeterRegistry(), PERF_PROPERTIES, MESSAGE_EVENTS);
+        tracker.tryStart(MESSAGE_COUNT, "benchmark");
+        expectation = new MessageExpectation("benchmark", List.of(
+                new ResponseTemplate.ResponseField("status", 2, "00", "STATIC", " "),
+                new ResponseTemplate.ResponseField("transactionId", 36, "transactionId", "ECHO", " ")),
+                Map.of("transactionId", TRANSACTION_ID));
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        tracker.markIdle();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleListener(MessageIds ids) {
+        return roundTrip(ids.next());
+    }
+
+    @Benchmark
+    @Threads(10)
+    public long tenListeners(MessageIds ids) {
+        return roundTrip(ids.next());
+    }
+
+    @Benchmark
+    @Threads(50)
+    public long fiftyListeners(MessageIds ids) {
+        return roundTrip(ids.next());
+    }
+
+    private long roundTrip(String messageId) {
+        if (validated) {
+            tracker.recordSend(messageId, expectation);
+        } else {
+            tracker.recordSend(messageId);
+        }
+        return tracker.recordReceive(messageId, RESPONSE);
+    }
+
+    /** Message ids of one thread, generated up front so UUID generation is not measured. */
+    @State(Scope.Thread)
+    public static class MessageIds {
+
+        private final String[] ids = new String[1024];
+        private int next;
+
+        @Setup
+        public void generate() {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = UUID.randomUUID().toString();
+            }
+        }
+
+        String next() {
+            next = (next + 1) % ids.length;
+            return ids[next];
+        }
+    }
+}
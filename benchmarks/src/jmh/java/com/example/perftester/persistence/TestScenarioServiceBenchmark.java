@@ -0,0 +1,51 @@
+package com.example.perftester.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building one pooled scenario message: the header of a template with a field of every type,
+ * two of them freshly generated UUIDs, in front of the test case message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TestScenarioServiceBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    int payloadBytes;
+
+    private TestCase testCase;
+
+    @Setup
+    public void setUp() {
+        var headerTemplate = new HeaderTemplate();
+        headerTemplate.setName("benchmark");
+        headerTemplate.setFields(new ArrayList<>(List.of(
+                new HeaderTemplate.TemplateField("messageType", 8, "PAYMENT", "STRING", " ", null, null, false),
+                new HeaderTemplate.TemplateField("version", 3, "2", "NUMBER", "0", null, null, false),
+                new HeaderTemplate.TemplateField("transactionId", 36, null, "TRANSACTION_ID", " ",
+                        null, null, false),
+                new HeaderTemplate.TemplateField("requestId", 44, null, "UUID", " ", "REQ", "-", true),
+                new HeaderTemplate.TemplateField("length", 8, null, "MESSAGE_LENGTH", "0", null, null, false))));
+        testCase = new TestCase();
+        testCase.setName("benchmark");
+        testCase.setMessage("X".repeat(payloadBytes));
+        testCase.setHeaderTemplate(headerTemplate);
+    }
+
+    @Benchmark
+    public ScenarioMessage buildScenarioMessage() {
+        return TestScenarioService.buildScenarioMessage(testCase);
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.ibmmqconsumer.messaging;
 
 import com.example.avro.MqMessage;
+import com.example.avro.util.HopTimestamps;
 import com.example.avro.util.KafkaHeaderUtils;
+import com.example.avro.util.TraceContext;
+import com.example.ibmmqconsumer.profiling.KafkaResponseEvent;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+
+import java.time.Instant;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -20,10 +28,13 @@ public class KafkaResponseListener {
     private final Counter messagesReceived;
     private final Counter messagesSentToMq;
     private final Counter messagesDropped;
+    private final MessageEvents messageEvents;
 
     public KafkaResponseListener(JmsTemplate jmsTemplate,
-                                 MeterRegistry meterRegistry) {
+                                 MeterRegistry meterRegistry,
+                                 MessageEvents messageEvents) {
         this.jmsTemplate = jmsTemplate;
+        this.messageEvents = messageEvents;
         this.messagesReceived = Counter.builder("kafka.response.messages.received")
                 .description("Total Kafka response messages received")
                 .tag("listener", "kafka-to-mq")
@@ -42,15 +53,19 @@ public class KafkaResponseListener {
             description = "Time to process Kafka response and send to MQ",
             histogram = true,
             percentiles = {0.25, 0.5, 0.75, 0.9, 0.95, 0.99})
-    @KafkaListener(topics = "${app.kafka.topic.response}", groupId = "${spring.kafka.consumer.group-id}", concurrency = "${app.kafka.consumer.concurrency:20}")
+    @KafkaListener(id = "kafka-response", topics = "${app.kafka.topic.response}", groupId = "${spring.kafka.consumer.group-id}", concurrency = "${app.kafka.consumer.concurrency:20}")
     public void onMessage(ConsumerRecord<String, MqMessage> record) {
+        var start = System.nanoTime();
+        var receivedAt = Instant.now();
         messagesReceived.increment();
 
-        var message = record.value().getContent();
+        var response = record.value();
+        var message = response.getContent();
         var replyTo = KafkaHeaderUtils.getHeader(record, "mq-reply-to");
         var correlationId = KafkaHeaderUtils.getHeader(record, "correlationId");
-        log.debug("Received Kafka response: {}, replyTo: {}, correlationId=[{}]",
-                message, replyTo, correlationId);
+        var traceparent = KafkaHeaderUtils.getHeader(record, TraceContext.TRACEPARENT);
+        log.debug("Received Kafka response: {}, replyTo: {}, traceId={} correlationId=[{}]",
+                message, replyTo, TraceContext.traceId(traceparent), correlationId);
 
         if (replyTo != null) {
             var queueName = extractQueueName(replyTo);
@@ -60,6 +75,10 @@ public class KafkaResponseListener {
                 if (correlationId != null) {
                     m.setJMSCorrelationID(correlationId);
                 }
+                if (traceparent != null) {
+                    m.setStringProperty(TraceContext.TRACEPARENT, traceparent);
+                }
+                setHopTimestamps(m, response, receivedAt);
                 return m;
             });
             messagesSentToMq.increment();
@@ -67,6 +86,23 @@ public class KafkaResponseListener {
             log.warn("No mq-reply-to header, dropping message: {}", message);
             messagesDropped.increment();
         }
+        messageEvents.record(KafkaResponseEvent::new, correlationId, message, System.nanoTime() - start);
+    }
+
+    /** Hands the timestamps of every hop back to perf-tester, which sent the request. */
+    private static void setHopTimestamps(Message m, MqMessage response, Instant receivedAt) throws JMSException {
+        setHopTimestamp(m, HopTimestamps.MQ_RECEIVED, response.getMqReceivedAt());
+        setHopTimestamp(m, HopTimestamps.KAFKA_REQUEST_SENT, response.getKafkaRequestSentAt());
+        setHopTimestamp(m, HopTimestamps.KAFKA_REQUEST_RECEIVED, response.getKafkaRequestReceivedAt());
+        setHopTimestamp(m, HopTimestamps.KAFKA_RESPONSE_SENT, response.getKafkaResponseSentAt());
+        setHopTimestamp(m, HopTimestamps.KAFKA_RESPONSE_RECEIVED, receivedAt);
+        setHopTimestamp(m, HopTimestamps.MQ_REPLY_SENT, Instant.now());
+    }
+
+    private static void setHopTimestamp(Message m, String name, Instant timestamp) throws JMSException {
+        if (timestamp != null) {
+            m.setLongProperty(name, HopTimestamps.micros(timestamp));
+        }
     }
 
     private String extractQueueName(String replyTo) {
@@ -5,8 +5,12 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import com.example.avro.MqMessage;
+import com.example.avro.util.TraceContext;
+import com.example.ibmmqconsumer.profiling.MqRequestEvent;
+import com.example.profiling.MessageEvents;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import jakarta.jms.Queue;
 import jakarta.jms.TextMessage;
 
 import java.time.Instant;
@@ -23,17 +27,26 @@ import org.springframework.stereotype.Component;
 @Component
 public class MqMessageListener {
 
+    /** Replies are addressed by IBM MQ queue URI; any other {@code app.mq.provider} by plain queue name. */
+    public static final String IBM_MQ = "ibm-mq";
+
     private final KafkaTemplate<String, MqMessage> kafkaTemplate;
     private final Counter messagesReceived;
     private final Counter messagesForwarded;
     private final Counter messagesDropped;
     private final String kafkaRequestTopic;
+    private final boolean ibmMq;
+    private final MessageEvents messageEvents;
 
     public MqMessageListener(KafkaTemplate<String, MqMessage> kafkaTemplate,
                              MeterRegistry meterRegistry,
-                             @Value("${app.kafka.topic.request}") String kafkaRequestTopic) {
+                             @Value("${app.kafka.topic.request}") String kafkaRequestTopic,
+                             @Value("${app.mq.provider:" + IBM_MQ + "}") String provider,
+                             MessageEvents messageEvents) {
         this.kafkaTemplate = kafkaTemplate;
         this.kafkaRequestTopic = kafkaRequestTopic;
+        this.ibmMq = IBM_MQ.equals(provider);
+        this.messageEvents = messageEvents;
         this.messagesReceived = Counter.builder("mq.listener.messages.received")
                 .description("Total MQ messages received")
                 .tag("listener", "mq-to-kafka")
@@ -52,19 +65,22 @@ public class MqMessageListener {
             description = "Time to process MQ message and forward to Kafka",
             histogram = true,
             percentiles = {0.25, 0.5, 0.75, 0.9, 0.95, 0.99})
-    @JmsListener(destination = "${app.mq.queue.inbound}", concurrency = "10-50")
+    @JmsListener(id = "mq-request", destination = "${app.mq.queue.inbound}", concurrency = "${app.mq.listener.concurrency:10-50}")
     public void onMessage(Message message) throws JMSException {
+        var start = System.nanoTime();
+        var receivedAt = Instant.now();
         messagesReceived.increment();
 
         var body = ((TextMessage) message).getText();
         var replyTo = message.getJMSReplyTo();
         var correlationId = message.getJMSCorrelationID();
-        var traceId = message.getStringProperty("traceId");
+        var traceparent = message.getStringProperty(TraceContext.TRACEPARENT);
 
-        log.debug("Received MQ message: {} traceId=[{}] correlationId=[{}]", body, traceId, correlationId);
+        log.debug("Received MQ message: {} traceId={} correlationId=[{}]", body,
+                TraceContext.traceId(traceparent), correlationId);
 
         if (replyTo != null) {
-            var replyToString = replyTo.toString();
+            var replyToString = ibmMq || !(replyTo instanceof Queue queue) ? replyTo.toString() : queue.getQueueName();
 
             log.debug("Publishing to Kafka topic {}, replyTo: {}",
                     kafkaRequestTopic, replyToString);
@@ -72,6 +88,8 @@ public class MqMessageListener {
             var mqMessage = MqMessage.newBuilder()
                     .setContent(body)
                     .setTimestamp(Instant.now())
+                    .setMqReceivedAt(receivedAt)
+                    .setKafkaRequestSentAt(Instant.now())
                     .build();
 
             var kafkaMessage = MessageBuilder
@@ -79,6 +97,7 @@ public class MqMessageListener {
                     .setHeader(KafkaHeaders.TOPIC, kafkaRequestTopic)
                     .setHeader("mq-reply-to", replyToString)
                     .setHeader("correlationId", correlationId)
+                    .setHeader(TraceContext.TRACEPARENT, traceparent)
                     .build();
 
             kafkaTemplate.send(kafkaMessage);
@@ -87,6 +106,6 @@ public class MqMessageListener {
             log.warn("No replyTo destination set, dropping message: {}", body);
             messagesDropped.increment();
         }
-
+        messageEvents.record(MqRequestEvent::new, correlationId, body, System.nanoTime() - start);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.ibmmqconsumer.profiling;
+
+import com.example.profiling.MessageEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.ibmmqconsumer.KafkaResponse")
+@Label("Kafka Response")
+@Description("A Kafka response that took at least the event threshold to be put on its reply queue")
+@Category({"IBM MQ Consumer", "Messaging"})
+public class KafkaResponseEvent extends MessageEvent {
+}
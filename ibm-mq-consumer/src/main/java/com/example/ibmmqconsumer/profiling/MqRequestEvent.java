@@ -0,0 +1,14 @@
+package com.example.ibmmqconsumer.profiling;
+
+import com.example.profiling.MessageEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.ibmmqconsumer.MqRequest")
+@Label("MQ Request")
+@Description("An MQ request that took at least the event threshold to be forwarded to Kafka")
+@Category({"IBM MQ Consumer", "Messaging"})
+public class MqRequestEvent extends MessageEvent {
+}
@@ -0,0 +1,74 @@
+package com.example.ibmmqconsumer.tuning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/** Concurrency of the JMS listener containers, which changes while they run. */
+@Slf4j
+final class JmsListenerTuning {
+
+    private final JmsListenerEndpointRegistry registry;
+    private final long stopTimeoutSeconds;
+
+    JmsListenerTuning(JmsListenerEndpointRegistry registry, long stopTimeoutSeconds) {
+        this.registry = registry;
+        this.stopTimeoutSeconds = stopTimeoutSeconds;
+    }
+
+    /** Consumers per container as {@code min-max}, by listener id. */
+    Map<String, String> concurrency() {
+        var concurrency = new LinkedHashMap<String, String>();
+        for (var id : registry.getListenerContainerIds()) {
+            if (registry.getListenerContainer(id) instanceof DefaultMessageListenerContainer container) {
+                concurrency.put(id, container.getConcurrentConsumers() + "-" + container.getMaxConcurrentConsumers());
+            }
+        }
+        return concurrency;
+    }
+
+    /** Checks the format on a scratch container, before any real one is touched. */
+    static void validate(String concurrency) {
+        try {
+            new DefaultMessageListenerContainer().setConcurrency(concurrency.trim());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(
+                    "jmsConcurrency must be 'min-max' or a maximum: " + concurrency, "Invalid jmsConcurrency", e);
+        }
+    }
+
+    void apply(String concurrency) {
+        containers().forEach(container -> container.setConcurrency(concurrency.trim()));
+    }
+
+    List<DefaultMessageListenerContainer> running() {
+        return containers().stream().filter(DefaultMessageListenerContainer::isRunning).toList();
+    }
+
+    /** Stops the containers together and waits until their consumers have finished the message in hand. */
+    void stop(List<DefaultMessageListenerContainer> containers) throws InterruptedException {
+        var stopped = new CountDownLatch(containers.size());
+        containers.forEach(container -> container.stop(stopped::countDown));
+        if (!stopped.await(stopTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("JMS listener containers did not stop within {}s", stopTimeoutSeconds);
+        }
+    }
+
+    private List<DefaultMessageListenerContainer> containers() {
+        var containers = new ArrayList<DefaultMessageListenerContainer>();
+        for (var container : registry.getListenerContainers()) {
+            if (container instanceof DefaultMessageListenerContainer listenerContainer) {
+                containers.add(listenerContainer);
+            }
+        }
+        return containers;
+    }
+}
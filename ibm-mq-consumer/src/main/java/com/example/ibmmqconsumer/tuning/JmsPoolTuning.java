@@ -0,0 +1,77 @@
+package com.example.ibmmqconsumer.tuning;
+
+import jakarta.jms.ConnectionFactory;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Connection and session limits of a pooling or caching JMS connection factory. */
+final class JmsPoolTuning {
+
+    private final ConnectionFactory connectionFactory;
+
+    JmsPoolTuning(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /** Connections and sessions per connection the factory allows; empty when it does not pool. */
+    Map<String, Integer> settings() {
+        var settings = new LinkedHashMap<String, Integer>();
+        if (connectionFactory instanceof JmsPoolConnectionFactory pool) {
+            settings.put("maxConnections", pool.getMaxConnections());
+            settings.put("maxSessionsPerConnection", pool.getMaxSessionsPerConnection());
+        } else if (connectionFactory instanceof CachingConnectionFactory caching) {
+            settings.put("maxConnections", 1);
+            settings.put("maxSessionsPerConnection", caching.getSessionCacheSize());
+        }
+        return settings;
+    }
+
+    /** Validates the requested limits; {@code true} when there is anything to apply. */
+    boolean validate(@Nullable Integer maxConnections, @Nullable Integer maxSessionsPerConnection) {
+        if (maxConnections == null && maxSessionsPerConnection == null) {
+            return false;
+        }
+        if (maxConnections != null) {
+            positive("jmsMaxConnections", maxConnections);
+        }
+        if (maxSessionsPerConnection != null) {
+            positive("jmsMaxSessionsPerConnection", maxSessionsPerConnection);
+        }
+        if (connectionFactory instanceof JmsPoolConnectionFactory) {
+            return true;
+        }
+        if (connectionFactory instanceof CachingConnectionFactory && maxConnections == null) {
+            return true;
+        }
+        throw new InvalidEndpointRequestException(
+                "The JMS connection factory " + connectionFactory.getClass().getSimpleName()
+                        + " does not support these pool settings", "Unsupported JMS pool settings");
+    }
+
+    /** Applies the limits and drops pooled connections, so the new limits hold from the restart on. */
+    void apply(@Nullable Integer maxConnections, @Nullable Integer maxSessionsPerConnection) {
+        if (connectionFactory instanceof JmsPoolConnectionFactory pool) {
+            if (maxConnections != null) {
+                pool.setMaxConnections(maxConnections);
+            }
+            if (maxSessionsPerConnection != null) {
+                pool.setMaxSessionsPerConnection(maxSessionsPerConnection);
+            }
+            pool.clear();
+        } else if (connectionFactory instanceof CachingConnectionFactory caching) {
+            caching.setSessionCacheSize(maxSessionsPerConnection);
+            caching.resetConnection();
+        }
+    }
+
+    private static void positive(String name, int value) {
+        if (value < 1) {
+            throw new InvalidEndpointRequestException(name + " must be positive: " + value, "Invalid " + name);
+        }
+    }
+}
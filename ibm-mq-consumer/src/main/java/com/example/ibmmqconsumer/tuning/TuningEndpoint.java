@@ -0,0 +1,137 @@
+package com.example.ibmmqconsumer.tuning;
+
+import com.example.tuning.KafkaListenerTuning;
+import com.example.tuning.ProducerTuning;
+import jakarta.jms.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Listener, producer and JMS pool tuning at {@code /actuator/tuning}, so an infrastructure
+ * profile can resize this service between runs without a redeploy. {@code GET} shows the current
+ * settings and {@code POST} changes them.
+ *
+ * <p>JMS listener concurrency changes while the containers run. Kafka listener concurrency only
+ * takes effect when a container restarts, and a rebuilt producer or JMS pool must not be used by
+ * a listener that is still sending through the old one. So every container that is affected is
+ * stopped first, all changes are applied, and the containers are started again together, also
+ * when a change fails:
+ * <ul>
+ *   <li>Kafka listener concurrency restarts the Kafka containers whose concurrency changes</li>
+ *   <li>producer settings restart the JMS containers, which produce to Kafka</li>
+ *   <li>JMS pool settings restart all containers, since the Kafka listeners reply over JMS</li>
+ * </ul>
+ * Each kind of setting is validated, reported and applied by its own collaborator; this class
+ * only decides what to restart and in which order.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "tuning")
+public class TuningEndpoint {
+
+    private final KafkaListenerTuning kafkaListeners;
+    private final JmsListenerTuning jmsListeners;
+    private final ProducerTuning producer;
+    private final JmsPoolTuning jmsPool;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TuningEndpoint(KafkaListenerEndpointRegistry kafkaListenerRegistry,
+                          JmsListenerEndpointRegistry jmsListenerRegistry, ProducerFactory<?, ?> producerFactory,
+                          KafkaAdmin kafkaAdmin, ConnectionFactory connectionFactory,
+                          @Value("${app.tuning.jms-stop-timeout-seconds:30}") long jmsStopTimeoutSeconds) {
+        this.kafkaListeners = new KafkaListenerTuning(kafkaListenerRegistry, kafkaAdmin);
+        this.jmsListeners = new JmsListenerTuning(jmsListenerRegistry, jmsStopTimeoutSeconds);
+        this.producer = new ProducerTuning(producerFactory);
+        this.jmsPool = new JmsPoolTuning(connectionFactory);
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(kafkaListeners.concurrency(), jmsListeners.concurrency(), producer.settings(),
+                jmsPool.settings());
+    }
+
+    /**
+     * Changes the given settings and leaves the others as they are. Every value is validated
+     * before any container is stopped.
+     *
+     * @param kafkaConcurrency            consumers per Kafka listener container, at most one per
+     *                                    partition of its topics, or {@code auto} for exactly one per partition
+     * @param jmsConcurrency              JMS listener consumers as {@code min-max}, or a maximum with a
+     *                                    minimum of 1
+     * @param lingerMs                    producer {@code linger.ms}
+     * @param batchSize                   producer {@code batch.size}
+     * @param jmsMaxConnections           connections in the JMS pool; a caching connection factory has one
+     * @param jmsMaxSessionsPerConnection sessions per pooled connection, or cached sessions of a
+     *                                    caching connection factory
+     */
+    @WriteOperation
+    public Status tune(@OptionalParameter String kafkaConcurrency, @OptionalParameter String jmsConcurrency,
+                       @OptionalParameter Integer lingerMs, @OptionalParameter Integer batchSize,
+                       @OptionalParameter Integer jmsMaxConnections,
+                       @OptionalParameter Integer jmsMaxSessionsPerConnection) throws InterruptedException {
+        lock.lock();
+        try {
+            var concurrency = kafkaListeners.targets(kafkaConcurrency);
+            if (jmsConcurrency != null) {
+                JmsListenerTuning.validate(jmsConcurrency);
+            }
+            var producerUpdates = ProducerTuning.updates(lingerMs, batchSize);
+            var poolChanged = jmsPool.validate(jmsMaxConnections, jmsMaxSessionsPerConnection);
+
+            var restartKafka = kafkaListeners.toRestart(concurrency, poolChanged);
+            var restartJms = poolChanged || !producerUpdates.isEmpty()
+                    ? jmsListeners.running()
+                    : List.<DefaultMessageListenerContainer>of();
+
+            try {
+                restartKafka.forEach(ConcurrentMessageListenerContainer::stop);
+                jmsListeners.stop(restartJms);
+                concurrency.forEach(ConcurrentMessageListenerContainer::setConcurrency);
+                if (jmsConcurrency != null) {
+                    jmsListeners.apply(jmsConcurrency);
+                }
+                producer.apply(producerUpdates);
+                if (poolChanged) {
+                    jmsPool.apply(jmsMaxConnections, jmsMaxSessionsPerConnection);
+                }
+            } finally {
+                restartJms.forEach(DefaultMessageListenerContainer::start);
+                restartKafka.forEach(ConcurrentMessageListenerContainer::start);
+            }
+
+            var status = status();
+            log.info("Tuning applied, {} Kafka and {} JMS listener containers restarted: {}",
+                    restartKafka.size(), restartJms.size(), status);
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param kafkaConcurrency consumers per Kafka listener container, by listener id
+     * @param jmsConcurrency   JMS listener consumers as {@code min-max}, by listener id
+     * @param producer         the producer's {@code linger.ms} and {@code batch.size}
+     * @param jmsPool          connections and sessions per connection the JMS connection factory
+     *                         allows; empty when it does not pool
+     */
+    public record Status(Map<String, Integer> kafkaConcurrency, Map<String, String> jmsConcurrency,
+                         Map<String, Object> producer, Map<String, Integer> jmsPool) {
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.ibmmqconsumer.messaging;
 
 import com.example.avro.MqMessage;
+import com.example.avro.util.HopTimestamps;
+import com.example.avro.util.TraceContext;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.jms.JMSException;
@@ -21,7 +24,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -29,25 +34,30 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 class KafkaResponseListenerTest {
 
+    private static final String TRACEPARENT = "00-0123abcd456789ef0123456789abcdef-0000eeaacccc4400-00";
+
     @Mock
     private JmsTemplate jmsTemplate;
 
     @Mock
     private Message jmsMessage;
 
+    @Mock
+    private MessageEvents messageEvents;
+
     private MeterRegistry meterRegistry;
     private KafkaResponseListener listener;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        listener = new KafkaResponseListener(jmsTemplate, meterRegistry);
+        listener = new KafkaResponseListener(jmsTemplate, meterRegistry, messageEvents);
     }
 
     @Test
     void onMessageShouldSendToMqWhenReplyToIsSet() throws JMSException {
         ConsumerRecord<String, MqMessage> record = createRecord("test message processed",
-                "queue:///DEV.QUEUE.1", "corr-123", "parent-trace", "parent-span");
+                "queue:///DEV.QUEUE.1", "corr-123", TRACEPARENT);
 
         listener.onMessage(record);
 
@@ -63,11 +73,40 @@ class KafkaResponseListenerTest {
         MessagePostProcessor processor = processorCaptor.getValue();
         processor.postProcessMessage(jmsMessage);
         verify(jmsMessage).setJMSCorrelationID("corr-123");
+        verify(jmsMessage).setStringProperty(TraceContext.TRACEPARENT, TRACEPARENT);
+        verify(messageEvents).record(any(), eq("corr-123"), eq("test message processed"), anyLong());
+    }
+
+    @Test
+    void onMessageShouldEchoHopTimestampsAsJmsProperties() throws JMSException {
+        MqMessage mqMessage = MqMessage.newBuilder()
+                .setContent("test message processed")
+                .setTimestamp(Instant.now())
+                .setMqReceivedAt(Instant.parse("2026-01-01T00:00:00.000001Z"))
+                .setKafkaRequestSentAt(Instant.parse("2026-01-01T00:00:00.000002Z"))
+                .setKafkaRequestReceivedAt(Instant.parse("2026-01-01T00:00:00.000003Z"))
+                .setKafkaResponseSentAt(Instant.parse("2026-01-01T00:00:00.000004Z"))
+                .build();
+        ConsumerRecord<String, MqMessage> record = new ConsumerRecord<>("mq-responses", 0, 0, "key", mqMessage);
+        record.headers().add("mq-reply-to", "DEV.QUEUE.1".getBytes(StandardCharsets.UTF_8));
+
+        listener.onMessage(record);
+
+        ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(jmsTemplate).convertAndSend(anyString(), anyString(), processorCaptor.capture());
+        processorCaptor.getValue().postProcessMessage(jmsMessage);
+        long epochMicros = HopTimestamps.micros(Instant.parse("2026-01-01T00:00:00Z"));
+        verify(jmsMessage).setLongProperty(HopTimestamps.MQ_RECEIVED, epochMicros + 1);
+        verify(jmsMessage).setLongProperty(HopTimestamps.KAFKA_REQUEST_SENT, epochMicros + 2);
+        verify(jmsMessage).setLongProperty(HopTimestamps.KAFKA_REQUEST_RECEIVED, epochMicros + 3);
+        verify(jmsMessage).setLongProperty(HopTimestamps.KAFKA_RESPONSE_SENT, epochMicros + 4);
+        verify(jmsMessage).setLongProperty(eq(HopTimestamps.KAFKA_RESPONSE_RECEIVED), anyLong());
+        verify(jmsMessage).setLongProperty(eq(HopTimestamps.MQ_REPLY_SENT), anyLong());
     }
 
     @Test
     void onMessageShouldExtractQueueNameWithoutPrefix() throws JMSException {
-        ConsumerRecord<String, MqMessage> record = createRecord("test message", "DEV.QUEUE.1", null, null, null);
+        ConsumerRecord<String, MqMessage> record = createRecord("test message", "DEV.QUEUE.1", null, null);
 
         listener.onMessage(record);
 
@@ -81,6 +120,7 @@ class KafkaResponseListenerTest {
         MessagePostProcessor processor = processorCaptor.getValue();
         processor.postProcessMessage(jmsMessage);
         verify(jmsMessage, never()).setJMSCorrelationID(anyString());
+        verify(jmsMessage, never()).setStringProperty(anyString(), anyString());
     }
 
     @Test
@@ -101,7 +141,7 @@ class KafkaResponseListenerTest {
 
     @Test
     void onMessageShouldRecordExceptionOnError() {
-        ConsumerRecord<String, MqMessage> record = createRecord("test message", "queue:///DEV.QUEUE.1", null, null, null);
+        ConsumerRecord<String, MqMessage> record = createRecord("test message", "queue:///DEV.QUEUE.1", null, null);
 
         RuntimeException exception = new RuntimeException("JMS send failed");
         doThrow(exception).when(jmsTemplate).convertAndSend(anyString(), anyString(), any(MessagePostProcessor.class));
@@ -111,7 +151,7 @@ class KafkaResponseListenerTest {
 
     @Test
     void countersShouldIncrement() {
-        ConsumerRecord<String, MqMessage> record = createRecord("test message", "queue:///DEV.QUEUE.1", null, null, null);
+        ConsumerRecord<String, MqMessage> record = createRecord("test message", "queue:///DEV.QUEUE.1", null, null);
 
         listener.onMessage(record);
 
@@ -123,7 +163,7 @@ class KafkaResponseListenerTest {
     }
 
     private ConsumerRecord<String, MqMessage> createRecord(String message, String replyTo, String correlationId,
-                                                        String traceId, String spanId) {
+                                                        String traceparent) {
         MqMessage mqMessage = MqMessage.newBuilder()
                 .setContent(message)
                 .setTimestamp(Instant.now())
@@ -135,6 +175,9 @@ class KafkaResponseListenerTest {
         if (correlationId != null) {
             record.headers().add("correlationId", correlationId.getBytes(StandardCharsets.UTF_8));
         }
+        if (traceparent != null) {
+            record.headers().add(TraceContext.TRACEPARENT, traceparent.getBytes(StandardCharsets.UTF_8));
+        }
         return record;
     }
 }
@@ -1,10 +1,13 @@
 package com.example.ibmmqconsumer.messaging;
 
 import com.example.avro.MqMessage;
+import com.example.avro.util.TraceContext;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.jms.Destination;
 import jakarta.jms.JMSException;
+import jakarta.jms.Queue;
 import jakarta.jms.TextMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,12 +18,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.Message;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +38,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class MqMessageListenerTest {
 
+    private static final String TRACEPARENT = "00-0123abcd456789ef0123456789abcdef-0000eeaacccc4400-00";
+
     @Mock
     private KafkaTemplate<String, MqMessage> kafkaTemplate;
 
@@ -37,13 +49,17 @@ class MqMessageListenerTest {
     @Mock
     private Destination replyToDestination;
 
+    @Mock
+    private MessageEvents messageEvents;
+
     private MeterRegistry meterRegistry;
     private MqMessageListener listener;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        listener = new MqMessageListener(kafkaTemplate, meterRegistry, "mq-requests");
+        listener = new MqMessageListener(kafkaTemplate, meterRegistry, "mq-requests",
+                MqMessageListener.IBM_MQ, messageEvents);
     }
 
     @Test
@@ -51,6 +67,7 @@ class MqMessageListenerTest {
         when(jmsMessage.getText()).thenReturn("test message");
         when(jmsMessage.getJMSReplyTo()).thenReturn(replyToDestination);
         when(jmsMessage.getJMSCorrelationID()).thenReturn("corr-123");
+        when(jmsMessage.getStringProperty(TraceContext.TRACEPARENT)).thenReturn(TRACEPARENT);
         when(replyToDestination.toString()).thenReturn("queue:///DEV.QUEUE.1");
 
         listener.onMessage(jmsMessage);
@@ -64,6 +81,41 @@ class MqMessageListenerTest {
         assertEquals("mq-requests", sentMessage.getHeaders().get("kafka_topic"));
         assertEquals("queue:///DEV.QUEUE.1", sentMessage.getHeaders().get("mq-reply-to"));
         assertEquals("corr-123", sentMessage.getHeaders().get("correlationId"));
+        assertEquals(TRACEPARENT, sentMessage.getHeaders().get(TraceContext.TRACEPARENT));
+        verify(messageEvents).record(any(), eq("corr-123"), eq("test message"), anyLong());
+    }
+
+    @Test
+    void onMessageShouldForwardPlainQueueNameForOtherJmsProviders() throws JMSException {
+        var jmsListener = new MqMessageListener(kafkaTemplate, meterRegistry, "mq-requests", "jms", messageEvents);
+        var replyQueue = mock(Queue.class);
+        when(jmsMessage.getText()).thenReturn("test message");
+        when(jmsMessage.getJMSReplyTo()).thenReturn(replyQueue);
+        when(replyQueue.getQueueName()).thenReturn("DEV.QUEUE.1");
+
+        jmsListener.onMessage(jmsMessage);
+
+        ArgumentCaptor<Message<MqMessage>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(messageCaptor.capture());
+        assertEquals("DEV.QUEUE.1", messageCaptor.getValue().getHeaders().get("mq-reply-to"));
+    }
+
+    @Test
+    void onMessageShouldStampReceiveAndKafkaSendTimes() throws JMSException {
+        when(jmsMessage.getText()).thenReturn("test message");
+        when(jmsMessage.getJMSReplyTo()).thenReturn(replyToDestination);
+        when(replyToDestination.toString()).thenReturn("queue:///DEV.QUEUE.1");
+        var before = Instant.now();
+
+        listener.onMessage(jmsMessage);
+
+        ArgumentCaptor<Message<MqMessage>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(messageCaptor.capture());
+        var payload = messageCaptor.getValue().getPayload();
+        assertFalse(payload.getMqReceivedAt().isBefore(before));
+        assertFalse(payload.getKafkaRequestSentAt().isBefore(payload.getMqReceivedAt()));
+        assertNull(payload.getKafkaRequestReceivedAt());
+        assertFalse(messageCaptor.getValue().getHeaders().containsKey(TraceContext.TRACEPARENT));
     }
 
     @Test
@@ -0,0 +1,257 @@
+package com.example.ibmmqconsumer.tuning;
+
+import com.example.tuning.KafkaListenerTuning;
+import jakarta.jms.ConnectionFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TuningEndpointTest {
+
+    private static final String TOPIC = "mq-responses";
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaRegistry;
+
+    @Mock
+    private JmsListenerEndpointRegistry jmsRegistry;
+
+    @Mock
+    private ConcurrentMessageListenerContainer<String, Object> kafkaContainer;
+
+    @Mock
+    private DefaultMessageListenerContainer jmsContainer;
+
+    @Mock
+    private ProducerFactory<String, Object> producerFactory;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private JmsPoolConnectionFactory pool;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaRegistry.getListenerContainers()).thenReturn(List.of(kafkaContainer));
+        when(jmsRegistry.getListenerContainers()).thenReturn(List.of(jmsContainer,
+                mock(MessageListenerContainer.class)));
+    }
+
+    @Test
+    void statusShouldReportListenersProducerAndPool() throws InterruptedException {
+        givenStatus();
+
+        var status = endpoint(pool).status();
+
+        assertEquals(Map.of("kafka-response", 2), status.kafkaConcurrency());
+        assertEquals(Map.of("mq-request", "10-50"), status.jmsConcurrency());
+        assertEquals(5, status.producer().get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(Map.of("maxConnections", 20, "maxSessionsPerConnection", 10), status.jmsPool());
+    }
+
+    @Test
+    void jmsConcurrencyShouldChangeWithoutRestart() throws InterruptedException {
+        givenStatus();
+
+        endpoint(pool).tune(null, " 20-80 ", null, null, null, null);
+
+        verify(jmsContainer).setConcurrency("20-80");
+        verify(jmsContainer, never()).stop(any());
+        verify(kafkaContainer, never()).stop();
+    }
+
+    @Test
+    void kafkaConcurrencyShouldRestartOnlyTheKafkaListeners() throws InterruptedException {
+        givenStatus();
+        when(kafkaContainer.isRunning()).thenReturn(true);
+        givenPartitions(8);
+
+        endpoint(pool).tune(KafkaListenerTuning.AUTO, null, null, null, null, null);
+
+        var order = inOrder(kafkaContainer);
+        order.verify(kafkaContainer).stop();
+        order.verify(kafkaContainer).setConcurrency(8);
+        order.verify(kafkaContainer).start();
+        verify(jmsContainer, never()).stop(any());
+    }
+
+    @Test
+    void explicitKafkaConcurrencyShouldBeCappedAtThePartitionCount() throws InterruptedException {
+        givenStatus();
+        givenPartitions(4);
+
+        endpoint(pool).tune("10", null, null, null, null, null);
+
+        verify(kafkaContainer).setConcurrency(4);
+        verify(kafkaContainer, never()).start();
+    }
+
+    @Test
+    void producerSettingsShouldRestartTheJmsListenersAroundTheProducerReset() throws InterruptedException {
+        givenStatus();
+        givenRunningJmsContainer();
+
+        endpoint(pool).tune(null, null, 10, 32768, null, null);
+
+        var order = inOrder(jmsContainer, producerFactory);
+        order.verify(jmsContainer).stop(any());
+        order.verify(producerFactory).updateConfigs(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 10, ProducerConfig.BATCH_SIZE_CONFIG, 32768));
+        order.verify(producerFactory).reset();
+        order.verify(jmsContainer).start();
+        verify(kafkaContainer, never()).stop();
+    }
+
+    @Test
+    void poolSettingsShouldRestartAllListenersAroundThePoolClear() throws InterruptedException {
+        givenStatus();
+        givenRunningJmsContainer();
+        when(kafkaContainer.isRunning()).thenReturn(true);
+
+        endpoint(pool).tune(null, null, null, null, 40, 20);
+
+        var order = inOrder(kafkaContainer, jmsContainer, pool);
+        order.verify(kafkaContainer).stop();
+        order.verify(jmsContainer).stop(any());
+        order.verify(pool).setMaxConnections(40);
+        order.verify(pool).setMaxSessionsPerConnection(20);
+        order.verify(pool).clear();
+        order.verify(jmsContainer).start();
+        order.verify(kafkaContainer).start();
+    }
+
+    @Test
+    void listenersShouldBeRestartedWhenThePoolCannotBeCleared() {
+        givenStatus();
+        givenRunningJmsContainer();
+        when(kafkaContainer.isRunning()).thenReturn(true);
+        doThrow(new IllegalStateException("closed")).when(pool).clear();
+
+        assertThrows(IllegalStateException.class, () -> endpoint(pool).tune(null, null, null, null, 40, null));
+
+        verify(jmsContainer).start();
+        verify(kafkaContainer).start();
+    }
+
+    @Test
+    void cachingConnectionFactoryShouldTakeTheSessionCacheSize() throws InterruptedException {
+        var caching = mock(CachingConnectionFactory.class);
+        when(caching.getSessionCacheSize()).thenReturn(25);
+        givenStatus();
+
+        var status = endpoint(caching).tune(null, null, null, null, null, 25);
+
+        verify(caching).setSessionCacheSize(25);
+        verify(caching).resetConnection();
+        assertEquals(Map.of("maxConnections", 1, "maxSessionsPerConnection", 25), status.jmsPool());
+    }
+
+    @Test
+    void poolSettingsTheConnectionFactoryCannotTakeShouldBeRejected() {
+        var caching = mock(CachingConnectionFactory.class);
+
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint(caching).tune(null, null, null, null, 10, null));
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint(mock(ConnectionFactory.class)).tune(null, null, null, null, null, 10));
+        verify(caching, never()).resetConnection();
+    }
+
+    @Test
+    void invalidValuesShouldBeRejectedBeforeAnythingChanges() {
+        var endpoint = endpoint(pool);
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune("many", null, null, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, "ten", null, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, null, -1, null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, null, null, -1, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, null, null, null, 0, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, null, null, null, null, 0));
+
+        verify(jmsContainer, never()).setConcurrency(anyString());
+        verify(producerFactory, never()).updateConfigs(any());
+        verify(pool, never()).clear();
+    }
+
+    @Test
+    void jmsListenersThatDoNotStopInTimeShouldStillBeRestarted() throws InterruptedException {
+        givenStatus();
+        when(jmsContainer.isRunning()).thenReturn(true);
+
+        new TuningEndpoint(kafkaRegistry, jmsRegistry, producerFactory, kafkaAdmin, pool, 0)
+                .tune(null, null, 1, null, null, null);
+
+        verify(jmsContainer).start();
+    }
+
+    private TuningEndpoint endpoint(ConnectionFactory connectionFactory) {
+        return new TuningEndpoint(kafkaRegistry, jmsRegistry, producerFactory, kafkaAdmin, connectionFactory, 5);
+    }
+
+    private void givenStatus() {
+        when(kafkaContainer.getListenerId()).thenReturn("kafka-response");
+        when(kafkaContainer.getConcurrency()).thenReturn(2);
+        when(jmsRegistry.getListenerContainerIds()).thenReturn(Set.of("mq-request"));
+        when(jmsRegistry.getListenerContainer("mq-request")).thenReturn(jmsContainer);
+        when(jmsContainer.getConcurrentConsumers()).thenReturn(10);
+        when(jmsContainer.getMaxConcurrentConsumers()).thenReturn(50);
+        when(producerFactory.getConfigurationProperties()).thenReturn(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 5, ProducerConfig.BATCH_SIZE_CONFIG, 65536));
+        when(pool.getMaxConnections()).thenReturn(20);
+        when(pool.getMaxSessionsPerConnection()).thenReturn(10);
+    }
+
+    private void givenRunningJmsContainer() {
+        when(jmsContainer.isRunning()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(jmsContainer).stop(any(Runnable.class));
+    }
+
+    private void givenPartitions(int partitions) {
+        when(kafkaContainer.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        var partitionInfos = IntStream.range(0, partitions)
+                .mapToObj(partition -> new TopicPartitionInfo(partition, null, List.of(), List.of()))
+                .toList();
+        when(kafkaAdmin.describeTopics(TOPIC)).thenReturn(Map.of(TOPIC, new TopicDescription(TOPIC, false,
+                partitionInfos)));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.kafkaconsumer;
 
+import com.example.profiling.JfrEndpoint;
+import com.example.profiling.MessageEvents;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import({JfrEndpoint.class, MessageEvents.class})
 public class KafkaConsumerApplication {
 
     public static void main(String[] args) {
@@ -2,6 +2,9 @@ package com.example.kafkaconsumer.messaging;
 
 import com.example.avro.MqMessage;
 import com.example.avro.util.KafkaHeaderUtils;
+import com.example.avro.util.TraceContext;
+import com.example.kafkaconsumer.profiling.KafkaRequestEvent;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -24,12 +27,15 @@ public class KafkaRequestListener {
     private final Counter messagesReceived;
     private final Counter messagesProcessed;
     private final String kafkaResponseTopic;
+    private final MessageEvents messageEvents;
 
     public KafkaRequestListener(KafkaTemplate<String, MqMessage> kafkaTemplate,
                                 MeterRegistry meterRegistry,
-                                @Value("${app.kafka.topic.response}") String kafkaResponseTopic) {
+                                @Value("${app.kafka.topic.response}") String kafkaResponseTopic,
+                                MessageEvents messageEvents) {
         this.kafkaTemplate = kafkaTemplate;
         this.kafkaResponseTopic = kafkaResponseTopic;
+        this.messageEvents = messageEvents;
         this.messagesReceived = Counter.builder("kafka.request.messages.received")
                 .description("Total Kafka request messages received")
                 .tag("listener", "kafka-processor")
@@ -44,16 +50,20 @@ public class KafkaRequestListener {
            description = "Time to process Kafka request and send response",
            histogram = true,
            percentiles = {0.25, 0.5, 0.75, 0.9, 0.95, 0.99})
-    @KafkaListener(topics = "${app.kafka.topic.request}", groupId = "${spring.kafka.consumer.group-id}", concurrency = "${app.kafka.consumer.concurrency:20}")
+    @KafkaListener(id = "kafka-request", topics = "${app.kafka.topic.request}", groupId = "${spring.kafka.consumer.group-id}", concurrency = "${app.kafka.consumer.concurrency:20}")
     public void onMessage(ConsumerRecord<String, MqMessage> record) {
+        var start = System.nanoTime();
+        var receivedAt = Instant.now();
         messagesReceived.increment();
 
-        var body = record.value().getContent();
+        var request = record.value();
+        var body = request.getContent();
         var replyTo = KafkaHeaderUtils.getHeader(record, "mq-reply-to");
         var correlationId = KafkaHeaderUtils.getHeader(record, "correlationId");
+        var traceparent = KafkaHeaderUtils.getHeader(record, TraceContext.TRACEPARENT);
 
-            log.debug("Received Kafka request: {} correlationId=[{}]",
-                    body, correlationId);
+            log.debug("Received Kafka request: {} traceId={} correlationId=[{}]",
+                    body, TraceContext.traceId(traceparent), correlationId);
 
             var processedContent = body + " processed";
 
@@ -63,6 +73,10 @@ public class KafkaRequestListener {
             var responsePayload = MqMessage.newBuilder()
                     .setContent(processedContent)
                     .setTimestamp(Instant.now())
+                    .setMqReceivedAt(request.getMqReceivedAt())
+                    .setKafkaRequestSentAt(request.getKafkaRequestSentAt())
+                    .setKafkaRequestReceivedAt(receivedAt)
+                    .setKafkaResponseSentAt(Instant.now())
                     .build();
 
             var builder = MessageBuilder
@@ -75,10 +89,14 @@ public class KafkaRequestListener {
             if (correlationId != null) {
                 builder.setHeader("correlationId", correlationId);
             }
+            if (traceparent != null) {
+                builder.setHeader(TraceContext.TRACEPARENT, traceparent);
+            }
 
             var responseMessage = builder.build();
             kafkaTemplate.send(responseMessage);
             messagesProcessed.increment();
+            messageEvents.record(KafkaRequestEvent::new, correlationId, body, System.nanoTime() - start);
     }
 
 }
@@ -0,0 +1,14 @@
+package com.example.kafkaconsumer.profiling;
+
+import com.example.profiling.MessageEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.kafkaconsumer.KafkaRequest")
+@Label("Kafka Request")
+@Description("A Kafka request that took at least the event threshold to be processed and answered")
+@Category({"Kafka Consumer", "Messaging"})
+public class KafkaRequestEvent extends MessageEvent {
+}
@@ -0,0 +1,90 @@
+package com.example.kafkaconsumer.tuning;
+
+import com.example.tuning.KafkaListenerTuning;
+import com.example.tuning.ProducerTuning;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Listener and producer tuning at {@code /actuator/tuning}, so an infrastructure profile can
+ * resize this service between runs without a redeploy. {@code GET} shows the current settings
+ * and {@code POST} changes them.
+ *
+ * <p>Listener concurrency only takes effect when a container restarts, and a rebuilt producer
+ * must not be used by a listener that is still sending with the old one. So every container
+ * that is affected is stopped first, all changes are applied, and the containers are started
+ * again together, also when a change fails. The consumer group rebalances once per change, not
+ * once per container.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "tuning")
+public class TuningEndpoint {
+
+    private final KafkaListenerTuning kafkaListeners;
+    private final ProducerTuning producer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TuningEndpoint(KafkaListenerEndpointRegistry kafkaListenerRegistry, ProducerFactory<?, ?> producerFactory,
+                          KafkaAdmin kafkaAdmin) {
+        this.kafkaListeners = new KafkaListenerTuning(kafkaListenerRegistry, kafkaAdmin);
+        this.producer = new ProducerTuning(producerFactory);
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(kafkaListeners.concurrency(), producer.settings());
+    }
+
+    /**
+     * Changes the given settings and leaves the others as they are. Every value is validated
+     * before any container is stopped.
+     *
+     * @param kafkaConcurrency consumers per Kafka listener container, at most one per partition of
+     *                         its topics, or {@code auto} for exactly one per partition
+     * @param lingerMs         producer {@code linger.ms}
+     * @param batchSize        producer {@code batch.size}
+     */
+    @WriteOperation
+    public Status tune(@OptionalParameter String kafkaConcurrency, @OptionalParameter Integer lingerMs,
+                       @OptionalParameter Integer batchSize) {
+        lock.lock();
+        try {
+            var concurrency = kafkaListeners.targets(kafkaConcurrency);
+            var producerUpdates = ProducerTuning.updates(lingerMs, batchSize);
+
+            var restart = kafkaListeners.toRestart(concurrency, !producerUpdates.isEmpty());
+            try {
+                restart.forEach(ConcurrentMessageListenerContainer::stop);
+                concurrency.forEach(ConcurrentMessageListenerContainer::setConcurrency);
+                producer.apply(producerUpdates);
+            } finally {
+                restart.forEach(ConcurrentMessageListenerContainer::start);
+            }
+
+            var status = status();
+            log.info("Tuning applied, {} listener containers restarted: {}", restart.size(), status);
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param kafkaConcurrency consumers per Kafka listener container, by listener id
+     * @param producer         the producer's {@code linger.ms} and {@code batch.size}
+     */
+    public record Status(Map<String, Integer> kafkaConcurrency, Map<String, Object> producer) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.kafkaconsumer.messaging;
 
 import com.example.avro.MqMessage;
+import com.example.avro.util.TraceContext;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
@@ -16,25 +18,33 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.Message;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class KafkaRequestListenerTest {
 
+    private static final String TRACEPARENT = "00-0123abcd456789ef0123456789abcdef-0000eeaacccc4400-00";
+
     @Mock
     private KafkaTemplate<String, MqMessage> kafkaTemplate;
 
+    @Mock
+    private MessageEvents messageEvents;
+
     private MeterRegistry meterRegistry;
     private KafkaRequestListener listener;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        listener = new KafkaRequestListener(kafkaTemplate, meterRegistry, "mq-responses");
+        listener = new KafkaRequestListener(kafkaTemplate, meterRegistry, "mq-responses", messageEvents);
     }
 
     @Test
@@ -48,6 +58,7 @@ class KafkaRequestListenerTest {
                 "mq-requests", 0, 0, "key", mqMessage);
         record.headers().add("mq-reply-to", "queue:///DEV.QUEUE.1".getBytes(StandardCharsets.UTF_8));
         record.headers().add("correlationId", "corr-123".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(TraceContext.TRACEPARENT, TRACEPARENT.getBytes(StandardCharsets.UTF_8));
 
         listener.onMessage(record);
 
@@ -59,6 +70,31 @@ class KafkaRequestListenerTest {
         assertNotNull(sentMessage.getPayload().getTimestamp());
         assertEquals("mq-responses", sentMessage.getHeaders().get("kafka_topic"));
         assertEquals("queue:///DEV.QUEUE.1", sentMessage.getHeaders().get("mq-reply-to"));
+        assertEquals(TRACEPARENT, sentMessage.getHeaders().get(TraceContext.TRACEPARENT));
+        verify(messageEvents).record(any(), eq("corr-123"), eq("test message"), anyLong());
+    }
+
+    @Test
+    void onMessageShouldCarryRequestHopTimestampsAndStampItsOwn() {
+        var mqReceivedAt = Instant.parse("2026-01-01T00:00:00.000100Z");
+        var kafkaRequestSentAt = Instant.parse("2026-01-01T00:00:00.000200Z");
+        MqMessage mqMessage = MqMessage.newBuilder()
+                .setContent("test message")
+                .setTimestamp(Instant.now())
+                .setMqReceivedAt(mqReceivedAt)
+                .setKafkaRequestSentAt(kafkaRequestSentAt)
+                .build();
+        var before = Instant.now();
+
+        listener.onMessage(new ConsumerRecord<>("mq-requests", 0, 0, "key", mqMessage));
+
+        ArgumentCaptor<Message<MqMessage>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(messageCaptor.capture());
+        var response = messageCaptor.getValue().getPayload();
+        assertEquals(mqReceivedAt, response.getMqReceivedAt());
+        assertEquals(kafkaRequestSentAt, response.getKafkaRequestSentAt());
+        assertFalse(response.getKafkaRequestReceivedAt().isBefore(before));
+        assertFalse(response.getKafkaResponseSentAt().isBefore(response.getKafkaRequestReceivedAt()));
     }
 
     @Test
@@ -78,6 +114,7 @@ class KafkaRequestListenerTest {
 
         Message<MqMessage> sentMessage = messageCaptor.getValue();
         assertEquals("test message processed", sentMessage.getPayload().getContent());
+        assertFalse(sentMessage.getHeaders().containsKey(TraceContext.TRACEPARENT));
     }
 
     @Test
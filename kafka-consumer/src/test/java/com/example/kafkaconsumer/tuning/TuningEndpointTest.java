@@ -0,0 +1,185 @@
+package com.example.kafkaconsumer.tuning;
+
+import com.example.tuning.KafkaListenerTuning;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TuningEndpointTest {
+
+    private static final String TOPIC = "mq-requests";
+
+    @Mock
+    private KafkaListenerEndpointRegistry registry;
+
+    @Mock
+    private ConcurrentMessageListenerContainer<String, Object> container;
+
+    @Mock
+    private MessageListenerContainer otherContainer;
+
+    @Mock
+    private ProducerFactory<String, Object> producerFactory;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    private TuningEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new TuningEndpoint(registry, producerFactory, kafkaAdmin);
+    }
+
+    @Test
+    void statusShouldReportConcurrencyAndProducerSettings() {
+        givenContainer(false, 3);
+        givenProducerConfigs();
+
+        var status = endpoint.status();
+
+        assertEquals(Map.of("kafka-request", 3), status.kafkaConcurrency());
+        assertEquals(5, status.producer().get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, status.producer().get(ProducerConfig.BATCH_SIZE_CONFIG));
+    }
+
+    @Test
+    void autoShouldRestartWithOneConsumerPerPartition() {
+        givenContainer(true, 2);
+        givenPartitions(6);
+        givenProducerConfigs();
+
+        endpoint.tune(KafkaListenerTuning.AUTO, null, null);
+
+        var order = inOrder(container);
+        order.verify(container).stop();
+        order.verify(container).setConcurrency(6);
+        order.verify(container).start();
+        verify(producerFactory, never()).reset();
+    }
+
+    @Test
+    void explicitConcurrencyShouldBeCappedAtThePartitionCount() {
+        givenContainer(true, 2);
+        givenPartitions(6);
+        givenProducerConfigs();
+
+        endpoint.tune("20", null, null);
+
+        verify(container).setConcurrency(6);
+        verify(container).start();
+    }
+
+    @Test
+    void unchangedConcurrencyShouldNotRestart() {
+        givenContainer(true, 6);
+        givenPartitions(6);
+        givenProducerConfigs();
+
+        endpoint.tune(" 6 ", null, null);
+
+        verify(container, never()).stop();
+        verify(container, never()).start();
+    }
+
+    @Test
+    void stoppedContainerShouldNotBeStarted() {
+        givenContainer(false, 2);
+        givenPartitions(4);
+        givenProducerConfigs();
+
+        endpoint.tune("auto", null, null);
+
+        verify(container).setConcurrency(4);
+        verify(container, never()).start();
+    }
+
+    @Test
+    void producerSettingsShouldRebuildTheProducerWhileListenersAreStopped() {
+        givenContainer(true, 2);
+        givenProducerConfigs();
+
+        endpoint.tune(null, 20, 131072);
+
+        var order = inOrder(container, producerFactory);
+        order.verify(container).stop();
+        order.verify(producerFactory).updateConfigs(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 20, ProducerConfig.BATCH_SIZE_CONFIG, 131072));
+        order.verify(producerFactory).reset();
+        order.verify(container).start();
+        verify(container, never()).setConcurrency(anyInt());
+    }
+
+    @Test
+    void listenersShouldBeRestartedWhenTheProducerCannotBeRebuilt() {
+        when(registry.getListenerContainers()).thenReturn(List.of(container, otherContainer));
+        when(container.getConcurrency()).thenReturn(2);
+        when(container.isRunning()).thenReturn(true);
+        doThrow(new IllegalStateException("closed")).when(producerFactory).reset();
+
+        assertThrows(IllegalStateException.class, () -> endpoint.tune(null, 20, null));
+
+        verify(container).stop();
+        verify(container).start();
+    }
+
+    @Test
+    void invalidValuesShouldBeRejectedBeforeAnythingChanges() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune("many", null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune("0", null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, -1, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.tune(null, null, -1));
+
+        verify(container, never()).stop();
+        verify(producerFactory, never()).updateConfigs(any());
+    }
+
+    private void givenContainer(boolean running, int concurrency) {
+        when(registry.getListenerContainers()).thenReturn(List.of(container, otherContainer));
+        when(container.getConcurrency()).thenReturn(concurrency);
+        when(container.getListenerId()).thenReturn("kafka-request");
+        if (running) {
+            when(container.isRunning()).thenReturn(true);
+        }
+    }
+
+    private void givenPartitions(int partitions) {
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        var partitionInfos = IntStream.range(0, partitions)
+                .mapToObj(partition -> new TopicPartitionInfo(partition, null, List.of(), List.of()))
+                .toList();
+        when(kafkaAdmin.describeTopics(TOPIC)).thenReturn(Map.of(TOPIC, new TopicDescription(TOPIC, false,
+                partitionInfos)));
+    }
+
+    private void givenProducerConfigs() {
+        when(producerFactory.getConfigurationProperties()).thenReturn(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 5, ProducerConfig.BATCH_SIZE_CONFIG, 65536));
+    }
+}
@@ -3,16 +3,20 @@ package com.example.perftester.componenttest.steps;
 import com.example.perftester.export.DatabaseExportService;
 import com.example.perftester.export.DbExportQuery;
 import com.example.perftester.export.DbExportQueryRepository;
+import com.example.perftester.export.TestResultPackager;
 import io.cucumber.java.After;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
+import java.util.zip.ZipFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -24,21 +28,22 @@ public class DbExportSteps {
     @Autowired
     private DatabaseExportService databaseExportService;
 
+    @Autowired
+    private TestResultPackager testResultPackager;
+
     private Long queryId;
-    private Map<String, Path> exportResults;
+    private Path archivePath;
 
     @After("@dbexport")
     public void cleanup() {
         if (queryId != null) {
             dbExportQueryRepository.deleteById(queryId);
         }
-        if (exportResults != null) {
-            for (var path : exportResults.values()) {
-                try {
-                    Files.deleteIfExists(path);
-                } catch (IOException e) {
-                    // best-effort cleanup
-                }
+        if (archivePath != null) {
+            try {
+                Files.deleteIfExists(archivePath);
+            } catch (IOException e) {
+                // best-effort cleanup
             }
         }
     }
@@ -53,14 +58,22 @@ public class DbExportSteps {
     }
 
     @When("the export queries are executed")
-    public void theExportQueriesAreExecuted() {
-        exportResults = databaseExportService.executeExportQueries();
+    public void theExportQueriesAreExecuted() throws IOException {
+        try (var archive = testResultPackager.createArchive("ct-db-export")) {
+            archivePath = archive.path();
+            databaseExportService.exportTo(archive);
+        }
     }
 
     @Then("the result for {string} has a CSV file with header {string}")
     public void theResultForHasACsvFileWithHeader(String name, String expectedHeader) throws IOException {
-        assertThat(exportResults).containsKey(name);
-        var firstLine = Files.lines(exportResults.get(name)).findFirst().orElse("");
-        assertThat(firstLine).isEqualTo(expectedHeader);
+        try (var zip = new ZipFile(archivePath.toFile())) {
+            var entry = zip.getEntry("db/" + name + ".csv");
+            assertThat(entry).isNotNull();
+            try (var reader = new BufferedReader(
+                    new InputStreamReader(zip.getInputStream(entry), StandardCharsets.UTF_8))) {
+                assertThat(reader.readLine()).isEqualTo(expectedHeader);
+            }
+        }
     }
 }
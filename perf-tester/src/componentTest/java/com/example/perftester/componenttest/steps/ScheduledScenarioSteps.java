@@ -2,8 +2,11 @@ package com.example.perftester.componenttest.steps;
 
 import com.example.perftester.perf.PerformanceTracker;
 import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.ScheduledRun;
+import com.example.perftester.persistence.ScheduledRunRepository;
 import com.example.perftester.persistence.TestRunRepository;
 import com.example.perftester.persistence.TestScenario;
+import com.example.perftester.persistence.TestScenarioChangedEvent;
 import com.example.perftester.persistence.TestScenarioRepository;
 import com.example.perftester.scheduling.ScheduledScenarioService;
 import io.cucumber.java.After;
@@ -14,8 +17,6 @@ import io.cucumber.java.en.When;
 import org.awaitility.Awaitility;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -23,14 +24,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class ScheduledScenarioSteps {
 
-    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
-
     @Autowired
     private TestScenarioRepository testScenarioRepository;
 
     @Autowired
     private TestRunRepository testRunRepository;
 
+    @Autowired
+    private ScheduledRunRepository scheduledRunRepository;
+
     @Autowired
     private ScheduledScenarioService scheduledScenarioService;
 
@@ -50,21 +52,23 @@ public class ScheduledScenarioSteps {
     public void cleanup() {
         if (scenarioId != null) {
             testScenarioRepository.deleteById(scenarioId);
+            scheduledScenarioService.onScenarioChanged(new TestScenarioChangedEvent(scenarioId));
         }
         if (performanceTracker.isActive()) {
             performanceTracker.markIdle();
         }
     }
 
-    @Given("a scheduled scenario with count {int} and the current minute as scheduled time")
-    public void aScheduledScenarioWithCountAndCurrentMinute(int count) {
+    @Given("a scheduled scenario with count {int} that is due now")
+    public void aScheduledScenarioWithCountThatIsDueNow(int count) {
         var scenario = new TestScenario();
         scenario.setName(scenarioName);
         scenario.setCount(count);
         scenario.setScheduledEnabled(true);
-        scenario.setScheduledTime(LocalTime.now().format(HH_MM));
+        scenario.setScheduleCron("* * * * * *");
         scenario.setWarmupCount(0);
         scenarioId = testScenarioRepository.save(scenario).getId();
+        scheduledScenarioService.onScenarioChanged(new TestScenarioChangedEvent(scenarioId));
     }
 
     @Given("the performance tracker is in RUNNING state")
@@ -74,7 +78,21 @@ public class ScheduledScenarioSteps {
 
     @When("the scheduled service is triggered")
     public void theScheduledServiceIsTriggered() {
-        scheduledScenarioService.runScheduledScenarios();
+        scheduledScenarioService.tick();
+    }
+
+    @Then("a run of the scheduled scenario is waiting in the run queue")
+    public void aRunOfTheScheduledScenarioIsWaitingInTheRunQueue() {
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .pollInterval(200, TimeUnit.MILLISECONDS)
+                .untilAsserted(() -> {
+                    scheduledScenarioService.tick();
+                    assertThat(scheduledRunRepository.findAll())
+                            .filteredOn(run -> scenarioId.equals(run.getScenarioId()))
+                            .extracting(ScheduledRun::getStatus)
+                            .contains(ScheduledRun.QUEUED);
+                });
     }
 
     @Then("within {int} seconds a TestRun for the scheduled scenario reaches COMPLETED status")
@@ -58,7 +58,7 @@ public class ThresholdEvaluationSteps {
     public void aScenarioWithCountAndAvgLatencyThreshold(int count, double thresholdValue) {
         var thresholds = List.of(new ThresholdDef("AVG_LATENCY", "LT", thresholdValue));
         var request = new TestScenarioRequest(
-                scenarioName, count, null, false, null, 0, null, null, null, thresholds);
+                scenarioName, count, null, false, null, null, 0, null, null, null, thresholds, null);
         var detail = testScenarioService.create(request);
         scenarioId = detail.id();
     }
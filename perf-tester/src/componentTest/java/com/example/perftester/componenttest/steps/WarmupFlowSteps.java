@@ -55,7 +55,7 @@ public class WarmupFlowSteps {
     @Given("a scenario with warmupCount {int} and count {int}")
     public void aScenarioWithWarmupCountAndCount(int warmupCount, int count) {
         var request = new TestScenarioRequest(
-                scenarioName, count, null, false, null, warmupCount, null, null, null, null);
+                scenarioName, count, null, false, null, null, warmupCount, null, null, null, null, null);
         var detail = testScenarioService.create(request);
         scenarioId = detail.id();
     }
@@ -1,16 +1,17 @@
 Feature: Scheduled scenario execution
-  The ScheduledScenarioService triggers matching scenarios at the configured time
-  and skips execution when a test is already running.
+  The ScheduledScenarioService queues scenarios when their cron expression fires
+  and holds queued runs back while a test is already running.
 
   @scheduled @bridge
-  Scenario: Scheduled scenario triggers when the time matches
-    Given a scheduled scenario with count 1 and the current minute as scheduled time
+  Scenario: Scheduled scenario runs when its cron expression fires
+    Given a scheduled scenario with count 1 that is due now
     When the scheduled service is triggered
     Then within 15 seconds a TestRun for the scheduled scenario reaches COMPLETED status
 
   @scheduled
-  Scenario: Scheduler skips when a test is already in RUNNING state
-    Given a scheduled scenario with count 1 and the current minute as scheduled time
+  Scenario: Scheduled run waits in the queue while a test is in RUNNING state
+    Given a scheduled scenario with count 1 that is due now
     And the performance tracker is in RUNNING state
     When the scheduled service is triggered
-    Then no TestRun is created for the scheduled scenario within 3 seconds
\ No newline at end of file
+    Then a run of the scheduled scenario is waiting in the run queue
+    And no TestRun is created for the scheduled scenario within 3 seconds
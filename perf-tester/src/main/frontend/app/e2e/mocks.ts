@@ -27,11 +27,12 @@ export async function mockRunDetail(page: Page, id: number, overrides: object =
   await page.route(`/api/perf/test-runs/${id}`,           r => r.fulfill({ json: { ...base, ...overrides } }));
   await page.route(`/api/perf/test-runs/${id}/logs`,      r => r.fulfill({ json: [] }));
   await page.route(`/api/perf/test-runs/${id}/snapshots`, r => r.fulfill({ json: [] }));
+  await page.route(`/api/perf/test-runs/${id}/snapshots/partitions`, r => r.fulfill({ json: [] }));
 }
 
 export const DEFAULT_PREFS = {
   exportGrafana: false, exportPrometheus: false, exportKubernetes: false,
-  exportLogs: false, exportDatabase: false, debug: false,
+  exportLogs: false, exportDatabase: false, exportJfr: false, debug: false,
 };
 
 export async function mockApi(page: Page, overrides: {
@@ -136,3 +136,22 @@ test('shows snapshot table when snapshots are returned', async ({ page }) => {
   await expect(page.getByText('Outbound Q')).toBeVisible();
   await expect(page.getByText('5')).toBeVisible();
 });
+
+test('shows consumer lag by partition', async ({ page }) => {
+  await page.route('/api/perf/test-runs/1/snapshots', r => r.fulfill({ json: [
+    { id: 1, sampledAt: '2024-01-01T10:00:01Z', outboundQueueDepth: 5, inboundQueueDepth: 0,
+      kafkaRequestsLag: 40, kafkaResponsesLag: 0 },
+  ] }));
+  await page.route('/api/perf/test-runs/1/snapshots/partitions', r => r.fulfill({ json: [
+    { consumerGroup: 'kafka-consumer-group', topic: 'requests', partition: 0, startedAt: '2024-01-01T10:00:00Z',
+      sampleOffsetsMs: [0, 1000], lags: [0, 30], lagMs: [0, 750], maxLag: 30, maxLagMs: 750 },
+    { consumerGroup: 'kafka-consumer-group', topic: 'requests', partition: 1, startedAt: '2024-01-01T10:00:00Z',
+      sampleOffsetsMs: [0, 1000], lags: [0, 10], lagMs: [-1, -1], maxLag: 10, maxLagMs: 0 },
+  ] }));
+  await page.goto('/test-runs/1');
+  await page.getByRole('tab', { name: 'Monitoring' }).click();
+  await expect(page.getByText('Consumer Lag by Partition')).toBeVisible();
+  await expect(page.getByText('requests-0')).toBeVisible();
+  await expect(page.getByText('75%')).toBeVisible();
+  await expect(page.getByText('750')).toBeVisible();
+});
@@ -31,6 +31,7 @@ export {
   getResponseTemplate,
   getTestCase,
   getTestRunLogs,
+  getTestRunPartitionLags,
   getTestRunSnapshots,
   getTestRunSummary,
   getTestRuns,
@@ -44,6 +45,7 @@ export {
   listResponseTemplates,
   listTestCases,
   listTestScenarios,
+  listThresholdMetrics,
   listTopics,
   resizeTopic,
   scaleDeployment,
@@ -22,6 +22,7 @@ import type {
   ResponseTemplateDetail,
   ResponseTemplateRequest,
   ResponseTemplateSummary,
+  RunComparison,
   ScenarioExport,
   TestCaseDetail,
   TestCaseSummary,
@@ -29,10 +30,12 @@ import type {
   TestRunDetailResponse,
   TestRunResponse,
   TestRunSnapshotResponse,
+  PartitionLagResponse,
   TestScenarioDetail,
   TestScenarioRequest,
   TestScenarioSummary,
   TestStartResponse,
+  ThresholdMetrics,
   TopicInfo,
   TrendPoint,
 } from '@/types/api';
@@ -51,6 +54,7 @@ export function sendTest(params: {
   exportKubernetes?: boolean;
   exportLogs?: boolean;
   exportDatabase?: boolean;
+  exportJfr?: boolean;
   debug?: boolean;
 }): Promise<TestStartResponse> {
   const query = new URLSearchParams();
@@ -64,6 +68,7 @@ export function sendTest(params: {
   if (params.exportKubernetes) query.set('exportKubernetes', 'true');
   if (params.exportLogs) query.set('exportLogs', 'true');
   if (params.exportDatabase) query.set('exportDatabase', 'true');
+  if (params.exportJfr) query.set('exportJfr', 'true');
   if (params.debug) query.set('debug', 'true');
 
   const qs = query.toString();
@@ -85,7 +90,12 @@ export function subscribeTestProgress(
   source.onmessage = (e) => {
     const data = JSON.parse(e.data as string) as TestProgressEvent;
     onEvent(data);
-    if (data.status === 'COMPLETED' || data.status === 'TIMEOUT' || data.status === 'FAILED') {
+    if (
+      data.status === 'COMPLETED' ||
+      data.status === 'TIMEOUT' ||
+      data.status === 'ABORTED' ||
+      data.status === 'FAILED'
+    ) {
       source.close();
       onComplete();
     }
@@ -101,11 +111,21 @@ export function subscribeTestProgress(
 
 // ── Test Runs ──────────────────────────────────────────────────────
 
-export function getTestRuns(params?: { page?: number; size?: number; tag?: string }): Promise<PagedResponse<TestRunResponse>> {
+export function getTestRuns(params?: {
+  page?: number;
+  size?: number;
+  tags?: string[];
+  matchAll?: boolean;
+  cursor?: string;
+  includeTotal?: boolean;
+}): Promise<PagedResponse<TestRunResponse>> {
   const query = new URLSearchParams();
   if (params?.page) query.set('page', String(params.page));
   if (params?.size != null && params.size !== 20) query.set('size', String(params.size));
-  if (params?.tag) query.set('tag', params.tag);
+  params?.tags?.forEach((tag) => query.append('tag', tag));
+  if (params?.matchAll) query.set('matchAll', 'true');
+  if (params?.cursor) query.set('cursor', params.cursor);
+  if (params?.includeTotal === false) query.set('includeTotal', 'false');
   const qs = query.toString();
   return get(qs ? `/api/perf/test-runs?${qs}` : '/api/perf/test-runs');
 }
@@ -146,6 +166,14 @@ export function getTestRunSnapshots(id: number): Promise<TestRunSnapshotResponse
   return get(`/api/perf/test-runs/${id}/snapshots`);
 }
 
+export function getTestRunPartitionLags(id: number): Promise<PartitionLagResponse[]> {
+  return get(`/api/perf/test-runs/${id}/snapshots/partitions`);
+}
+
+export function compareTestRuns(id: number, baselineId: number): Promise<RunComparison> {
+  return get(`/api/perf/test-runs/${id}/compare/${baselineId}`);
+}
+
 // ── Logging Admin ──────────────────────────────────────────────────
 
 export function getLogLevel(loggerName?: string): Promise<LogLevelResponse> {
@@ -342,6 +370,10 @@ export function listTestScenarios(): Promise<TestScenarioSummary[]> {
   return get('/api/test-scenarios');
 }
 
+export function listThresholdMetrics(): Promise<ThresholdMetrics> {
+  return get('/api/test-scenarios/threshold-metrics');
+}
+
 export function getTestScenario(id: number): Promise<TestScenarioDetail> {
   return get(`/api/test-scenarios/${id}`);
 }
@@ -50,6 +50,7 @@ interface ProfileForm {
   kafkaTopics: KvEntry[];
   kubernetesReplicas: KvEntry[];
   ibmMqQueues: KvEntry[];
+  consumerTuning: KvEntry[];
 }
 
 const EMPTY_FORM: ProfileForm = {
@@ -58,8 +59,22 @@ const EMPTY_FORM: ProfileForm = {
   kafkaTopics: [],
   kubernetesReplicas: [],
   ibmMqQueues: [],
+  consumerTuning: [],
 };
 
+// Settings of the consumers' /actuator/tuning endpoints, as <service>.<setting>
+const TUNING_OPTIONS = [
+  'kafka-consumer.kafkaConcurrency',
+  'kafka-consumer.lingerMs',
+  'kafka-consumer.batchSize',
+  'ibm-mq-consumer.kafkaConcurrency',
+  'ibm-mq-consumer.jmsConcurrency',
+  'ibm-mq-consumer.lingerMs',
+  'ibm-mq-consumer.batchSize',
+  'ibm-mq-consumer.jmsMaxConnections',
+  'ibm-mq-consumer.jmsMaxSessionsPerConnection',
+].map((setting) => ({ value: setting, label: setting }));
+
 function KvEditor({
   label,
   entries,
@@ -261,6 +276,7 @@ export default function InfraProfileManager() {
       kafkaTopics: fromRecord(detail.kafkaTopics),
       kubernetesReplicas: fromRecord(detail.kubernetesReplicas),
       ibmMqQueues: fromRecord(detail.ibmMqQueues),
+      consumerTuning: fromRecord(detail.consumerTuning),
     });
   };
 
@@ -273,6 +289,7 @@ export default function InfraProfileManager() {
         kafkaTopics: toRecord(form.kafkaTopics, Number),
         kubernetesReplicas: toRecord(form.kubernetesReplicas, Number),
         ibmMqQueues: toRecord(form.ibmMqQueues, Number),
+        consumerTuning: toRecord(form.consumerTuning, (v) => v),
       };
       if (form.id != null) {
         await updateInfraProfile(form.id, request);
@@ -424,6 +441,16 @@ export default function InfraProfileManager() {
               return queue != null ? String(queue.maxDepth) : '';
             }}
           />
+          <Divider />
+          <KvEditor
+            label="Consumer Tuning (service.setting → value, kafkaConcurrency takes auto)"
+            entries={form.consumerTuning}
+            onChange={(e) => setForm({ ...form, consumerTuning: e })}
+            valueType="text"
+            keyLabel="Setting"
+            valuePlaceholder="Value"
+            keyOptions={TUNING_OPTIONS}
+          />
           {kubernetesAvailable && (
             <>
               <Divider />
@@ -49,6 +49,7 @@ import {
   listResponseTemplates,
   listTestCases,
   listTestScenarios,
+  listThresholdMetrics,
   updateHeaderTemplate,
   updateResponseTemplate,
   updateTestCase,
@@ -57,11 +58,13 @@ import {
 import type {
   HeaderTemplateSummary,
   InfraProfileSummary,
+  MissedFirePolicy,
   ResponseTemplateSummary,
   ScenarioExport,
   TestCaseSummary,
   TestScenarioSummary,
   ThresholdDef,
+  ThresholdMetrics,
   ThinkTimeConfig,
 } from '@/types/api';
 import InfraProfileManager from './InfraProfileManager';
@@ -128,7 +131,8 @@ interface ScenarioForm {
   count: number;
   entries: EntryForm[];
   scheduledEnabled: boolean;
-  scheduledTime: string;
+  scheduleCron: string;
+  missedFirePolicy: MissedFirePolicy;
   warmupCount: number;
   testType: TestType | '';
   infraProfileId: number | null;
@@ -139,6 +143,7 @@ interface ScenarioForm {
   thinkTimeMeanMs: number;
   thinkTimeStdDevMs: number;
   thresholds: ThresholdDef[];
+  baselineRunId: number | null;
 }
 
 interface TemplateForm {
@@ -157,14 +162,29 @@ interface TestCaseFormState {
 }
 
 const EMPTY_SCENARIO: ScenarioForm = {
-  name: '', count: 100, entries: [], scheduledEnabled: false, scheduledTime: '',
+  name: '', count: 100, entries: [], scheduledEnabled: false, scheduleCron: '', missedFirePolicy: 'SKIP',
   warmupCount: 0, testType: '', infraProfileId: null, thinkTimeEnabled: false,
   thinkTimeDistribution: 'CONSTANT', thinkTimeMinMs: 0, thinkTimeMaxMs: 1000,
-  thinkTimeMeanMs: 500, thinkTimeStdDevMs: 100, thresholds: [],
+  thinkTimeMeanMs: 500, thinkTimeStdDevMs: 100, thresholds: [], baselineRunId: null,
 };
 const EMPTY_TEMPLATE: TemplateForm = { name: '', fields: [] };
 const EMPTY_TC: TestCaseFormState = { mode: 'create', name: '', message: '', headerTemplateId: null, responseTemplateId: null };
 
+// Used until the backend registry has loaded
+const DEFAULT_THRESHOLD_METRICS: ThresholdMetrics = {
+  metrics: ['TPS', 'AVG_LATENCY', 'P50', 'P90', 'P95', 'P99'].map((name) => ({
+    name,
+    description: name,
+    perTestCase: name !== 'TPS',
+  })),
+  operators: [
+    { name: 'LT', symbol: '<' },
+    { name: 'LTE', symbol: '<=' },
+    { name: 'GT', symbol: '>' },
+    { name: 'GTE', symbol: '>=' },
+  ],
+};
+
 // ── Test Cases Tab ─────────────────────────────────────────────────
 
 interface TestCasesTabProps {
@@ -1120,6 +1140,7 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
   const [error, setError] = useState<string | null>(null);
   const [testCases, setTestCases] = useState<TestCaseSummary[]>([]);
   const [infraProfiles, setInfraProfiles] = useState<InfraProfileSummary[]>([]);
+  const [thresholdMetrics, setThresholdMetrics] = useState<ThresholdMetrics>(DEFAULT_THRESHOLD_METRICS);
 
   const [dialogOpen, setDialogOpen] = useState(false);
   const [form, setForm] = useState<ScenarioForm>(EMPTY_SCENARIO);
@@ -1145,6 +1166,7 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
   const refreshSupportingData = () => {
     listTestCases().then(setTestCases).catch(() => {});
     listInfraProfiles().then(setInfraProfiles).catch(() => {});
+    listThresholdMetrics().then(setThresholdMetrics).catch(() => {});
   };
 
   const openCreate = () => {
@@ -1155,6 +1177,7 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
 
   const openEdit = async (scenario: TestScenarioSummary) => {
     setDialogOpen(true);
+    listThresholdMetrics().then(setThresholdMetrics).catch(() => {});
     const [detail, tcs, profiles] = await Promise.all([
       getTestScenario(scenario.id),
       listTestCases().catch(() => [] as TestCaseSummary[]),
@@ -1167,7 +1190,8 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
       name: detail.name,
       count: detail.count,
       scheduledEnabled: detail.scheduledEnabled ?? false,
-      scheduledTime: detail.scheduledTime ?? '',
+      scheduleCron: detail.scheduleCron ?? '',
+      missedFirePolicy: detail.missedFirePolicy ?? 'SKIP',
       warmupCount: detail.warmupCount ?? 0,
       testType: (detail.testType as TestType | '') ?? '',
       infraProfileId: detail.infraProfileId ?? null,
@@ -1178,6 +1202,7 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
       thinkTimeMeanMs: detail.thinkTime?.meanMs ?? 500,
       thinkTimeStdDevMs: detail.thinkTime?.stdDevMs ?? 100,
       thresholds: detail.thresholds ?? [],
+      baselineRunId: detail.baselineRunId ?? null,
       entries: detail.entries.map((e) => ({
         id: e.id,
         testCaseId: e.testCaseId ?? null,
@@ -1220,12 +1245,14 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
         name: form.name,
         count: form.count,
         scheduledEnabled: form.scheduledEnabled,
-        scheduledTime: form.scheduledEnabled && form.scheduledTime ? form.scheduledTime : null,
+        scheduleCron: form.scheduledEnabled && form.scheduleCron ? form.scheduleCron : null,
+        missedFirePolicy: form.missedFirePolicy,
         warmupCount: form.warmupCount,
         testType: form.testType || null,
         infraProfileId: form.infraProfileId,
         thinkTime,
         thresholds: form.thresholds,
+        baselineRunId: form.baselineRunId,
         entries: form.entries
           .filter((e) => e.testCaseId != null)
           .map((e, index) => ({
@@ -1404,17 +1431,44 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
                   onChange={(e) => setForm({ ...form, scheduledEnabled: e.target.checked })}
                 />
               }
-              label={<Typography variant="body2">Run at specific time daily</Typography>}
+              label={<Typography variant="body2">Run on a schedule</Typography>}
             />
             {form.scheduledEnabled && (
               <MuiTextField
                 size="small"
-                label="Time (HH:mm)"
-                type="time"
-                value={form.scheduledTime}
-                onChange={(e) => setForm({ ...form, scheduledTime: e.target.value })}
-                sx={{ width: 140 }}
-                slotProps={{ htmlInput: { step: 60 } }}
+                label="Cron"
+                placeholder="0 0 2 * * MON-FRI"
+                helperText="sec min hour day month weekday"
+                value={form.scheduleCron}
+                onChange={(e) => setForm({ ...form, scheduleCron: e.target.value })}
+                sx={{ width: 220 }}
+              />
+            )}
+            {form.scheduledEnabled && (
+              <MuiTextField
+                select
+                size="small"
+                label="Missed Fires"
+                value={form.missedFirePolicy}
+                onChange={(e) => setForm({ ...form, missedFirePolicy: e.target.value as MissedFirePolicy })}
+                sx={{ width: 160 }}
+              >
+                <MenuItem value="SKIP">Skip</MenuItem>
+                <MenuItem value="RUN_ONCE">Run once</MenuItem>
+              </MuiTextField>
+            )}
+            {form.scheduledEnabled && (
+              <MuiTextField
+                size="small"
+                label="Baseline Run ID"
+                type="number"
+                value={form.baselineRunId ?? ''}
+                onChange={(e) => setForm({
+                  ...form,
+                  baselineRunId: e.target.value === '' ? null : Number(e.target.value),
+                })}
+                helperText="Compare each scheduled run against this run"
+                sx={{ width: 200 }}
               />
             )}
           </Stack>
@@ -1554,13 +1608,15 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
                       value={t.metric}
                       onChange={(e) => {
                         const updated = [...form.thresholds];
-                        updated[i] = { ...t, metric: e.target.value };
+                        const perTestCase = thresholdMetrics.metrics
+                          .some((m) => m.name === e.target.value && m.perTestCase);
+                        updated[i] = { ...t, metric: e.target.value, testCase: perTestCase ? t.testCase : null };
                         setForm({ ...form, thresholds: updated });
                       }}
-                      sx={{ width: 130 }}
+                      sx={{ width: 190 }}
                     >
-                      {['TPS', 'AVG_LATENCY', 'P50', 'P90', 'P95', 'P99'].map((m) => (
-                        <MenuItem key={m} value={m}>{m}</MenuItem>
+                      {thresholdMetrics.metrics.map((m) => (
+                        <MenuItem key={m.name} value={m.name} title={m.description}>{m.name}</MenuItem>
                       ))}
                     </MuiTextField>
                     <MuiTextField
@@ -1575,8 +1631,8 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
                       }}
                       sx={{ width: 80 }}
                     >
-                      {['LT', 'LTE', 'GT', 'GTE'].map((op) => (
-                        <MenuItem key={op} value={op}>{op}</MenuItem>
+                      {thresholdMetrics.operators.map((op) => (
+                        <MenuItem key={op.name} value={op.name}>{op.symbol}</MenuItem>
                       ))}
                     </MuiTextField>
                     <MuiTextField
@@ -1591,6 +1647,25 @@ function ScenariosTab({ onChanged }: ScenariosTabProps) {
                       }}
                       sx={{ width: 100 }}
                     />
+                    {thresholdMetrics.metrics.some((m) => m.name === t.metric && m.perTestCase) && (
+                      <MuiTextField
+                        select
+                        size="small"
+                        label="Test Case"
+                        value={t.testCase ?? ''}
+                        onChange={(e) => {
+                          const updated = [...form.thresholds];
+                          updated[i] = { ...t, testCase: e.target.value || null };
+                          setForm({ ...form, thresholds: updated });
+                        }}
+                        sx={{ width: 160 }}
+                      >
+                        <MenuItem value="">Whole run</MenuItem>
+                        {testCases.map((tc) => (
+                          <MenuItem key={tc.id} value={tc.name}>{tc.name}</MenuItem>
+                        ))}
+                      </MuiTextField>
+                    )}
                     <Tooltip title="Remove">
                       <IconButton
                         size="small"
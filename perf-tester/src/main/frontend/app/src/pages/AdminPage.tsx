@@ -9,7 +9,7 @@ import type { SelectOption } from 'perf-ui-components';
 import type { FormEvent } from 'react';
 import { useEffect, useMemo, useState } from 'react';
 import { changeQueueMaxDepth, listDeployments, listHealthCheckConfigs, listNamespaces, listQueues, listTopics, resizeTopic, scaleDeployment, setLogLevel, updateHealthCheckConfig } from '@/api';
-import type { DeploymentInfo, HealthCheckConfig, NamespaceInfo, TopicInfo } from '@/types/api';
+import type { DeploymentInfo, HealthCheckConfig, HealthCheckProtocol, NamespaceInfo, TopicInfo } from '@/types/api';
 
 const logLevels = [
   { value: 'TRACE', label: 'TRACE' },
@@ -20,6 +20,13 @@ const logLevels = [
   { value: 'OFF', label: 'OFF' },
 ];
 
+const probeProtocols = [
+  { value: 'TCP', label: 'TCP connect' },
+  { value: 'HTTP', label: 'HTTP readiness' },
+  { value: 'KAFKA', label: 'Kafka metadata' },
+  { value: 'IBM_MQ', label: 'MQ PCF ping' },
+];
+
 function LoggingTab() {
   const [loggerName, setLoggerName] = useState('com.example');
   const [level, setLevel] = useState('INFO');
@@ -414,6 +421,7 @@ type PingEdit = {
   enabled: boolean;
   connectionTimeoutMs: string;
   intervalMs: string;
+  protocol: HealthCheckProtocol;
 };
 
 function PingTab() {
@@ -436,6 +444,7 @@ function PingTab() {
             enabled: c.enabled,
             connectionTimeoutMs: String(c.connectionTimeoutMs),
             intervalMs: String(c.intervalMs),
+            protocol: c.protocol,
           };
         });
         setEdits(initial);
@@ -459,6 +468,7 @@ function PingTab() {
         enabled: edit.enabled,
         connectionTimeoutMs: Number(edit.connectionTimeoutMs),
         intervalMs: Number(edit.intervalMs),
+        protocol: edit.protocol,
       });
       setConfigs((prev) => prev.map((c) => (c.service === updated.service ? updated : c)));
       setResults((prev) => ({ ...prev, [service]: { type: 'success', text: 'Saved' } }));
@@ -494,6 +504,20 @@ function PingTab() {
         />
       ),
     },
+    {
+      id: 'protocol',
+      label: 'Probe',
+      minWidth: 150,
+      render: (row) => (
+        <Select
+          label="Probe"
+          value={edits[row.service]?.protocol ?? row.protocol}
+          options={probeProtocols}
+          onChange={(e: SelectChangeEvent) => updateEdit(row.service, 'protocol', e.target.value)}
+          size="small"
+        />
+      ),
+    },
     {
       id: 'host',
       label: 'Host',
@@ -576,7 +600,8 @@ function PingTab() {
   return (
     <Stack spacing={2}>
       <Typography variant="body2" color="text.secondary">
-        Configure TCP connectivity checks per service. Changes take effect within 5 seconds.
+        Configure health probes per service. Due checks run in parallel, each bounded by its timeout;
+        HTTP probes call /actuator/health/readiness. Changes take effect within 5 seconds.
       </Typography>
       <DataTable columns={columns} rows={configs} keyExtractor={(row) => row.service} />
     </Stack>
@@ -50,7 +50,7 @@ function StatCard({ icon, label, value }: { icon: ReactNode; label: string; valu
 }
 
 function OverviewPanel() {
-  const { data: pagedData, loading, error } = useApi(() => getTestRuns());
+  const { data: pagedData, loading, error } = useApi(() => getTestRuns({ includeTotal: false }));
   const runs = pagedData?.content ?? null;
 
   if (loading) return <Loading message="Loading overview..." />;
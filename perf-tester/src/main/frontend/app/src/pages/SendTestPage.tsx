@@ -75,7 +75,7 @@ function ProgressPanel({ progress }: ProgressPanelProps) {
       ? 'success'
       : progress.status === 'TIMEOUT'
         ? 'warning'
-        : progress.status === 'FAILED'
+        : progress.status === 'FAILED' || progress.status === 'ABORTED'
           ? 'error'
           : 'primary';
   const statusLabel =
@@ -437,6 +437,7 @@ export default function SendTestPage() {
   const [exportKubernetes, setExportKubernetes] = useState(false);
   const [exportLogs, setExportLogs] = useState(false);
   const [exportDatabase, setExportDatabase] = useState(false);
+  const [exportJfr, setExportJfr] = useState(false);
   const [debug, setDebug] = useState(false);
   const [submitting, setSubmitting] = useState(false);
   const [result, setResult] = useState<{ type: 'success' | 'error'; text: string } | null>(null);
@@ -457,6 +458,7 @@ export default function SendTestPage() {
     exportKubernetes: false,
     exportLogs: false,
     exportDatabase: false,
+    exportJfr: false,
     debug: false,
   });
 
@@ -467,6 +469,7 @@ export default function SendTestPage() {
     setExportKubernetes(prefs.exportKubernetes);
     setExportLogs(prefs.exportLogs);
     setExportDatabase(prefs.exportDatabase);
+    setExportJfr(prefs.exportJfr);
     setDebug(prefs.debug);
   };
 
@@ -506,7 +509,13 @@ export default function SendTestPage() {
     setResult(null);
     setProgress(null);
     setCurrentTestRunDbId(null);
-    const anyExport = exportGrafana || exportPrometheus || exportKubernetes || exportLogs || exportDatabase;
+    const anyExport =
+      exportGrafana ||
+      exportPrometheus ||
+      exportKubernetes ||
+      exportLogs ||
+      exportDatabase ||
+      exportJfr;
     setExportWasRequested(anyExport);
 
     try {
@@ -519,6 +528,7 @@ export default function SendTestPage() {
         exportKubernetes,
         exportLogs,
         exportDatabase,
+        exportJfr,
         debug,
       });
       setCurrentTestRunDbId(id);
@@ -668,6 +678,21 @@ export default function SendTestPage() {
                     </Button>
                   )}
                 </Stack>
+                <Tooltip title="Records every service with Java Flight Recorder while the test measures and adds the recordings and a profiling summary to the export ZIP" placement="top">
+                  <FormControlLabel
+                    control={
+                      <Checkbox
+                        size="small"
+                        checked={exportJfr}
+                        onChange={(e) => {
+                          setExportJfr(e.target.checked);
+                          persistPreferences({ exportJfr: e.target.checked });
+                        }}
+                      />
+                    }
+                    label="JFR"
+                  />
+                </Tooltip>
               </Stack>
             </Box>
 
@@ -731,7 +756,9 @@ export default function SendTestPage() {
       {progress && <ProgressPanel progress={progress} />}
 
       {progress &&
-        (progress.status === 'COMPLETED' || progress.status === 'TIMEOUT') &&
+        (progress.status === 'COMPLETED' ||
+          progress.status === 'TIMEOUT' ||
+          progress.status === 'ABORTED') &&
         exportWasRequested &&
         currentTestRunDbId !== null && (
           <Card sx={{ mt: 2 }}>
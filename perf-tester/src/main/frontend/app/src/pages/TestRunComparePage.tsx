@@ -21,6 +21,7 @@ const statusColor: Record<string, 'success' | 'error' | 'warning' | 'info' | 'de
   FAILED: 'error',
   RUNNING: 'info',
   TIMEOUT: 'warning',
+  ABORTED: 'error',
 };
 
 function formatTps(v: number | null): string {
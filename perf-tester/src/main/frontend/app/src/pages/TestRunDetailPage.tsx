@@ -13,9 +13,16 @@ import { Alert, Card, Chip, DataTable, Loading, PageHeader, Tabs } from 'perf-ui
 import type { DataTableColumn, TabItem } from 'perf-ui-components';
 import { useEffect, useState } from 'react';
 import { Link, useParams } from 'react-router-dom';
-import { downloadTestRunUrl, getTestRunLogs, getTestRunSnapshots, getTestRunSummary, setTestRunTags } from '@/api';
+import {
+  downloadTestRunUrl,
+  getTestRunLogs,
+  getTestRunPartitionLags,
+  getTestRunSnapshots,
+  getTestRunSummary,
+  setTestRunTags,
+} from '@/api';
 import { useApi } from '@/hooks';
-import type { LogEntry, TestRunSnapshotResponse, ThresholdResult } from '@/types/api';
+import type { LogEntry, PartitionLagResponse, TestRunSnapshotResponse, ThresholdResult } from '@/types/api';
 
 function SummaryField({ label, value }: { label: string; value: string }) {
   return (
@@ -61,9 +68,11 @@ function LogsPanel({ logs, loading }: { logs: LogEntry[] | null; loading: boolea
 
 function MonitoringPanel({
   snapshots,
+  partitions,
   loading,
 }: {
   snapshots: TestRunSnapshotResponse[] | null;
+  partitions: PartitionLagResponse[] | null;
   loading: boolean;
 }) {
   if (loading) return <Loading message="Loading monitoring data..." />;
@@ -82,12 +91,60 @@ function MonitoringPanel({
       align: 'right',
       render: (row) => (row.outboundQueueDepth != null ? row.outboundQueueDepth : '-'),
     },
+    {
+      id: 'outEnq',
+      label: 'Out Put',
+      align: 'right',
+      render: (row) => (row.outboundEnqueueCount != null ? row.outboundEnqueueCount : '-'),
+    },
+    {
+      id: 'outDeq',
+      label: 'Out Got',
+      align: 'right',
+      render: (row) => (row.outboundDequeueCount != null ? row.outboundDequeueCount : '-'),
+    },
+    {
+      id: 'outAge',
+      label: 'Out Oldest (s)',
+      align: 'right',
+      render: (row) => (row.outboundOldestMessageAgeSeconds != null ? row.outboundOldestMessageAgeSeconds : '-'),
+    },
+    {
+      id: 'outReaders',
+      label: 'Out Readers',
+      align: 'right',
+      render: (row) => (row.outboundOpenInputCount != null ? row.outboundOpenInputCount : '-'),
+    },
     {
       id: 'inbound',
       label: 'Inbound Q',
       align: 'right',
       render: (row) => (row.inboundQueueDepth != null ? row.inboundQueueDepth : '-'),
     },
+    {
+      id: 'inEnq',
+      label: 'In Put',
+      align: 'right',
+      render: (row) => (row.inboundEnqueueCount != null ? row.inboundEnqueueCount : '-'),
+    },
+    {
+      id: 'inDeq',
+      label: 'In Got',
+      align: 'right',
+      render: (row) => (row.inboundDequeueCount != null ? row.inboundDequeueCount : '-'),
+    },
+    {
+      id: 'inAge',
+      label: 'In Oldest (s)',
+      align: 'right',
+      render: (row) => (row.inboundOldestMessageAgeSeconds != null ? row.inboundOldestMessageAgeSeconds : '-'),
+    },
+    {
+      id: 'inReaders',
+      label: 'In Readers',
+      align: 'right',
+      render: (row) => (row.inboundOpenInputCount != null ? row.inboundOpenInputCount : '-'),
+    },
     {
       id: 'reqLag',
       label: 'Requests Lag',
@@ -102,11 +159,62 @@ function MonitoringPanel({
     },
   ];
   return (
-    <DataTable
-      columns={columns}
-      rows={snapshots}
-      keyExtractor={(row) => row.id}
-    />
+    <Box>
+      <DataTable
+        columns={columns}
+        rows={snapshots}
+        keyExtractor={(row) => row.id}
+      />
+      <PartitionLagTable partitions={partitions} />
+    </Box>
+  );
+}
+
+function PartitionLagTable({ partitions }: { partitions: PartitionLagResponse[] | null }) {
+  if (!partitions || partitions.length === 0) {
+    return null;
+  }
+  const groupTotals = new Map<string, number>();
+  for (const p of partitions) {
+    groupTotals.set(p.consumerGroup, (groupTotals.get(p.consumerGroup) ?? 0) + p.maxLag);
+  }
+  const columns: DataTableColumn<PartitionLagResponse>[] = [
+    { id: 'group', label: 'Consumer Group', render: (row) => row.consumerGroup },
+    { id: 'partition', label: 'Partition', render: (row) => `${row.topic}-${row.partition}` },
+    { id: 'maxLag', label: 'Max Lag', align: 'right', render: (row) => row.maxLag },
+    {
+      id: 'share',
+      label: 'Share of Group',
+      align: 'right',
+      render: (row) => {
+        const total = groupTotals.get(row.consumerGroup) ?? 0;
+        return total > 0 ? `${((row.maxLag / total) * 100).toFixed(0)}%` : '-';
+      },
+    },
+    {
+      id: 'maxLagMs',
+      label: 'Max Lag (ms)',
+      align: 'right',
+      render: (row) => (row.lagMs.some((v) => v >= 0) ? row.maxLagMs : '-'),
+    },
+    {
+      id: 'lastLag',
+      label: 'Final Lag',
+      align: 'right',
+      render: (row) => (row.lags.length > 0 ? row.lags[row.lags.length - 1] : '-'),
+    },
+  ];
+  return (
+    <Box sx={{ mt: 3 }}>
+      <Typography variant="subtitle1" gutterBottom>
+        Consumer Lag by Partition
+      </Typography>
+      <DataTable
+        columns={columns}
+        rows={partitions}
+        keyExtractor={(row) => `${row.consumerGroup}/${row.topic}/${row.partition}`}
+      />
+    </Box>
   );
 }
 
@@ -133,6 +241,7 @@ export default function TestRunDetailPage() {
     () => getTestRunSnapshots(numericId),
     [numericId],
   );
+  const { data: partitions } = useApi(() => getTestRunPartitionLags(numericId), [numericId]);
 
   const [tags, setTagsState] = useState<string[]>([]);
   const [newTag, setNewTag] = useState('');
@@ -178,7 +287,7 @@ export default function TestRunDetailPage() {
   const statusColor =
     summary.status === 'COMPLETED'
       ? 'success'
-      : summary.status === 'FAILED'
+      : summary.status === 'FAILED' || summary.status === 'ABORTED'
         ? 'error'
         : summary.status === 'RUNNING'
           ? 'info'
@@ -315,7 +424,7 @@ export default function TestRunDetailPage() {
     },
     {
       label: 'Monitoring',
-      content: <MonitoringPanel snapshots={snapshots} loading={loadingSnapshots} />,
+      content: <MonitoringPanel snapshots={snapshots} partitions={partitions} loading={loadingSnapshots} />,
     },
   ];
 
@@ -336,7 +445,12 @@ export default function TestRunDetailPage() {
           title={`Test Run #${id}`}
           subtitle={summary.testId ? `Test ID: ${summary.testId}` : `Run ID: ${summary.testRunId}`}
         />
-        <Chip label={summary.status} color={statusColor} sx={{ mt: -1 }} />
+        <Chip
+          label={summary.status}
+          color={statusColor}
+          title={summary.abortReason ?? undefined}
+          sx={{ mt: -1 }}
+        />
         {summary.testType && (
           <Chip
             label={summary.testType}
@@ -353,6 +467,15 @@ export default function TestRunDetailPage() {
             sx={{ mt: -1 }}
           />
         )}
+        {summary.exportStatus && summary.exportStatus !== 'COMPLETED' && (
+          <Chip
+            label={`Export ${summary.exportStatus}`}
+            size="small"
+            color={summary.exportStatus === 'FAILED' ? 'error' : 'info'}
+            title={summary.exportError ?? undefined}
+            sx={{ mt: -1 }}
+          />
+        )}
         {summary.zipFilePath && (
           <MuiButton
             component="a"
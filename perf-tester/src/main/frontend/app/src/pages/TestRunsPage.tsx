@@ -20,7 +20,7 @@ import Snackbar from '@mui/material/Snackbar';
 import Stack from '@mui/material/Stack';
 import { Alert, Chip, DataTable, EmptyState, Loading, PageHeader } from 'perf-ui-components';
 import type { DataTableColumn } from 'perf-ui-components';
-import { useState } from 'react';
+import { useRef, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { bulkDeleteTestRuns, deleteTestRun, getAllTestRunTags, getTestRuns } from '@/api';
 import { useApi } from '@/hooks';
@@ -31,6 +31,7 @@ const statusColor: Record<string, 'success' | 'error' | 'warning' | 'info' | 'de
   FAILED: 'error',
   RUNNING: 'info',
   TIMEOUT: 'warning',
+  ABORTED: 'error',
 };
 
 const testTypeColor: Record<string, 'info' | 'primary' | 'warning' | 'default' | 'error'> = {
@@ -45,9 +46,22 @@ export default function TestRunsPage() {
   const [page, setPage] = useState(0);
   const [pageSize] = useState(20);
   const [selectedTag, setSelectedTag] = useState('');
+  // Cursor of each page reached by paging forward, so later pages skip the offset scan
+  const cursors = useRef<Record<number, string>>({});
 
   const { data, loading, error, refetch } = useApi(
-    () => getTestRuns({ page, size: pageSize, tag: selectedTag || undefined }),
+    () =>
+      getTestRuns({
+        page,
+        size: pageSize,
+        tags: selectedTag ? [selectedTag] : undefined,
+        cursor: cursors.current[page],
+      }).then((result) => {
+        if (result.nextCursor) {
+          cursors.current[page + 1] = result.nextCursor;
+        }
+        return result;
+      }),
     [page, pageSize, selectedTag],
   );
   const { data: allTags } = useApi(() => getAllTestRunTags());
@@ -228,7 +242,7 @@ export default function TestRunsPage() {
           <Select
             value={selectedTag}
             label="Filter by tag"
-            onChange={(e) => { setSelectedTag(e.target.value); setPage(0); }}
+            onChange={(e) => { cursors.current = {}; setSelectedTag(e.target.value); setPage(0); }}
           >
             <MenuItem value="">All tags</MenuItem>
             {(allTags ?? []).map((t) => (
@@ -246,7 +260,7 @@ export default function TestRunsPage() {
             keyExtractor={(row) => row.id}
             onRowClick={(row) => navigate(`/test-runs/${row.id}`)}
           />
-          {data && data.totalPages > 1 && (
+          {data?.totalPages != null && data.totalPages > 1 && (
             <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
               <Pagination
                 count={data.totalPages}
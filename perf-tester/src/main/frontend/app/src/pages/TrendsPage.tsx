@@ -27,7 +27,7 @@ export default function TrendsPage() {
   if (error) return <Alert severity="error">{error.message}</Alert>;
 
   const allTestIds = trendData
-    ? [...new Set(trendData.map((p) => p.testId).filter(Boolean))].sort()
+    ? [...new Set(trendData.map((p) => p.testId).filter((id): id is string => Boolean(id)))].sort()
     : [];
 
   const filtered = trendData
@@ -35,14 +35,15 @@ export default function TrendsPage() {
     : [];
 
   const chartData = filtered.map((p) => ({
-    date: new Date(p.startedAt).toLocaleDateString(),
+    date: new Date(`${p.day}T00:00:00Z`).toLocaleDateString(undefined, { timeZone: 'UTC' }),
+    runs: p.runCount,
     tps: p.tps,
     p99: p.p99LatencyMs,
   }));
 
   return (
     <Box>
-      <PageHeader title="Trends" subtitle="Historical performance trend charts" />
+      <PageHeader title="Trends" subtitle="Daily averages of completed runs over the last year" />
 
       <FormControl size="small" sx={{ mb: 3, minWidth: 200 }}>
         <InputLabel>Test ID</InputLabel>
@@ -70,7 +71,7 @@ export default function TrendsPage() {
               <YAxis />
               <Tooltip />
               <Legend />
-              <Line type="monotone" dataKey="tps" stroke="#1976d2" name="TPS" dot={false} />
+              <Line type="monotone" dataKey="tps" stroke="#1976d2" name="Avg TPS" dot={false} />
             </LineChart>
           </ResponsiveContainer>
         </Card>
@@ -87,7 +88,7 @@ export default function TrendsPage() {
             <YAxis />
             <Tooltip />
             <Legend />
-            <Line type="monotone" dataKey="p99" stroke="#d32f2f" name="P99 Latency (ms)" dot={false} />
+            <Line type="monotone" dataKey="p99" stroke="#d32f2f" name="Avg P99 Latency (ms)" dot={false} />
           </LineChart>
         </ResponsiveContainer>
       </Card>
@@ -2,10 +2,14 @@ export interface PagedResponse<T> {
   content: T[];
   page: number;
   size: number;
-  totalElements: number;
-  totalPages: number;
+  totalElements: number | null;
+  totalPages: number | null;
+  hasNext: boolean;
+  nextCursor: string | null;
 }
 
+export type ExportStatus = 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+
 export interface TestRunResponse {
   id: number;
   testRunId: string;
@@ -31,16 +35,21 @@ export interface TestRunResponse {
   completedAt: string | null;
   zipFilePath: string | null;
   tags: string[] | null;
+  exportStatus: ExportStatus | null;
+  exportError: string | null;
 }
 
 export interface TrendPoint {
-  id: number;
-  testId: string;
-  startedAt: string;
+  testId: string | null;
+  testType: string | null;
+  day: string;
+  runCount: number;
   tps: number | null;
+  minTps: number | null;
+  maxTps: number | null;
   p99LatencyMs: number | null;
-  status: string;
-  testType: string | null;
+  minP99LatencyMs: number | null;
+  maxP99LatencyMs: number | null;
 }
 
 export interface TestRunDetailResponse {
@@ -69,6 +78,9 @@ export interface TestRunDetailResponse {
   completedAt: string | null;
   zipFilePath: string | null;
   tags: string[] | null;
+  exportStatus: ExportStatus | null;
+  exportError: string | null;
+  abortReason: string | null;
 }
 
 export interface TestRunSnapshotResponse {
@@ -79,6 +91,26 @@ export interface TestRunSnapshotResponse {
   inboundQueueDepth: number | null;
   kafkaRequestsLag: number | null;
   kafkaResponsesLag: number | null;
+  outboundEnqueueCount: number | null;
+  outboundDequeueCount: number | null;
+  outboundOldestMessageAgeSeconds: number | null;
+  outboundOpenInputCount: number | null;
+  inboundEnqueueCount: number | null;
+  inboundDequeueCount: number | null;
+  inboundOldestMessageAgeSeconds: number | null;
+  inboundOpenInputCount: number | null;
+}
+
+export interface PartitionLagResponse {
+  consumerGroup: string;
+  topic: string;
+  partition: number;
+  startedAt: string;
+  sampleOffsetsMs: number[];
+  lags: number[];
+  lagMs: number[];
+  maxLag: number;
+  maxLagMs: number;
 }
 
 export interface LogEntry {
@@ -134,7 +166,7 @@ export interface TestStartResponse {
 
 export interface TestProgressEvent {
   testRunId: string;
-  status: 'IDLE' | 'RUNNING' | 'COMPLETED' | 'TIMEOUT' | 'FAILED' | 'EXPORTING';
+  status: 'IDLE' | 'RUNNING' | 'COMPLETED' | 'TIMEOUT' | 'ABORTED' | 'FAILED' | 'EXPORTING';
   sentCount: number;
   completedCount: number;
   totalCount: number;
@@ -193,6 +225,7 @@ export interface InfraProfileDetail {
   kafkaTopics: Record<string, number>;
   kubernetesReplicas: Record<string, number>;
   ibmMqQueues: Record<string, number>;
+  consumerTuning: Record<string, string>;
   createdAt: string;
   updatedAt: string;
 }
@@ -203,6 +236,7 @@ export interface InfraProfileRequest {
   kafkaTopics: Record<string, number>;
   kubernetesReplicas: Record<string, number>;
   ibmMqQueues: Record<string, number>;
+  consumerTuning: Record<string, string>;
 }
 
 export interface ApplyResult {
@@ -235,6 +269,23 @@ export interface ThresholdDef {
   metric: string;
   operator: string;
   value: number;
+  testCase?: string | null;
+}
+
+export interface ThresholdMetric {
+  name: string;
+  description: string;
+  perTestCase: boolean;
+}
+
+export interface ThresholdOperator {
+  name: string;
+  symbol: string;
+}
+
+export interface ThresholdMetrics {
+  metrics: ThresholdMetric[];
+  operators: ThresholdOperator[];
 }
 
 export interface ThresholdResult {
@@ -245,6 +296,36 @@ export interface ThresholdResult {
   passed: boolean;
 }
 
+export type ComparisonVerdict = 'REGRESSION' | 'IMPROVEMENT' | 'NOISE';
+
+export interface MetricComparison {
+  metric: string;
+  baseline: number;
+  baselineLow: number;
+  baselineHigh: number;
+  candidate: number;
+  candidateLow: number;
+  candidateHigh: number;
+  changePercent: number;
+  verdict: ComparisonVerdict;
+}
+
+export interface DistributionTest {
+  baselineSamples: number;
+  candidateSamples: number;
+  statistic: number;
+  pValue: number;
+  significant: boolean;
+}
+
+export interface RunComparison {
+  baselineRunId: number;
+  candidateRunId: number;
+  verdict: ComparisonVerdict;
+  latencyDistribution: DistributionTest;
+  metrics: MetricComparison[];
+}
+
 export interface ThinkTimeConfig {
   distribution: 'CONSTANT' | 'UNIFORM' | 'GAUSSIAN';
   minMs: number;
@@ -253,18 +334,23 @@ export interface ThinkTimeConfig {
   stdDevMs: number;
 }
 
+/** What a scheduled scenario does about fires missed while the application was down. */
+export type MissedFirePolicy = 'SKIP' | 'RUN_ONCE';
+
 export interface TestScenarioDetail {
   id: number;
   name: string;
   count: number;
   entries: ScenarioEntryDto[];
   scheduledEnabled: boolean;
-  scheduledTime: string | null;
+  scheduleCron: string | null;
+  missedFirePolicy: MissedFirePolicy;
   warmupCount: number;
   testType: string | null;
   infraProfileId: number | null;
   thinkTime: ThinkTimeConfig | null;
   thresholds: ThresholdDef[];
+  baselineRunId: number | null;
   createdAt: string;
   updatedAt: string;
 }
@@ -274,12 +360,14 @@ export interface TestScenarioRequest {
   count: number;
   entries: ScenarioEntryRequest[];
   scheduledEnabled: boolean;
-  scheduledTime: string | null;
+  scheduleCron: string | null;
+  missedFirePolicy?: MissedFirePolicy;
   warmupCount: number;
   testType: string | null;
   infraProfileId: number | null;
   thinkTime: ThinkTimeConfig | null;
   thresholds: ThresholdDef[];
+  baselineRunId?: number | null;
 }
 
 export interface HeaderTemplateField {
@@ -348,14 +436,18 @@ export interface HealthCheckConfig {
   enabled: boolean;
   connectionTimeoutMs: number;
   intervalMs: number;
+  protocol: HealthCheckProtocol;
 }
 
+export type HealthCheckProtocol = 'TCP' | 'HTTP' | 'KAFKA' | 'IBM_MQ';
+
 export interface HealthCheckConfigRequest {
   host: string;
   port: number;
   enabled: boolean;
   connectionTimeoutMs: number;
   intervalMs: number;
+  protocol: HealthCheckProtocol;
 }
 
 export interface DbExportQuery {
@@ -400,7 +492,10 @@ export interface ScenarioExport {
   name: string;
   count: number;
   scheduledEnabled: boolean;
-  scheduledTime: string | null;
+  scheduleCron: string | null;
+  missedFirePolicy: MissedFirePolicy | null;
+  /** Only present in files exported before version 1.1. */
+  scheduledTime?: string | null;
   warmupCount: number;
   testType: string | null;
   thinkTime: ThinkTimeConfig | null;
@@ -414,5 +509,6 @@ export interface RunTestPreferences {
   exportKubernetes: boolean;
   exportLogs: boolean;
   exportDatabase: boolean;
+  exportJfr: boolean;
   debug: boolean;
 }
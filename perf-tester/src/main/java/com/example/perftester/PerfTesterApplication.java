@@ -1,11 +1,15 @@
 package com.example.perftester;
 
+import com.example.profiling.JfrEndpoint;
+import com.example.profiling.MessageEvents;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import({JfrEndpoint.class, MessageEvents.class})
 @EnableScheduling
 @ConfigurationPropertiesScan
 public class PerfTesterApplication {
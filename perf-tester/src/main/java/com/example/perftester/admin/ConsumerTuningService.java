@@ -0,0 +1,83 @@
+package com.example.perftester.admin;
+
+import com.example.perftester.config.TuningProperties;
+import com.example.perftester.kubernetes.KubernetesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Changes listener concurrency, producer and JMS pool settings of the consumers through their
+ * {@code /actuator/tuning} endpoints. A service restarts the listeners a change needs before it
+ * answers, so the call can take as long as the slowest listener takes to stop.
+ *
+ * <p>Behind a Kubernetes Service only the pod that answers would be tuned, so each running pod of
+ * the service's deployment is called directly, on the port of the service URL. Outside
+ * Kubernetes the service URL itself is called.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsumerTuningService {
+
+    static final String ENDPOINT_PATH = "/actuator/tuning";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final TuningProperties properties;
+    private final KubernetesService kubernetesService;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * @param service  name of the service, as configured under {@code app.tuning.services}
+     * @param settings tuning endpoint parameters and their values, e.g. {@code kafkaConcurrency=auto}
+     */
+    public void tune(String service, Map<String, String> settings) throws IOException, InterruptedException {
+        var baseUrl = properties.services() != null ? properties.services().get(service) : null;
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("Unknown service '" + service + "'");
+        }
+        var body = MAPPER.writeValueAsString(settings);
+        var pods = kubernetesService.podAddresses(service);
+        if (pods.isEmpty()) {
+            send(service, URI.create(baseUrl + ENDPOINT_PATH), body);
+            return;
+        }
+        var base = URI.create(baseUrl);
+        for (var pod : pods) {
+            send(service + " pod " + pod, podUri(base, pod), body);
+        }
+    }
+
+    private void send(String target, URI uri, String body) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(target + " returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        log.info("Tuned {} with {}: {}", target, body, response.body());
+    }
+
+    private static URI podUri(URI base, String podAddress) {
+        try {
+            return new URI(base.getScheme(), null, podAddress, base.getPort(), ENDPOINT_PATH, null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid pod address " + podAddress, e);
+        }
+    }
+}
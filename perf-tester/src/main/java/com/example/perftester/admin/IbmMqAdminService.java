@@ -5,10 +5,12 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import com.example.perftester.config.IbmMqAdminProperties;
 import com.example.perftester.config.IbmMqConnectionProperties;
 import com.ibm.mq.MQQueueManager;
 import com.ibm.mq.constants.CMQC;
 import com.ibm.mq.constants.CMQCFC;
+import com.ibm.mq.headers.pcf.PCFException;
 import com.ibm.mq.headers.pcf.PCFMessage;
 import com.ibm.mq.headers.pcf.PCFMessageAgent;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +18,11 @@ import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-public class IbmMqAdminService {
+public class IbmMqAdminService implements AutoCloseable {
 
     private static final Pattern CONN_NAME_PATTERN = Pattern.compile("(.+)\\((\\d+)\\)");
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 10_000;
 
     private final String queueManagerName;
     private final String host;
@@ -26,8 +30,11 @@ public class IbmMqAdminService {
     private final String channel;
     private final String user;
     private final String password;
+    private final PcfAgentPool agentPool;
+    private final boolean resetQueueStats;
 
-    public IbmMqAdminService(IbmMqConnectionProperties mqConnectionProperties) {
+    public IbmMqAdminService(IbmMqConnectionProperties mqConnectionProperties,
+                             IbmMqAdminProperties adminProperties) {
         this.queueManagerName = mqConnectionProperties.queueManager();
         this.channel = mqConnectionProperties.channel();
         this.user = mqConnectionProperties.user();
@@ -42,11 +49,15 @@ public class IbmMqAdminService {
             throw new IllegalArgumentException("Invalid conn-name format: " + connName
                     + ". Expected format: host(port)");
         }
+        var poolSize = adminProperties.poolSize() > 0 ? adminProperties.poolSize() : DEFAULT_POOL_SIZE;
+        var borrowTimeoutMs = adminProperties.borrowTimeoutMs() > 0
+                ? adminProperties.borrowTimeoutMs() : DEFAULT_BORROW_TIMEOUT_MS;
+        this.agentPool = new PcfAgentPool(() -> createAgent(host, port), poolSize, borrowTimeoutMs);
+        this.resetQueueStats = adminProperties.resetQueueStats();
     }
 
     public List<QueueInfo> listQueues() throws Exception {
-        var agent = createAgent();
-        try {
+        return agentPool.execute(agent -> {
             var request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
             request.addParameter(CMQC.MQCA_Q_NAME, "*");
             request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
@@ -63,28 +74,22 @@ public class IbmMqAdminService {
             }
             queues.sort((a, b) -> a.queueName().compareTo(b.queueName()));
             return queues;
-        } finally {
-            agent.disconnect();
-        }
+        });
     }
 
     public void changeQueueMaxDepth(String queueName, int maxDepth) throws Exception {
-        var agent = createAgent();
-        try {
+        agentPool.execute(agent -> {
             var request = new PCFMessage(CMQCFC.MQCMD_CHANGE_Q);
             request.addParameter(CMQC.MQCA_Q_NAME, queueName);
             request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
             request.addParameter(CMQC.MQIA_MAX_Q_DEPTH, maxDepth);
-            agent.send(request);
-            log.info("Changed max depth of queue '{}' to {}", queueName, maxDepth);
-        } finally {
-            agent.disconnect();
-        }
+            return agent.send(request);
+        });
+        log.info("Changed max depth of queue '{}' to {}", queueName, maxDepth);
     }
 
     public QueueInfo getQueueInfo(String queueName) throws Exception {
-        var agent = createAgent();
-        try {
+        return agentPool.execute(agent -> {
             var request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
             request.addParameter(CMQC.MQCA_Q_NAME, queueName);
             request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
@@ -92,13 +97,67 @@ public class IbmMqAdminService {
             var maxDepth = responses[0].getIntParameterValue(CMQC.MQIA_MAX_Q_DEPTH);
             var currentDepth = responses[0].getIntParameterValue(CMQC.MQIA_CURRENT_Q_DEPTH);
             return new QueueInfo(queueName, currentDepth, maxDepth);
+        });
+    }
+
+    /**
+     * Samples the live state of a queue on one pooled connection: depth, open handles and the
+     * age of the oldest message from the queue status. With {@code reset-queue-stats} it adds
+     * the messages put and got since the previous sample from RESET QSTATS, which restarts the
+     * queue's counters for everyone and needs performance events enabled on the queue manager;
+     * otherwise, or when the reset is refused, the counts are {@code null}. The oldest message
+     * age is {@code null} unless queue monitoring (MONQ) is enabled.
+     */
+    public QueueStats getQueueStats(String queueName) throws Exception {
+        return agentPool.execute(agent -> {
+            var statusRequest = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q_STATUS);
+            statusRequest.addParameter(CMQC.MQCA_Q_NAME, queueName);
+            statusRequest.addParameter(CMQCFC.MQIACF_Q_STATUS_TYPE, CMQCFC.MQIACF_Q_STATUS);
+            var status = agent.send(statusRequest)[0];
+            var oldestMessageAge = status.getIntParameterValue(CMQCFC.MQIACF_OLDEST_MSG_AGE);
+
+            Integer enqueueCount = null;
+            Integer dequeueCount = null;
+            if (resetQueueStats) {
+                try {
+                    var resetRequest = new PCFMessage(CMQCFC.MQCMD_RESET_Q_STATS);
+                    resetRequest.addParameter(CMQC.MQCA_Q_NAME, queueName);
+                    var counters = agent.send(resetRequest)[0];
+                    enqueueCount = counters.getIntParameterValue(CMQC.MQIA_MSG_ENQ_COUNT);
+                    dequeueCount = counters.getIntParameterValue(CMQC.MQIA_MSG_DEQ_COUNT);
+                } catch (PCFException e) {
+                    log.debug("Queue statistics unavailable for '{}': {}", queueName, e.getMessage());
+                }
+            }
+            return new QueueStats(queueName,
+                    status.getIntParameterValue(CMQC.MQIA_CURRENT_Q_DEPTH),
+                    status.getIntParameterValue(CMQC.MQIA_OPEN_INPUT_COUNT),
+                    oldestMessageAge >= 0 ? oldestMessageAge : null,
+                    enqueueCount, dequeueCount);
+        });
+    }
+
+    /**
+     * Sends a PCF ping to the queue manager listening on {@code host:port}, over a connection of
+     * its own so that a hung listener cannot tie up the pool. Uses the configured channel and
+     * credentials.
+     */
+    public void ping(String host, int port) throws Exception {
+        var agent = createAgent(host, port);
+        try {
+            agent.send(new PCFMessage(CMQCFC.MQCMD_PING_Q_MGR));
         } finally {
-            agent.disconnect();
+            PcfAgentPool.disconnect(agent);
         }
     }
 
+    @Override
+    public void close() {
+        agentPool.close();
+    }
+
     @SuppressWarnings("PMD.ReplaceHashtableWithMap")
-    private PCFMessageAgent createAgent() throws Exception {
+    private PCFMessageAgent createAgent(String host, int port) throws Exception {
         var properties = new Hashtable<String, Object>();
         properties.put(CMQC.HOST_NAME_PROPERTY, host);
         properties.put(CMQC.PORT_PROPERTY, port);
@@ -111,4 +170,13 @@ public class IbmMqAdminService {
 
     public record QueueInfo(String queueName, int currentDepth, int maxDepth) {
     }
+
+    /**
+     * @param oldestMessageAgeSeconds age of the oldest message on the queue, {@code null} if not monitored
+     * @param enqueueCount            messages put since the previous sample, {@code null} if unavailable
+     * @param dequeueCount            messages got since the previous sample, {@code null} if unavailable
+     */
+    public record QueueStats(String queueName, int currentDepth, int openInputCount,
+                             Integer oldestMessageAgeSeconds, Integer enqueueCount, Integer dequeueCount) {
+    }
 }
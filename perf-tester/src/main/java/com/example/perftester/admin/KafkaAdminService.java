@@ -1,5 +1,7 @@
 package com.example.perftester.admin;
 
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -35,6 +37,25 @@ public class KafkaAdminService implements AutoCloseable {
         log.info("Kafka AdminClient initialized with bootstrap servers: {}", kafkaAdminProperties.bootstrapServers());
     }
 
+    /**
+     * Fetches cluster metadata from the broker at {@code host:port} with a short-lived client, so
+     * the probe checks that broker rather than whichever one the shared client is connected to.
+     *
+     * @return number of brokers in the cluster
+     */
+    public int pingBroker(String host, int port, int timeoutMs)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        var admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, host + ":" + port,
+                AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, timeoutMs,
+                AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, timeoutMs));
+        try {
+            return admin.describeCluster().nodes().get(timeoutMs, TimeUnit.MILLISECONDS).size();
+        } finally {
+            admin.close(Duration.ZERO);
+        }
+    }
+
     public void resizeTopic(String topicName, int partitions)
             throws ExecutionException, InterruptedException, TimeoutException {
         var description = adminClient.describeTopics(List.of(topicName))
@@ -107,23 +128,27 @@ public class KafkaAdminService implements AutoCloseable {
 
     public long getTotalConsumerGroupLag(String groupId)
             throws ExecutionException, InterruptedException, TimeoutException {
+        return getPartitionLag(groupId).stream().mapToLong(PartitionLag::lag).sum();
+    }
+
+    /** Committed and log-end offsets of every partition the group has committed to, by topic and partition. */
+    public List<PartitionLag> getPartitionLag(String groupId)
+            throws ExecutionException, InterruptedException, TimeoutException {
         var offsets = adminClient.listConsumerGroupOffsets(groupId)
                 .partitionsToOffsetAndMetadata().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         if (offsets.isEmpty()) {
-            return 0;
+            return List.of();
         }
         var topicPartitions = offsets.keySet().stream()
                 .collect(Collectors.toMap(tp -> tp, tp -> OffsetSpec.latest()));
         Map<org.apache.kafka.common.TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets =
                 adminClient.listOffsets(topicPartitions).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        return offsets.keySet().stream()
-                .mapToLong(tp -> {
-                    var end = endOffsets.get(tp);
-                    var current = offsets.get(tp);
-                    return end != null && current != null
-                            ? Math.max(0, end.offset() - current.offset()) : 0;
-                })
-                .sum();
+        return offsets.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && endOffsets.containsKey(entry.getKey()))
+                .map(entry -> new PartitionLag(entry.getKey().topic(), entry.getKey().partition(),
+                        entry.getValue().offset(), endOffsets.get(entry.getKey()).offset()))
+                .sorted(Comparator.comparing(PartitionLag::topic).thenComparingInt(PartitionLag::partition))
+                .toList();
     }
 
     @Override
@@ -133,4 +158,11 @@ public class KafkaAdminService implements AutoCloseable {
 
     public record TopicInfo(String topicName, int partitions) {
     }
+
+    public record PartitionLag(String topic, int partition, long committedOffset, long endOffset) {
+
+        public long lag() {
+            return Math.max(0, endOffset - committedOffset);
+        }
+    }
 }
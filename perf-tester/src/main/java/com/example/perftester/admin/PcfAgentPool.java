@@ -0,0 +1,99 @@
+package com.example.perftester.admin;
+
+import com.ibm.mq.headers.pcf.PCFException;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-lived PCF connections to the queue manager, shared by all admin calls.
+ *
+ * <p>A {@link PCFMessageAgent} is not thread-safe, so each call borrows one agent exclusively;
+ * at most {@code maxSize} are open at once. Connections are opened lazily and kept after use.
+ * A call that fails with anything other than a PCF command error marks the connection as
+ * broken: it is disconnected and the call is retried on another, or on a new connection.
+ */
+@Slf4j
+final class PcfAgentPool implements AutoCloseable {
+
+    private final AgentFactory factory;
+    private final Semaphore permits;
+    private final long borrowTimeoutMs;
+    private final ConcurrentLinkedDeque<PCFMessageAgent> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    PcfAgentPool(AgentFactory factory, int maxSize, long borrowTimeoutMs) {
+        this.factory = factory;
+        this.permits = new Semaphore(Math.max(1, maxSize));
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    /** Runs the call on a pooled connection, reconnecting once the pooled ones turn out stale. */
+    <T> T execute(PcfCall<T> call) throws Exception {
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("No PCF connection available within " + borrowTimeoutMs + " ms");
+        }
+        try {
+            while (true) {
+                var pooled = idle.pollFirst();
+                var agent = pooled != null ? pooled : factory.connect();
+                try {
+                    var result = call.apply(agent);
+                    release(agent);
+                    return result;
+                } catch (PCFException e) {
+                    release(agent);
+                    throw e;
+                } catch (Exception e) {
+                    disconnect(agent);
+                    if (pooled == null) {
+                        throw e;
+                    }
+                    log.info("Pooled PCF connection failed, reconnecting: {}", e.getMessage());
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (var agent = idle.pollFirst(); agent != null; agent = idle.pollFirst()) {
+            disconnect(agent);
+        }
+    }
+
+    private void release(PCFMessageAgent agent) {
+        if (closed) {
+            disconnect(agent);
+        } else {
+            idle.addFirst(agent);
+        }
+    }
+
+    static void disconnect(PCFMessageAgent agent) {
+        try {
+            agent.disconnect();
+        } catch (Exception e) {
+            log.debug("Failed to disconnect PCF agent: {}", e.getMessage());
+        }
+    }
+
+    /** Opens a new PCF connection. */
+    @FunctionalInterface
+    interface AgentFactory {
+        PCFMessageAgent connect() throws Exception;
+    }
+
+    /** A PCF exchange run on a borrowed connection. */
+    @FunctionalInterface
+    interface PcfCall<T> {
+        T apply(PCFMessageAgent agent) throws Exception;
+    }
+}
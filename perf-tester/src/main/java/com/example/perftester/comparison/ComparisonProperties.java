@@ -0,0 +1,13 @@
+package com.example.perftester.comparison;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sensitivity of run comparisons.
+ *
+ * @param minChangePercent smallest relative change of a metric that counts as a regression or
+ *                         improvement, however significant; 0 uses the default of 5%
+ */
+@ConfigurationProperties(prefix = "app.comparison")
+public record ComparisonProperties(double minChangePercent) {
+}
@@ -0,0 +1,123 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.perf.LatencyHistogram;
+
+/** Statistics over latency histograms and throughput series used by run comparisons. */
+@SuppressWarnings("PMD.UseVarargs")
+final class ComparisonStatistics {
+
+    /** Two-sided 95% quantile of the standard normal distribution. */
+    static final double Z_95 = 1.959964;
+
+    private static final double KS_ALPHA = 0.05;
+    private static final int KS_MAX_TERMS = 100;
+
+    private ComparisonStatistics() {
+    }
+
+    static long total(long[] counts) {
+        long total = 0;
+        for (var count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Largest distance between the cumulative distributions of two histograms. */
+    static DistributionTest kolmogorovSmirnov(long[] baseline, long[] candidate) {
+        long n = total(baseline);
+        long m = total(candidate);
+        long cumulativeBaseline = 0;
+        long cumulativeCandidate = 0;
+        double statistic = 0;
+        for (int i = 0; i < Math.max(baseline.length, candidate.length); i++) {
+            cumulativeBaseline += i < baseline.length ? baseline[i] : 0;
+            cumulativeCandidate += i < candidate.length ? candidate[i] : 0;
+            var distance = Math.abs((double) cumulativeBaseline / n - (double) cumulativeCandidate / m);
+            statistic = Math.max(statistic, distance);
+        }
+        var pValue = ksPValue(statistic, n, m);
+        return new DistributionTest(n, m, statistic, pValue, pValue < KS_ALPHA);
+    }
+
+    /** Asymptotic p-value of the two-sample statistic, with Stephens' small-sample correction. */
+    static double ksPValue(double statistic, long n, long m) {
+        var effective = Math.sqrt((double) n * m / (n + m));
+        var lambda = (effective + 0.12 + 0.11 / effective) * statistic;
+        if (lambda < 0.2) {
+            return 1.0;
+        }
+        double sum = 0;
+        double sign = 1;
+        for (int k = 1; k <= KS_MAX_TERMS; k++) {
+            var term = sign * Math.exp(-2.0 * k * k * lambda * lambda);
+            sum += term;
+            if (Math.abs(term) <= 1e-10 * Math.abs(sum)) {
+                break;
+            }
+            sign = -sign;
+        }
+        return Math.clamp(2 * sum, 0.0, 1.0);
+    }
+
+    /** Quantile {@code q} with a distribution-free 95% interval from the order statistics around rank n·q. */
+    static Interval quantile(long[] counts, double q) {
+        long n = total(counts);
+        var spread = Z_95 * Math.sqrt(n * q * (1 - q));
+        var estimate = Math.max(1, (long) Math.ceil(n * q));
+        var low = Math.max(1, (long) Math.floor(n * q - spread));
+        var high = Math.min(n, (long) Math.ceil(n * q + spread));
+        return new Interval(valueAtRank(counts, estimate), valueAtRank(counts, low), valueAtRank(counts, high));
+    }
+
+    /** Value in milliseconds of the sample with the given 1-based rank. */
+    static double valueAtRank(long[] counts, long rank) {
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return LatencyHistogram.bucketValueMs(i);
+            }
+        }
+        return LatencyHistogram.bucketValueMs(counts.length - 1);
+    }
+
+    /** Mean with a 95% confidence interval from the normal approximation. */
+    static Interval mean(double[] values) {
+        var mean = average(values);
+        var halfWidth = Z_95 * Math.sqrt(variance(values, mean) / values.length);
+        return new Interval(mean, mean - halfWidth, mean + halfWidth);
+    }
+
+    /** Welch's t statistic for the difference of the means, candidate minus baseline. */
+    static double welchT(double[] baseline, double[] candidate) {
+        var baselineMean = average(baseline);
+        var candidateMean = average(candidate);
+        var standardError = Math.sqrt(variance(baseline, baselineMean) / baseline.length
+                + variance(candidate, candidateMean) / candidate.length);
+        if (standardError == 0) {
+            return candidateMean == baselineMean ? 0 : Math.copySign(Double.POSITIVE_INFINITY,
+                    candidateMean - baselineMean);
+        }
+        return (candidateMean - baselineMean) / standardError;
+    }
+
+    private static double average(double[] values) {
+        double sum = 0;
+        for (var value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (var value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    record Interval(double estimate, double low, double high) {
+    }
+}
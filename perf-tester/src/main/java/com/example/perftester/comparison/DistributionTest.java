@@ -0,0 +1,11 @@
+package com.example.perftester.comparison;
+
+/**
+ * Two-sample Kolmogorov–Smirnov test of the latency distributions of two runs.
+ *
+ * @param statistic   largest distance between the two cumulative distributions
+ * @param significant whether the distributions differ at the 5% level
+ */
+public record DistributionTest(long baselineSamples, long candidateSamples, double statistic, double pValue,
+                               boolean significant) {
+}
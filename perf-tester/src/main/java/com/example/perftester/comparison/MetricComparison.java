@@ -0,0 +1,13 @@
+package com.example.perftester.comparison;
+
+/**
+ * One metric of the baseline and candidate run with its 95% confidence interval in each.
+ *
+ * @param changePercent relative change from baseline to candidate
+ * @param verdict       {@link RunComparison#REGRESSION}, {@link RunComparison#IMPROVEMENT} or
+ *                      {@link RunComparison#NOISE}
+ */
+public record MetricComparison(String metric, double baseline, double baselineLow, double baselineHigh,
+                               double candidate, double candidateLow, double candidateHigh,
+                               double changePercent, String verdict) {
+}
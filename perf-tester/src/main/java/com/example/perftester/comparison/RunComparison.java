@@ -0,0 +1,29 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.perf.ThresholdResult;
+
+import java.util.List;
+
+/**
+ * Outcome of comparing a candidate run against a baseline. The verdict is a regression when any
+ * metric regressed, otherwise an improvement when any improved, otherwise noise.
+ */
+public record RunComparison(Long baselineRunId, Long candidateRunId, String verdict,
+                            DistributionTest latencyDistribution, List<MetricComparison> metrics) {
+
+    public static final String REGRESSION = "REGRESSION";
+    public static final String IMPROVEMENT = "IMPROVEMENT";
+    public static final String NOISE = "NOISE";
+
+    /**
+     * Expresses each metric as a threshold against the baseline value, failing only where the
+     * metric regressed, so comparisons can be stored and shown like scenario thresholds.
+     */
+    public List<ThresholdResult> toThresholdResults() {
+        return metrics.stream()
+                .map(m -> new ThresholdResult("BASELINE_" + m.metric(),
+                        RunComparisonService.TPS.equals(m.metric()) ? "GTE" : "LTE",
+                        m.baseline(), m.candidate(), !REGRESSION.equals(m.verdict())))
+                .toList();
+    }
+}
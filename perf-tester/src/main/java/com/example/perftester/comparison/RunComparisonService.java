@@ -0,0 +1,130 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.comparison.ComparisonStatistics.Interval;
+import com.example.perftester.perf.RunDistribution;
+import com.example.perftester.persistence.TestRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares a candidate run with a baseline run on their full latency distributions and
+ * per-second throughput. Latency quantiles and mean throughput are estimated with 95% confidence
+ * intervals; a metric only counts as changed when the intervals are separated and the change
+ * exceeds {@link ComparisonProperties#minChangePercent()}, so run-to-run noise and differences
+ * too small to matter both classify as noise. The Kolmogorov–Smirnov test is reported alongside
+ * to show whether the shape of the distribution moved as a whole.
+ */
+@Service
+@RequiredArgsConstructor
+public class RunComparisonService {
+
+    static final String TPS = "TPS";
+    static final double DEFAULT_MIN_CHANGE_PERCENT = 5.0;
+
+    private static final List<Quantile> QUANTILES = List.of(
+            new Quantile("P50", 0.50), new Quantile("P99", 0.99), new Quantile("P99_9", 0.999));
+
+    private final TestRunService testRunService;
+    private final ComparisonProperties comparisonProperties;
+
+    /**
+     * @throws com.example.perftester.persistence.TestRunNotFoundException if either run does not exist
+     * @throws IllegalArgumentException if either run has no recorded distribution or latencies
+     */
+    public RunComparison compare(Long candidateRunId, Long baselineRunId) {
+        var baseline = distributionOf(baselineRunId);
+        var candidate = distributionOf(candidateRunId);
+
+        var metrics = new ArrayList<MetricComparison>();
+        for (var quantile : QUANTILES) {
+            var base = ComparisonStatistics.quantile(baseline.latencyCounts(), quantile.q());
+            var cand = ComparisonStatistics.quantile(candidate.latencyCounts(), quantile.q());
+            var separated = cand.low() > base.high() || cand.high() < base.low();
+            metrics.add(metric(quantile.name(), base, cand, separated, false));
+        }
+        var throughput = compareThroughput(baseline.completionsPerSecond(), candidate.completionsPerSecond());
+        if (throughput != null) {
+            metrics.add(throughput);
+        }
+
+        var latencyTest = ComparisonStatistics.kolmogorovSmirnov(baseline.latencyCounts(), candidate.latencyCounts());
+        return new RunComparison(baselineRunId, candidateRunId, overallVerdict(metrics), latencyTest,
+                List.copyOf(metrics));
+    }
+
+    private RunDistribution distributionOf(Long runId) {
+        testRunService.findById(runId);
+        var distribution = testRunService.findDistribution(runId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Test run " + runId + " has no recorded latency distribution"));
+        if (ComparisonStatistics.total(distribution.latencyCounts()) == 0) {
+            throw new IllegalArgumentException("Test run " + runId + " recorded no latencies");
+        }
+        return distribution;
+    }
+
+    /**
+     * Compares mean completions per second, leaving out the first and last second of each run
+     * since they are only partly covered. Returns {@code null} when either run is too short.
+     */
+    @SuppressWarnings("PMD.UseVarargs")
+    private MetricComparison compareThroughput(long[] baselineSeries, long[] candidateSeries) {
+        var baseline = fullSeconds(baselineSeries);
+        var candidate = fullSeconds(candidateSeries);
+        if (baseline.length < 2 || candidate.length < 2) {
+            return null;
+        }
+        var t = ComparisonStatistics.welchT(baseline, candidate);
+        return metric(TPS, ComparisonStatistics.mean(baseline), ComparisonStatistics.mean(candidate),
+                Math.abs(t) > ComparisonStatistics.Z_95, true);
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    private static double[] fullSeconds(long[] series) {
+        if (series.length < 3) {
+            return new double[0];
+        }
+        return Arrays.stream(series, 1, series.length - 1).asDoubleStream().toArray();
+    }
+
+    private MetricComparison metric(String name, Interval baseline, Interval candidate, boolean separated,
+                                    boolean higherIsBetter) {
+        var change = changePercent(baseline.estimate(), candidate.estimate());
+        var verdict = RunComparison.NOISE;
+        if (separated && Math.abs(change) >= minChangePercent()) {
+            var worse = higherIsBetter ? change < 0 : change > 0;
+            verdict = worse ? RunComparison.REGRESSION : RunComparison.IMPROVEMENT;
+        }
+        return new MetricComparison(name, baseline.estimate(), baseline.low(), baseline.high(),
+                candidate.estimate(), candidate.low(), candidate.high(), change, verdict);
+    }
+
+    private static double changePercent(double baseline, double candidate) {
+        if (baseline == 0) {
+            return candidate == 0 ? 0 : Math.copySign(100.0, candidate);
+        }
+        return (candidate - baseline) / baseline * 100.0;
+    }
+
+    private double minChangePercent() {
+        var configured = comparisonProperties.minChangePercent();
+        return configured > 0 ? configured : DEFAULT_MIN_CHANGE_PERCENT;
+    }
+
+    private static String overallVerdict(List<MetricComparison> metrics) {
+        if (metrics.stream().anyMatch(m -> RunComparison.REGRESSION.equals(m.verdict()))) {
+            return RunComparison.REGRESSION;
+        }
+        if (metrics.stream().anyMatch(m -> RunComparison.IMPROVEMENT.equals(m.verdict()))) {
+            return RunComparison.IMPROVEMENT;
+        }
+        return RunComparison.NOISE;
+    }
+
+    private record Quantile(String name, double q) {
+    }
+}
@@ -12,9 +12,19 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class AsyncConfig {
 
     public static final String MQ_SENDER_EXECUTOR = "mqSenderExecutor";
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
 
     @Bean(MQ_SENDER_EXECUTOR)
     public ExecutorService mqSenderExecutor() {
         return Executors.newVirtualThreadPerTaskExecutor();
     }
+
+    /**
+     * Runs export jobs one at a time so consecutive test runs do not compete for
+     * Grafana, Prometheus and Loki while a new measurement is in progress.
+     */
+    @Bean(EXPORT_EXECUTOR)
+    public ExecutorService exportExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofVirtual().name("export-", 0).factory());
+    }
 }
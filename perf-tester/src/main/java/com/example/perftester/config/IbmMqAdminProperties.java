@@ -0,0 +1,15 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * PCF connections used for queue administration and monitoring.
+ *
+ * @param poolSize        maximum number of PCF connections kept open to the queue manager
+ * @param borrowTimeoutMs how long a call waits for a free connection before failing
+ * @param resetQueueStats whether monitoring samples put and get counts with RESET QSTATS, which
+ *                        restarts the counters for every other tool reading them
+ */
+@ConfigurationProperties(prefix = "app.ibm-mq-admin")
+public record IbmMqAdminProperties(int poolSize, long borrowTimeoutMs, boolean resetQueueStats) {
+}
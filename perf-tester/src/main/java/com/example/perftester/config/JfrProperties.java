@@ -0,0 +1,19 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Java Flight Recorder captures taken around the measurement phase of runs that export them.
+ * The messaging events those recordings contain are filtered by {@code app.jfr.event-threshold-ms},
+ * which the shared {@link com.example.profiling.MessageEvents} reads.
+ *
+ * @param profile  JFR settings the services record with, {@code default} or {@code profile}
+ * @param path     directory recordings are kept in until the run's export job packages them
+ * @param services base URLs of the other services to record, by name; perf-tester always
+ *                 records itself
+ */
+@ConfigurationProperties(prefix = "app.jfr")
+public record JfrProperties(String profile, String path, Map<String, String> services) {
+}
@@ -2,7 +2,12 @@ package com.example.perftester.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * Infrastructure sampled while a test runs.
+ *
+ * @param sampleIntervalMs time between two infrastructure snapshots
+ */
 @ConfigurationProperties(prefix = "app.monitoring")
 public record MonitoringProperties(String outboundQueue, String inboundQueue,
-        String kafkaRequestConsumerGroup, String kafkaResponseConsumerGroup) {
+        String kafkaRequestConsumerGroup, String kafkaResponseConsumerGroup, long sampleIntervalMs) {
 }
@@ -0,0 +1,12 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Scheduled scenario runs.
+ *
+ * @param runTimeoutSeconds how long a scheduled run waits for responses after its last send
+ */
+@ConfigurationProperties(prefix = "app.scheduling")
+public record SchedulingProperties(int runTimeoutSeconds) {
+}
@@ -0,0 +1,18 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Live evaluation of scenario thresholds while a test is running.
+ *
+ * @param enabled             whether scenario thresholds are checked during the run
+ * @param windowSeconds       length of the rolling window the thresholds are evaluated on
+ * @param sustainSeconds      how long a threshold must stay breached before the guard trips
+ * @param rampUpSeconds       grace period after the start before thresholds are checked
+ * @param drainTimeoutSeconds how long an aborted run waits for in-flight messages
+ * @param action              {@code ABORT} to stop sending and end the run, {@code WARN} to only log
+ */
+@ConfigurationProperties(prefix = "app.sla-guard")
+public record SlaGuardProperties(boolean enabled, int windowSeconds, int sustainSeconds, int rampUpSeconds,
+                                 int drainTimeoutSeconds, String action) {
+}
@@ -0,0 +1,14 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Buffered writes of run telemetry such as infrastructure snapshots.
+ *
+ * @param batchSize       rows per JDBC batch insert; a full batch is written right away
+ * @param bufferCapacity  rows held in memory before the producer has to write them itself
+ * @param flushIntervalMs longest time a row waits in the buffer
+ */
+@ConfigurationProperties(prefix = "app.telemetry")
+public record TelemetryProperties(int batchSize, int bufferCapacity, long flushIntervalMs) {
+}
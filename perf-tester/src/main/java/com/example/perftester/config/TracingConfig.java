@@ -0,0 +1,29 @@
+package com.example.perftester.config;
+
+import com.example.perftester.tracing.FileTraceExporter;
+import com.example.perftester.tracing.OtlpTraceExporter;
+import com.example.perftester.tracing.TraceExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public TraceExporter traceExporter(TracingProperties properties) {
+        if ("FILE".equalsIgnoreCase(properties.exporter())) {
+            return new FileTraceExporter(Path.of(properties.filePath()));
+        }
+        if (properties.otlpUrl() == null || properties.otlpUrl().isBlank()) {
+            log.info("No app.tracing.otlp-url set, slow message traces are not exported");
+            return TraceExporter.NONE;
+        }
+        return new OtlpTraceExporter(HttpClient.newHttpClient(), URI.create(properties.otlpUrl()));
+    }
+}
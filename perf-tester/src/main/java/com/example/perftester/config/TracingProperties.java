@@ -0,0 +1,20 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * End-to-end traces of test messages. Every message carries a W3C trace context through the
+ * pipeline, but only the slowest traces of a run are kept and exported once the run ends.
+ *
+ * @param enabled            whether messages carry a trace context and slow traces are exported
+ * @param slowestPerRun      how many of the slowest traces of a run are kept
+ * @param latencyThresholdMs round trips faster than this are never kept; 0 keeps the slowest regardless
+ * @param exporter           {@code OTLP} to post the traces to {@code otlpUrl}, {@code FILE} to append them
+ *                           to {@code filePath}
+ * @param otlpUrl            OTLP/HTTP traces endpoint, such as Tempo's {@code /v1/traces}
+ * @param filePath           file the traces are appended to, one OTLP JSON document per run
+ */
+@ConfigurationProperties(prefix = "app.tracing")
+public record TracingProperties(boolean enabled, int slowestPerRun, long latencyThresholdMs, String exporter,
+                                String otlpUrl, String filePath) {
+}
@@ -0,0 +1,14 @@
+package com.example.perftester.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Services whose listeners and clients infrastructure profiles tune at runtime.
+ *
+ * @param services base URLs of the services with an {@code /actuator/tuning} endpoint, by name
+ */
+@ConfigurationProperties(prefix = "app.tuning")
+public record TuningProperties(Map<String, String> services) {
+}
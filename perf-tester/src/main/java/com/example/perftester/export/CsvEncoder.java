@@ -0,0 +1,93 @@
+package com.example.perftester.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Writes a JDBC result set as CSV straight to a byte stream. Integer, boolean and decimal columns
+ * skip {@link ResultSet#getString}; floating-point columns keep the driver's formatting.
+ */
+final class CsvEncoder {
+
+    private enum Kind { INTEGER, BOOLEAN, DECIMAL, TEXT }
+
+    private final CsvWriter writer;
+
+    CsvEncoder(OutputStream out) {
+        this.writer = new CsvWriter(out);
+    }
+
+    /** Writes the column labels and every remaining row, then flushes without closing the stream. */
+    long write(ResultSet rs) throws SQLException, IOException {
+        var meta = rs.getMetaData();
+        var cols = meta.getColumnCount();
+        var kinds = new Kind[cols + 1];
+        for (int i = 1; i <= cols; i++) {
+            kinds[i] = kindOf(meta, i);
+            if (i > 1) {
+                writer.put(',');
+            }
+            writer.writeText(meta.getColumnLabel(i));
+        }
+        writer.put('\n');
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= cols; i++) {
+                if (i > 1) {
+                    writer.put(',');
+                }
+                writeValue(rs, i, kinds[i]);
+            }
+            writer.put('\n');
+            rows++;
+        }
+        flush();
+        return rows;
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(ResultSet rs, int column, Kind kind) throws SQLException, IOException {
+        switch (kind) {
+            case INTEGER -> {
+                var value = rs.getLong(column);
+                if (!rs.wasNull()) {
+                    writer.writeRaw(Long.toString(value));
+                }
+            }
+            case BOOLEAN -> {
+                var value = rs.getBoolean(column);
+                if (!rs.wasNull()) {
+                    writer.writeRaw(value ? "true" : "false");
+                }
+            }
+            case DECIMAL -> {
+                var value = rs.getBigDecimal(column);
+                if (value != null) {
+                    writer.writeRaw(value.toPlainString());
+                }
+            }
+            default -> {
+                var value = rs.getString(column);
+                if (value != null) {
+                    writer.writeText(value);
+                }
+            }
+        }
+    }
+
+    private static Kind kindOf(ResultSetMetaData meta, int column) throws SQLException {
+        return switch (meta.getColumnType(column)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Kind.INTEGER;
+            case Types.BOOLEAN, Types.BIT -> Kind.BOOLEAN;
+            case Types.DECIMAL, Types.NUMERIC -> Kind.DECIMAL;
+            default -> Kind.TEXT;
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.perftester.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/** UTF-8 CSV field writer used by {@link CsvEncoder}; a value is quoted only when it needs to be. */
+final class CsvWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+
+    CsvWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    /** Writes a value that never needs quoting, such as a formatted number. */
+    void writeRaw(String value) throws IOException {
+        out.write(value);
+    }
+
+    void writeText(String value) throws IOException {
+        if (needsQuoting(value)) {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(value);
+        }
+    }
+
+    void put(char c) throws IOException {
+        out.write(c);
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -9,26 +9,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
-import java.sql.SQLException;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DatabaseExportService {
 
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int FETCH_SIZE = 1000;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final DbExportQueryRepository repository;
     private final JdbcTemplate jdbcTemplate;
+    private final DbExportProperties dbExportProperties;
 
     @Transactional(readOnly = true)
     public List<DbExportQueryResponse> findAll() {
@@ -67,75 +68,90 @@ public class DatabaseExportService {
         repository.deleteById(id);
     }
 
-    public Map<String, Path> executeExportQueries() {
-        var results = new LinkedHashMap<String, Path>();
+    /**
+     * Runs the configured export queries concurrently, each on its own connection, and streams
+     * every result set as CSV into {@code db/<name>.csv} (or {@code .csv.gz}) of the archive,
+     * without temporary CSV files. At most {@code concurrency} queries run at once; each one is
+     * bounded by the configured timeout and row cap. A failing query keeps whatever rows were
+     * written and is marked as failed in the summary.
+     *
+     * @return number of queries exported completely
+     */
+    public int exportTo(ResultArchive archive) {
         var queries = repository.findAllByOrderByDisplayOrderAscNameAsc();
-        for (var query : queries) {
-            try {
-                results.put(query.getName(), executeQueryAsCsv(query.getSqlQuery()));
-            } catch (Exception e) {
-                log.warn("Failed to execute export query '{}': {}", query.getName(), e.getMessage());
+        if (queries.isEmpty()) {
+            return 0;
+        }
+        var concurrency = dbExportProperties.concurrency() > 0
+                ? dbExportProperties.concurrency() : DEFAULT_CONCURRENCY;
+        var exported = new AtomicInteger();
+        var threads = Thread.ofVirtual().name("db-export-", 0).factory();
+        try (var executor = Executors.newFixedThreadPool(Math.min(concurrency, queries.size()), threads)) {
+            for (var query : queries) {
+                executor.execute(() -> {
+                    if (exportQuery(archive, query)) {
+                        exported.incrementAndGet();
+                    }
+                });
             }
         }
-        return results;
+        return exported.get();
+    }
+
+    private boolean exportQuery(ResultArchive archive, DbExportQuery query) {
+        var extension = dbExportProperties.gzip() ? ".csv.gz" : ".csv";
+        var entryName = "db/" + ResultArchive.safeName(query.getName()) + extension;
+        var started = System.nanoTime();
+        try {
+            long rows = archive.addStreamConcurrently(entryName, os -> writeQueryAsCsv(query.getSqlQuery(), os));
+            var maxRows = dbExportProperties.maxRows();
+            var capped = maxRows > 0 && rows >= maxRows;
+            archive.annotate(entryName, rows + " rows" + (capped ? ", capped at " + maxRows : ""));
+            log.info("Exported query '{}': {} rows in {} ms", query.getName(), rows,
+                    (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to execute export query '{}': {}", query.getName(), e.getMessage());
+            archive.annotate(entryName, "failed: " + e.getMessage());
+            return false;
+        }
     }
 
-    private Path executeQueryAsCsv(String sql) throws IOException {
-        var tempFile = Files.createTempFile("db-export-", ".csv");
-        try (var writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
-            jdbcTemplate.query(
+    private long writeQueryAsCsv(String sql, OutputStream os) throws IOException {
+        var gzip = dbExportProperties.gzip() ? new GZIPOutputStream(os, GZIP_BUFFER_SIZE) : null;
+        var encoder = new CsvEncoder(gzip != null ? gzip : os);
+        Long rows;
+        try {
+            rows = jdbcTemplate.query(
                     conn -> {
                         var ps = conn.prepareStatement(sql,
                                 ResultSet.TYPE_FORWARD_ONLY,
                                 ResultSet.CONCUR_READ_ONLY);
-                        ps.setFetchSize(1000);
+                        ps.setFetchSize(FETCH_SIZE);
+                        if (dbExportProperties.queryTimeoutSeconds() > 0) {
+                            ps.setQueryTimeout(dbExportProperties.queryTimeoutSeconds());
+                        }
+                        if (dbExportProperties.maxRows() > 0) {
+                            ps.setMaxRows(dbExportProperties.maxRows());
+                        }
                         return ps;
                     },
-                    (ResultSetExtractor<Void>) rs -> {
+                    (ResultSetExtractor<Long>) rs -> {
                         try {
-                            var meta = rs.getMetaData();
-                            var cols = meta.getColumnCount();
-                            writeHeader(writer, meta, cols);
-                            while (rs.next()) {
-                                writeRow(writer, rs, cols);
-                            }
+                            return encoder.write(rs);
                         } catch (IOException e) {
+                            // Propagates through JdbcTemplate untranslated, up to exportQuery
                             throw new UncheckedIOException(e);
                         }
-                        return null;
                     });
-        }
-        return tempFile;
-    }
-
-    private void writeHeader(BufferedWriter writer, ResultSetMetaData meta, int cols)
-            throws SQLException, IOException {
-        for (int i = 1; i <= cols; i++) {
-            if (i > 1) {
-                writer.write(',');
-            }
-            writer.write(escapeCsv(meta.getColumnLabel(i)));
-        }
-        writer.newLine();
-    }
-
-    private void writeRow(BufferedWriter writer, ResultSet rs, int cols)
-            throws SQLException, IOException {
-        for (int i = 1; i <= cols; i++) {
-            if (i > 1) {
-                writer.write(',');
+        } finally {
+            // Flush and finish without closing: the archive owns the entry stream
+            encoder.flush();
+            if (gzip != null) {
+                gzip.finish();
             }
-            var val = rs.getString(i);
-            writer.write(val != null ? escapeCsv(val) : "");
-        }
-        writer.newLine();
-    }
-
-    private String escapeCsv(String value) {
-        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
         }
-        return value;
+        return rows != null ? rows : 0;
     }
 
     private DbExportQueryResponse toResponse(DbExportQuery entity) {
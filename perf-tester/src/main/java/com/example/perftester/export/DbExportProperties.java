@@ -0,0 +1,16 @@
+package com.example.perftester.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Execution limits for the database export queries.
+ *
+ * @param concurrency         queries run at the same time, each on its own connection; keep it
+ *                            below the connection pool size
+ * @param queryTimeoutSeconds per-query JDBC timeout; 0 disables it
+ * @param maxRows             rows exported per query at most; 0 exports everything
+ * @param gzip                gzip each CSV inside the archive
+ */
+@ConfigurationProperties(prefix = "app.export.db")
+public record DbExportProperties(int concurrency, int queryTimeoutSeconds, int maxRows, boolean gzip) {
+}
@@ -0,0 +1,79 @@
+package com.example.perftester.export;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "export_job")
+@Getter
+@Setter
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "export_job_seq")
+    @SequenceGenerator(name = "export_job_seq", sequenceName = "export_job_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false)
+    private Long testRunId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "test_id")
+    private String testId;
+
+    @Column(name = "window_start", nullable = false)
+    private Instant windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    private Instant windowEnd;
+
+    @Column(name = "export_grafana", nullable = false)
+    private boolean exportGrafana;
+
+    @Column(name = "export_prometheus", nullable = false)
+    private boolean exportPrometheus;
+
+    @Column(name = "export_kubernetes", nullable = false)
+    private boolean exportKubernetes;
+
+    @Column(name = "export_logs", nullable = false)
+    private boolean exportLogs;
+
+    @Column(name = "export_database", nullable = false)
+    private boolean exportDatabase;
+
+    @Column(name = "export_jfr", nullable = false)
+    private boolean exportJfr;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @PrePersist
+    void onCreate() {
+        createdAt = Instant.now();
+    }
+}
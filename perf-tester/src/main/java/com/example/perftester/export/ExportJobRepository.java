@@ -0,0 +1,13 @@
+package com.example.perftester.export;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+
+    List<ExportJob> findByStatusInOrderByIdAsc(Collection<String> statuses);
+}
@@ -0,0 +1,16 @@
+package com.example.perftester.export;
+
+/**
+ * Describes the artifacts to collect for a finished test run.
+ *
+ * @param testRunId  database id of the {@code TestRun}
+ * @param testId     optional user-supplied test identifier used in file names
+ * @param startMs    epoch millis at which measurement started
+ * @param endMs      epoch millis at which measurement ended
+ * @param exportJfr  package the JFR recordings taken during measurement
+ */
+public record ExportJobRequest(Long testRunId, String testId, long startMs, long endMs,
+                               boolean exportGrafana, boolean exportPrometheus,
+                               boolean exportKubernetes, boolean exportLogs, boolean exportDatabase,
+                               boolean exportJfr) {
+}
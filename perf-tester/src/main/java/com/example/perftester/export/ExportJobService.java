@@ -0,0 +1,298 @@
+package com.example.perftester.export;
+
+import com.example.perftester.config.AsyncConfig;
+import com.example.perftester.config.PerfProperties;
+import com.example.perftester.grafana.GrafanaExportService;
+import com.example.perftester.grafana.GrafanaExportService.DashboardExportResult;
+import com.example.perftester.kubernetes.KubernetesService;
+import com.example.perftester.loki.LokiService;
+import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.profiling.JfrCaptureService;
+import com.example.perftester.profiling.JfrSummary;
+import com.example.perftester.prometheus.PrometheusExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collects and packages test artifacts after a run has finished measuring.
+ *
+ * <p>Each export is persisted as an {@link ExportJob} and executed on the
+ * {@link AsyncConfig#EXPORT_EXECUTOR}, so the performance tracker is free for the next
+ * run while Grafana, Prometheus, Loki and the database are being exported. Jobs that
+ * were still pending or running when the application stopped are resumed on startup.
+ *
+ * <p>Artifacts go straight into a {@link ResultArchive}: Prometheus JSON and Loki logs are
+ * streamed into it, database CSVs are compressed concurrently and appended as each query
+ * finishes, and Kubernetes and Grafana exports run alongside and add their files when done.
+ * JFR recordings are added as they are and summarised into {@code summary.txt}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String PROMETHEUS_ENTRY = "metrics/prometheus_export.json";
+    private static final String JFR_DIRECTORY = "jfr/";
+
+    private final ExportJobRepository exportJobRepository;
+    private final TestRunService testRunService;
+    private final KubernetesService kubernetesService;
+    private final DatabaseExportService databaseExportService;
+    private final GrafanaExportService grafanaExportService;
+    private final PrometheusExportService prometheusExportService;
+    private final LokiService lokiService;
+    private final JfrCaptureService jfrCaptureService;
+    private final TestResultPackager testResultPackager;
+    private final PerfProperties perfProperties;
+
+    @Qualifier(AsyncConfig.EXPORT_EXECUTOR)
+    private final ExecutorService exportExecutor;
+
+    /**
+     * Persists an export job for the given run and queues it for background execution.
+     *
+     * @return the persisted job in {@link #PENDING} state
+     */
+    public ExportJob submit(ExportJobRequest request) {
+        var job = new ExportJob();
+        job.setTestRunId(request.testRunId());
+        job.setTestId(request.testId());
+        job.setStatus(PENDING);
+        job.setWindowStart(Instant.ofEpochMilli(request.startMs()));
+        job.setWindowEnd(Instant.ofEpochMilli(request.endMs()));
+        job.setExportGrafana(request.exportGrafana());
+        job.setExportPrometheus(request.exportPrometheus());
+        job.setExportKubernetes(request.exportKubernetes());
+        job.setExportLogs(request.exportLogs());
+        job.setExportDatabase(request.exportDatabase());
+        job.setExportJfr(request.exportJfr());
+        var saved = exportJobRepository.save(job);
+        testRunService.updateExportStatus(request.testRunId(), PENDING, null, null);
+        log.info("Queued export job {} for test run {}", saved.getId(), request.testRunId());
+        exportExecutor.execute(() -> run(saved.getId()));
+        return saved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        var unfinished = exportJobRepository.findByStatusInOrderByIdAsc(List.of(PENDING, RUNNING));
+        for (var job : unfinished) {
+            log.info("Resuming export job {} for test run {} (was {})",
+                    job.getId(), job.getTestRunId(), job.getStatus());
+            exportExecutor.execute(() -> run(job.getId()));
+        }
+    }
+
+    void run(Long jobId) {
+        var job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.warn("Export job {} no longer exists, skipping", jobId);
+            return;
+        }
+        try {
+            job.setStatus(RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(Instant.now());
+            job = exportJobRepository.save(job);
+            testRunService.updateExportStatus(job.getTestRunId(), RUNNING, null, null);
+
+            var zipPath = export(job);
+
+            job.setStatus(COMPLETED);
+            job.setError(null);
+            job.setCompletedAt(Instant.now());
+            exportJobRepository.save(job);
+            testRunService.updateExportStatus(job.getTestRunId(), COMPLETED, zipPath, null);
+            log.info("Export job {} completed: {}", jobId, zipPath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, "Export interrupted");
+        } catch (Exception e) {
+            log.error("Export job {} failed", jobId, e);
+            fail(job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void fail(ExportJob job, String error) {
+        var truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        try {
+            job.setStatus(FAILED);
+            job.setError(truncated);
+            job.setCompletedAt(Instant.now());
+            exportJobRepository.save(job);
+            testRunService.updateExportStatus(job.getTestRunId(), FAILED, null, truncated);
+        } catch (Exception e) {
+            log.warn("Failed to record failure of export job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private String export(ExportJob job) throws InterruptedException, IOException {
+        var run = testRunService.findById(job.getTestRunId());
+        var result = toResult(run);
+        long startMs = job.getWindowStart().toEpochMilli();
+        long endMs = job.getWindowEnd().toEpochMilli();
+
+        var archive = testResultPackager.createArchive(job.getTestId());
+        List<JfrSummary> profiles = List.of();
+        try (var producers = Executors.newVirtualThreadPerTaskExecutor()) {
+            // File-based exporters and the database queries run alongside the streamed exporters
+            Future<?> kubernetes = job.isExportKubernetes()
+                    ? producers.submit(() -> exportKubernetes(archive)) : null;
+            Future<?> database = job.isExportDatabase()
+                    ? producers.submit(() -> exportDatabase(archive)) : null;
+            Future<List<JfrSummary>> recordings = job.isExportJfr()
+                    ? producers.submit(() -> exportJfr(archive, job.getTestRunId())) : null;
+            if (job.isExportGrafana() || job.isExportPrometheus()) {
+                prometheusExportService.awaitScrapeCoverage(endMs, perfProperties.metricsPropagationDelayMs());
+            }
+            Future<DashboardExportResult> dashboards = job.isExportGrafana()
+                    ? producers.submit(() -> exportDashboards(archive, startMs, endMs)) : null;
+            if (job.isExportPrometheus()) {
+                log.info("Exporting Prometheus metrics...");
+                var testId = job.getTestId() != null ? job.getTestId() : String.valueOf(job.getTestRunId());
+                var exported = archive.addStream(PROMETHEUS_ENTRY,
+                        os -> prometheusExportService.writeMetrics(startMs, endMs, testId, os));
+                archive.annotate(PROMETHEUS_ENTRY, exported + " metrics");
+            }
+            if (job.isExportLogs()) {
+                // Logs are paged from Loki straight into the archive, not buffered here
+                testResultPackager.addLogs(archive,
+                        lokiService.openReader(Instant.ofEpochMilli(startMs), Instant.ofEpochMilli(endMs)));
+            }
+            if (dashboards != null) {
+                var dashboardExport = await(dashboards);
+                result = result.withDashboardExports(
+                        dashboardExport.dashboardUrls(), dashboardExport.exportedFiles());
+            }
+            if (database != null) {
+                await(database);
+            }
+            if (kubernetes != null) {
+                await(kubernetes);
+            }
+            if (recordings != null) {
+                profiles = await(recordings);
+            }
+        } catch (InterruptedException | IOException | RuntimeException e) {
+            archive.discard();
+            throw e;
+        }
+
+        var packageResult = testResultPackager.complete(archive, result, job.getTestId(), startMs, endMs,
+                profiles);
+        log.info("Test results packaged: {} ({})", packageResult.filename(), packageResult.savedPath());
+        return packageResult.savedPath();
+    }
+
+    private DashboardExportResult exportDashboards(ResultArchive archive, long startMs, long endMs)
+            throws IOException {
+        log.info("Exporting Grafana dashboards...");
+        var dashboardExport = grafanaExportService.exportDashboards(startMs, endMs);
+        dashboardExport.dashboardUrls().forEach(url -> log.info("  Dashboard URL: {}", url));
+        try {
+            testResultPackager.addDashboards(archive, dashboardExport.exportedFiles());
+        } finally {
+            dashboardExport.exportedFiles().forEach(file -> deleteQuietly(Path.of(file)));
+        }
+        return dashboardExport;
+    }
+
+    private void exportDatabase(ResultArchive archive) {
+        log.info("Executing database export queries...");
+        var exported = databaseExportService.exportTo(archive);
+        log.info("Database export completed: {} queries", exported);
+    }
+
+    private List<JfrSummary> exportJfr(ResultArchive archive, Long testRunId) throws IOException {
+        log.info("Packaging JFR recordings...");
+        var summaries = new ArrayList<JfrSummary>();
+        for (var recording : jfrCaptureService.recordings(testRunId)) {
+            var fileName = recording.getFileName().toString();
+            archive.addFile(JFR_DIRECTORY + fileName, recording);
+            var service = fileName.substring(0, fileName.length() - JfrCaptureService.EXTENSION.length());
+            summaries.add(JfrSummary.read(service, recording));
+        }
+        // Kept until packaged, so a job resumed after a restart still finds them
+        jfrCaptureService.discard(testRunId);
+        log.info("JFR recordings packaged: {} services", summaries.size());
+        return summaries;
+    }
+
+    private Void exportKubernetes(ResultArchive archive) throws IOException {
+        var exportFile = kubernetesService.exportClusterInfo();
+        if (exportFile == null) {
+            return null;
+        }
+        var exportPath = Path.of(exportFile);
+        try {
+            testResultPackager.addKubernetesExport(archive, exportFile);
+        } finally {
+            if (Files.isDirectory(exportPath)) {
+                try (var files = Files.list(exportPath)) {
+                    files.forEach(ExportJobService::deleteQuietly);
+                }
+            }
+            deleteQuietly(exportPath);
+        }
+        return null;
+    }
+
+    private static <T> T await(Future<T> future) throws InterruptedException, IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // The producer's message becomes the job error; the stack trace keeps the whole chain
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), e);
+            }
+            throw new IllegalStateException(cause.getMessage(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            log.debug("Deleted exported file: {}", file);
+        } catch (IOException e) {
+            log.warn("Failed to delete exported file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static PerfTestResult toResult(TestRun run) {
+        var durationSec = run.getDurationMs() != null ? run.getDurationMs() / 1000.0 : 0;
+        return new PerfTestResult(run.getCompletedCount(), run.getTimeoutCount(), durationSec,
+                valueOrZero(run.getTps()), valueOrZero(run.getAvgLatencyMs()),
+                valueOrZero(run.getMinLatencyMs()), valueOrZero(run.getMaxLatencyMs()))
+                .withPercentiles(valueOrZero(run.getP25LatencyMs()), valueOrZero(run.getP50LatencyMs()),
+                        valueOrZero(run.getP75LatencyMs()), valueOrZero(run.getP90LatencyMs()),
+                        valueOrZero(run.getP95LatencyMs()), valueOrZero(run.getP99LatencyMs()));
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0;
+    }
+}
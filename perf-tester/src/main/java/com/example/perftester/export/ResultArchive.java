@@ -0,0 +1,203 @@
+package com.example.perftester.export;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP archive that test artifacts are streamed into as their producers finish. Entries may be
+ * added from several threads; each is written as a whole before the next one starts. Files that
+ * are already compressed (PNG, JPEG, gzip, ZIP) are stored as-is, everything else is deflated.
+ */
+@Slf4j
+public class ResultArchive implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final Set<String> STORED_EXTENSIONS = Set.of(".png", ".jpg", ".jpeg", ".gz", ".zip");
+
+    private final Path path;
+    private final ZipOutputStream zip;
+    private final Map<String, String> notes = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean closed;
+
+    ResultArchive(Path path) throws IOException {
+        this.path = path;
+        this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /** Returns the entries written so far with their notes, in archive order. */
+    public Map<String, String> entries() {
+        lock.lock();
+        try {
+            return new LinkedHashMap<>(notes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void annotate(String entryName, String note) {
+        lock.lock();
+        try {
+            if (notes.containsKey(entryName)) {
+                notes.put(entryName, note);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Copies a file into the archive; missing files are skipped with a warning. */
+    public void addFile(String entryName, Path file) throws IOException {
+        lock.lock();
+        try {
+            if (!Files.exists(file)) {
+                log.warn("File not found, skipping: {}", file);
+                return;
+            }
+            if (isPrecompressed(entryName)) {
+                addStoredFile(entryName, file);
+            } else {
+                addStream(entryName, os -> Files.copy(file, os));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void addText(String entryName, String content) throws IOException {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        addStream(entryName, os -> {
+            os.write(bytes);
+            return bytes.length;
+        });
+    }
+
+    /**
+     * Streams an entry of unknown length into the archive. The writer must not close the stream.
+     * If the writer fails, the bytes written so far are kept as a complete entry and the failure
+     * is rethrown.
+     */
+    public <T> T addStream(String entryName, EntryWriter<T> writer) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            zip.putNextEntry(new ZipEntry(entryName));
+            try {
+                return writer.write(zip);
+            } finally {
+                zip.closeEntry();
+                notes.put(entryName, "");
+                log.debug("Added to ZIP: {}", entryName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #addStream}, but may run at the same time as other writers: the content is
+     * spooled to a temporary file next to the archive and copied in once the writer returns.
+     */
+    public <T> T addStreamConcurrently(String entryName, EntryWriter<T> writer) throws IOException {
+        var spool = Files.createTempFile(path.toAbsolutePath().getParent(), ".spool-", ".tmp");
+        try {
+            try (var out = new BufferedOutputStream(Files.newOutputStream(spool), BUFFER_SIZE)) {
+                return writer.write(out);
+            } finally {
+                // Runs after the spool is closed; a failed writer still leaves a readable entry
+                addFile(entryName, spool);
+            }
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                zip.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Closes the archive and deletes the file; used when packaging fails halfway. */
+    public void discard() {
+        lock.lock();
+        try {
+            try {
+                close();
+            } catch (IOException e) {
+                log.debug("Failed to close discarded archive {}: {}", path, e.getMessage());
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete discarded archive {}: {}", path, e.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String safeName(String name) {
+        return name.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+
+    private void addStoredFile(String entryName, Path file) throws IOException {
+        ensureOpen();
+        var crc = new CRC32();
+        try (var in = new CheckedInputStream(Files.newInputStream(file), crc)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        var entry = new ZipEntry(entryName);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(Files.size(file));
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        Files.copy(file, zip);
+        zip.closeEntry();
+        notes.put(entryName, "");
+        log.debug("Added to ZIP (stored): {} ({} bytes)", entryName, entry.getSize());
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Archive already closed: " + path);
+        }
+    }
+
+    private static boolean isPrecompressed(String entryName) {
+        var dot = entryName.lastIndexOf('.');
+        return dot >= 0 && STORED_EXTENSIONS.contains(entryName.substring(dot).toLowerCase(Locale.ROOT));
+    }
+
+    @FunctionalInterface
+    public interface EntryWriter<T> {
+        T write(OutputStream out) throws IOException;
+    }
+}
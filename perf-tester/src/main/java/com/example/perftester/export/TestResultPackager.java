@@ -2,25 +2,34 @@ package com.example.perftester.export;
 
 import com.example.perftester.config.ExportProperties;
 import com.example.perftester.loki.LogEntry;
+import com.example.perftester.loki.LokiLogReader;
 import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.profiling.JfrSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Service
 public class TestResultPackager {
 
+    private static final int LOG_BUFFER_SIZE = 64 * 1024;
+    private static final int TIMESTAMP_WIDTH = 30;
+    private static final int LEVEL_WIDTH = 5;
+
     private final String exportPath;
 
     public TestResultPackager(ExportProperties exportProperties) {
@@ -28,107 +37,87 @@ public class TestResultPackager {
     }
 
     /**
-     * Packages test results, dashboard images, Prometheus metrics, and Kubernetes info
-     * into a single ZIP file saved to the configured export path.
-     *
-     * @param result               performance test metrics (TPS, latency, completion counts)
-     * @param dashboardImageFiles  paths to exported Grafana dashboard PNG files
-     * @param prometheusExportFile path to exported Prometheus metrics JSON (nullable)
-     * @param testId               optional test identifier for the filename
-     * @param testStartTimeMs      epoch millis of test start
-     * @param testEndTimeMs        epoch millis of test end
-     * @return the filename and saved path of the generated ZIP
+     * Creates an empty archive in the export directory, named after the test and current time.
+     * Producers add entries as they finish; {@link #complete} writes the summary and closes it.
      */
-    public PackageResult packageResults(
-            PerfTestResult result,
-            List<String> dashboardImageFiles,
-            String prometheusExportFile,
-            List<LogEntry> logEntries,
-            String testId,
-            long testStartTimeMs,
-            long testEndTimeMs) {
-
+    public ResultArchive createArchive(String testId) {
         var timestamp = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
                 .format(Instant.now().atZone(java.time.ZoneId.systemDefault()));
         var packageName = testId != null ? testId + "_" + timestamp : "perf_test_" + timestamp;
-        var filename = packageName + ".zip";
 
         var exportDir = Path.of(exportPath);
         try {
             Files.createDirectories(exportDir);
+            return new ResultArchive(exportDir.resolve(packageName + ".zip"));
         } catch (IOException e) {
             log.error("Failed to create export directory: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create export directory", e);
         }
+    }
 
-        var zipPath = exportDir.resolve(filename);
-
-        // Write ZIP directly to disk to avoid OOM with large exports
-        try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipPath)))) {
-
-            // Add test summary/statistics file
-            var summaryContent = generateSummary(result, logEntries, testId, testStartTimeMs, testEndTimeMs);
-            addTextEntry(zos, "summary.txt", summaryContent);
-
-            // Add dashboard images - stream from disk
-            for (String imageFile : dashboardImageFiles) {
-                if (imageFile != null) {
-                    addFileEntryStreaming(zos, Path.of(imageFile), "dashboards/");
-                }
-            }
-
-            // Add Prometheus export - stream from disk
-            if (prometheusExportFile != null) {
-                addFileEntryStreaming(zos, Path.of(prometheusExportFile), "metrics/");
-            }
-
-            // Add application logs from Loki
-            if (logEntries != null && !logEntries.isEmpty()) {
-                var logContent = formatLogEntries(logEntries);
-                addTextEntry(zos, "logs/application.log", logContent);
+    /** Adds Grafana dashboard images under {@code dashboards/}; PNGs are stored uncompressed. */
+    public void addDashboards(ResultArchive archive, List<String> imageFiles) throws IOException {
+        for (var imageFile : imageFiles) {
+            if (imageFile != null) {
+                var path = Path.of(imageFile);
+                archive.addFile("dashboards/" + path.getFileName(), path);
             }
+        }
+    }
 
-            // Add database export query results as CSV files — stream from temp files to avoid OOM
-            if (result.dbQueryResults() != null && !result.dbQueryResults().isEmpty()) {
-                for (var entry : result.dbQueryResults().entrySet()) {
-                    var csvFilename = sanitizeFilename(entry.getKey()) + ".csv";
-                    addFileEntryStreaming(zos, entry.getValue(), "db/", csvFilename);
+    /** Adds a Kubernetes export file, or every file of an export directory, under {@code kubernetes/}. */
+    public void addKubernetesExport(ResultArchive archive, String kubernetesExportFile) throws IOException {
+        if (kubernetesExportFile == null) {
+            return;
+        }
+        var kubernetesPath = Path.of(kubernetesExportFile);
+        if (!Files.isDirectory(kubernetesPath)) {
+            archive.addFile("kubernetes/" + kubernetesPath.getFileName(), kubernetesPath);
+            return;
+        }
+        try (var kubernetesFiles = Files.list(kubernetesPath)) {
+            for (var file : kubernetesFiles.filter(Files::isRegularFile).sorted().toList()) {
+                try {
+                    archive.addFile("kubernetes/" + file.getFileName(), file);
+                } catch (IOException ex) {
+                    log.warn("Failed to add kubernetes file {}: {}", file, ex.getMessage());
                 }
             }
+        }
+    }
 
-            // Add Kubernetes cluster info - stream from disk
-            if (result.kubernetesExportFile() != null) {
-                var kubernetesPath = Path.of(result.kubernetesExportFile());
-                if (Files.isDirectory(kubernetesPath)) {
-                    try (var kubernetesFiles = Files.list(kubernetesPath)) {
-                        kubernetesFiles.filter(Files::isRegularFile)
-                                .sorted()
-                                .forEach(file -> {
-                                    try {
-                                        addFileEntryStreaming(zos, file, "kubernetes/");
-                                    } catch (IOException ex) {
-                                        log.warn("Failed to add kubernetes file {}: {}", file, ex.getMessage());
-                                    }
-                                });
-                    }
-                } else {
-                    addFileEntryStreaming(zos, kubernetesPath, "kubernetes/");
-                }
-            }
+    /**
+     * Writes {@code summary.txt}, listing every entry added so far, and closes the archive.
+     * On failure the partial archive is deleted.
+     */
+    public PackageResult complete(ResultArchive archive, PerfTestResult result, String testId,
+                                  long testStartTimeMs, long testEndTimeMs) {
+        return complete(archive, result, testId, testStartTimeMs, testEndTimeMs, List.of());
+    }
 
+    /**
+     * Like {@link #complete(ResultArchive, PerfTestResult, String, long, long)}, with a
+     * profiling section in {@code summary.txt} for each JFR recording in the archive.
+     */
+    public PackageResult complete(ResultArchive archive, PerfTestResult result, String testId,
+                                  long testStartTimeMs, long testEndTimeMs, List<JfrSummary> profiles) {
+        try (archive) {
+            // Summary goes last so it can report what the streamed entries contained
+            archive.addText("summary.txt",
+                    generateSummary(result, archive, testId, testStartTimeMs, testEndTimeMs, profiles));
         } catch (IOException e) {
+            archive.discard();
             log.error("Failed to package test results: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to package test results", e);
         }
-
-        log.info("Test results packaged to: {}", zipPath.toAbsolutePath());
-
+        var zipPath = archive.path().toAbsolutePath();
+        log.info("Test results packaged to: {}", zipPath);
         // Return path-based result - ZIP is streamed from disk via FileSystemResource
-        return new PackageResult(filename, zipPath.toAbsolutePath().toString());
+        return new PackageResult(zipPath.getFileName().toString(), zipPath.toString());
     }
 
-    private String generateSummary(PerfTestResult result, List<LogEntry> logEntries,
-                                   String testId, long testStartTimeMs, long testEndTimeMs) {
+    private String generateSummary(PerfTestResult result, ResultArchive archive, String testId,
+                                   long testStartTimeMs, long testEndTimeMs, List<JfrSummary> profiles) {
         var sb = new StringBuilder();
         sb.append("═══════════════════════════════════════════════════════════════\n");
         sb.append("                    PERFORMANCE TEST SUMMARY\n");
@@ -158,6 +147,16 @@ public class TestResultPackager {
         sb.append(String.format("Max Latency:          %.2f ms%n", result.maxLatencyMs()));
         sb.append("\n");
 
+        if (!profiles.isEmpty()) {
+            sb.append("───────────────────────────────────────────────────────────────\n");
+            sb.append("                      PROFILING (JFR)\n");
+            sb.append("───────────────────────────────────────────────────────────────\n");
+            for (var profile : profiles) {
+                sb.append(profile.format());
+                sb.append("\n");
+            }
+        }
+
         sb.append("───────────────────────────────────────────────────────────────\n");
         sb.append("                         ARTIFACTS\n");
         sb.append("───────────────────────────────────────────────────────────────\n");
@@ -171,81 +170,88 @@ public class TestResultPackager {
 
         sb.append("Exported Files:\n");
         sb.append("  • summary.txt (this file)\n");
-        if (result.dashboardExportFiles() != null) {
-            for (var file : result.dashboardExportFiles()) {
-                sb.append(String.format("  • dashboards/%s%n", Path.of(file).getFileName()));
-            }
-        }
-        if (result.prometheusExportFile() != null) {
-            sb.append(String.format("  • metrics/%s%n", Path.of(result.prometheusExportFile()).getFileName()));
-        }
-        if (result.kubernetesExportFile() != null) {
-            var kubernetesPath = Path.of(result.kubernetesExportFile());
-            if (Files.isDirectory(kubernetesPath)) {
-                try (var kubernetesFiles = Files.list(kubernetesPath)) {
-                    kubernetesFiles.filter(Files::isRegularFile)
-                            .sorted()
-                            .forEach(file -> sb.append(String.format("  • kubernetes/%s%n", file.getFileName())));
-                } catch (IOException e) {
-                    sb.append("  • kubernetes/ (failed to list files)\n");
-                }
+        for (var entry : archive.entries().entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                sb.append(String.format("  • %s%n", entry.getKey()));
             } else {
-                sb.append(String.format("  • kubernetes/%s%n", kubernetesPath.getFileName()));
+                sb.append(String.format("  • %s (%s)%n", entry.getKey(), entry.getValue()));
             }
         }
-        if (logEntries != null && !logEntries.isEmpty()) {
-            sb.append(String.format("  • logs/application.log (%d entries)%n", logEntries.size()));
-        }
-        if (result.dbQueryResults() != null && !result.dbQueryResults().isEmpty()) {
-            for (var entry : result.dbQueryResults().entrySet()) {
-                sb.append(String.format("  • db/%s.csv%n", sanitizeFilename(entry.getKey())));
-            }
-        }
-
         sb.append("\n═══════════════════════════════════════════════════════════════\n");
         sb.append(String.format("Generated: %s%n", Instant.now()));
 
         return sb.toString();
     }
 
-    private String formatLogEntries(List<LogEntry> logEntries) {
-        var sb = new StringBuilder();
-        for (var entry : logEntries) {
-            sb.append(String.format("%-30s %-5s %s%n", entry.timestamp(), entry.level(), entry.message()));
+    /**
+     * Streams Loki logs into {@code logs/}, either merged into {@code application.log} or one
+     * file per service, optionally gzip-compressed. Entries are written as the reader pages
+     * through Loki, so memory use does not grow with the size of the window.
+     */
+    public void addLogs(ResultArchive archive, LokiLogReader logReader) throws IOException {
+        var suffix = logReader.gzip() ? ".log.gz" : ".log";
+        if (logReader.splitByService()) {
+            for (var service : logReader.serviceNames()) {
+                var entryName = "logs/" + ResultArchive.safeName(service) + suffix;
+                addLogEntry(archive, entryName, logReader.gzip(),
+                        writer -> logReader.forEach(service, entry -> writeLogLine(writer, entry)));
+            }
+        } else {
+            addLogEntry(archive, "logs/application" + suffix, logReader.gzip(),
+                    writer -> logReader.forEach(entry -> writeLogLine(writer, entry)));
         }
-        return sb.toString();
     }
 
-    private void addTextEntry(ZipOutputStream zos, String entryName, String content) throws IOException {
-        var entry = new ZipEntry(entryName);
-        zos.putNextEntry(entry);
-        zos.write(content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-        zos.closeEntry();
+    private void addLogEntry(ResultArchive archive, String entryName, boolean gzip,
+                             LogWriterTask task) throws IOException {
+        var note = archive.addStream(entryName, os -> {
+            var gzipStream = gzip ? new GZIPOutputStream(os, LOG_BUFFER_SIZE) : null;
+            OutputStream target = gzipStream != null ? gzipStream : os;
+            var writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), LOG_BUFFER_SIZE);
+            String result;
+            try {
+                result = task.write(writer) + " entries";
+            } catch (UncheckedIOException e) {
+                throw new IOException("Failed to stream logs into " + entryName, e);
+            } catch (Exception e) {
+                // Keep what was read so far, but let the summary show the log is incomplete
+                log.warn("Failed to stream logs into {}: {}", entryName, e.getMessage(), e);
+                result = "failed: " + e.getMessage();
+            }
+            // Flush and finish without closing, which would close the archive entry
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+            return result;
+        });
+        archive.annotate(entryName, note);
+        log.debug("Added to ZIP (streamed): {} ({})", entryName, note);
     }
 
-    private String sanitizeFilename(String name) {
-        return name.replaceAll("[^a-zA-Z0-9._-]", "_");
+    private static void writeLogLine(Writer writer, LogEntry entry) {
+        try {
+            writePadded(writer, entry.timestamp(), TIMESTAMP_WIDTH);
+            writer.write(' ');
+            writePadded(writer, entry.level(), LEVEL_WIDTH);
+            writer.write(' ');
+            writer.write(entry.message());
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private void addFileEntryStreaming(ZipOutputStream zos, Path file, String prefix) throws IOException {
-        addFileEntryStreaming(zos, file, prefix, file.getFileName().toString());
+    private static void writePadded(Writer writer, String value, int width) throws IOException {
+        writer.write(value);
+        for (int i = value.length(); i < width; i++) {
+            writer.write(' ');
+        }
     }
 
-    private void addFileEntryStreaming(ZipOutputStream zos, Path file, String prefix,
-                                       String entryFilename) throws IOException {
-        if (Files.exists(file)) {
-            var entryName = prefix + entryFilename;
-            var entry = new ZipEntry(entryName);
-            zos.putNextEntry(entry);
-            // Stream file content to avoid loading entire file into memory
-            try (InputStream is = Files.newInputStream(file)) {
-                is.transferTo(zos);
-            }
-            zos.closeEntry();
-            log.debug("Added to ZIP (streamed): {}", entryName);
-        } else {
-            log.warn("File not found, skipping: {}", file);
-        }
+    @FunctionalInterface
+    private interface LogWriterTask {
+        long write(Writer writer);
     }
 
     public record PackageResult(String filename, String savedPath) {}
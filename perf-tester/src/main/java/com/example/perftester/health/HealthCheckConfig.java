@@ -24,4 +24,7 @@ public class HealthCheckConfig {
     private int connectionTimeoutMs;
 
     private int intervalMs;
+
+    /** How the service is probed: TCP, HTTP, KAFKA or IBM_MQ. */
+    private String protocol;
 }
@@ -6,6 +6,7 @@ public record HealthCheckConfigResponse(
         int port,
         boolean enabled,
         int connectionTimeoutMs,
-        int intervalMs
+        int intervalMs,
+        String protocol
 ) {
 }
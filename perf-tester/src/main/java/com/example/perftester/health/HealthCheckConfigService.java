@@ -31,9 +31,12 @@ public class HealthCheckConfigService {
         config.setEnabled(request.enabled());
         config.setConnectionTimeoutMs(request.connectionTimeoutMs());
         config.setIntervalMs(request.intervalMs());
-        var saved = toResponse(repository.save(config));
-        scheduler.resetServiceTimer(service);
-        return saved;
+        if (request.protocol() != null) {
+            config.setProtocol(request.protocol());
+        }
+        var saved = repository.save(config);
+        scheduler.onConfigChanged(saved);
+        return toResponse(saved);
     }
 
     private HealthCheckConfigResponse toResponse(HealthCheckConfig config) {
@@ -43,7 +46,8 @@ public class HealthCheckConfigService {
                 config.getPort(),
                 config.isEnabled(),
                 config.getConnectionTimeoutMs(),
-                config.getIntervalMs()
+                config.getIntervalMs(),
+                config.getProtocol()
         );
     }
 }
@@ -8,78 +8,150 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Runs the configured health checks. The checks that are due run at the same time on virtual
+ * threads, each bounded by its own connection timeout, so an unreachable host only delays its
+ * own result. Configs are read from the database once and then kept current through
+ * {@link #onConfigChanged}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class HealthCheckScheduler {
+public class HealthCheckScheduler implements AutoCloseable {
 
     private final HealthCheckConfigRepository repository;
     private final MeterRegistry meterRegistry;
+    private final HealthProbes probes;
 
+    private final ExecutorService checks = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("health-check-", 0).factory());
+    private final Map<String, HealthCheckConfig> configs = new ConcurrentHashMap<>();
     private final Map<String, AtomicInteger> statusGauges = new ConcurrentHashMap<>();
     private final Map<String, Timer> timers = new ConcurrentHashMap<>();
     private final Map<String, Long> lastCheckedAt = new ConcurrentHashMap<>();
+    private volatile boolean configsLoaded;
 
-    public void resetServiceTimer(String service) {
-        lastCheckedAt.remove(service);
+    /** Replaces the cached config of a service and checks it again on the next run. */
+    public void onConfigChanged(HealthCheckConfig config) {
+        configs.put(config.getService(), config);
+        lastCheckedAt.remove(config.getService());
     }
 
     @Scheduled(fixedDelay = 5000)
     public void performHealthChecks() {
-        var configs = repository.findAll();
         var now = System.currentTimeMillis();
-        for (var config : configs) {
+        var running = new ArrayList<RunningCheck>();
+        for (var config : configs()) {
             if (!config.isEnabled()) {
                 continue;
             }
             var lastChecked = lastCheckedAt.getOrDefault(config.getService(), 0L);
             if (now - lastChecked >= config.getIntervalMs()) {
-                checkService(config);
+                running.add(new RunningCheck(config, System.nanoTime(), checks.submit(() -> probe(config))));
                 lastCheckedAt.put(config.getService(), now);
             }
         }
+        for (var check : running) {
+            complete(check);
+        }
+    }
+
+    @Override
+    public void close() {
+        checks.shutdownNow();
+    }
+
+    private Collection<HealthCheckConfig> configs() {
+        if (!configsLoaded) {
+            for (var config : repository.findAll()) {
+                configs.putIfAbsent(config.getService(), config);
+            }
+            configsLoaded = true;
+        }
+        return configs.values();
+    }
+
+    private ProbeResult probe(HealthCheckConfig config) {
+        var start = System.nanoTime();
+        try {
+            probes.probe(config);
+            return new ProbeResult(System.nanoTime() - start, null);
+        } catch (Exception e) {
+            return new ProbeResult(System.nanoTime() - start, e);
+        }
+    }
+
+    private void complete(RunningCheck check) {
+        var config = check.config();
+        var status = statusGauge(config.getService());
+        var timer = timer(config.getService());
+        var timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getConnectionTimeoutMs());
+        try {
+            var remaining = check.startNanos() + timeoutNanos - System.nanoTime();
+            var result = check.result().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            timer.record(result.durationNanos(), TimeUnit.NANOSECONDS);
+            if (result.error() == null) {
+                status.set(1);
+                log.debug("{} health check passed in {}ms", config.getService(),
+                        TimeUnit.NANOSECONDS.toMillis(result.durationNanos()));
+            } else {
+                status.set(0);
+                log.warn("{} health check failed: {} host: {} port: {}", config.getService(),
+                        result.error().getMessage(), config.getHost(), config.getPort());
+            }
+        } catch (ExecutionException e) {
+            // probe() turns exceptions into results, so this is an Error thrown by the probe
+            status.set(0);
+            timer.record(System.nanoTime() - check.startNanos(), TimeUnit.NANOSECONDS);
+            log.warn("{} health check failed host: {} port: {}", config.getService(), config.getHost(),
+                    config.getPort(), e.getCause());
+        } catch (TimeoutException e) {
+            check.result().cancel(true);
+            status.set(0);
+            timer.record(timeoutNanos, TimeUnit.NANOSECONDS);
+            log.warn("{} health check did not complete within {}ms host: {} port: {}", config.getService(),
+                    config.getConnectionTimeoutMs(), config.getHost(), config.getPort());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            check.result().cancel(true);
+        }
     }
 
-    private void checkService(HealthCheckConfig config) {
-        var status = statusGauges.computeIfAbsent(config.getService(), service -> {
+    private AtomicInteger statusGauge(String service) {
+        return statusGauges.computeIfAbsent(service, s -> {
             var gauge = new AtomicInteger(0);
             Gauge.builder("health.infra.status", gauge, AtomicInteger::get)
                     .description("Infrastructure health status (1=up, 0=down)")
-                    .tag("service", service)
+                    .tag("service", s)
                     .register(meterRegistry);
             return gauge;
         });
-        var timer = timers.computeIfAbsent(config.getService(), service ->
+    }
+
+    private Timer timer(String service) {
+        return timers.computeIfAbsent(service, s ->
                 Timer.builder("health.ping.duration")
-                        .description("Health check ping duration")
-                        .tag("service", service)
+                        .description("Health check probe duration")
+                        .tag("service", s)
+                        .publishPercentileHistogram()
                         .register(meterRegistry));
-        checkTcpPort(config, status, timer);
     }
 
-    private void checkTcpPort(HealthCheckConfig config, AtomicInteger status, Timer timer) {
-        var startTime = System.nanoTime();
-        try (var socket = new Socket()) {
-            socket.connect(new InetSocketAddress(config.getHost(), config.getPort()),
-                    config.getConnectionTimeoutMs());
-            status.set(1);
-            var duration = System.nanoTime() - startTime;
-            timer.record(duration, TimeUnit.NANOSECONDS);
-            log.debug("{} health check passed in {}ms", config.getService(),
-                    TimeUnit.NANOSECONDS.toMillis(duration));
-        } catch (IOException e) {
-            status.set(0);
-            var duration = System.nanoTime() - startTime;
-            timer.record(duration, TimeUnit.NANOSECONDS);
-            log.warn("{} health check failed: {} host: {} port: {}", config.getService(), e.getMessage(), config.getHost(), config.getPort());
-        }
+    private record RunningCheck(HealthCheckConfig config, long startNanos, Future<ProbeResult> result) {
+    }
+
+    private record ProbeResult(long durationNanos, Exception error) {
     }
 }
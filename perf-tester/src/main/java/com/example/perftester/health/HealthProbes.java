@@ -0,0 +1,68 @@
+package com.example.perftester.health;
+
+import com.example.perftester.admin.IbmMqAdminService;
+import com.example.perftester.admin.KafkaAdminService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Protocol-level probes behind the health checks. A TCP connect only shows that something
+ * listens on the port; the other probes make the service answer a request in its own protocol:
+ * Kafka returns cluster metadata, the queue manager answers a PCF ping and Spring Boot services
+ * report readiness through the actuator.
+ */
+@Component
+@RequiredArgsConstructor
+public class HealthProbes {
+
+    static final String TCP = "TCP";
+    static final String HTTP = "HTTP";
+    static final String KAFKA = "KAFKA";
+    static final String IBM_MQ = "IBM_MQ";
+
+    static final String READINESS_PATH = "/actuator/health/readiness";
+
+    private final KafkaAdminService kafkaAdminService;
+    private final IbmMqAdminService ibmMqAdminService;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /** Returns when the service answered; throws otherwise. Configs without a protocol use TCP. */
+    void probe(HealthCheckConfig config) throws Exception {
+        var protocol = config.getProtocol() != null ? config.getProtocol() : TCP;
+        switch (protocol) {
+            case HTTP -> probeHttp(config);
+            case KAFKA -> kafkaAdminService.pingBroker(config.getHost(), config.getPort(),
+                    config.getConnectionTimeoutMs());
+            case IBM_MQ -> ibmMqAdminService.ping(config.getHost(), config.getPort());
+            default -> probeTcp(config);
+        }
+    }
+
+    private static void probeTcp(HealthCheckConfig config) throws IOException {
+        try (var socket = new Socket()) {
+            socket.connect(new InetSocketAddress(config.getHost(), config.getPort()),
+                    config.getConnectionTimeoutMs());
+        }
+    }
+
+    private void probeHttp(HealthCheckConfig config) throws IOException, InterruptedException {
+        var uri = URI.create("http://" + config.getHost() + ":" + config.getPort() + READINESS_PATH);
+        var request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(config.getConnectionTimeoutMs()))
+                .GET()
+                .build();
+        var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("Readiness check returned HTTP " + status);
+        }
+    }
+}
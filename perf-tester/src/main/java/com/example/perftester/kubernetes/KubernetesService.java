@@ -2,6 +2,8 @@ package com.example.perftester.kubernetes;
 
 import com.example.perftester.config.ExportProperties;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import lombok.extern.slf4j.Slf4j;
@@ -141,6 +143,29 @@ public class KubernetesService {
         }
     }
 
+    /**
+     * IP addresses of the running pods of a deployment in the configured namespace.
+     *
+     * @return the addresses, or an empty list when the deployment does not exist or no cluster can be reached
+     */
+    public List<String> podAddresses(String name) {
+        try {
+            var deployment = client.apps().deployments().inNamespace(namespace).withName(name).get();
+            if (deployment == null || deployment.getSpec() == null || deployment.getSpec().getSelector() == null) {
+                return List.of();
+            }
+            return client.pods().inNamespace(namespace).withLabelSelector(deployment.getSpec().getSelector())
+                    .list().getItems().stream()
+                    .map(Pod::getStatus)
+                    .filter(status -> status != null && "Running".equals(status.getPhase()) && status.getPodIP() != null)
+                    .map(PodStatus::getPodIP)
+                    .toList();
+        } catch (Exception e) {
+            log.debug("Could not list pods of deployment {}: {}. Not running in a cluster?", name, e.getMessage());
+            return List.of();
+        }
+    }
+
     public void scaleDeployment(String name, int replicas) {
         scaleDeployment(name, namespace, replicas);
     }
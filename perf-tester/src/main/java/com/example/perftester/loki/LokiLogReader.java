@@ -0,0 +1,266 @@
+package com.example.perftester.loki;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the Loki logs of a time window page by page, in timestamp order, holding at most one
+ * page in memory.
+ */
+@Slf4j
+public class LokiLogReader {
+
+    private static final String DEFAULT_LEVEL = "INFO";
+    private static final int DEFAULT_PAGE_SIZE = 5000;
+    private static final int DEFAULT_CHUNK_MINUTES = 15;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final Pattern SPRING_LOG_PATTERN =
+            Pattern.compile("^\\S+\\s+(TRACE|DEBUG|INFO|WARN|ERROR)\\s+");
+
+    private final RestClient restClient;
+    private final String url;
+    private final List<String> serviceNames;
+    private final long startNs;
+    private final long endNs;
+    private final int pageSize;
+    private final long chunkNs;
+    private final boolean splitByService;
+    private final boolean gzip;
+
+    LokiLogReader(RestClient restClient, LokiProperties properties, List<String> serviceNames,
+                  Instant start, Instant end) {
+        this.restClient = restClient;
+        this.url = properties.url();
+        this.serviceNames = List.copyOf(serviceNames);
+        this.startNs = start.toEpochMilli() * NANOS_PER_MILLI;
+        this.endNs = end.toEpochMilli() * NANOS_PER_MILLI;
+        this.pageSize = properties.pageSize() > 0 ? properties.pageSize() : DEFAULT_PAGE_SIZE;
+        var chunkMinutes = properties.chunkMinutes() > 0 ? properties.chunkMinutes() : DEFAULT_CHUNK_MINUTES;
+        this.chunkNs = chunkMinutes * NANOS_PER_MINUTE;
+        this.splitByService = properties.splitByService();
+        this.gzip = properties.gzip();
+    }
+
+    public List<String> serviceNames() {
+        return serviceNames;
+    }
+
+    public boolean splitByService() {
+        return splitByService;
+    }
+
+    public boolean gzip() {
+        return gzip;
+    }
+
+    /** Streams all services merged in timestamp order and returns how many entries were delivered. */
+    public long forEach(Consumer<LogEntry> sink) {
+        return read(buildQuery(serviceNames), entry -> {
+            sink.accept(entry);
+            return true;
+        });
+    }
+
+    public long forEach(String serviceName, Consumer<LogEntry> sink) {
+        return read(buildQuery(List.of(serviceName)), entry -> {
+            sink.accept(entry);
+            return true;
+        });
+    }
+
+    /** Like {@link #forEach(Consumer)}, but stops once the sink returns {@code false}. */
+    public long forEachWhile(Predicate<LogEntry> sink) {
+        return read(buildQuery(serviceNames), sink);
+    }
+
+    private long read(String query, Predicate<LogEntry> sink) {
+        if (url == null || url.isBlank() || serviceNames.isEmpty()) {
+            return 0;
+        }
+        log.debug("Reading Loki logs with: {}", query);
+        var cursor = new Cursor(startNs);
+        for (long chunkStart = startNs; chunkStart < endNs; chunkStart += chunkNs) {
+            var chunkEnd = Math.min(chunkStart + chunkNs, endNs);
+            var lastChunk = chunkEnd == endNs;
+            cursor.moveTo(chunkStart);
+            if (!readChunk(query, cursor, chunkEnd, lastChunk, sink)) {
+                break;
+            }
+        }
+        return cursor.delivered();
+    }
+
+    private boolean readChunk(String query, Cursor cursor, long chunkEnd, boolean lastChunk,
+                              Predicate<LogEntry> sink) {
+        while (true) {
+            var response = fetchPage(query, cursor.timestampNs, lastChunk ? chunkEnd + 1 : chunkEnd);
+            var streams = response != null && response.data() != null ? response.data().result() : null;
+            if (streams == null || streams.isEmpty()) {
+                return true;
+            }
+            var merge = new PriorityQueue<StreamCursor>(Comparator.comparingLong(StreamCursor::headNs));
+            var returned = 0;
+            for (var stream : streams) {
+                if (stream.values() != null && !stream.values().isEmpty()) {
+                    returned += stream.values().size();
+                    var streamCursor = new StreamCursor(String.valueOf(stream.stream()), stream.values());
+                    if (streamCursor.advance()) {
+                        merge.add(streamCursor);
+                    }
+                }
+            }
+            var deliveredBefore = cursor.delivered();
+            if (!mergePage(merge, cursor, chunkEnd, lastChunk, sink)) {
+                return false;
+            }
+            if (returned < pageSize) {
+                return true;
+            }
+            if (cursor.delivered() == deliveredBefore) {
+                // More than pageSize entries share one nanosecond; step past them
+                cursor.skipCurrentTimestamp();
+            }
+        }
+    }
+
+    /** Returns {@code false} when the sink asked to stop. */
+    private static boolean mergePage(PriorityQueue<StreamCursor> merge, Cursor cursor, long chunkEnd,
+                                     boolean lastChunk, Predicate<LogEntry> sink) {
+        while (!merge.isEmpty()) {
+            var head = merge.poll();
+            var ts = head.headNs();
+            var line = head.headLine();
+            var inChunk = ts < chunkEnd || lastChunk && ts == chunkEnd;
+            if (inChunk && cursor.accept(ts, head.streamKey + '\u0000' + line) && !sink.test(toEntry(ts, line))) {
+                return false;
+            }
+            if (head.advance()) {
+                merge.add(head);
+            }
+        }
+        return true;
+    }
+
+    private LokiResponse fetchPage(String query, long fromNs, long toNs) {
+        return restClient.get()
+                .uri(url + "/loki/api/v1/query_range?query={q}&start={s}&end={e}&limit={l}&direction=forward",
+                        Map.of("q", query, "s", String.valueOf(fromNs), "e", String.valueOf(toNs),
+                                "l", String.valueOf(pageSize)))
+                .retrieve()
+                .body(LokiResponse.class);
+    }
+
+    private static String buildQuery(List<String> names) {
+        if (names.size() == 1) {
+            return "{service_name=\"" + names.get(0) + "\"}";
+        }
+        return "{service_name=~\"" + String.join("|", names) + "\"}";
+    }
+
+    private static LogEntry toEntry(long tsNs, String line) {
+        var timestamp = Instant.ofEpochMilli(tsNs / NANOS_PER_MILLI).toString();
+        var matcher = SPRING_LOG_PATTERN.matcher(line);
+        if (matcher.find()) {
+            return new LogEntry(timestamp, matcher.group(1), line.substring(matcher.end()));
+        }
+        return new LogEntry(timestamp, DEFAULT_LEVEL, line);
+    }
+
+    /** Last delivered timestamp and the entries already delivered at exactly that instant. */
+    private static final class Cursor {
+
+        private long timestampNs;
+        private final Set<String> seenAtTimestamp = new HashSet<>();
+        private long delivered;
+
+        Cursor(long timestampNs) {
+            this.timestampNs = timestampNs;
+        }
+
+        boolean accept(long ts, String key) {
+            if (ts < timestampNs) {
+                return false;
+            }
+            if (ts > timestampNs) {
+                timestampNs = ts;
+                seenAtTimestamp.clear();
+            }
+            if (!seenAtTimestamp.add(key)) {
+                return false;
+            }
+            delivered++;
+            return true;
+        }
+
+        long delivered() {
+            return delivered;
+        }
+
+        void moveTo(long ts) {
+            if (ts > timestampNs) {
+                timestampNs = ts;
+                seenAtTimestamp.clear();
+            }
+        }
+
+        void skipCurrentTimestamp() {
+            timestampNs++;
+            seenAtTimestamp.clear();
+        }
+    }
+
+    private static final class StreamCursor {
+
+        private final String streamKey;
+        private final List<List<String>> values;
+        private int index = -1;
+        private long headNs;
+
+        StreamCursor(String streamKey, List<List<String>> values) {
+            this.streamKey = streamKey;
+            this.values = values;
+        }
+
+        boolean advance() {
+            index++;
+            while (index < values.size()) {
+                if (values.get(index).size() >= 2) {
+                    headNs = Long.parseLong(values.get(index).get(0));
+                    return true;
+                }
+                index++;
+            }
+            return false;
+        }
+
+        long headNs() {
+            return headNs;
+        }
+
+        String headLine() {
+            return values.get(index).get(1);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record LokiResponse(LokiData data) { }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record LokiData(List<LokiStream> result) { }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record LokiStream(Map<String, String> stream, List<List<String>> values) { }
+}
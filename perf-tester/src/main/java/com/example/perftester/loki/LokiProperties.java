@@ -2,6 +2,16 @@ package com.example.perftester.loki;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * Loki connection and log-export settings.
+ *
+ * @param url            Loki base URL; export is skipped when blank
+ * @param pageSize       maximum entries requested per {@code query_range} call
+ * @param chunkMinutes   width of each time chunk the export window is split into
+ * @param splitByService write one archive entry per service instead of a single merged log
+ * @param gzip           gzip each log entry inside the archive
+ */
 @ConfigurationProperties(prefix = "app.loki")
-public record LokiProperties(String url) {
+public record LokiProperties(String url, int pageSize, int chunkMinutes,
+                             boolean splitByService, boolean gzip) {
 }
@@ -0,0 +1,65 @@
+package com.example.perftester.messaging;
+
+import com.example.avro.MqMessage;
+import com.example.perftester.tracing.TraceContext;
+import com.example.perftester.tracing.TraceSampler;
+
+import java.time.Instant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Produces requests to the Kafka request topic the way ibm-mq-consumer forwards them: an Avro
+ * {@link MqMessage} with the correlation ID and trace context as headers. There is no
+ * {@code mq-reply-to} header, since the response is taken off the response topic by
+ * {@link KafkaResponseListener} instead of coming back over MQ.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = LoadTransport.PROPERTY, havingValue = LoadTransport.KAFKA)
+public class KafkaLoadTransport implements LoadTransport {
+
+    /** Header the consumers carry the correlation ID in. */
+    public static final String CORRELATION_ID = "correlationId";
+
+    private final KafkaTemplate<String, MqMessage> kafkaTemplate;
+    private final String requestTopic;
+    private final boolean tracing;
+
+    public KafkaLoadTransport(KafkaTemplate<String, MqMessage> kafkaTemplate,
+                              @Value("${app.load.request-topic}") String requestTopic,
+                              TraceSampler traceSampler) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.requestTopic = requestTopic;
+        this.tracing = traceSampler.isEnabled();
+    }
+
+    @Override
+    public void send(String messageId, String payload) {
+        var now = Instant.now();
+        var request = MqMessage.newBuilder()
+                .setContent(payload)
+                .setTimestamp(now)
+                .setKafkaRequestSentAt(now)
+                .build();
+        var builder = MessageBuilder
+                .withPayload(request)
+                .setHeader(KafkaHeaders.TOPIC, requestTopic)
+                .setHeader(CORRELATION_ID, messageId);
+        if (tracing) {
+            builder.setHeader(TraceContext.TRACEPARENT, TraceContext.traceparent(messageId));
+        }
+        kafkaTemplate.send(builder.build()).whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("Failed to send message [{}] to {}: {}", messageId, requestTopic, e.getMessage());
+            }
+        });
+        log.debug("Sent message [{}] to Kafka topic {}: {}", messageId, requestTopic, payload);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.perftester.messaging;
+
+import com.example.avro.MqMessage;
+import com.example.avro.util.KafkaHeaderUtils;
+import com.example.perftester.perf.HopTimestamps;
+import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.tracing.TraceSampler;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes kafka-consumer's responses off the response topic when requests are injected with
+ * {@link KafkaLoadTransport}. Only the Kafka legs of the round trip are stamped, so the MQ and
+ * ibm-mq-consumer hops stay empty in the result.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = LoadTransport.PROPERTY, havingValue = LoadTransport.KAFKA)
+@RequiredArgsConstructor
+public class KafkaResponseListener {
+
+    private final PerformanceTracker performanceTracker;
+    private final TraceSampler traceSampler;
+
+    @KafkaListener(topics = "${app.load.response-topic}", groupId = "${spring.kafka.consumer.group-id}", concurrency = "${app.load.kafka-concurrency:20}")
+    public void onMessage(ConsumerRecord<String, MqMessage> record) {
+        var receivedAt = Instant.now();
+        var response = record.value();
+        var body = response.getContent();
+        var correlationId = KafkaHeaderUtils.getHeader(record, KafkaLoadTransport.CORRELATION_ID);
+        if (correlationId != null) {
+            var hops = new HopTimestamps(0,
+                    micros(response.getKafkaRequestSentAt()),
+                    micros(response.getKafkaRequestReceivedAt()),
+                    micros(response.getKafkaResponseSentAt()),
+                    micros(receivedAt),
+                    0);
+            var latencyNanos = performanceTracker.recordReceive(correlationId, body, hops);
+            if (latencyNanos >= 0) {
+                traceSampler.offer(correlationId, latencyNanos, hops);
+            }
+            log.debug("Received Kafka response correlationId=[{}]", correlationId);
+        } else {
+            log.warn("Received Kafka response without correlation ID: {}", body);
+        }
+    }
+
+    private static long micros(@Nullable Instant timestamp) {
+        return timestamp != null ? ChronoUnit.MICROS.between(Instant.EPOCH, timestamp) : 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.perftester.messaging;
+
+/**
+ * The way requests enter the pipeline. {@link MessageSender} records every request with the
+ * tracker and hands it to the transport selected by {@value #PROPERTY}:
+ * <ul>
+ *   <li>{@value #MQ} (default) puts it on the MQ request queue, for the full MQ → Kafka → MQ loop;
+ *       replies come back through {@link MessageListener}</li>
+ *   <li>{@value #KAFKA} produces it to the Kafka request topic as ibm-mq-consumer would, for the
+ *       Kafka leg alone; responses come back through {@link KafkaResponseListener}</li>
+ * </ul>
+ */
+public interface LoadTransport {
+
+    String PROPERTY = "app.load.transport";
+    String MQ = "mq";
+    String KAFKA = "kafka";
+
+    /** Sends one request; its responses must carry {@code messageId} as correlation ID. */
+    void send(String messageId, String payload);
+}
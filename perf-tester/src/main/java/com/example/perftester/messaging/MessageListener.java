@@ -1,6 +1,8 @@
 package com.example.perftester.messaging;
 
+import com.example.perftester.perf.HopTimestamps;
 import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.tracing.TraceSampler;
 
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
@@ -16,16 +18,39 @@ import org.springframework.stereotype.Component;
 public class MessageListener {
 
     private final PerformanceTracker performanceTracker;
+    private final TraceSampler traceSampler;
 
     @JmsListener(destination = "${app.mq.queue.inbound}", concurrency = "10-50")
     public void receiveMessage(Message jmsMessage) throws JMSException {
         var correlationId = jmsMessage.getJMSCorrelationID();
         var body = jmsMessage instanceof TextMessage textMsg ? textMsg.getText() : null;
         if (correlationId != null) {
-            performanceTracker.recordReceive(correlationId, body);
+            var hops = hopTimestamps(jmsMessage);
+            var latencyNanos = performanceTracker.recordReceive(correlationId, body, hops);
+            if (latencyNanos >= 0) {
+                traceSampler.offer(correlationId, latencyNanos, hops);
+            }
             log.debug("Received response message correlationId=[{}]", correlationId);
         } else {
             log.warn("Received message without correlation ID: {}", body);
         }
     }
+
+    /** Timestamps the consumers put on the reply, or null when it came back unstamped. */
+    private static HopTimestamps hopTimestamps(Message jmsMessage) throws JMSException {
+        if (!jmsMessage.propertyExists(HopTimestamps.MQ_REPLY_SENT)) {
+            return null;
+        }
+        return new HopTimestamps(
+                longProperty(jmsMessage, HopTimestamps.MQ_RECEIVED),
+                longProperty(jmsMessage, HopTimestamps.KAFKA_REQUEST_SENT),
+                longProperty(jmsMessage, HopTimestamps.KAFKA_REQUEST_RECEIVED),
+                longProperty(jmsMessage, HopTimestamps.KAFKA_RESPONSE_SENT),
+                longProperty(jmsMessage, HopTimestamps.KAFKA_RESPONSE_RECEIVED),
+                jmsMessage.getLongProperty(HopTimestamps.MQ_REPLY_SENT));
+    }
+
+    private static long longProperty(Message jmsMessage, String name) throws JMSException {
+        return jmsMessage.propertyExists(name) ? jmsMessage.getLongProperty(name) : 0;
+    }
 }
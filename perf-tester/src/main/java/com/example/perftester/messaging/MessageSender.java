@@ -4,12 +4,10 @@ import com.example.perftester.config.AsyncConfig;
 import com.example.perftester.perf.MessageExpectation;
 import com.example.perftester.perf.PerformanceTracker;
 import com.example.perftester.persistence.ScenarioMessage;
-import com.ibm.mq.jakarta.jms.MQQueue;
+import com.example.perftester.profiling.MessageSendEvent;
+import com.example.profiling.MessageEvents;
 
-import jakarta.jms.JMSException;
-import jakarta.jms.Queue;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jms.core.JmsTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -20,57 +18,40 @@ import java.util.concurrent.CompletableFuture;
 @Service
 public class MessageSender {
 
-    private final JmsTemplate jmsTemplate;
-    private final String outboundQueue;
-    private final Queue replyToQueue;
+    private final LoadTransport loadTransport;
     private final PerformanceTracker performanceTracker;
+    private final MessageEvents messageEvents;
 
-    public MessageSender(JmsTemplate jmsTemplate,
-                         MqProperties mqProperties,
-                         PerformanceTracker performanceTracker) throws JMSException {
-        this.jmsTemplate = jmsTemplate;
-        this.outboundQueue = convertToNonJmsQueueNameFormat(mqProperties.queue().outbound());
-        this.replyToQueue = createQueue(mqProperties.queue().inbound());
+    public MessageSender(LoadTransport loadTransport,
+                         PerformanceTracker performanceTracker,
+                         MessageEvents messageEvents) {
+        this.loadTransport = loadTransport;
         this.performanceTracker = performanceTracker;
-    }
-
-    private MQQueue createQueue(String queueName) throws JMSException {
-        return new MQQueue(queueName);
+        this.messageEvents = messageEvents;
     }
 
     @Async(AsyncConfig.MQ_SENDER_EXECUTOR)
     public CompletableFuture<Void> sendMessage(String payload) {
+        var start = System.nanoTime();
         var messageId = UUID.randomUUID().toString();
         performanceTracker.recordSend(messageId);
-        jmsTemplate.convertAndSend(outboundQueue, payload, m -> {
-            m.setJMSReplyTo(replyToQueue);
-            m.setJMSCorrelationID(messageId);
-            return m;
-        });
-        log.debug("Sent message [{}] to {} with replyTo {}: {}",
-                messageId, outboundQueue, replyToQueue, payload);
+        loadTransport.send(messageId, payload);
+        messageEvents.record(MessageSendEvent::new, messageId, payload, System.nanoTime() - start);
         return CompletableFuture.completedFuture(null);
     }
 
     @Async(AsyncConfig.MQ_SENDER_EXECUTOR)
     public CompletableFuture<Void> sendMessage(ScenarioMessage scenarioMessage) {
+        var start = System.nanoTime();
         var messageId = UUID.randomUUID().toString();
         var expectation = new MessageExpectation(
                 scenarioMessage.testCaseName(),
                 scenarioMessage.responseFields(),
                 scenarioMessage.jmsProperties());
         performanceTracker.recordSend(messageId, expectation);
-        jmsTemplate.convertAndSend(outboundQueue, scenarioMessage.content(), m -> {
-            m.setJMSReplyTo(replyToQueue);
-            m.setJMSCorrelationID(messageId);
-            return m;
-        });
-        log.debug("Sent scenario message [{}] testCase='{}' to {}", messageId,
-                scenarioMessage.testCaseName(), outboundQueue);
+        loadTransport.send(messageId, scenarioMessage.content());
+        messageEvents.record(MessageSendEvent::new, messageId, scenarioMessage.content(), System.nanoTime() - start);
+        log.debug("Sent scenario message [{}] testCase='{}'", messageId, scenarioMessage.testCaseName());
         return CompletableFuture.completedFuture(null);
     }
-
-    private String convertToNonJmsQueueNameFormat(String queueName) {
-        return String.format("queue:///%s?targetClient=1", queueName);
-    }
 }
@@ -0,0 +1,77 @@
+package com.example.perftester.messaging;
+
+import com.example.perftester.tracing.TraceContext;
+import com.example.perftester.tracing.TraceSampler;
+import com.ibm.mq.jakarta.jms.MQQueue;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+/** Puts requests on the MQ request queue, with the reply queue and the message ID as correlation ID. */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = LoadTransport.PROPERTY, havingValue = LoadTransport.MQ, matchIfMissing = true)
+public class MqLoadTransport implements LoadTransport {
+
+    private final JmsTemplate jmsTemplate;
+    private final String outboundQueue;
+    private final String replyToName;
+    private volatile Queue replyToQueue;
+    private final boolean tracing;
+
+    public MqLoadTransport(JmsTemplate jmsTemplate,
+                           MqProperties mqProperties,
+                           TraceSampler traceSampler) throws JMSException {
+        this.jmsTemplate = jmsTemplate;
+        this.tracing = traceSampler.isEnabled();
+        this.replyToName = mqProperties.queue().inbound();
+        if (mqProperties.ibmMq()) {
+            // Non-JMS messages have no RFH2 header, so the trace context needs the JMS format
+            this.outboundQueue = tracing
+                    ? "queue:///" + mqProperties.queue().outbound()
+                    : convertToNonJmsQueueNameFormat(mqProperties.queue().outbound());
+            this.replyToQueue = createQueue(replyToName);
+        } else {
+            this.outboundQueue = mqProperties.queue().outbound();
+        }
+    }
+
+    private MQQueue createQueue(String queueName) throws JMSException {
+        return new MQQueue(queueName);
+    }
+
+    @Override
+    public void send(String messageId, String payload) {
+        jmsTemplate.convertAndSend(outboundQueue, payload, m -> prepare(m, messageId));
+        log.debug("Sent message [{}] to {} with replyTo {}: {}",
+                messageId, outboundQueue, replyToName, payload);
+    }
+
+    private Message prepare(Message m, String messageId) throws JMSException {
+        m.setJMSReplyTo(replyToQueue());
+        m.setJMSCorrelationID(messageId);
+        if (tracing) {
+            m.setStringProperty(TraceContext.TRACEPARENT, TraceContext.traceparent(messageId));
+        }
+        return m;
+    }
+
+    /** Other brokers only accept their own destinations, so the reply queue comes from a session. */
+    private Queue replyToQueue() {
+        var queue = replyToQueue;
+        if (queue == null) {
+            queue = jmsTemplate.execute(session -> session.createQueue(replyToName), false);
+            replyToQueue = queue;
+        }
+        return queue;
+    }
+
+    private String convertToNonJmsQueueNameFormat(String queueName) {
+        return String.format("queue:///%s?targetClient=1", queueName);
+    }
+}
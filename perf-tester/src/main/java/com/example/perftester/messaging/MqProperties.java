@@ -2,8 +2,21 @@ package com.example.perftester.messaging;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+/**
+ * Queues perf-tester talks to.
+ *
+ * @param queue    request and reply queue names
+ * @param provider {@code ibm-mq} (default) addresses queues with IBM MQ URIs; {@code jms} uses plain
+ *                 queue names and provider-created destinations, for any other JMS broker
+ */
 @ConfigurationProperties(prefix = "app.mq")
-public record MqProperties(QueueProperties queue) {
+public record MqProperties(QueueProperties queue, String provider) {
+
+    public static final String IBM_MQ = "ibm-mq";
+
+    public boolean ibmMq() {
+        return provider == null || IBM_MQ.equals(provider);
+    }
 
     public record QueueProperties(String outbound, String inbound) {
     }
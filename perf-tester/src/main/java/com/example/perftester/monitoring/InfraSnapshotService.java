@@ -2,95 +2,162 @@ package com.example.perftester.monitoring;
 
 import com.example.perftester.admin.IbmMqAdminService;
 import com.example.perftester.admin.KafkaAdminService;
+import com.example.perftester.admin.KafkaAdminService.PartitionLag;
 import com.example.perftester.config.MonitoringProperties;
 import com.example.perftester.persistence.TestRunSnapshot;
-import com.example.perftester.persistence.TestRunSnapshotRepository;
+import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.persistence.TestRunSnapshotWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+/**
+ * Samples queue and consumer lag metrics while a test runs. The sources of one snapshot are
+ * queried at the same time, so a sample takes as long as the slowest source rather than the
+ * sum of all of them. Snapshots are written in batches and flushed when monitoring stops;
+ * consumer lag is also kept per partition and stored as one series per partition.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InfraSnapshotService {
 
-    private static final int POLL_INTERVAL_SECONDS = 10;
+    private static final long DEFAULT_SAMPLE_INTERVAL_MS = 1000;
+    private static final long STOP_TIMEOUT_SECONDS = 5;
 
     private final IbmMqAdminService ibmMqAdminService;
     private final KafkaAdminService kafkaAdminService;
-    private final TestRunSnapshotRepository snapshotRepository;
+    private final TestRunSnapshotWriter snapshotWriter;
     private final MonitoringProperties monitoringProperties;
+    private final TestRunService testRunService;
 
     private volatile ScheduledExecutorService executor;
+    private volatile ExecutorService sampler;
+    private volatile Long monitoredRunId;
+    private volatile PartitionLagTracker partitionLags;
 
     public void startMonitoring(Long testRunId) {
         stopMonitoring();
+        var intervalMs = monitoringProperties.sampleIntervalMs() > 0
+                ? monitoringProperties.sampleIntervalMs() : DEFAULT_SAMPLE_INTERVAL_MS;
         var factory = Thread.ofVirtual().factory();
+        var sources = Executors.newThreadPerTaskExecutor(factory);
+        var tracker = new PartitionLagTracker(Instant.now());
+        sampler = sources;
+        monitoredRunId = testRunId;
+        partitionLags = tracker;
         executor = Executors.newSingleThreadScheduledExecutor(factory);
         executor.scheduleAtFixedRate(
-                () -> captureSnapshot(testRunId),
-                0, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
-        log.info("Infrastructure monitoring started for test run {}", testRunId);
+                () -> captureSnapshot(testRunId, sources, tracker),
+                0, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Infrastructure monitoring started for test run {} every {} ms", testRunId, intervalMs);
     }
 
     public void stopMonitoring() {
         var ex = executor;
         if (ex != null) {
             ex.shutdownNow();
+            sampler.shutdownNow();
             executor = null;
+            // A sample in progress may still write its snapshot and partition lags
+            awaitTermination(ex);
+            awaitTermination(sampler);
+            snapshotWriter.flush();
+            savePartitionLags(monitoredRunId, partitionLags);
             log.info("Infrastructure monitoring stopped");
         }
     }
 
-    private void captureSnapshot(Long testRunId) {
-        var snapshot = new TestRunSnapshot();
-        snapshot.setTestRunId(testRunId);
-        snapshot.setSampledAt(Instant.now());
-        var captured = 0;
-
+    /** Bounded, so a source that ignores the interrupt cannot hold up the end of the run. */
+    private static void awaitTermination(ExecutorService ex) {
         try {
-            var info = ibmMqAdminService.getQueueInfo(monitoringProperties.outboundQueue());
-            snapshot.setOutboundQueueDepth(info.currentDepth());
-            captured++;
-        } catch (Exception e) {
-            log.debug("Could not sample outbound queue depth: {}", e.getMessage());
+            ex.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        try {
-            var info = ibmMqAdminService.getQueueInfo(monitoringProperties.inboundQueue());
-            snapshot.setInboundQueueDepth(info.currentDepth());
-            captured++;
-        } catch (Exception e) {
-            log.debug("Could not sample inbound queue depth: {}", e.getMessage());
+    private void savePartitionLags(Long testRunId, PartitionLagTracker tracker) {
+        var series = tracker.series();
+        if (series.isEmpty()) {
+            return;
         }
-
         try {
-            var lag = kafkaAdminService.getTotalConsumerGroupLag(
-                    monitoringProperties.kafkaRequestConsumerGroup());
-            snapshot.setKafkaRequestsLag(lag);
-            captured++;
-        } catch (Exception e) {
-            log.debug("Could not sample kafka requests lag: {}", e.getMessage());
+            testRunService.savePartitionLags(testRunId, series);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save partition lag for test run {}: {}", testRunId, e.getMessage());
         }
+    }
 
-        try {
-            var lag = kafkaAdminService.getTotalConsumerGroupLag(
-                    monitoringProperties.kafkaResponseConsumerGroup());
-            snapshot.setKafkaResponsesLag(lag);
-            captured++;
-        } catch (Exception e) {
-            log.debug("Could not sample kafka responses lag: {}", e.getMessage());
-        }
+    private void captureSnapshot(Long testRunId, ExecutorService sources, PartitionLagTracker tracker) {
+        var snapshot = new TestRunSnapshot();
+        snapshot.setTestRunId(testRunId);
+        var sampledAt = Instant.now();
+        snapshot.setSampledAt(sampledAt);
+
+        var outbound = sources.submit(() -> ibmMqAdminService.getQueueStats(monitoringProperties.outboundQueue()));
+        var inbound = sources.submit(() -> ibmMqAdminService.getQueueStats(monitoringProperties.inboundQueue()));
+        var requestGroup = monitoringProperties.kafkaRequestConsumerGroup();
+        var responseGroup = monitoringProperties.kafkaResponseConsumerGroup();
+        var requestsLag = sources.submit(() -> kafkaAdminService.getPartitionLag(requestGroup));
+        var responsesLag = sources.submit(() -> kafkaAdminService.getPartitionLag(responseGroup));
+
+        var captured = 0;
+        captured += collect(outbound, "outbound queue stats", stats -> {
+            snapshot.setOutboundQueueDepth(stats.currentDepth());
+            snapshot.setOutboundEnqueueCount(stats.enqueueCount());
+            snapshot.setOutboundDequeueCount(stats.dequeueCount());
+            snapshot.setOutboundOldestMessageAgeSeconds(stats.oldestMessageAgeSeconds());
+            snapshot.setOutboundOpenInputCount(stats.openInputCount());
+        });
+        captured += collect(inbound, "inbound queue stats", stats -> {
+            snapshot.setInboundQueueDepth(stats.currentDepth());
+            snapshot.setInboundEnqueueCount(stats.enqueueCount());
+            snapshot.setInboundDequeueCount(stats.dequeueCount());
+            snapshot.setInboundOldestMessageAgeSeconds(stats.oldestMessageAgeSeconds());
+            snapshot.setInboundOpenInputCount(stats.openInputCount());
+        });
+        captured += collect(requestsLag, "kafka requests lag", partitions -> {
+            snapshot.setKafkaRequestsLag(totalLag(partitions));
+            tracker.record(requestGroup, sampledAt, partitions);
+        });
+        captured += collect(responsesLag, "kafka responses lag", partitions -> {
+            snapshot.setKafkaResponsesLag(totalLag(partitions));
+            tracker.record(responseGroup, sampledAt, partitions);
+        });
 
         if (captured > 0) {
-            snapshotRepository.save(snapshot);
+            snapshotWriter.write(snapshot);
         } else {
             log.debug("Skipping snapshot — no metrics sampled for test run {}", testRunId);
         }
     }
+
+    private static long totalLag(List<PartitionLag> partitions) {
+        return partitions.stream().mapToLong(PartitionLag::lag).sum();
+    }
+
+    private static <T> int collect(Future<T> sample, String source, Consumer<T> target) {
+        try {
+            target.accept(sample.get());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sample.cancel(true);
+            return 0;
+        } catch (ExecutionException e) {
+            log.debug("Could not sample {}: {}", source, e.getCause().getMessage());
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.perftester.monitoring;
+
+import java.time.Instant;
+
+/**
+ * Lag of one consumer group partition sampled over a run.
+ *
+ * @param startedAt       time of the first sample
+ * @param sampleOffsetsMs time of each sample, in milliseconds after {@code startedAt}
+ * @param lags            messages between the committed offset and the log end at each sample
+ * @param lagMs           estimated age of the oldest unconsumed message at each sample, -1 if unknown
+ */
+public record PartitionLagSeries(String consumerGroup, String topic, int partition, Instant startedAt,
+                                 long[] sampleOffsetsMs, long[] lags, long[] lagMs) {
+
+    public long maxLag() {
+        return max(lags);
+    }
+
+    public long maxLagMs() {
+        return max(lagMs);
+    }
+
+    private static long max(long... values) {
+        long max = 0;
+        for (var value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
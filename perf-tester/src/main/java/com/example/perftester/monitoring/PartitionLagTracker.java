@@ -0,0 +1,109 @@
+package com.example.perftester.monitoring;
+
+import com.example.perftester.admin.KafkaAdminService.PartitionLag;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects per-partition lag samples of a run and estimates how far behind each partition is in
+ * time. The estimate looks up, in the log-end offsets sampled so far, when the log end passed
+ * today's committed offset: the consumer is as far behind as that moment is in the past. When
+ * the committed offset predates the first sample, the produce rate seen since then is used to
+ * extrapolate.
+ */
+final class PartitionLagTracker {
+
+    private final Instant startedAt;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    PartitionLagTracker(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    void record(String consumerGroup, Instant sampledAt, List<PartitionLag> partitions) {
+        var offsetMs = sampledAt.toEpochMilli() - startedAt.toEpochMilli();
+        lock.lock();
+        try {
+            for (var partition : partitions) {
+                var key = consumerGroup + '/' + partition.topic() + '/' + partition.partition();
+                series.computeIfAbsent(key, k -> new Series(consumerGroup, partition.topic(), partition.partition()))
+                        .add(offsetMs, partition);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<PartitionLagSeries> series() {
+        lock.lock();
+        try {
+            return series.values().stream().map(s -> s.toSeries(startedAt)).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Estimated lag in milliseconds, or -1 when the samples are not enough to tell. */
+    static long estimateLagMs(long[] times, long[] endOffsets, int count, long committedOffset) {
+        if (committedOffset >= endOffsets[count - 1]) {
+            return 0;
+        }
+        var now = times[count - 1];
+        for (int i = count - 2; i >= 0; i--) {
+            if (endOffsets[i] <= committedOffset) {
+                // The log end passed the committed offset between samples i and i + 1
+                var fraction = (double) (committedOffset - endOffsets[i]) / (endOffsets[i + 1] - endOffsets[i]);
+                return now - Math.round(times[i] + fraction * (times[i + 1] - times[i]));
+            }
+        }
+        var produced = endOffsets[count - 1] - endOffsets[0];
+        var elapsed = now - times[0];
+        if (produced <= 0 || elapsed <= 0) {
+            return -1;
+        }
+        return elapsed + Math.round((endOffsets[0] - committedOffset) * (double) elapsed / produced);
+    }
+
+    private static final class Series {
+
+        private final String consumerGroup;
+        private final String topic;
+        private final int partition;
+        private long[] times = new long[64];
+        private long[] endOffsets = new long[64];
+        private long[] lags = new long[64];
+        private long[] lagMs = new long[64];
+        private int count;
+
+        Series(String consumerGroup, String topic, int partition) {
+            this.consumerGroup = consumerGroup;
+            this.topic = topic;
+            this.partition = partition;
+        }
+
+        void add(long offsetMs, PartitionLag sample) {
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                endOffsets = Arrays.copyOf(endOffsets, count * 2);
+                lags = Arrays.copyOf(lags, count * 2);
+                lagMs = Arrays.copyOf(lagMs, count * 2);
+            }
+            times[count] = offsetMs;
+            endOffsets[count] = sample.endOffset();
+            lags[count] = sample.lag();
+            count++;
+            lagMs[count - 1] = estimateLagMs(times, endOffsets, count, sample.committedOffset());
+        }
+
+        PartitionLagSeries toSeries(Instant startedAt) {
+            return new PartitionLagSeries(consumerGroup, topic, partition, startedAt,
+                    Arrays.copyOf(times, count), Arrays.copyOf(lags, count), Arrays.copyOf(lagMs, count));
+        }
+    }
+}
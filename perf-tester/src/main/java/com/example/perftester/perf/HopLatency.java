@@ -0,0 +1,28 @@
+package com.example.perftester.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Latency of one {@link PipelineHop} over a run, read from its histogram. */
+public record HopLatency(String hop, String kind, long count, double meanMs, double p50Ms, double p90Ms,
+                        double p99Ms, double maxMs) {
+
+    /** Legs of the run in pipeline order; legs no response carried timestamps for are left out. */
+    public static List<HopLatency> of(RunDistribution distribution) {
+        var latencies = new ArrayList<HopLatency>();
+        for (var hop : PipelineHop.ALL) {
+            var counts = distribution.hopLatencyCounts().get(hop.name());
+            if (counts == null) {
+                continue;
+            }
+            long count = 0;
+            for (var c : counts) {
+                count += c;
+            }
+            latencies.add(new HopLatency(hop.name(), hop.kind(), count, LatencyHistogram.meanMs(counts),
+                    LatencyHistogram.quantileMs(counts, 0.50), LatencyHistogram.quantileMs(counts, 0.90),
+                    LatencyHistogram.quantileMs(counts, 0.99), LatencyHistogram.maxMs(counts)));
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.perftester.perf;
+
+/**
+ * Times at which the pipeline services handled one request and its response, in microseconds
+ * since the epoch on the clock of the service that took them; 0 where a service did not stamp.
+ * The consumers return them as JMS properties on the reply, named as in
+ * {@code com.example.avro.util.HopTimestamps}.
+ */
+public record HopTimestamps(long mqReceived, long kafkaRequestSent, long kafkaRequestReceived,
+                            long kafkaResponseSent, long kafkaResponseReceived, long mqReplySent) {
+
+    public static final String MQ_RECEIVED = "hopMqReceived";
+    public static final String KAFKA_REQUEST_SENT = "hopKafkaRequestSent";
+    public static final String KAFKA_REQUEST_RECEIVED = "hopKafkaRequestReceived";
+    public static final String KAFKA_RESPONSE_SENT = "hopKafkaResponseSent";
+    public static final String KAFKA_RESPONSE_RECEIVED = "hopKafkaResponseReceived";
+    public static final String MQ_REPLY_SENT = "hopMqReplySent";
+}
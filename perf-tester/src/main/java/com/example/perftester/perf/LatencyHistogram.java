@@ -0,0 +1,94 @@
+package com.example.perftester.perf;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent latency histogram from 1 µs to one hour whose buckets grow by 2%, so recorded values
+ * are reproduced within 1%.
+ */
+public final class LatencyHistogram {
+
+    static final long MIN_NANOS = 1_000;
+    static final double GROWTH = 1.02;
+    static final long MAX_NANOS = 3_600_000_000_000L;
+
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    public static final int BUCKETS = bucketOf(MAX_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.min(nanos, MAX_NANOS)));
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /** Copies the bucket counts; concurrent recording may or may not be included. */
+    public long[] snapshot() {
+        var copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos <= MIN_NANOS) {
+            return 0;
+        }
+        return 1 + (int) (Math.log((double) nanos / MIN_NANOS) / LOG_GROWTH);
+    }
+
+    /** Geometric middle of the bucket's bounds, in milliseconds. */
+    public static double bucketValueMs(int bucket) {
+        if (bucket == 0) {
+            return MIN_NANOS / 1_000_000.0;
+        }
+        return MIN_NANOS * Math.pow(GROWTH, bucket - 0.5) / 1_000_000.0;
+    }
+
+    /** Nearest-rank quantile in milliseconds. */
+    public static double quantileMs(long[] counts, double q) {
+        long total = 0;
+        for (var count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(total * q));
+        long cumulative = 0;
+        int bucket = 0;
+        while (cumulative + counts[bucket] < rank) {
+            cumulative += counts[bucket];
+            bucket++;
+        }
+        return bucketValueMs(bucket);
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    public static double meanMs(long[] counts) {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            sum += counts[i] * bucketValueMs(i);
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    public static double maxMs(long[] counts) {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return bucketValueMs(i);
+            }
+        }
+        return 0;
+    }
+}
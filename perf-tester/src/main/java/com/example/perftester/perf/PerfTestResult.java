@@ -25,20 +25,21 @@ public record PerfTestResult(
         Map<String, Path> dbQueryResults,
         long validationPassCount,
         long validationFailCount,
-        List<ValidationResult> validationFailures
+        List<ValidationResult> validationFailures,
+        RunDistribution distribution
 ) {
     public PerfTestResult(long completedMessages, long pendingMessages, double testDurationSeconds,
                           double tps, double avgLatencyMs, double minLatencyMs, double maxLatencyMs) {
         this(completedMessages, pendingMessages, testDurationSeconds, tps, avgLatencyMs,
                 minLatencyMs, maxLatencyMs, 0, 0, 0, 0, 0, 0, List.of(), List.of(), null, null, null,
-                0L, 0L, List.of());
+                0L, 0L, List.of(), null);
     }
 
     public PerfTestResult withPercentiles(double p25, double p50, double p75, double p90, double p95, double p99) {
         return new PerfTestResult(completedMessages, pendingMessages, testDurationSeconds,
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs, p25, p50, p75, p90, p95, p99,
                 dashboardUrls, dashboardExportFiles, prometheusExportFile, kubernetesExportFile, dbQueryResults,
-                validationPassCount, validationFailCount, validationFailures);
+                validationPassCount, validationFailCount, validationFailures, distribution);
     }
 
     public PerfTestResult withValidation(long passCount, long failCount, List<ValidationResult> failures) {
@@ -46,7 +47,7 @@ public record PerfTestResult(
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
                 p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
                 dashboardUrls, dashboardExportFiles, prometheusExportFile, kubernetesExportFile, dbQueryResults,
-                passCount, failCount, failures);
+                passCount, failCount, failures, distribution);
     }
 
     public PerfTestResult withDashboardExports(List<String> urls, List<String> files) {
@@ -54,7 +55,7 @@ public record PerfTestResult(
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
                 p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
                 urls, files, prometheusExportFile, kubernetesExportFile, dbQueryResults,
-                validationPassCount, validationFailCount, validationFailures);
+                validationPassCount, validationFailCount, validationFailures, distribution);
     }
 
     public PerfTestResult withPrometheusExport(String exportFile) {
@@ -62,7 +63,7 @@ public record PerfTestResult(
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
                 p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
                 dashboardUrls, dashboardExportFiles, exportFile, kubernetesExportFile, dbQueryResults,
-                validationPassCount, validationFailCount, validationFailures);
+                validationPassCount, validationFailCount, validationFailures, distribution);
     }
 
     public PerfTestResult withKubernetesExport(String exportFile) {
@@ -70,7 +71,7 @@ public record PerfTestResult(
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
                 p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
                 dashboardUrls, dashboardExportFiles, prometheusExportFile, exportFile, dbQueryResults,
-                validationPassCount, validationFailCount, validationFailures);
+                validationPassCount, validationFailCount, validationFailures, distribution);
     }
 
     public PerfTestResult withDbQueryResults(Map<String, Path> results) {
@@ -78,6 +79,14 @@ public record PerfTestResult(
                 tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
                 p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
                 dashboardUrls, dashboardExportFiles, prometheusExportFile, kubernetesExportFile, results,
-                validationPassCount, validationFailCount, validationFailures);
+                validationPassCount, validationFailCount, validationFailures, distribution);
+    }
+
+    public PerfTestResult withDistribution(RunDistribution runDistribution) {
+        return new PerfTestResult(completedMessages, pendingMessages, testDurationSeconds,
+                tps, avgLatencyMs, minLatencyMs, maxLatencyMs,
+                p25LatencyMs, p50LatencyMs, p75LatencyMs, p90LatencyMs, p95LatencyMs, p99LatencyMs,
+                dashboardUrls, dashboardExportFiles, prometheusExportFile, kubernetesExportFile, dbQueryResults,
+                validationPassCount, validationFailCount, validationFailures, runDistribution);
     }
 }
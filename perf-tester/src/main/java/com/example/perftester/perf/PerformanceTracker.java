@@ -1,6 +1,8 @@
 package com.example.perftester.perf;
 
 import com.example.perftester.config.PerfProperties;
+import com.example.perftester.profiling.MessageReceiveEvent;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
@@ -9,8 +11,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.lang.Nullable;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
@@ -18,12 +24,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @Service
 public class PerformanceTracker {
 
+    /** Longest rolling window available to {@link #getWindowResult}. */
+    public static final int MAX_LIVE_WINDOW_SECONDS = 60;
+
     private static final int MAX_BUFFER = 100_000;
+    private static final long DRAIN_POLL_MS = 50;
 
     private final long tpsWindowMs;
     private final Timer e2eLatencyTimer;
@@ -49,14 +60,34 @@ public class PerformanceTracker {
     private final AtomicLong minLatencyNanos = new AtomicLong(Long.MAX_VALUE);
     private final AtomicLong maxLatencyNanos = new AtomicLong(Long.MIN_VALUE);
     private final AtomicInteger bufferSlot = new AtomicInteger(0);
-
-    public PerformanceTracker(MeterRegistry meterRegistry, PerfProperties perfProperties) {
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final ConcurrentHashMap<Integer, LongAdder> completionsPerSecond = new ConcurrentHashMap<>();
+    private final RollingLatencyWindow liveWindow = new RollingLatencyWindow(MAX_LIVE_WINDOW_SECONDS);
+    private final ConcurrentHashMap<String, LatencyHistogram> testCaseLatencies = new ConcurrentHashMap<>();
+    private final LatencyHistogram[] hopLatencies = new LatencyHistogram[PipelineHop.ALL.size()];
+    private final Timer[] hopTimers = new Timer[PipelineHop.ALL.size()];
+    private volatile long epochMicrosAtNanoZero;
+    private final MessageEvents messageEvents;
+
+    public PerformanceTracker(MeterRegistry meterRegistry, PerfProperties perfProperties,
+                              MessageEvents messageEvents) {
         this.tpsWindowMs = perfProperties.tpsWindowMs();
+        this.messageEvents = messageEvents;
         this.e2eLatencyTimer = Timer.builder("mq.e2e.latency")
                 .description("End-to-end message processing latency")
                 .publishPercentiles(0.25, 0.5, 0.75, 0.90, 0.95, 0.99)
                 .publishPercentileHistogram()
                 .register(meterRegistry);
+        for (int i = 0; i < hopLatencies.length; i++) {
+            var hop = PipelineHop.ALL.get(i);
+            hopLatencies[i] = new LatencyHistogram();
+            hopTimers[i] = Timer.builder("mq.hop.latency")
+                    .description("Time a message spent in one leg of the pipeline")
+                    .tag("hop", hop.name())
+                    .tag("kind", hop.kind())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
     }
 
     public void startWarmupPhase(int warmupCount) {
@@ -103,8 +134,17 @@ public class PerformanceTracker {
         validationFailCount.set(0);
         latencyBuffer = new long[Math.min(messageCount, MAX_BUFFER)];
         bufferSlot.set(0);
+        latencyHistogram.reset();
+        completionsPerSecond.clear();
+        liveWindow.reset();
+        testCaseLatencies.clear();
+        for (var histogram : hopLatencies) {
+            histogram.reset();
+        }
         completionLatch = new CountDownLatch(messageCount);
         testStartTime = System.nanoTime();
+        // Send and receive times are taken from nanoTime; hop timestamps are wall-clock micros
+        epochMicrosAtNanoZero = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()) - System.nanoTime() / 1000;
         totalMessages = messageCount;
         currentTestRunId = testRunId;
         currentStatus = "RUNNING";
@@ -117,7 +157,7 @@ public class PerformanceTracker {
         this.currentStatus = status;
     }
 
-    /** Returns {@code true} while a test is running or exporting (the {@code active} gate is held). */
+    /** Returns {@code true} while a test is running (the {@code active} gate is held). */
     public boolean isActive() {
         return active.get();
     }
@@ -132,6 +172,15 @@ public class PerformanceTracker {
         active.set(false);
     }
 
+    /**
+     * Releases the {@code active} gate but keeps the final status visible, so progress streams
+     * still observe COMPLETED, TIMEOUT or FAILED until the next {@link #tryStart}.
+     * Same ownership rule as {@link #markIdle}.
+     */
+    public void release() {
+        active.set(false);
+    }
+
     public TestProgressEvent getProgressSnapshot() {
         var completed = completedCount.get();
         var inFlight = inFlightMessages.size();
@@ -161,9 +210,19 @@ public class PerformanceTracker {
     }
 
     public long recordReceive(String messageId, @Nullable String responseBody) {
+        return recordReceive(messageId, responseBody, null);
+    }
+
+    /**
+     * Records a response; when the pipeline stamped it, each leg of its round trip is recorded
+     * as well.
+     */
+    public long recordReceive(String messageId, @Nullable String responseBody, @Nullable HopTimestamps hops) {
         var sendTime = inFlightMessages.remove(messageId);
         if (sendTime != null) {
-            long latencyNanos = System.nanoTime() - sendTime;
+            long receiveTime = System.nanoTime();
+            long latencyNanos = receiveTime - sendTime;
+            messageEvents.record(MessageReceiveEvent::new, messageId, responseBody, latencyNanos);
 
             if (inWarmup) {
                 countDownWarmupLatch();
@@ -173,6 +232,10 @@ public class PerformanceTracker {
             long currentTimeMs = System.currentTimeMillis();
             completionTimestamps.addLast(currentTimeMs);
             e2eLatencyTimer.record(Duration.ofNanos(latencyNanos));
+            latencyHistogram.record(latencyNanos);
+            var second = (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - testStartTime);
+            completionsPerSecond.computeIfAbsent(second, s -> new LongAdder()).increment();
+            liveWindow.record(second, latencyNanos);
 
             var buf = latencyBuffer;
             int slot = bufferSlot.getAndIncrement();
@@ -185,7 +248,15 @@ public class PerformanceTracker {
             updateMin(latencyNanos);
             updateMax(latencyNanos);
 
-            processValidation(messageId, responseBody);
+            var expectation = pendingExpectations.remove(messageId);
+            if (expectation != null && expectation.testCaseName() != null) {
+                testCaseLatencies.computeIfAbsent(expectation.testCaseName(), name -> new LatencyHistogram())
+                        .record(latencyNanos);
+            }
+            processValidation(expectation, responseBody, second);
+            if (hops != null) {
+                recordHops(sendTime, hops, receiveTime);
+            }
 
             var latch = completionLatch;
             if (latch != null) {
@@ -198,12 +269,24 @@ public class PerformanceTracker {
         }
     }
 
-    private void processValidation(String messageId, @Nullable String responseBody) {
-        var expectation = pendingExpectations.remove(messageId);
+    private void recordHops(long sendTime, HopTimestamps hops, long receiveTime) {
+        var offset = epochMicrosAtNanoZero;
+        var durations = PipelineHop.durationsMicros(offset + sendTime / 1000, hops, offset + receiveTime / 1000);
+        for (int i = 0; i < durations.length; i++) {
+            if (durations[i] >= 0) {
+                hopLatencies[i].record(durations[i] * 1000);
+                hopTimers[i].record(durations[i], TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    private void processValidation(@Nullable MessageExpectation expectation, @Nullable String responseBody,
+                                   int second) {
         if (expectation == null || !expectation.hasValidation()) {
             return;
         }
         var failures = expectation.validate(responseBody);
+        liveWindow.recordValidation(second, failures.isEmpty());
         if (failures.isEmpty()) {
             validationPassCount.incrementAndGet();
         } else {
@@ -241,6 +324,41 @@ public class PerformanceTracker {
         return latch.await(timeout, unit);
     }
 
+    /**
+     * Releases threads waiting in {@link #awaitCompletion} without waiting for the remaining
+     * messages, so an aborted run can move on to draining.
+     */
+    public void abort() {
+        var latch = completionLatch;
+        if (latch != null) {
+            while (latch.getCount() > 0) {
+                latch.countDown();
+            }
+        }
+    }
+
+    /** Waits until no sent message is still awaiting its response. */
+    public boolean awaitInFlight(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!inFlightMessages.isEmpty()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(DRAIN_POLL_MS);
+        }
+        return true;
+    }
+
+    /**
+     * Metrics over the last {@code seconds} full seconds of the current run, including the age
+     * of messages still awaiting their response.
+     */
+    public PerfTestResult getWindowResult(int seconds) {
+        var now = System.nanoTime();
+        var currentSecond = TimeUnit.NANOSECONDS.toSeconds(now - testStartTime);
+        return liveWindow.result(currentSecond, seconds, now, inFlightMessages.values());
+    }
+
     public PerfTestResult getResult() {
         var completed = completedCount.get();
         var testDurationNanos = System.nanoTime() - testStartTime;
@@ -288,7 +406,38 @@ public class PerformanceTracker {
                 maxLatencyMs
         ).withPercentiles(p25, p50, p75, p90, p95, p99)
                 .withValidation(validationPassCount.get(), validationFailCount.get(),
-                        List.copyOf(validationFailures));
+                        List.copyOf(validationFailures))
+                .withDistribution(new RunDistribution(latencyHistogram.snapshot(), completionSeries(),
+                        testCaseSeries(), hopSeries()));
+    }
+
+    private Map<String, long[]> testCaseSeries() {
+        var series = new HashMap<String, long[]>();
+        testCaseLatencies.forEach((testCase, histogram) -> series.put(testCase, histogram.snapshot()));
+        return series;
+    }
+
+    /** Latency counts of the legs that at least one response carried timestamps for. */
+    private Map<String, long[]> hopSeries() {
+        var series = new HashMap<String, long[]>();
+        for (int i = 0; i < hopLatencies.length; i++) {
+            var counts = hopLatencies[i].snapshot();
+            if (Arrays.stream(counts).anyMatch(c -> c > 0)) {
+                series.put(PipelineHop.ALL.get(i).name(), counts);
+            }
+        }
+        return series;
+    }
+
+    private long[] completionSeries() {
+        var seconds = completionsPerSecond.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        var series = new long[seconds];
+        completionsPerSecond.forEach((second, count) -> {
+            if (second < seconds) {
+                series[second] = count.sum();
+            }
+        });
+        return series;
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.example.perftester.perf;
+
+import java.util.List;
+
+/**
+ * One leg of the MQ → Kafka → Kafka → MQ round trip, between two consecutive timestamps of a
+ * message. Queue legs cover the time a message spent in a queue or topic, including transport;
+ * processing legs cover the time a consumer spent between receiving and passing it on. The
+ * service is the broker or consumer that holds the message during the leg.
+ */
+public record PipelineHop(String name, String kind, String service) {
+
+    public static final String QUEUE = "QUEUE";
+    public static final String PROCESSING = "PROCESSING";
+
+    /** The legs in the order a message passes them. */
+    public static final List<PipelineHop> ALL = List.of(
+            new PipelineHop("mq-request-queue", QUEUE, "ibm-mq"),
+            new PipelineHop("ibm-mq-consumer-request", PROCESSING, "ibm-mq-consumer"),
+            new PipelineHop("kafka-request-topic", QUEUE, "kafka"),
+            new PipelineHop("kafka-consumer", PROCESSING, "kafka-consumer"),
+            new PipelineHop("kafka-response-topic", QUEUE, "kafka"),
+            new PipelineHop("ibm-mq-consumer-response", PROCESSING, "ibm-mq-consumer"),
+            new PipelineHop("mq-response-queue", QUEUE, "ibm-mq"));
+
+    /**
+     * Duration of every leg in microseconds, in the order of {@link #ALL}. A leg is -1 when one of
+     * its timestamps is missing, or negative because the clocks of the two services disagree.
+     */
+    static long[] durationsMicros(long sentMicros, HopTimestamps stamps, long receivedMicros) {
+        var times = timestampsMicros(sentMicros, stamps, receivedMicros);
+        var durations = new long[ALL.size()];
+        for (int i = 0; i < durations.length; i++) {
+            var from = times[i];
+            var to = times[i + 1];
+            durations[i] = from > 0 && to >= from ? to - from : -1;
+        }
+        return durations;
+    }
+
+    /**
+     * The timestamps of a round trip in pipeline order; leg {@code i} of {@link #ALL} runs from
+     * element {@code i} to element {@code i + 1}.
+     */
+    public static long[] timestampsMicros(long sentMicros, HopTimestamps stamps, long receivedMicros) {
+        return new long[] {sentMicros, stamps.mqReceived(), stamps.kafkaRequestSent(),
+            stamps.kafkaRequestReceived(), stamps.kafkaResponseSent(), stamps.kafkaResponseReceived(),
+            stamps.mqReplySent(), receivedMicros};
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.perftester.perf;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latencies and validation outcomes of the last few seconds, kept as one {@link LatencyHistogram}
+ * and a pair of counters per second in a ring. A slot is cleared the first time a new second
+ * reaches it, so recording stays lock-free except once per slot per second.
+ */
+final class RollingLatencyWindow {
+
+    private final LatencyHistogram[] histograms;
+    private final AtomicLongArray validationPasses;
+    private final AtomicLongArray validationFailures;
+    private final AtomicLongArray slotSeconds;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    RollingLatencyWindow(int maxWindowSeconds) {
+        var slots = maxWindowSeconds + 1;
+        histograms = new LatencyHistogram[slots];
+        validationPasses = new AtomicLongArray(slots);
+        validationFailures = new AtomicLongArray(slots);
+        slotSeconds = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            histograms[i] = new LatencyHistogram();
+            slotSeconds.set(i, -1);
+        }
+    }
+
+    int maxWindowSeconds() {
+        return histograms.length - 1;
+    }
+
+    void record(long second, long nanos) {
+        histograms[slot(second)].record(nanos);
+    }
+
+    void recordValidation(long second, boolean passed) {
+        var slot = slot(second);
+        (passed ? validationPasses : validationFailures).incrementAndGet(slot);
+    }
+
+    private int slot(long second) {
+        var slot = (int) (second % histograms.length);
+        if (slotSeconds.get(slot) != second) {
+            lock.lock();
+            try {
+                if (slotSeconds.get(slot) != second) {
+                    clear(slot);
+                    slotSeconds.set(slot, second);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return slot;
+    }
+
+    private void clear(int slot) {
+        histograms[slot].reset();
+        validationPasses.set(slot, 0);
+        validationFailures.set(slot, 0);
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            for (int i = 0; i < histograms.length; i++) {
+                clear(i);
+                slotSeconds.set(i, -1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bucket counts of the {@code seconds} full seconds before {@code currentSecond}; the
+     * current second is still filling and is left out.
+     */
+    long[] counts(long currentSecond, int seconds) {
+        var counts = new long[LatencyHistogram.BUCKETS];
+        var first = firstSecond(currentSecond, seconds);
+        for (int slot = 0; slot < histograms.length; slot++) {
+            var second = slotSeconds.get(slot);
+            if (second >= first && second < currentSecond) {
+                var snapshot = histograms[slot].snapshot();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += snapshot[i];
+                }
+            }
+        }
+        return counts;
+    }
+
+    private long firstSecond(long currentSecond, int seconds) {
+        return currentSecond - Math.min(seconds, maxWindowSeconds());
+    }
+
+    private long sum(AtomicLongArray perSlot, long currentSecond, int seconds) {
+        var first = firstSecond(currentSecond, seconds);
+        long total = 0;
+        for (int slot = 0; slot < histograms.length; slot++) {
+            var second = slotSeconds.get(slot);
+            if (second >= first && second < currentSecond) {
+                total += perSlot.get(slot);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Metrics of the {@code seconds} full seconds before {@code currentSecond}. Messages still
+     * in flight count with their current age as latency, since they will take at least that
+     * long; those sent before the window started are reported as pending. TPS is averaged over
+     * the whole window.
+     */
+    PerfTestResult result(long currentSecond, int seconds, long nowNanos, Collection<Long> inFlightSendNanos) {
+        var window = Math.min(seconds, maxWindowSeconds());
+        var counts = counts(currentSecond, window);
+        long completed = 0;
+        for (var count : counts) {
+            completed += count;
+        }
+        long overdue = 0;
+        var windowNanos = TimeUnit.SECONDS.toNanos(window);
+        for (var sendNanos : inFlightSendNanos) {
+            var age = nowNanos - sendNanos;
+            counts[LatencyHistogram.bucketOf(Math.min(age, LatencyHistogram.MAX_NANOS))]++;
+            if (age > windowNanos) {
+                overdue++;
+            }
+        }
+        return new PerfTestResult(completed, overdue, window, (double) completed / window,
+                LatencyHistogram.meanMs(counts), LatencyHistogram.quantileMs(counts, 0), LatencyHistogram.maxMs(counts))
+                .withPercentiles(
+                        LatencyHistogram.quantileMs(counts, 0.25), LatencyHistogram.quantileMs(counts, 0.50),
+                        LatencyHistogram.quantileMs(counts, 0.75), LatencyHistogram.quantileMs(counts, 0.90),
+                        LatencyHistogram.quantileMs(counts, 0.95), LatencyHistogram.quantileMs(counts, 0.99))
+                .withValidation(sum(validationPasses, currentSecond, window),
+                        sum(validationFailures, currentSecond, window), List.of())
+                .withDistribution(new RunDistribution(counts, new long[0]));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.perftester.perf;
+
+import java.util.Map;
+
+/**
+ * Full shape of a run: latency counts per {@link LatencyHistogram} bucket, the number of
+ * messages completed in each second since the start of the run, the latency counts of each
+ * scenario test case and the latency counts of each {@link PipelineHop}.
+ */
+public record RunDistribution(long[] latencyCounts, long[] completionsPerSecond,
+                              Map<String, long[]> testCaseLatencyCounts, Map<String, long[]> hopLatencyCounts) {
+
+    @SuppressWarnings("PMD.UseVarargs")
+    public RunDistribution(long[] latencyCounts, long[] completionsPerSecond) {
+        this(latencyCounts, completionsPerSecond, Map.of(), Map.of());
+    }
+
+    public RunDistribution(long[] latencyCounts, long[] completionsPerSecond,
+                           Map<String, long[]> testCaseLatencyCounts) {
+        this(latencyCounts, completionsPerSecond, testCaseLatencyCounts, Map.of());
+    }
+}
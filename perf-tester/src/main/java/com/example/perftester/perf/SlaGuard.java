@@ -0,0 +1,134 @@
+package com.example.perftester.perf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Watches one running test: each {@link #check} evaluates the thresholds on the latest rolling
+ * window and trips the guard once any threshold has stayed breached for the sustain period.
+ * A tripped guard that aborts tells the send loop to stop; one that only warns logs the breach.
+ */
+@Slf4j
+public final class SlaGuard implements AutoCloseable {
+
+    public static final String ABORT = "ABORT";
+    public static final String WARN = "WARN";
+
+    private static final SlaGuard INACTIVE = new SlaGuard(List.of(), null, 0, 0, 0, false, () -> { });
+
+    private final List<ThresholdDef> thresholds;
+    private final ThresholdEvaluator thresholdEvaluator;
+    private final long sustainMs;
+    private final long rampUpMs;
+    private final int drainTimeoutSeconds;
+    private final boolean abortOnBreach;
+    private final Runnable onAbort;
+    private final long[] breachStartedMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ScheduledExecutorService executor;
+    private volatile String breachReason;
+    private boolean stopped;
+
+    SlaGuard(List<ThresholdDef> thresholds, ThresholdEvaluator thresholdEvaluator, long sustainMs, long rampUpMs,
+             int drainTimeoutSeconds, boolean abortOnBreach, Runnable onAbort) {
+        this.thresholds = thresholds;
+        this.thresholdEvaluator = thresholdEvaluator;
+        this.sustainMs = sustainMs;
+        this.rampUpMs = rampUpMs;
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+        this.abortOnBreach = abortOnBreach;
+        this.onAbort = onAbort;
+        this.breachStartedMs = new long[thresholds.size()];
+        Arrays.fill(breachStartedMs, -1);
+    }
+
+    /** A guard that never trips, for runs without thresholds or with the guard disabled. */
+    public static SlaGuard inactive() {
+        return INACTIVE;
+    }
+
+    /** {@code true} once a sustained breach has tripped a guard configured to abort. */
+    public boolean isAborted() {
+        return abortOnBreach && breachReason != null;
+    }
+
+    /** Description of the breach that tripped the guard, or {@code null}. */
+    public String breachReason() {
+        return breachReason;
+    }
+
+    public int drainTimeoutSeconds() {
+        return drainTimeoutSeconds;
+    }
+
+    void runOn(ScheduledExecutorService scheduledExecutor) {
+        this.executor = scheduledExecutor;
+    }
+
+    /** Evaluates the thresholds on a window result taken {@code elapsedMs} after the start. */
+    void check(PerfTestResult window, long elapsedMs) {
+        lock.lock();
+        try {
+            if (stopped || breachReason != null || elapsedMs < rampUpMs) {
+                return;
+            }
+            var results = thresholdEvaluator.evaluate(thresholds, window);
+            for (int i = 0; i < results.size(); i++) {
+                var result = results.get(i);
+                if (result.passed()) {
+                    breachStartedMs[i] = -1;
+                    continue;
+                }
+                if (breachStartedMs[i] < 0) {
+                    breachStartedMs[i] = elapsedMs;
+                }
+                var breachedMs = elapsedMs - breachStartedMs[i];
+                if (breachedMs >= sustainMs) {
+                    trip(result, breachedMs);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops checking once every message is sent, so slow responses while the run waits for the
+     * rest end it as TIMEOUT rather than ABORTED. A breach found before stays.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            stopped = true;
+        } finally {
+            lock.unlock();
+        }
+        close();
+    }
+
+    private void trip(ThresholdResult result, long breachedMs) {
+        breachReason = String.format(Locale.ROOT, "%s %s %.2f breached for %ds (actual %.2f)",
+                result.metric(), result.operator(), result.threshold(), breachedMs / 1000, result.actual());
+        if (abortOnBreach) {
+            log.warn("SLA guard aborting run: {}", breachReason);
+            onAbort.run();
+        } else {
+            log.warn("SLA guard detected sustained breach: {}", breachReason);
+        }
+    }
+
+    @Override
+    public void close() {
+        var ex = executor;
+        if (ex != null) {
+            ex.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.config.SlaGuardProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts an {@link SlaGuard} for a running test that evaluates its thresholds once a second on
+ * the tracker's rolling window. An aborting guard releases threads waiting for completion so the
+ * run can drain and finish early.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlaGuardService {
+
+    static final int DEFAULT_WINDOW_SECONDS = 15;
+    static final int DEFAULT_DRAIN_TIMEOUT_SECONDS = 30;
+    private static final long CHECK_INTERVAL_MS = 1_000;
+
+    private final PerformanceTracker performanceTracker;
+    private final ThresholdEvaluator thresholdEvaluator;
+    private final SlaGuardProperties properties;
+
+    /** Call after the tracker has started the run; close the guard when the run ends. */
+    public SlaGuard start(List<ThresholdDef> thresholds) {
+        if (!properties.enabled() || thresholds.isEmpty()) {
+            return SlaGuard.inactive();
+        }
+        var windowSeconds = Math.clamp(properties.windowSeconds() > 0 ? properties.windowSeconds()
+                : DEFAULT_WINDOW_SECONDS, 1, PerformanceTracker.MAX_LIVE_WINDOW_SECONDS);
+        var drainTimeoutSeconds = properties.drainTimeoutSeconds() > 0
+                ? properties.drainTimeoutSeconds() : DEFAULT_DRAIN_TIMEOUT_SECONDS;
+        var guard = new SlaGuard(List.copyOf(thresholds), thresholdEvaluator,
+                TimeUnit.SECONDS.toMillis(properties.sustainSeconds()),
+                TimeUnit.SECONDS.toMillis(properties.rampUpSeconds()),
+                drainTimeoutSeconds, !SlaGuard.WARN.equalsIgnoreCase(properties.action()),
+                performanceTracker::abort);
+
+        var executor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+        guard.runOn(executor);
+        var startedAt = System.nanoTime();
+        executor.scheduleAtFixedRate(
+                () -> check(guard, windowSeconds, startedAt),
+                CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        log.info("SLA guard watching {} thresholds over a {}s window", thresholds.size(), windowSeconds);
+        return guard;
+    }
+
+    private void check(SlaGuard guard, int windowSeconds, long startedAt) {
+        try {
+            guard.check(performanceTracker.getWindowResult(windowSeconds),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (RuntimeException e) {
+            log.warn("SLA guard check failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.admin.LoggingAdminService;
+import com.example.perftester.comparison.RunComparisonService;
+import com.example.perftester.export.ExportJobRequest;
+import com.example.perftester.export.ExportJobService;
+import com.example.perftester.messaging.MessageSender;
+import com.example.perftester.monitoring.InfraSnapshotService;
+import com.example.perftester.persistence.InfraProfileService;
+import com.example.perftester.persistence.ScenarioMessage;
+import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunNotFoundException;
+import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.persistence.TestScenarioService;
+import com.example.perftester.profiling.JfrCaptureService;
+import com.example.perftester.tracing.TraceSampler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes test runs for every entry point, so a scheduled run measures the same workload as a
+ * manual one: warmup, scenario messages with their JMS properties and response expectations,
+ * think time, infra profile, infrastructure monitoring, SLA guard, thresholds, baseline
+ * comparison and exports. JFR recordings, when exported, cover the measurement phase only.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestRunEngine {
+
+    public static final String FAILED = "FAILED";
+
+    private static final String DEBUG_LOGGER = "com.example";
+    private static final long WARMUP_TIMEOUT_SECONDS = 60;
+
+    private final MessageSender messageSender;
+    private final PerformanceTracker performanceTracker;
+    private final LoggingAdminService loggingAdminService;
+    private final TestRunService testRunService;
+    private final TestScenarioService testScenarioService;
+    private final InfraProfileService infraProfileService;
+    private final ThinkTimeCalculator thinkTimeCalculator;
+    private final ThresholdEvaluator thresholdEvaluator;
+    private final InfraSnapshotService infraSnapshotService;
+    private final ExportJobService exportJobService;
+    private final SlaGuardService slaGuardService;
+    private final RunComparisonService runComparisonService;
+    private final TraceSampler traceSampler;
+    private final JfrCaptureService jfrCaptureService;
+
+    private final AtomicBoolean reserved = new AtomicBoolean();
+
+    /**
+     * Claims the run gate for a run that is about to be prepared. The gate is held until
+     * {@link #execute} returns, so infra profiles and warmup never overlap another run.
+     *
+     * @return {@code false} when another run holds the gate
+     */
+    public boolean tryReserve() {
+        return reserved.compareAndSet(false, true);
+    }
+
+    /** Releases a reservation whose run will not be executed. */
+    public void cancelReservation() {
+        reserved.set(false);
+    }
+
+    /** Applies the scenario's infra profile and records a reserved run; {@link #execute} runs it. */
+    public TestRun prepare(TestRunPlan plan) {
+        var scenario = plan.scenario();
+        if (scenario != null && scenario.infraProfileId() != null) {
+            infraProfileService.applyProfile(scenario.infraProfileId());
+        }
+        return testRunService.createRun(plan.testRunId(), plan.testId(), plan.count(),
+                scenario != null ? scenario.testType() : null);
+    }
+
+    /**
+     * Runs a prepared test to the end on the calling thread and releases its reservation.
+     *
+     * @return COMPLETED, TIMEOUT, ABORTED, or FAILED when the run could not start or broke off
+     */
+    public String execute(Long entityId, TestRunPlan plan) {
+        var testStarted = false;
+        var recording = false;
+        var guard = SlaGuard.inactive();
+        var previousLevel = plan.debug() ? enableDebugLogging() : null;
+        try {
+            log.info("Starting performance test: testRunId={}, count={}, timeout={}s, delay={}ms, testId={}",
+                    plan.testRunId(), plan.count(), plan.timeoutSeconds(), plan.delayMs(), plan.testId());
+
+            if (plan.warmupCount() > 0) {
+                runWarmupPhase(plan.warmupCount());
+            }
+
+            if (!performanceTracker.tryStart(plan.count(), plan.testRunId())) {
+                log.warn("Test rejected — tracker already active: testRunId={}", plan.testRunId());
+                testRunService.completeRun(entityId, FAILED, performanceTracker.getResult(), null);
+                return FAILED;
+            }
+            testStarted = true;
+            traceSampler.begin(plan.testRunId());
+            if (plan.exports().jfr()) {
+                recording = jfrCaptureService.start(entityId);
+            }
+            infraSnapshotService.startMonitoring(entityId);
+            var thresholds = plan.scenarioId() != null
+                    ? testScenarioService.getScenarioThresholds(plan.scenarioId()) : List.<ThresholdDef>of();
+            guard = slaGuardService.start(thresholds);
+            long testStartTimeMs = System.currentTimeMillis();
+
+            var finalStatus = runPerformanceTest(plan, guard);
+            long testEndTimeMs = System.currentTimeMillis();
+            if (recording) {
+                // Stopped before the export job is queued, so the job finds the recordings
+                recording = false;
+                jfrCaptureService.stop(entityId);
+            }
+
+            var result = performanceTracker.getResult();
+
+            log.info("Test {}: testRunId={}, {}/{} messages, TPS={}, avgLatency={}ms",
+                    finalStatus.toLowerCase(),
+                    plan.testRunId(), result.completedMessages(), plan.count(),
+                    String.format("%.2f", result.tps()),
+                    String.format("%.2f", result.avgLatencyMs()));
+
+            performanceTracker.setStatus(finalStatus);
+            testRunService.completeRun(entityId, finalStatus, result, null);
+            if (guard.isAborted()) {
+                testRunService.recordAbortReason(entityId, guard.breachReason());
+            }
+
+            evaluateThresholds(entityId, plan, thresholds, result, finalStatus);
+            var exports = plan.exports();
+            if (exports.any()) {
+                // Exports run as a persisted job so the gate is released as soon as measurement ends
+                exportJobService.submit(new ExportJobRequest(entityId, plan.testId(),
+                        testStartTimeMs, testEndTimeMs, exports.grafana(), exports.prometheus(),
+                        exports.kubernetes(), exports.logs(), exports.database(), exports.jfr()));
+            }
+            return finalStatus;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            performanceTracker.setStatus(FAILED);
+            testRunService.completeRun(entityId, FAILED, performanceTracker.getResult(), null);
+            log.error("Performance test interrupted: testRunId={}", plan.testRunId());
+            return FAILED;
+        } catch (Exception e) {
+            performanceTracker.setStatus(FAILED);
+            testRunService.completeRun(entityId, FAILED, performanceTracker.getResult(), null);
+            log.error("Performance test failed: testRunId={}", plan.testRunId(), e);
+            return FAILED;
+        } finally {
+            guard.close();
+            if (recording) {
+                jfrCaptureService.stop(entityId);
+            }
+            if (testStarted) {
+                infraSnapshotService.stopMonitoring();
+                traceSampler.finish();
+                performanceTracker.release();
+            }
+            if (previousLevel != null) {
+                loggingAdminService.setLogLevel(DEBUG_LOGGER, previousLevel);
+            }
+            reserved.set(false);
+        }
+    }
+
+    private void runWarmupPhase(int warmupCount) throws InterruptedException {
+        performanceTracker.startWarmupPhase(warmupCount);
+        for (int i = 0; i < warmupCount; i++) {
+            messageSender.sendMessage("warmup-" + i);
+        }
+        performanceTracker.awaitWarmupCompletion(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        log.info("Warmup phase complete: {} messages", warmupCount);
+    }
+
+    private void evaluateThresholds(Long entityId, TestRunPlan plan, List<ThresholdDef> thresholds,
+                                    PerfTestResult result, String finalStatus) {
+        var thresholdResults = new ArrayList<ThresholdResult>();
+        if (!thresholds.isEmpty()) {
+            thresholdResults.addAll(thresholdEvaluator.evaluate(thresholds, result));
+        }
+        var baselineRunId = plan.scenario() != null ? plan.scenario().baselineRunId() : null;
+        if (baselineRunId != null && "COMPLETED".equals(finalStatus)) {
+            thresholdResults.addAll(compareWithBaseline(entityId, baselineRunId));
+        }
+        if (!thresholdResults.isEmpty()) {
+            var passed = thresholdResults.stream().allMatch(ThresholdResult::passed);
+            testRunService.updateThresholdResult(entityId, passed ? "PASSED" : FAILED, thresholdResults);
+        }
+    }
+
+    private List<ThresholdResult> compareWithBaseline(Long runId, Long baselineRunId) {
+        try {
+            var comparison = runComparisonService.compare(runId, baselineRunId);
+            log.info("Run {} compared with baseline {}: {}", runId, baselineRunId, comparison.verdict());
+            return comparison.toThresholdResults();
+        } catch (IllegalArgumentException | TestRunNotFoundException e) {
+            log.warn("Skipping baseline comparison of run {} with {}: {}", runId, baselineRunId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private LogLevel enableDebugLogging() {
+        var config = loggingAdminService.getLoggerConfiguration(DEBUG_LOGGER);
+        var previousLevel = config != null ? config.getEffectiveLevel() : LogLevel.INFO;
+        loggingAdminService.setLogLevel(DEBUG_LOGGER, LogLevel.DEBUG);
+        log.info("Debug mode enabled for '{}' (previous level: {})", DEBUG_LOGGER, previousLevel);
+        return previousLevel;
+    }
+
+    /**
+     * Sends the messages and waits for their responses.
+     *
+     * @return COMPLETED, TIMEOUT, or ABORTED when the SLA guard stopped the run
+     */
+    private String runPerformanceTest(TestRunPlan plan, SlaGuard guard) throws InterruptedException {
+        var count = plan.count();
+        List<ScenarioMessage> pool = plan.scenarioId() != null
+                ? testScenarioService.buildMessagePool(plan.scenarioId()) : List.of();
+        var thinkTime = plan.thinkTime();
+        var futures = new CompletableFuture<?>[count];
+        int sent;
+        for (sent = 0; sent < count && !guard.isAborted(); sent++) {
+            if (!pool.isEmpty()) {
+                futures[sent] = messageSender.sendMessage(pool.get(sent % pool.size()));
+            } else {
+                futures[sent] = messageSender.sendMessage(plan.message() + "-" + sent);
+            }
+            long sleepMs = thinkTime != null ? thinkTimeCalculator.nextSleepMs(thinkTime) : (long) plan.delayMs();
+            if (sleepMs > 0) {
+                Thread.sleep(sleepMs);
+            }
+        }
+        CompletableFuture.allOf(Arrays.copyOf(futures, sent)).join();
+        guard.stop();
+
+        log.info("{} messages sent, waiting for responses...", sent);
+        var completed = performanceTracker.awaitCompletion(plan.timeoutSeconds(), TimeUnit.SECONDS);
+        if (guard.isAborted()) {
+            log.warn("Test aborted after {}/{} messages sent: {}", sent, count, guard.breachReason());
+            if (!performanceTracker.awaitInFlight(guard.drainTimeoutSeconds(), TimeUnit.SECONDS)) {
+                log.warn("In-flight messages did not drain within {}s", guard.drainTimeoutSeconds());
+            }
+            return "ABORTED";
+        }
+        var result = performanceTracker.getResult();
+
+        if (completed) {
+            log.info("Test completed: {} messages, TPS={}, avgLatency={}ms",
+                    result.completedMessages(), String.format("%.2f", result.tps()),
+                    String.format("%.2f", result.avgLatencyMs()));
+        } else {
+            log.warn("Test timed out: {}/{} messages completed", result.completedMessages(), count);
+        }
+        return completed ? "COMPLETED" : "TIMEOUT";
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.perftester.perf;
+
+public class TestRunInProgressException extends RuntimeException {
+
+    public TestRunInProgressException() {
+        super("Another test run is in progress");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.persistence.TestScenarioDetail;
+
+/**
+ * One test run as the {@link TestRunEngine} executes it, whichever way it was started.
+ *
+ * @param testRunId      id the tracker and the progress stream know the run by
+ * @param testId         optional user-supplied identifier, also used in export file names
+ * @param message        payload prefix for messages that do not come from a scenario pool
+ * @param count          number of messages to send
+ * @param timeoutSeconds how long to wait for responses after the last send
+ * @param delayMs        pause between sends when the scenario has no think time
+ * @param scenario       scenario the messages, warmup, thresholds and infra profile come from, or null
+ * @param exports        artifacts to export once measurement ends
+ * @param debug          log at DEBUG while the run lasts
+ */
+public record TestRunPlan(String testRunId, String testId, String message, int count, int timeoutSeconds,
+                          int delayMs, TestScenarioDetail scenario, Exports exports, boolean debug) {
+
+    public Long scenarioId() {
+        return scenario != null ? scenario.id() : null;
+    }
+
+    public int warmupCount() {
+        return scenario != null ? scenario.warmupCount() : 0;
+    }
+
+    public ThinkTimeConfig thinkTime() {
+        return scenario != null ? scenario.thinkTime() : null;
+    }
+
+    /** Artifacts collected by an export job after the run. */
+    public record Exports(boolean grafana, boolean prometheus, boolean kubernetes, boolean logs,
+                          boolean database, boolean jfr) {
+
+        public static final Exports NONE = new Exports(false, false, false, false, false, false);
+
+        public boolean any() {
+            return grafana || prometheus || kubernetes || logs || database || jfr;
+        }
+    }
+}
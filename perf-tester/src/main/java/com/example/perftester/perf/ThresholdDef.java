@@ -1,6 +1,20 @@
 package com.example.perftester.perf;
 
-public record ThresholdDef(String metric, String operator, double value) {
-    // metric: TPS | AVG_LATENCY | P50 | P90 | P95 | P99
-    // operator: LT | LTE | GT | GTE
+/**
+ * A limit on one {@link ThresholdMetrics registered metric}.
+ *
+ * @param metric   name of the metric, e.g. TPS, P99 or TIMEOUT_RATIO
+ * @param operator LT | LTE | GT | GTE
+ * @param testCase scenario test case the latency metric is limited to, or {@code null} for the whole run
+ */
+public record ThresholdDef(String metric, String operator, double value, String testCase) {
+
+    public ThresholdDef(String metric, String operator, double value) {
+        this(metric, operator, value, null);
+    }
+
+    /** Metric name as shown in results: the metric, followed by the test case in brackets. */
+    public String label() {
+        return testCase == null ? metric : metric + "[" + testCase + "]";
+    }
 }
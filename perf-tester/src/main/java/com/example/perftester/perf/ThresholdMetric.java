@@ -0,0 +1,29 @@
+package com.example.perftester.perf;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A run value that thresholds can be set on. Latency metrics that can also be read from a
+ * latency histogram have a {@code histogramValue} and can be scoped to one scenario test case.
+ */
+public record ThresholdMetric(String name, String description, ToDoubleFunction<PerfTestResult> value,
+                              ToDoubleFunction<long[]> histogramValue) {
+
+    public boolean perTestCase() {
+        return histogramValue != null;
+    }
+
+    /**
+     * Value for the whole run, or for one test case when {@code testCase} is set. A test case
+     * without recorded latencies reads as 0.
+     */
+    public double valueOf(PerfTestResult result, String testCase) {
+        if (testCase == null) {
+            return value.applyAsDouble(result);
+        }
+        var distribution = result.distribution();
+        var counts = histogramValue != null && distribution != null
+                ? distribution.testCaseLatencyCounts().get(testCase) : null;
+        return counts != null ? histogramValue.applyAsDouble(counts) : 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.perftester.perf;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Registry of the metrics and operators thresholds can use. The evaluator, scenario validation,
+ * the live SLA guard and the UI all read from here, so a metric registered below is a threshold
+ * target everywhere.
+ */
+public final class ThresholdMetrics {
+
+    private static final Map<String, ThresholdMetric> METRICS = index(List.of(
+            new ThresholdMetric("TPS", "Throughput (messages/s)", PerfTestResult::tps, null),
+            new ThresholdMetric("AVG_LATENCY", "Average latency (ms)", PerfTestResult::avgLatencyMs, LatencyHistogram::meanMs),
+            new ThresholdMetric("MIN_LATENCY", "Minimum latency (ms)", PerfTestResult::minLatencyMs,
+                    counts -> LatencyHistogram.quantileMs(counts, 0)),
+            new ThresholdMetric("MAX_LATENCY", "Maximum latency (ms)", PerfTestResult::maxLatencyMs, LatencyHistogram::maxMs),
+            percentile("P25", 0.25, PerfTestResult::p25LatencyMs),
+            percentile("P50", 0.50, PerfTestResult::p50LatencyMs),
+            percentile("P75", 0.75, PerfTestResult::p75LatencyMs),
+            percentile("P90", 0.90, PerfTestResult::p90LatencyMs),
+            percentile("P95", 0.95, PerfTestResult::p95LatencyMs),
+            percentile("P99", 0.99, PerfTestResult::p99LatencyMs),
+            percentile("P99_9", 0.999, result -> result.distribution() != null
+                    ? LatencyHistogram.quantileMs(result.distribution().latencyCounts(), 0.999) : 0),
+            new ThresholdMetric("TIMEOUT_RATIO", "Share of sent messages without a response",
+                    result -> ratio(result.pendingMessages(), result.completedMessages() + result.pendingMessages()),
+                    null),
+            new ThresholdMetric("VALIDATION_FAILURE_RATE", "Share of validated responses that failed",
+                    result -> ratio(result.validationFailCount(),
+                            result.validationPassCount() + result.validationFailCount()),
+                    null)), ThresholdMetric::name);
+
+    private static final Map<String, ThresholdOperator> OPERATORS = index(List.of(
+            new ThresholdOperator("LT", "<", (actual, threshold) -> actual < threshold),
+            new ThresholdOperator("LTE", "<=", (actual, threshold) -> actual <= threshold),
+            new ThresholdOperator("GT", ">", (actual, threshold) -> actual > threshold),
+            new ThresholdOperator("GTE", ">=", (actual, threshold) -> actual >= threshold)),
+            ThresholdOperator::name);
+
+    private ThresholdMetrics() {
+    }
+
+    public static List<ThresholdMetric> all() {
+        return List.copyOf(METRICS.values());
+    }
+
+    public static Optional<ThresholdMetric> find(String name) {
+        return Optional.ofNullable(METRICS.get(name));
+    }
+
+    public static List<ThresholdOperator> operators() {
+        return List.copyOf(OPERATORS.values());
+    }
+
+    public static Optional<ThresholdOperator> operator(String name) {
+        return Optional.ofNullable(OPERATORS.get(name));
+    }
+
+    /** @throws IllegalArgumentException if the threshold names an unknown metric or operator */
+    public static void validate(ThresholdDef def) {
+        var metric = find(def.metric()).orElseThrow(
+                () -> new IllegalArgumentException("Unknown threshold metric: " + def.metric()));
+        if (operator(def.operator()).isEmpty()) {
+            throw new IllegalArgumentException("Unknown threshold operator: " + def.operator());
+        }
+        if (def.testCase() != null && !metric.perTestCase()) {
+            throw new IllegalArgumentException("Threshold metric " + def.metric() + " cannot be set per test case");
+        }
+    }
+
+    private static ThresholdMetric percentile(String name, double q, ToDoubleFunction<PerfTestResult> value) {
+        var label = name.substring(1).replace('_', '.');
+        return new ThresholdMetric(name, label + "th percentile latency (ms)", value,
+                counts -> LatencyHistogram.quantileMs(counts, q));
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static <T> Map<String, T> index(List<T> entries, Function<T, String> name) {
+        var index = new LinkedHashMap<String, T>();
+        entries.forEach(entry -> index.put(name.apply(entry), entry));
+        return index;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.perftester.perf;
+
+/** Comparison of a metric's actual value with the threshold value. */
+public record ThresholdOperator(String name, String symbol, Comparison comparison) {
+
+    public boolean test(double actual, double threshold) {
+        return comparison.test(actual, threshold);
+    }
+
+    @FunctionalInterface
+    public interface Comparison {
+        boolean test(double actual, double threshold);
+    }
+}
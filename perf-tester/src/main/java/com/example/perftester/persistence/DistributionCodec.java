@@ -0,0 +1,75 @@
+package com.example.perftester.persistence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Text form of the arrays in a {@link com.example.perftester.perf.RunDistribution}. Histograms
+ * are mostly empty, so they are stored sparsely as {@code bucket:count} pairs; the throughput
+ * series is a plain comma-separated list. Named histograms are stored as
+ * {@code name=histogram} entries separated by semicolons.
+ */
+final class DistributionCodec {
+
+    private DistributionCodec() {
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    static String encodeSparse(long[] counts) {
+        var text = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                if (!text.isEmpty()) {
+                    text.append(',');
+                }
+                text.append(i).append(':').append(counts[i]);
+            }
+        }
+        return text.toString();
+    }
+
+    static long[] decodeSparse(String text, int length) {
+        var counts = new long[length];
+        if (text.isEmpty()) {
+            return counts;
+        }
+        for (var pair : text.split(",")) {
+            var separator = pair.indexOf(':');
+            counts[Integer.parseInt(pair, 0, separator, 10)] = Long.parseLong(pair.substring(separator + 1));
+        }
+        return counts;
+    }
+
+    static String encodeNamedSparse(Map<String, long[]> histograms) {
+        return histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + encodeSparse(e.getValue()))
+                .collect(Collectors.joining(";"));
+    }
+
+    static Map<String, long[]> decodeNamedSparse(String text, int length) {
+        var histograms = new HashMap<String, long[]>();
+        if (text == null || text.isEmpty()) {
+            return histograms;
+        }
+        for (var entry : text.split(";")) {
+            var separator = entry.indexOf('=');
+            histograms.put(entry.substring(0, separator), decodeSparse(entry.substring(separator + 1), length));
+        }
+        return histograms;
+    }
+
+    @SuppressWarnings("PMD.UseVarargs")
+    static String encodeDense(long[] values) {
+        return Arrays.stream(values).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    static long[] decodeDense(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+        return Arrays.stream(text.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+}
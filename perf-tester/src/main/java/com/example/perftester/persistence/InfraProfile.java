@@ -52,6 +52,10 @@ public class InfraProfile {
     @Convert(converter = IntegerMapConverter.class)
     private Map<String, Integer> ibmMqQueues = new HashMap<>();
 
+    @Column(name = "consumer_tuning", columnDefinition = "text")
+    @Convert(converter = StringMapConverter.class)
+    private Map<String, String> consumerTuning = new HashMap<>();
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -8,5 +8,6 @@ public record InfraProfileDetail(
         Map<String, Integer> kafkaTopics,
         Map<String, Integer> kubernetesReplicas,
         Map<String, Integer> ibmMqQueues,
+        Map<String, String> consumerTuning,
         String createdAt, String updatedAt) {
 }
@@ -7,5 +7,6 @@ public record InfraProfileRequest(
         Map<String, String> logLevels,
         Map<String, Integer> kafkaTopics,
         Map<String, Integer> kubernetesReplicas,
-        Map<String, Integer> ibmMqQueues) {
+        Map<String, Integer> ibmMqQueues,
+        Map<String, String> consumerTuning) {
 }
@@ -1,5 +1,6 @@
 package com.example.perftester.persistence;
 
+import com.example.perftester.admin.ConsumerTuningService;
 import com.example.perftester.admin.IbmMqAdminService;
 import com.example.perftester.admin.KafkaAdminService;
 import com.example.perftester.admin.LoggingAdminService;
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @Service
@@ -25,6 +27,7 @@ public class InfraProfileService {
     private final KafkaAdminService kafkaAdminService;
     private final KubernetesService kubernetesService;
     private final IbmMqAdminService ibmMqAdminService;
+    private final ConsumerTuningService consumerTuningService;
 
     @Transactional(readOnly = true)
     public List<InfraProfileSummary> listAll() {
@@ -70,6 +73,7 @@ public class InfraProfileService {
         cloned.setKafkaTopics(new HashMap<>(source.getKafkaTopics()));
         cloned.setKubernetesReplicas(new HashMap<>(source.getKubernetesReplicas()));
         cloned.setIbmMqQueues(new HashMap<>(source.getIbmMqQueues()));
+        cloned.setConsumerTuning(new HashMap<>(source.getConsumerTuning()));
         return toDetail(repository.save(cloned));
     }
 
@@ -81,6 +85,8 @@ public class InfraProfileService {
         applyKafkaTopics(profile.getKafkaTopics(), applied, errors);
         applyKubernetesReplicas(profile.getKubernetesReplicas(), applied, errors);
         applyIbmMqQueues(profile.getIbmMqQueues(), applied, errors);
+        // Last, so that "auto" listener concurrency sees the resized topics
+        applyConsumerTuning(profile.getConsumerTuning(), applied, errors);
         log.info("Applied infra profile '{}': {} applied, {} errors", profile.getName(), applied.size(), errors.size());
         return new ApplyResult(applied, errors);
     }
@@ -133,6 +139,35 @@ public class InfraProfileService {
         }
     }
 
+    /**
+     * Applies {@code <service>.<setting>} entries with one call per service, so each service
+     * restarts its listeners once for all of its settings.
+     */
+    private void applyConsumerTuning(Map<String, String> tuning, List<String> applied, List<String> errors) {
+        var byService = new TreeMap<String, Map<String, String>>();
+        for (var entry : tuning.entrySet()) {
+            var separator = entry.getKey().indexOf('.');
+            if (separator < 1 || separator == entry.getKey().length() - 1) {
+                errors.add("tuning:" + entry.getKey() + ": expected <service>.<setting>");
+            } else {
+                byService.computeIfAbsent(entry.getKey().substring(0, separator), service -> new TreeMap<>())
+                        .put(entry.getKey().substring(separator + 1), entry.getValue());
+            }
+        }
+        for (var service : byService.entrySet()) {
+            try {
+                consumerTuningService.tune(service.getKey(), service.getValue());
+                service.getValue().forEach((setting, value) ->
+                        applied.add("tuning:" + service.getKey() + "." + setting + "=" + value));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add("tuning:" + service.getKey() + ": interrupted");
+            } catch (Exception e) {
+                errors.add("tuning:" + service.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
     private InfraProfile findOrThrow(Long id) {
         return repository.findById(id).orElseThrow(() -> new InfraProfileNotFoundException(id));
     }
@@ -143,12 +178,15 @@ public class InfraProfileService {
         profile.setKafkaTopics(new HashMap<>(request.kafkaTopics()));
         profile.setKubernetesReplicas(new HashMap<>(request.kubernetesReplicas()));
         profile.setIbmMqQueues(new HashMap<>(request.ibmMqQueues()));
+        profile.setConsumerTuning(request.consumerTuning() != null
+                ? new HashMap<>(request.consumerTuning()) : new HashMap<>());
     }
 
     private InfraProfileDetail toDetail(InfraProfile p) {
         return new InfraProfileDetail(
                 p.getId(), p.getName(),
                 p.getLogLevels(), p.getKafkaTopics(), p.getKubernetesReplicas(), p.getIbmMqQueues(),
+                p.getConsumerTuning(),
                 p.getCreatedAt().toString(), p.getUpdatedAt().toString());
     }
 
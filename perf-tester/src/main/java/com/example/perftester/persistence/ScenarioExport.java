@@ -2,15 +2,22 @@ package com.example.perftester.persistence;
 
 import com.example.perftester.perf.ThinkTimeConfig;
 import com.example.perftester.perf.ThresholdDef;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 
+/**
+ * Portable form of a scenario. {@code scheduledTime} is only read, from files exported before
+ * schedules became cron expressions, and is turned into a daily cron on import.
+ */
 public record ScenarioExport(
         String version,
         String name,
         int count,
         boolean scheduledEnabled,
-        String scheduledTime,
+        String scheduleCron,
+        String missedFirePolicy,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String scheduledTime,
         int warmupCount,
         String testType,
         ThinkTimeConfig thinkTime,
@@ -0,0 +1,61 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One firing of a scheduled scenario. Fires are queued here before they run, so runs that fire
+ * while another test is active wait their turn and survive a restart.
+ */
+@Entity
+@Table(name = "scheduled_run")
+@Getter
+@Setter
+public class ScheduledRun {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_run_seq")
+    @SequenceGenerator(name = "scheduled_run_seq", sequenceName = "scheduled_run_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "scenario_id", nullable = false)
+    private Long scenarioId;
+
+    @Column(name = "fire_time", nullable = false)
+    private Instant fireTime;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "test_run_id")
+    private Long testRunId;
+
+    @Column(name = "queued_at", nullable = false, updatable = false)
+    private Instant queuedAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @PrePersist
+    void onCreate() {
+        queuedAt = Instant.now();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.perftester.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ScheduledRunRepository extends JpaRepository<ScheduledRun, Long> {
+
+    Optional<ScheduledRun> findFirstByStatusOrderByFireTimeAscIdAsc(String status);
+
+    Optional<ScheduledRun> findFirstByScenarioIdOrderByFireTimeDesc(Long scenarioId);
+
+    List<ScheduledRun> findByStatus(String status);
+
+    boolean existsByScenarioIdAndFireTime(Long scenarioId, Instant fireTime);
+}
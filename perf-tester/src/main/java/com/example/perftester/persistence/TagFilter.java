@@ -0,0 +1,34 @@
+package com.example.perftester.persistence;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts the run list to runs carrying any, or with {@code matchAll} every, one of the tags.
+ * An empty tag set matches all runs.
+ */
+public record TagFilter(Set<String> tags, boolean matchAll) {
+
+    public static final TagFilter NONE = new TagFilter(Set.of(), false);
+
+    public TagFilter {
+        tags = Set.copyOf(tags);
+    }
+
+    /** Builds a filter from request values, stripping them and ignoring blank ones. */
+    public static TagFilter of(Collection<String> tags, boolean matchAll) {
+        if (tags == null) {
+            return NONE;
+        }
+        var filter = tags.stream()
+                .filter(tag -> tag != null && !tag.isBlank())
+                .map(String::strip)
+                .collect(Collectors.toSet());
+        return new TagFilter(filter, matchAll);
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty();
+    }
+}
@@ -87,14 +87,24 @@ public class TestRun {
     @Column(name = "zip_file_path", length = 1000)
     private String zipFilePath;
 
+    @Column(name = "export_status", length = 20)
+    private String exportStatus;
+
+    @Column(name = "export_error", length = 1000)
+    private String exportError;
+
+    @Column(name = "abort_reason", length = 1000)
+    private String abortReason;
+
     @Column(name = "started_at", nullable = false)
     private Instant startedAt;
 
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    /** Tags as a JSON array, from before they moved to {@link TestRunTag}; cleared on migration. */
     @Column(name = "tags", columnDefinition = "text")
-    private String tags;
+    private String legacyTags;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
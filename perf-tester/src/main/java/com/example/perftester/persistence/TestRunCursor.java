@@ -0,0 +1,43 @@
+package com.example.perftester.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the run list, which is ordered by start time and then ID, both descending. Its
+ * encoded form is an opaque URL-safe token handed to clients as the next-page cursor.
+ */
+public record TestRunCursor(Instant startedAt, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TestRunCursor after(TestRunSummary summary) {
+        return new TestRunCursor(summary.startedAt(), summary.id());
+    }
+
+    public String encode() {
+        var raw = startedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TestRunCursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new TestRunCursor(Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Aggregated metrics of the completed runs of one test type and test ID on one UTC day.
+ * Missing test types and IDs are stored as empty strings so they take part in the unique key.
+ */
+@Entity
+@Table(name = "test_run_daily_rollup")
+@Getter
+@Setter
+public class TestRunDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_run_daily_rollup_seq")
+    @SequenceGenerator(name = "test_run_daily_rollup_seq", sequenceName = "test_run_daily_rollup_seq",
+            allocationSize = 1)
+    private Long id;
+
+    @Column(name = "test_type", nullable = false, length = 20)
+    private String testType;
+
+    @Column(name = "test_id", nullable = false)
+    private String testId;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "run_count", nullable = false)
+    private long runCount;
+
+    @Column(name = "min_tps")
+    private Double minTps;
+
+    @Column(name = "avg_tps")
+    private Double avgTps;
+
+    @Column(name = "max_tps")
+    private Double maxTps;
+
+    @Column(name = "min_p99_latency_ms")
+    private Double minP99LatencyMs;
+
+    @Column(name = "avg_p99_latency_ms")
+    private Double avgP99LatencyMs;
+
+    @Column(name = "max_p99_latency_ms")
+    private Double maxP99LatencyMs;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+}
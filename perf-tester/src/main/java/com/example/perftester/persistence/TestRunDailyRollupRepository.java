@@ -0,0 +1,17 @@
+package com.example.perftester.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TestRunDailyRollupRepository extends JpaRepository<TestRunDailyRollup, Long> {
+
+    Optional<TestRunDailyRollup> findByTestTypeAndTestIdAndDay(String testType, String testId, LocalDate day);
+
+    List<TestRunDailyRollup> findByDayBetweenOrderByTestIdAscTestTypeAscDayAsc(LocalDate from, LocalDate to);
+
+    List<TestRunDailyRollup> findByTestIdAndDayBetweenOrderByTestTypeAscDayAsc(String testId,
+                                                                               LocalDate from, LocalDate to);
+}
@@ -0,0 +1,40 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Latency histogram, per-second throughput and per-hop latency histograms of a run, encoded by
+ * {@link DistributionCodec}. Runs recorded before hops were measured have no hop histograms.
+ */
+@Entity
+@Table(name = "test_run_distribution")
+@Getter
+@Setter
+public class TestRunDistribution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_run_distribution_seq")
+    @SequenceGenerator(name = "test_run_distribution_seq", sequenceName = "test_run_distribution_seq",
+            allocationSize = 1)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false, unique = true)
+    private Long testRunId;
+
+    @Column(name = "latency_histogram", nullable = false, columnDefinition = "text")
+    private String latencyHistogram;
+
+    @Column(name = "throughput_series", nullable = false, columnDefinition = "text")
+    private String throughputSeries;
+
+    @Column(name = "hop_histograms", columnDefinition = "text")
+    private String hopHistograms;
+}
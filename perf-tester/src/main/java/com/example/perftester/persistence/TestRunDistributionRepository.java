@@ -0,0 +1,10 @@
+package com.example.perftester.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TestRunDistributionRepository extends JpaRepository<TestRunDistribution, Long> {
+
+    Optional<TestRunDistribution> findByTestRunId(Long testRunId);
+}
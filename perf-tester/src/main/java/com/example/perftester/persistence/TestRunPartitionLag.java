@@ -0,0 +1,53 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Lag series of one consumer group partition during a run, encoded by {@link DistributionCodec}.
+ */
+@Entity
+@Table(name = "test_run_partition_lag")
+@Getter
+@Setter
+public class TestRunPartitionLag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_run_partition_lag_seq")
+    @SequenceGenerator(name = "test_run_partition_lag_seq", sequenceName = "test_run_partition_lag_seq",
+            allocationSize = 1)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false)
+    private Long testRunId;
+
+    @Column(name = "consumer_group", nullable = false)
+    private String consumerGroup;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "partition_id", nullable = false)
+    private int partitionId;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "sample_offsets_ms", nullable = false, columnDefinition = "text")
+    private String sampleOffsetsMs;
+
+    @Column(name = "lags", nullable = false, columnDefinition = "text")
+    private String lags;
+
+    @Column(name = "lag_ms", nullable = false, columnDefinition = "text")
+    private String lagMs;
+}
@@ -0,0 +1,12 @@
+package com.example.perftester.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TestRunPartitionLagRepository extends JpaRepository<TestRunPartitionLag, Long> {
+
+    List<TestRunPartitionLag> findByTestRunIdOrderByConsumerGroupAscTopicAscPartitionIdAsc(Long testRunId);
+
+    void deleteByTestRunId(Long testRunId);
+}
@@ -1,25 +1,35 @@
 package com.example.perftester.persistence;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
-public interface TestRunRepository extends JpaRepository<TestRun, Long> {
+public interface TestRunRepository extends JpaRepository<TestRun, Long>, TestRunSummaryQueries {
 
     List<TestRun> findAllByOrderByStartedAtDesc();
 
-    Page<TestRun> findAllByOrderByStartedAtDesc(Pageable pageable);
-
-    @Query("SELECT t FROM TestRun t WHERE t.tags LIKE :pattern ORDER BY t.startedAt DESC")
-    Page<TestRun> findByTagsLike(@Param("pattern") String pattern, Pageable pageable);
-
-    @Query("SELECT t.tags FROM TestRun t WHERE t.tags IS NOT NULL")
-    List<String> findAllTagsJson();
-
-    @Query("SELECT t FROM TestRun t WHERE t.status = 'COMPLETED' ORDER BY t.startedAt ASC")
-    List<TestRun> findCompletedOrderByStartedAtAsc();
+    @Query("SELECT t FROM TestRun t WHERE t.legacyTags IS NOT NULL")
+    List<TestRun> findWithLegacyTags();
+
+    @Query("""
+            SELECT new com.example.perftester.persistence.TrendBucketStats(COUNT(t),
+                   MIN(t.tps), AVG(t.tps), MAX(t.tps),
+                   MIN(t.p99LatencyMs), AVG(t.p99LatencyMs), MAX(t.p99LatencyMs))
+            FROM TestRun t
+            WHERE t.status = 'COMPLETED'
+              AND COALESCE(t.testType, '') = :testType
+              AND COALESCE(t.testId, '') = :testId
+              AND t.startedAt >= :from AND t.startedAt < :to""")
+    TrendBucketStats aggregateCompleted(@Param("testType") String testType, @Param("testId") String testId,
+                                        @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("""
+            SELECT new com.example.perftester.persistence.TrendSample(
+                   t.testType, t.testId, t.startedAt, t.tps, t.p99LatencyMs)
+            FROM TestRun t
+            WHERE t.status = 'COMPLETED'""")
+    List<TrendSample> findCompletedTrendSamples();
 }
@@ -1,14 +1,14 @@
 package com.example.perftester.persistence;
 
+import com.example.perftester.monitoring.PartitionLagSeries;
+import com.example.perftester.perf.LatencyHistogram;
 import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.perf.RunDistribution;
 import com.example.perftester.perf.ThresholdResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +17,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
-import java.util.TreeSet;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -28,6 +29,10 @@ public class TestRunService {
 
     private final TestRunRepository testRunRepository;
     private final TestRunSnapshotRepository snapshotRepository;
+    private final TrendRollupService trendRollupService;
+    private final TestRunTagService testRunTagService;
+    private final TestRunDistributionRepository distributionRepository;
+    private final TestRunPartitionLagRepository partitionLagRepository;
 
     @Transactional
     public TestRun createRun(String testRunId, String testId, int messageCount, String testType) {
@@ -63,6 +68,49 @@ public class TestRunService {
         run.setZipFilePath(zipFilePath);
         run.setCompletedAt(Instant.now());
         testRunRepository.save(run);
+        if (result.distribution() != null) {
+            saveDistribution(id, result.distribution());
+        }
+        trendRollupService.refresh(run.getTestType(), run.getTestId(), run.getStartedAt());
+    }
+
+    private void saveDistribution(Long id, RunDistribution distribution) {
+        var entity = distributionRepository.findByTestRunId(id).orElseGet(TestRunDistribution::new);
+        entity.setTestRunId(id);
+        entity.setLatencyHistogram(DistributionCodec.encodeSparse(distribution.latencyCounts()));
+        entity.setThroughputSeries(DistributionCodec.encodeDense(distribution.completionsPerSecond()));
+        entity.setHopHistograms(DistributionCodec.encodeNamedSparse(distribution.hopLatencyCounts()));
+        distributionRepository.save(entity);
+    }
+
+    /** Latency histograms and throughput series of a run; empty for runs recorded before they were kept. */
+    @Transactional(readOnly = true)
+    public Optional<RunDistribution> findDistribution(Long id) {
+        return distributionRepository.findByTestRunId(id)
+                .map(d -> new RunDistribution(
+                        DistributionCodec.decodeSparse(d.getLatencyHistogram(), LatencyHistogram.BUCKETS),
+                        DistributionCodec.decodeDense(d.getThroughputSeries()), Map.of(),
+                        DistributionCodec.decodeNamedSparse(d.getHopHistograms(), LatencyHistogram.BUCKETS)));
+    }
+
+    @Transactional
+    public void updateExportStatus(Long id, String exportStatus, String zipFilePath, String exportError) {
+        var run = testRunRepository.findById(id)
+                .orElseThrow(() -> new TestRunNotFoundException(id));
+        run.setExportStatus(exportStatus);
+        if (zipFilePath != null) {
+            run.setZipFilePath(zipFilePath);
+        }
+        run.setExportError(exportError);
+        testRunRepository.save(run);
+    }
+
+    @Transactional
+    public void recordAbortReason(Long id, String reason) {
+        var run = testRunRepository.findById(id)
+                .orElseThrow(() -> new TestRunNotFoundException(id));
+        run.setAbortReason(reason);
+        testRunRepository.save(run);
     }
 
     @Transactional
@@ -84,13 +132,28 @@ public class TestRunService {
         return testRunRepository.findAllByOrderByStartedAtDesc();
     }
 
+    /**
+     * Lists run summaries newest first. With a cursor the page continues after it, otherwise
+     * {@code page} selects it by offset. One extra row is read to tell whether more follow, and
+     * the count query only runs when the total is requested and cannot be derived from the page.
+     */
     @Transactional(readOnly = true)
-    public Page<TestRun> findAll(int page, int size, String tag) {
-        var pageable = PageRequest.of(page, size);
-        if (tag != null && !tag.isBlank()) {
-            return testRunRepository.findByTagsLike("%" + tag + "%", pageable);
+    public TestRunSummaryPage findSummaries(int page, int size, TagFilter filter, TestRunCursor after,
+                                            boolean includeTotal) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive");
+        }
+        var offset = after == null ? Math.multiplyExact(page, size) : 0;
+        var rows = testRunRepository.findSummaries(filter, after, offset, size + 1);
+        var hasNext = rows.size() > size;
+        var content = hasNext ? List.copyOf(rows.subList(0, size)) : rows;
+        var nextCursor = hasNext ? TestRunCursor.after(content.getLast()) : null;
+        Long total = null;
+        if (includeTotal) {
+            var lastPage = after == null && !hasNext && (offset == 0 || !content.isEmpty());
+            total = lastPage ? offset + content.size() : testRunRepository.countRuns(filter);
         }
-        return testRunRepository.findAllByOrderByStartedAtDesc(pageable);
+        return new TestRunSummaryPage(content, hasNext, nextCursor, total);
     }
 
     @Transactional(readOnly = true)
@@ -105,32 +168,44 @@ public class TestRunService {
         return snapshotRepository.findByTestRunIdOrderBySampledAtAsc(id);
     }
 
+    /** Replaces the per-partition consumer lag series of a run. */
+    @Transactional
+    public void savePartitionLags(Long id, List<PartitionLagSeries> series) {
+        partitionLagRepository.deleteByTestRunId(id);
+        partitionLagRepository.saveAll(series.stream().map(s -> {
+            var entity = new TestRunPartitionLag();
+            entity.setTestRunId(id);
+            entity.setConsumerGroup(s.consumerGroup());
+            entity.setTopic(s.topic());
+            entity.setPartitionId(s.partition());
+            entity.setStartedAt(s.startedAt());
+            entity.setSampleOffsetsMs(DistributionCodec.encodeDense(s.sampleOffsetsMs()));
+            entity.setLags(DistributionCodec.encodeDense(s.lags()));
+            entity.setLagMs(DistributionCodec.encodeDense(s.lagMs()));
+            return entity;
+        }).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PartitionLagSeries> findPartitionLags(Long id) {
+        testRunRepository.findById(id).orElseThrow(() -> new TestRunNotFoundException(id));
+        return partitionLagRepository.findByTestRunIdOrderByConsumerGroupAscTopicAscPartitionIdAsc(id).stream()
+                .map(e -> new PartitionLagSeries(e.getConsumerGroup(), e.getTopic(), e.getPartitionId(),
+                        e.getStartedAt(), DistributionCodec.decodeDense(e.getSampleOffsetsMs()),
+                        DistributionCodec.decodeDense(e.getLags()), DistributionCodec.decodeDense(e.getLagMs())))
+                .toList();
+    }
+
     @Transactional
     public void setTags(Long id, List<String> tags) {
-        var run = testRunRepository.findById(id)
-                .orElseThrow(() -> new TestRunNotFoundException(id));
-        try {
-            run.setTags(MAPPER.writeValueAsString(tags));
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to serialize tags for run {}: {}", id, e.getMessage());
-            run.setTags("[]");
+        if (!testRunRepository.existsById(id)) {
+            throw new TestRunNotFoundException(id);
         }
-        testRunRepository.save(run);
+        testRunTagService.replaceTags(id, tags);
     }
 
-    @Transactional(readOnly = true)
     public List<String> getAllUniqueTags() {
-        var allJson = testRunRepository.findAllTagsJson();
-        var result = new TreeSet<String>();
-        for (var json : allJson) {
-            try {
-                List<String> parsed = MAPPER.readValue(json, new TypeReference<>() {});
-                result.addAll(parsed);
-            } catch (IOException e) {
-                log.debug("Failed to parse tags JSON: {}", json);
-            }
-        }
-        return List.copyOf(result);
+        return testRunTagService.getAllUniqueTags();
     }
 
     @Transactional
@@ -140,11 +215,6 @@ public class TestRunService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<TestRun> getTrendData() {
-        return testRunRepository.findCompletedOrderByStartedAtAsc();
-    }
-
     @Transactional
     public void delete(Long id) {
         var run = testRunRepository.findById(id)
@@ -158,5 +228,7 @@ public class TestRunService {
             }
         }
         testRunRepository.deleteById(id);
+        testRunTagService.evictDistinctTags();
+        trendRollupService.refresh(run.getTestType(), run.getTestId(), run.getStartedAt());
     }
 }
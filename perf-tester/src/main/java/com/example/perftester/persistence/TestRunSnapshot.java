@@ -21,7 +21,7 @@ public class TestRunSnapshot {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_run_snapshot_seq")
     @SequenceGenerator(name = "test_run_snapshot_seq", sequenceName = "test_run_snapshot_seq",
-            allocationSize = 1)
+            allocationSize = TestRunSnapshotWriter.ID_BLOCK_SIZE)
     private Long id;
 
     @Column(name = "test_run_id", nullable = false)
@@ -41,4 +41,28 @@ public class TestRunSnapshot {
 
     @Column(name = "kafka_responses_lag")
     private Long kafkaResponsesLag;
+
+    @Column(name = "outbound_enqueue_count")
+    private Integer outboundEnqueueCount;
+
+    @Column(name = "outbound_dequeue_count")
+    private Integer outboundDequeueCount;
+
+    @Column(name = "outbound_oldest_message_age_seconds")
+    private Integer outboundOldestMessageAgeSeconds;
+
+    @Column(name = "outbound_open_input_count")
+    private Integer outboundOpenInputCount;
+
+    @Column(name = "inbound_enqueue_count")
+    private Integer inboundEnqueueCount;
+
+    @Column(name = "inbound_dequeue_count")
+    private Integer inboundDequeueCount;
+
+    @Column(name = "inbound_oldest_message_age_seconds")
+    private Integer inboundOldestMessageAgeSeconds;
+
+    @Column(name = "inbound_open_input_count")
+    private Integer inboundOpenInputCount;
 }
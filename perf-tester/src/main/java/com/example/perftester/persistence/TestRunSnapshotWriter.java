@@ -0,0 +1,198 @@
+package com.example.perftester.persistence;
+
+import com.example.perftester.config.TelemetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers infrastructure snapshots in memory and writes them with JDBC batch inserts.
+ *
+ * <p>Ids are taken from {@code test_run_snapshot_seq} in blocks of {@value #ID_BLOCK_SIZE}, the
+ * pooled scheme Hibernate uses for {@link TestRunSnapshot}, so a batch costs one sequence call at
+ * most. Snapshots are written as soon as a batch is full, every flush interval and on
+ * {@link #flush()}. When the buffer is full the producer writes the pending snapshots itself,
+ * which slows sampling down to what the database keeps up with instead of dropping samples.
+ */
+@Slf4j
+@Component
+public class TestRunSnapshotWriter implements AutoCloseable {
+
+    /** Must match the increment of {@code test_run_snapshot_seq}. */
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int DEFAULT_BUFFER_CAPACITY = 10_000;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+
+    private static final String NEXT_ID_BLOCK = "SELECT nextval('test_run_snapshot_seq')";
+
+    private static final String INSERT = """
+            INSERT INTO test_run_snapshot (id, test_run_id, sampled_at,
+                   outbound_queue_depth, inbound_queue_depth, kafka_requests_lag, kafka_responses_lag,
+                   outbound_enqueue_count, outbound_dequeue_count,
+                   outbound_oldest_message_age_seconds, outbound_open_input_count,
+                   inbound_enqueue_count, inbound_dequeue_count,
+                   inbound_oldest_message_age_seconds, inbound_open_input_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int bufferCapacity;
+    private final ScheduledExecutorService flusher;
+    private final Timer writeTimer;
+    private final Counter writtenRows;
+    private final Counter failedRows;
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private List<TestRunSnapshot> buffer = new ArrayList<>();
+    private long nextId;
+    private long lastIdInBlock = -1;
+
+    public TestRunSnapshotWriter(JdbcTemplate jdbcTemplate, TelemetryProperties telemetryProperties,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = telemetryProperties.batchSize() > 0
+                ? telemetryProperties.batchSize() : DEFAULT_BATCH_SIZE;
+        this.bufferCapacity = Math.max(batchSize, telemetryProperties.bufferCapacity() > 0
+                ? telemetryProperties.bufferCapacity() : DEFAULT_BUFFER_CAPACITY);
+        var flushIntervalMs = telemetryProperties.flushIntervalMs() > 0
+                ? telemetryProperties.flushIntervalMs() : DEFAULT_FLUSH_INTERVAL_MS;
+        this.writeTimer = Timer.builder("telemetry.write.duration")
+                .description("Time to write one batch of telemetry rows")
+                .tag("table", "test_run_snapshot")
+                .register(meterRegistry);
+        this.writtenRows = Counter.builder("telemetry.write.rows")
+                .description("Telemetry rows written")
+                .tag("table", "test_run_snapshot")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("telemetry.write.failures")
+                .description("Telemetry rows lost because their batch could not be written")
+                .tag("table", "test_run_snapshot")
+                .register(meterRegistry);
+        Gauge.builder("telemetry.buffer.size", this, TestRunSnapshotWriter::pending)
+                .description("Telemetry rows waiting to be written")
+                .tag("table", "test_run_snapshot")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("telemetry-writer").factory());
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Queues a snapshot; its id is assigned when it is written. */
+    public void write(TestRunSnapshot snapshot) {
+        List<TestRunSnapshot> overflow = null;
+        bufferLock.lock();
+        try {
+            buffer.add(snapshot);
+            if (buffer.size() >= bufferCapacity) {
+                overflow = drain();
+            } else if (buffer.size() == batchSize) {
+                flusher.execute(this::flush);
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+        if (overflow != null) {
+            writeBatches(overflow);
+        }
+    }
+
+    /** Writes every buffered snapshot before returning. */
+    public void flush() {
+        List<TestRunSnapshot> pending;
+        bufferLock.lock();
+        try {
+            pending = drain();
+        } finally {
+            bufferLock.unlock();
+        }
+        writeBatches(pending);
+    }
+
+    int pending() {
+        bufferLock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private List<TestRunSnapshot> drain() {
+        var drained = buffer;
+        buffer = new ArrayList<>();
+        return drained;
+    }
+
+    private void writeBatches(List<TestRunSnapshot> snapshots) {
+        writeLock.lock();
+        try {
+            for (int from = 0; from < snapshots.size(); from += batchSize) {
+                writeBatch(snapshots.subList(from, Math.min(snapshots.size(), from + batchSize)));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeBatch(List<TestRunSnapshot> batch) {
+        var start = System.nanoTime();
+        try {
+            var rows = new ArrayList<Object[]>(batch.size());
+            for (var snapshot : batch) {
+                snapshot.setId(nextId());
+                rows.add(toRow(snapshot));
+            }
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            writtenRows.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedRows.increment(batch.size());
+            log.warn("Failed to write {} snapshots: {}", batch.size(), e.getMessage());
+        } finally {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long nextId() {
+        if (nextId > lastIdInBlock) {
+            var blockEnd = jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+            // A fresh sequence returns its start value first, which has no full block below it
+            nextId = Math.max(1, blockEnd - ID_BLOCK_SIZE + 1);
+            lastIdInBlock = blockEnd;
+        }
+        var id = nextId;
+        nextId++;
+        return id;
+    }
+
+    private static Object[] toRow(TestRunSnapshot s) {
+        return new Object[] {
+            s.getId(), s.getTestRunId(), Timestamp.from(s.getSampledAt()),
+            s.getOutboundQueueDepth(), s.getInboundQueueDepth(), s.getKafkaRequestsLag(), s.getKafkaResponsesLag(),
+            s.getOutboundEnqueueCount(), s.getOutboundDequeueCount(),
+            s.getOutboundOldestMessageAgeSeconds(), s.getOutboundOpenInputCount(),
+            s.getInboundEnqueueCount(), s.getInboundDequeueCount(),
+            s.getInboundOldestMessageAgeSeconds(), s.getInboundOpenInputCount()
+        };
+    }
+}
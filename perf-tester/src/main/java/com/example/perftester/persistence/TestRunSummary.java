@@ -0,0 +1,32 @@
+package com.example.perftester.persistence;
+
+import java.time.Instant;
+
+/** The columns of a {@link TestRun} shown in the run list, without threshold details or tags. */
+public record TestRunSummary(
+        Long id,
+        String testRunId,
+        String testId,
+        String status,
+        int messageCount,
+        long completedCount,
+        Double tps,
+        Double avgLatencyMs,
+        Double minLatencyMs,
+        Double maxLatencyMs,
+        Double p25LatencyMs,
+        Double p50LatencyMs,
+        Double p75LatencyMs,
+        Double p90LatencyMs,
+        Double p95LatencyMs,
+        Double p99LatencyMs,
+        long timeoutCount,
+        String testType,
+        String thresholdStatus,
+        Long durationMs,
+        Instant startedAt,
+        Instant completedAt,
+        String zipFilePath,
+        String exportStatus,
+        String exportError) {
+}
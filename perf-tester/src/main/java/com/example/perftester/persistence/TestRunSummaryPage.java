@@ -0,0 +1,11 @@
+package com.example.perftester.persistence;
+
+import java.util.List;
+
+/**
+ * A slice of the run list. {@code nextCursor} is set when more runs follow and
+ * {@code totalElements} is {@code null} when the count was not requested.
+ */
+public record TestRunSummaryPage(List<TestRunSummary> content, boolean hasNext, TestRunCursor nextCursor,
+                                 Long totalElements) {
+}
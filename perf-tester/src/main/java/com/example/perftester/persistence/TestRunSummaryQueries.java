@@ -0,0 +1,15 @@
+package com.example.perftester.persistence;
+
+import java.util.List;
+
+/** Run list queries that select only the list columns and are composed from the requested filter. */
+public interface TestRunSummaryQueries {
+
+    /**
+     * Returns runs newest first. With a cursor, only runs after it are returned and the offset
+     * is usually zero; without one this is plain offset paging.
+     */
+    List<TestRunSummary> findSummaries(TagFilter filter, TestRunCursor after, int offset, int limit);
+
+    long countRuns(TagFilter filter);
+}
@@ -0,0 +1,76 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class TestRunSummaryQueriesImpl implements TestRunSummaryQueries {
+
+    private static final String SUMMARY_SELECT = """
+            SELECT new com.example.perftester.persistence.TestRunSummary(
+                   t.id, t.testRunId, t.testId, t.status, t.messageCount, t.completedCount,
+                   t.tps, t.avgLatencyMs, t.minLatencyMs, t.maxLatencyMs,
+                   t.p25LatencyMs, t.p50LatencyMs, t.p75LatencyMs,
+                   t.p90LatencyMs, t.p95LatencyMs, t.p99LatencyMs,
+                   t.timeoutCount, t.testType, t.thresholdStatus, t.durationMs,
+                   t.startedAt, t.completedAt, t.zipFilePath, t.exportStatus, t.exportError)
+            FROM TestRun t
+            WHERE 1 = 1""";
+
+    private static final String ANY_TAG = """
+             AND t.id IN (SELECT g.testRunId FROM TestRunTag g WHERE g.tag IN :tags)""";
+
+    private static final String ALL_TAGS = """
+             AND t.id IN (SELECT g.testRunId FROM TestRunTag g WHERE g.tag IN :tags
+                          GROUP BY g.testRunId HAVING COUNT(g) = :tagCount)""";
+
+    private static final String AFTER_CURSOR = """
+             AND (t.startedAt < :cursorStartedAt
+                  OR (t.startedAt = :cursorStartedAt AND t.id < :cursorId))""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TestRunSummary> findSummaries(TagFilter filter, TestRunCursor after, int offset, int limit) {
+        var jpql = new StringBuilder(SUMMARY_SELECT).append(tagCondition(filter));
+        if (after != null) {
+            jpql.append(AFTER_CURSOR);
+        }
+        jpql.append(" ORDER BY t.startedAt DESC, t.id DESC");
+        var query = entityManager.createQuery(jpql.toString(), TestRunSummary.class);
+        bindTags(query, filter);
+        if (after != null) {
+            query.setParameter("cursorStartedAt", after.startedAt());
+            query.setParameter("cursorId", after.id());
+        }
+        return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countRuns(TagFilter filter) {
+        var jpql = "SELECT COUNT(t) FROM TestRun t WHERE 1 = 1" + tagCondition(filter);
+        var query = entityManager.createQuery(jpql, Long.class);
+        bindTags(query, filter);
+        return query.getSingleResult();
+    }
+
+    private static String tagCondition(TagFilter filter) {
+        if (filter.isEmpty()) {
+            return "";
+        }
+        return filter.matchAll() ? ALL_TAGS : ANY_TAG;
+    }
+
+    private static void bindTags(TypedQuery<?> query, TagFilter filter) {
+        if (filter.isEmpty()) {
+            return;
+        }
+        query.setParameter("tags", filter.tags());
+        if (filter.matchAll()) {
+            query.setParameter("tagCount", (long) filter.tags().size());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.perftester.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "test_run_tag")
+@Getter
+@Setter
+public class TestRunTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_run_tag_seq")
+    @SequenceGenerator(name = "test_run_tag_seq", sequenceName = "test_run_tag_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false)
+    private Long testRunId;
+
+    @Column(name = "tag", nullable = false)
+    private String tag;
+}
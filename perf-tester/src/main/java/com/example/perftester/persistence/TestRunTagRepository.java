@@ -0,0 +1,17 @@
+package com.example.perftester.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TestRunTagRepository extends JpaRepository<TestRunTag, Long> {
+
+    List<TestRunTag> findByTestRunId(Long testRunId);
+
+    List<TestRunTag> findByTestRunIdIn(Collection<Long> testRunIds);
+
+    @Query("SELECT DISTINCT g.tag FROM TestRunTag g ORDER BY g.tag")
+    List<String> findDistinctTags();
+}
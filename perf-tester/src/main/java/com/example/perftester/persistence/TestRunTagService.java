@@ -0,0 +1,148 @@
+package com.example.perftester.persistence;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestRunTagService {
+
+    static final int MAX_TAG_LENGTH = 255;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final TestRunTagRepository tagRepository;
+    private final TestRunRepository testRunRepository;
+
+    private volatile List<String> distinctTags;
+
+    @Transactional(readOnly = true)
+    public List<String> getTags(Long testRunId) {
+        return tagRepository.findByTestRunId(testRunId).stream()
+                .map(TestRunTag::getTag).sorted().toList();
+    }
+
+    /** Runs without tags are absent from the map. */
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getTags(Collection<Long> testRunIds) {
+        if (testRunIds.isEmpty()) {
+            return Map.of();
+        }
+        var byRun = new HashMap<Long, List<String>>();
+        for (var tag : tagRepository.findByTestRunIdIn(testRunIds)) {
+            byRun.computeIfAbsent(tag.getTestRunId(), id -> new ArrayList<>()).add(tag.getTag());
+        }
+        byRun.values().forEach(tags -> tags.sort(null));
+        return byRun;
+    }
+
+    /** Only writes the rows that differ from the run's current tags. */
+    @Transactional
+    public void replaceTags(Long testRunId, Collection<String> tags) {
+        var wanted = normalize(tags);
+        var current = tagRepository.findByTestRunId(testRunId);
+        var removed = current.stream().filter(tag -> !wanted.remove(tag.getTag())).toList();
+        if (removed.isEmpty() && wanted.isEmpty()) {
+            return;
+        }
+        tagRepository.deleteAll(removed);
+        tagRepository.saveAll(wanted.stream().map(tag -> newTag(testRunId, tag)).toList());
+        evictDistinctTags();
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> getAllUniqueTags() {
+        var cached = distinctTags;
+        if (cached == null) {
+            cached = List.copyOf(tagRepository.findDistinctTags());
+            distinctTags = cached;
+        }
+        return cached;
+    }
+
+    /** Evicts now and again after commit, so a concurrent reader cannot re-cache stale tags. */
+    public void evictDistinctTags() {
+        distinctTags = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    distinctTags = null;
+                }
+            });
+        }
+    }
+
+    /** Moves tags from the legacy JSON column of {@link TestRun} into the tag table. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyTags() {
+        var runs = testRunRepository.findWithLegacyTags();
+        if (runs.isEmpty()) {
+            return;
+        }
+        var tags = new ArrayList<TestRunTag>();
+        for (var run : runs) {
+            for (var tag : parseLegacyTags(run)) {
+                tags.add(newTag(run.getId(), tag));
+            }
+            run.setLegacyTags(null);
+        }
+        tagRepository.saveAll(tags);
+        testRunRepository.saveAll(runs);
+        evictDistinctTags();
+        log.info("Migrated {} tags of {} test runs to the tag table", tags.size(), runs.size());
+    }
+
+    private static TreeSet<String> parseLegacyTags(TestRun run) {
+        try {
+            List<String> parsed = MAPPER.readValue(run.getLegacyTags(), new TypeReference<>() {});
+            return normalize(parsed.stream()
+                    .filter(tag -> tag == null || tag.strip().length() <= MAX_TAG_LENGTH).toList());
+        } catch (IOException e) {
+            log.warn("Dropping unreadable tags of test run {}: {}", run.getId(), e.getMessage());
+            return new TreeSet<>();
+        }
+    }
+
+    private static TreeSet<String> normalize(Collection<String> tags) {
+        var result = new TreeSet<String>();
+        if (tags == null) {
+            return result;
+        }
+        for (var tag : tags) {
+            var trimmed = tag == null ? "" : tag.strip();
+            if (trimmed.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tag exceeds " + MAX_TAG_LENGTH + " characters: " + trimmed);
+            }
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static TestRunTag newTag(Long testRunId, String tag) {
+        var entity = new TestRunTag();
+        entity.setTestRunId(testRunId);
+        entity.setTag(tag);
+        return entity;
+    }
+}
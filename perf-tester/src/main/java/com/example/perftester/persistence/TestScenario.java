@@ -41,8 +41,11 @@ public class TestScenario {
     @Column(name = "scheduled_enabled", nullable = false)
     private boolean scheduledEnabled;
 
-    @Column(name = "scheduled_time", length = 5)
-    private String scheduledTime;
+    @Column(name = "schedule_cron", length = 120)
+    private String scheduleCron;
+
+    @Column(name = "missed_fire_policy", nullable = false, length = 20)
+    private String missedFirePolicy = TestScenarioService.MISSED_FIRE_SKIP;
 
     @Column(name = "warmup_count", nullable = false)
     private int warmupCount;
@@ -59,6 +62,9 @@ public class TestScenario {
     @Column(name = "infra_profile_id")
     private Long infraProfileId;
 
+    @Column(name = "baseline_run_id")
+    private Long baselineRunId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,5 @@
+package com.example.perftester.persistence;
+
+/** Published after a scenario is created, updated, cloned, imported or deleted. */
+public record TestScenarioChangedEvent(Long scenarioId) {
+}
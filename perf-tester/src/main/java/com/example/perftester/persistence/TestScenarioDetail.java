@@ -6,8 +6,9 @@ import com.example.perftester.perf.ThresholdDef;
 import java.util.List;
 
 public record TestScenarioDetail(Long id, String name, int count, List<ScenarioEntryDto> entries,
-                                 boolean scheduledEnabled, String scheduledTime,
+                                 boolean scheduledEnabled, String scheduleCron, String missedFirePolicy,
                                  int warmupCount, String testType, Long infraProfileId,
                                  ThinkTimeConfig thinkTime, List<ThresholdDef> thresholds,
+                                 Long baselineRunId,
                                  String createdAt, String updatedAt) {
 }
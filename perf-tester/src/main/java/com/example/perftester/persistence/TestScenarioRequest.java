@@ -6,7 +6,8 @@ import com.example.perftester.perf.ThresholdDef;
 import java.util.List;
 
 public record TestScenarioRequest(String name, int count, List<ScenarioEntryRequest> entries,
-                                  boolean scheduledEnabled, String scheduledTime,
+                                  boolean scheduledEnabled, String scheduleCron, String missedFirePolicy,
                                   int warmupCount, String testType, Long infraProfileId,
-                                  ThinkTimeConfig thinkTime, List<ThresholdDef> thresholds) {
+                                  ThinkTimeConfig thinkTime, List<ThresholdDef> thresholds,
+                                  Long baselineRunId) {
 }
@@ -2,11 +2,14 @@ package com.example.perftester.persistence;
 
 import com.example.perftester.perf.ThinkTimeConfig;
 import com.example.perftester.perf.ThresholdDef;
+import com.example.perftester.perf.ThresholdMetrics;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,12 +25,17 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TestScenarioService {
 
+    public static final String MISSED_FIRE_SKIP = "SKIP";
+    public static final String MISSED_FIRE_RUN_ONCE = "RUN_ONCE";
+
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final TestScenarioRepository testScenarioRepository;
     private final TestCaseRepository testCaseRepository;
     private final HeaderTemplateRepository headerTemplateRepository;
     private final ResponseTemplateRepository responseTemplateRepository;
+    private final TestRunRepository testRunRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<TestScenarioSummary> listAll() {
@@ -48,7 +56,7 @@ public class TestScenarioService {
     public TestScenarioDetail create(TestScenarioRequest request) {
         var scenario = new TestScenario();
         applyRequest(request, scenario);
-        return toDetail(testScenarioRepository.save(scenario));
+        return saveAndPublish(scenario);
     }
 
     @Transactional
@@ -56,12 +64,13 @@ public class TestScenarioService {
         var scenario = testScenarioRepository.findById(id)
                 .orElseThrow(() -> new TestScenarioNotFoundException(id));
         applyRequest(request, scenario);
-        return toDetail(testScenarioRepository.save(scenario));
+        return saveAndPublish(scenario);
     }
 
     @Transactional
     public void delete(Long id) {
         testScenarioRepository.deleteById(id);
+        eventPublisher.publishEvent(new TestScenarioChangedEvent(id));
     }
 
     @Transactional
@@ -72,12 +81,14 @@ public class TestScenarioService {
         cloned.setName(source.getName() + " (copy)");
         cloned.setCount(source.getCount());
         cloned.setScheduledEnabled(source.isScheduledEnabled());
-        cloned.setScheduledTime(source.getScheduledTime());
+        cloned.setScheduleCron(source.getScheduleCron());
+        cloned.setMissedFirePolicy(source.getMissedFirePolicy());
         cloned.setWarmupCount(source.getWarmupCount());
         cloned.setTestType(source.getTestType());
         cloned.setInfraProfileId(source.getInfraProfileId());
         cloned.setThinkTimeJson(source.getThinkTimeJson());
         cloned.setThresholdsJson(source.getThresholdsJson());
+        cloned.setBaselineRunId(source.getBaselineRunId());
         for (var entry : source.getEntries()) {
             var clonedEntry = new ScenarioTestCase();
             clonedEntry.setScenario(cloned);
@@ -86,7 +97,7 @@ public class TestScenarioService {
             clonedEntry.setDisplayOrder(entry.getDisplayOrder());
             cloned.getEntries().add(clonedEntry);
         }
-        return toDetail(testScenarioRepository.save(cloned));
+        return saveAndPublish(cloned);
     }
 
     @Transactional(readOnly = true)
@@ -171,12 +182,19 @@ public class TestScenarioService {
         scenario.setName(request.name());
         scenario.setCount(request.count());
         scenario.setScheduledEnabled(request.scheduledEnabled());
-        scenario.setScheduledTime(request.scheduledTime());
+        applySchedule(scenario, request.scheduledEnabled(), request.scheduleCron(), request.missedFirePolicy());
         scenario.setWarmupCount(request.warmupCount());
         scenario.setTestType(request.testType());
         scenario.setInfraProfileId(request.infraProfileId());
         scenario.setThinkTimeJson(serializeJson(request.thinkTime()));
+        if (request.thresholds() != null) {
+            request.thresholds().forEach(ThresholdMetrics::validate);
+        }
         scenario.setThresholdsJson(serializeJson(request.thresholds()));
+        if (request.baselineRunId() != null && !testRunRepository.existsById(request.baselineRunId())) {
+            throw new TestRunNotFoundException(request.baselineRunId());
+        }
+        scenario.setBaselineRunId(request.baselineRunId());
 
         scenario.getEntries().clear();
         if (request.entries() != null) {
@@ -206,7 +224,8 @@ public class TestScenarioService {
         }
     }
 
-    private ScenarioMessage buildScenarioMessage(TestCase tc) {
+    /** Static and package-private so the benchmarks can measure it without a repository. */
+    static ScenarioMessage buildScenarioMessage(TestCase tc) {
         var testCaseName = tc.getName();
         var responseFields = tc.getResponseTemplate() != null
                 ? tc.getResponseTemplate().getFields() : null;
@@ -247,7 +266,7 @@ public class TestScenarioService {
                 testCaseName, responseFields);
     }
 
-    private String padOrTrunctate(final String value, final int lenght, final String padChar) {
+    private static String padOrTrunctate(final String value, final int lenght, final String padChar) {
         if (value == null) {
             return padChar.repeat(lenght);
         }
@@ -258,7 +277,7 @@ public class TestScenarioService {
     }
 
 
-    private String resolveFieldValue(HeaderTemplate.TemplateField field, int messageLength) {
+    private static String resolveFieldValue(HeaderTemplate.TemplateField field, int messageLength) {
         if ("TRANSACTION_ID".equals(field.type())) {
             return UUID.randomUUID().toString();
         }
@@ -279,8 +298,8 @@ public class TestScenarioService {
                 .orElseThrow(() -> new TestScenarioNotFoundException(id));
         var entries = scenario.getEntries() == null ? List.<ScenarioTestCase>of() : scenario.getEntries();
         var exportEntries = entries.stream().map(this::toExportEntry).toList();
-        return new ScenarioExport("1.0", scenario.getName(), scenario.getCount(),
-                scenario.isScheduledEnabled(), scenario.getScheduledTime(),
+        return new ScenarioExport("1.1", scenario.getName(), scenario.getCount(),
+                scenario.isScheduledEnabled(), scenario.getScheduleCron(), scenario.getMissedFirePolicy(), null,
                 scenario.getWarmupCount(), scenario.getTestType(),
                 parseThinkTime(scenario.getThinkTimeJson()),
                 parseThresholds(scenario.getThresholdsJson()),
@@ -292,8 +311,12 @@ public class TestScenarioService {
         var scenario = new TestScenario();
         scenario.setName(scenarioExport.name());
         scenario.setCount(scenarioExport.count());
-        scenario.setScheduledEnabled(scenarioExport.scheduledEnabled());
-        scenario.setScheduledTime(scenarioExport.scheduledTime());
+        var cron = scenarioExport.scheduleCron() != null ? scenarioExport.scheduleCron()
+                : dailyCron(scenarioExport.scheduledTime());
+        // Older exports may be enabled without a time; import those unscheduled rather than fail
+        var scheduled = scenarioExport.scheduledEnabled() && cron != null;
+        scenario.setScheduledEnabled(scheduled);
+        applySchedule(scenario, scheduled, cron, scenarioExport.missedFirePolicy());
         scenario.setWarmupCount(scenarioExport.warmupCount());
         scenario.setTestType(scenarioExport.testType());
         scenario.setThinkTimeJson(serializeJson(scenarioExport.thinkTime()));
@@ -311,7 +334,40 @@ public class TestScenarioService {
                 scenario.getEntries().add(entry);
             }
         }
-        return toDetail(testScenarioRepository.save(scenario));
+        return saveAndPublish(scenario);
+    }
+
+    private TestScenarioDetail saveAndPublish(TestScenario scenario) {
+        var saved = testScenarioRepository.save(scenario);
+        eventPublisher.publishEvent(new TestScenarioChangedEvent(saved.getId()));
+        return toDetail(saved);
+    }
+
+    /**
+     * Validates and stores a schedule. Cron expressions use Spring's six-field format, seconds
+     * first, so {@code 0 0 2 * * MON-FRI} fires at 02:00 on weekdays.
+     */
+    private static void applySchedule(TestScenario scenario, boolean enabled, String cron, String missedFirePolicy) {
+        var expression = cron == null || cron.isBlank() ? null : cron.trim();
+        if (expression != null) {
+            CronExpression.parse(expression);
+        } else if (enabled) {
+            throw new IllegalArgumentException("A scheduled scenario needs a cron expression");
+        }
+        var policy = missedFirePolicy != null ? missedFirePolicy : MISSED_FIRE_SKIP;
+        if (!MISSED_FIRE_SKIP.equals(policy) && !MISSED_FIRE_RUN_ONCE.equals(policy)) {
+            throw new IllegalArgumentException("Unknown missed fire policy: " + policy);
+        }
+        scenario.setScheduleCron(expression);
+        scenario.setMissedFirePolicy(policy);
+    }
+
+    /** Turns a pre-1.1 {@code HH:mm} schedule into the equivalent daily cron expression. */
+    private static String dailyCron(String hhmm) {
+        if (hhmm == null || !hhmm.matches("\\d{2}:\\d{2}")) {
+            return null;
+        }
+        return "0 " + hhmm.substring(3) + " " + hhmm.substring(0, 2) + " * * *";
     }
 
     private ScenarioExportEntry toExportEntry(ScenarioTestCase e) {
@@ -402,9 +458,9 @@ public class TestScenarioService {
         var thinkTime = parseThinkTime(scenario.getThinkTimeJson());
         var thresholds = parseThresholds(scenario.getThresholdsJson());
         return new TestScenarioDetail(scenario.getId(), scenario.getName(), scenario.getCount(),
-                entryDtos, scenario.isScheduledEnabled(), scenario.getScheduledTime(),
+                entryDtos, scenario.isScheduledEnabled(), scenario.getScheduleCron(), scenario.getMissedFirePolicy(),
                 scenario.getWarmupCount(), scenario.getTestType(), scenario.getInfraProfileId(),
-                thinkTime, thresholds,
+                thinkTime, thresholds, scenario.getBaselineRunId(),
                 scenario.getCreatedAt().toString(), scenario.getUpdatedAt().toString());
     }
 
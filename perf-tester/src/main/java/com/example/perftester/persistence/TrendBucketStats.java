@@ -0,0 +1,6 @@
+package com.example.perftester.persistence;
+
+/** Aggregates of the completed runs that fall into one rollup bucket. */
+public record TrendBucketStats(long runCount, Double minTps, Double avgTps, Double maxTps,
+                               Double minP99LatencyMs, Double avgP99LatencyMs, Double maxP99LatencyMs) {
+}
@@ -0,0 +1,69 @@
+package com.example.perftester.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ *
+ * <p>Keeps the first and last point and, from each of {@code threshold - 2} equal buckets in
+ * between, the point forming the largest triangle with the previously kept point and the
+ * average of the next bucket. Peaks and dips survive, unlike with plain averaging or striding.
+ */
+public final class TrendDownsampler {
+
+    private TrendDownsampler() {
+    }
+
+    /**
+     * Reduces {@code points} to at most {@code threshold} points, preserving their order.
+     * Lists that are already small enough, and thresholds below 3, are returned unchanged.
+     *
+     * @param x position of a point on the horizontal axis; must not decrease along the list
+     * @param y value of a point
+     */
+    public static <T> List<T> lttb(List<T> points, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        var size = points.size();
+        if (threshold < 3 || size <= threshold) {
+            return points;
+        }
+        var sampled = new ArrayList<T>(threshold);
+        sampled.add(points.get(0));
+        var bucketSize = (double) (size - 2) / (threshold - 2);
+        var selected = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            var nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            var nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            var avgX = 0.0;
+            var avgY = 0.0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x.applyAsDouble(points.get(i));
+                avgY += y.applyAsDouble(points.get(i));
+            }
+            var nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            var start = (int) Math.floor(bucket * bucketSize) + 1;
+            var end = nextStart;
+            var ax = x.applyAsDouble(points.get(selected));
+            var ay = y.applyAsDouble(points.get(selected));
+            var maxArea = -1.0;
+            var next = start;
+            for (int i = start; i < end; i++) {
+                var px = x.applyAsDouble(points.get(i));
+                var py = y.applyAsDouble(points.get(i));
+                var area = Math.abs((ax - avgX) * (py - ay) - (ax - px) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+            sampled.add(points.get(next));
+            selected = next;
+        }
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+}
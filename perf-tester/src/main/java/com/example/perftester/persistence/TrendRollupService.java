@@ -0,0 +1,177 @@
+package com.example.perftester.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains {@link TestRunDailyRollup} rows and serves trend queries from them, so the cost of
+ * a trend request depends on the requested range and point budget rather than on the number of
+ * runs ever recorded. A bucket is recomputed from its runs whenever one of them completes or is
+ * deleted; days are UTC.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendRollupService {
+
+    private final TestRunRepository testRunRepository;
+    private final TestRunDailyRollupRepository rollupRepository;
+
+    /**
+     * Recomputes the bucket the given run falls into from the completed runs in it, removing
+     * the bucket once it has none left.
+     */
+    @Transactional
+    public void refresh(String testType, String testId, Instant startedAt) {
+        var type = Objects.requireNonNullElse(testType, "");
+        var id = Objects.requireNonNullElse(testId, "");
+        var day = LocalDate.ofInstant(startedAt, ZoneOffset.UTC);
+        var stats = testRunRepository.aggregateCompleted(type, id, startOf(day), startOf(day.plusDays(1)));
+        var existing = rollupRepository.findByTestTypeAndTestIdAndDay(type, id, day);
+        if (stats == null || stats.runCount() == 0) {
+            existing.ifPresent(rollupRepository::delete);
+            return;
+        }
+        var rollup = existing.orElseGet(() -> newRollup(type, id, day));
+        apply(rollup, stats);
+        rollupRepository.save(rollup);
+    }
+
+    /** Builds the rollups from the recorded runs the first time the application starts with them. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        var buckets = new LinkedHashMap<BucketKey, Accumulator>();
+        for (var sample : testRunRepository.findCompletedTrendSamples()) {
+            var type = Objects.requireNonNullElse(sample.testType(), "");
+            var id = Objects.requireNonNullElse(sample.testId(), "");
+            var day = LocalDate.ofInstant(sample.startedAt(), ZoneOffset.UTC);
+            buckets.computeIfAbsent(new BucketKey(type, id, day), key -> new Accumulator()).add(sample);
+        }
+        var rollups = new ArrayList<TestRunDailyRollup>(buckets.size());
+        for (var bucket : buckets.entrySet()) {
+            var key = bucket.getKey();
+            var rollup = newRollup(key.testType(), key.testId(), key.day());
+            apply(rollup, bucket.getValue().toStats());
+            rollups.add(rollup);
+        }
+        rollupRepository.saveAll(rollups);
+        if (!rollups.isEmpty()) {
+            log.info("Built {} daily trend rollups from recorded test runs", rollups.size());
+        }
+    }
+
+    /**
+     * Returns the daily rollups between {@code from} and {@code to} (inclusive), optionally for
+     * one test ID. Each test ID and type is a separate series, downsampled with
+     * {@link TrendDownsampler#lttb} on TPS to at most {@code maxPoints} points; the result is
+     * ordered by day.
+     */
+    @Transactional(readOnly = true)
+    public List<TestRunDailyRollup> getTrends(LocalDate from, LocalDate to, String testId, int maxPoints) {
+        var rollups = testId != null && !testId.isBlank()
+                ? rollupRepository.findByTestIdAndDayBetweenOrderByTestTypeAscDayAsc(testId, from, to)
+                : rollupRepository.findByDayBetweenOrderByTestIdAscTestTypeAscDayAsc(from, to);
+        var series = new LinkedHashMap<List<String>, List<TestRunDailyRollup>>();
+        for (var rollup : rollups) {
+            series.computeIfAbsent(List.of(rollup.getTestId(), rollup.getTestType()), key -> new ArrayList<>())
+                    .add(rollup);
+        }
+        var result = new ArrayList<TestRunDailyRollup>();
+        for (var points : series.values()) {
+            result.addAll(TrendDownsampler.lttb(points, maxPoints,
+                    rollup -> rollup.getDay().toEpochDay(),
+                    rollup -> rollup.getAvgTps() != null ? rollup.getAvgTps() : 0));
+        }
+        result.sort(Comparator.comparing(TestRunDailyRollup::getDay).thenComparing(TestRunDailyRollup::getTestId));
+        return result;
+    }
+
+    private static TestRunDailyRollup newRollup(String testType, String testId, LocalDate day) {
+        var rollup = new TestRunDailyRollup();
+        rollup.setTestType(testType);
+        rollup.setTestId(testId);
+        rollup.setDay(day);
+        return rollup;
+    }
+
+    private static void apply(TestRunDailyRollup rollup, TrendBucketStats stats) {
+        rollup.setRunCount(stats.runCount());
+        rollup.setMinTps(stats.minTps());
+        rollup.setAvgTps(stats.avgTps());
+        rollup.setMaxTps(stats.maxTps());
+        rollup.setMinP99LatencyMs(stats.minP99LatencyMs());
+        rollup.setAvgP99LatencyMs(stats.avgP99LatencyMs());
+        rollup.setMaxP99LatencyMs(stats.maxP99LatencyMs());
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private record BucketKey(String testType, String testId, LocalDate day) {
+    }
+
+    /** Running min/avg/max of one bucket, ignoring missing values like SQL aggregates do. */
+    private static final class Accumulator {
+
+        private long runCount;
+        private final Stat tps = new Stat();
+        private final Stat p99 = new Stat();
+
+        void add(TrendSample sample) {
+            runCount++;
+            tps.add(sample.tps());
+            p99.add(sample.p99LatencyMs());
+        }
+
+        TrendBucketStats toStats() {
+            return new TrendBucketStats(runCount, tps.min(), tps.avg(), tps.max(), p99.min(), p99.avg(), p99.max());
+        }
+    }
+
+    private static final class Stat {
+
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(Double value) {
+            if (value != null) {
+                count++;
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+
+        Double min() {
+            return count > 0 ? min : null;
+        }
+
+        Double avg() {
+            return count > 0 ? sum / count : null;
+        }
+
+        Double max() {
+            return count > 0 ? max : null;
+        }
+    }
+}
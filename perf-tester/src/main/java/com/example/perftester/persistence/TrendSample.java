@@ -0,0 +1,7 @@
+package com.example.perftester.persistence;
+
+import java.time.Instant;
+
+/** The columns of a completed run that the trend rollups are built from. */
+public record TrendSample(String testType, String testId, Instant startedAt, Double tps, Double p99LatencyMs) {
+}
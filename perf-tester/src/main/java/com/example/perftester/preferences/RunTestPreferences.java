@@ -19,5 +19,6 @@ class RunTestPreferences {
     private boolean exportKubernetes;
     private boolean exportLogs;
     private boolean exportDatabase;
+    private boolean exportJfr;
     private boolean debug;
 }
@@ -6,5 +6,6 @@ public record RunTestPreferencesRequest(
         boolean exportKubernetes,
         boolean exportLogs,
         boolean exportDatabase,
+        boolean exportJfr,
         boolean debug) {
 }
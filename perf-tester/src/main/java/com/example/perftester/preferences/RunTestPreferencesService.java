@@ -16,7 +16,7 @@ public class RunTestPreferencesService {
     public RunTestPreferencesResponse get() {
         return repository.findById(PREFERENCES_ID)
                 .map(this::toResponse)
-                .orElseGet(() -> new RunTestPreferencesResponse(false, false, false, false, false, false));
+                .orElseGet(() -> new RunTestPreferencesResponse(false, false, false, false, false, false, false));
     }
 
     @Transactional
@@ -31,6 +31,7 @@ public class RunTestPreferencesService {
         prefs.setExportKubernetes(request.exportKubernetes());
         prefs.setExportLogs(request.exportLogs());
         prefs.setExportDatabase(request.exportDatabase());
+        prefs.setExportJfr(request.exportJfr());
         prefs.setDebug(request.debug());
         return toResponse(repository.save(prefs));
     }
@@ -42,6 +43,7 @@ public class RunTestPreferencesService {
                 prefs.isExportKubernetes(),
                 prefs.isExportLogs(),
                 prefs.isExportDatabase(),
+                prefs.isExportJfr(),
                 prefs.isDebug());
     }
 }
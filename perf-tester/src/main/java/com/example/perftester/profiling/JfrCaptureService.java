@@ -0,0 +1,160 @@
+package com.example.perftester.profiling;
+
+import com.example.perftester.config.JfrProperties;
+import com.example.profiling.JfrEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records every service with Java Flight Recorder while a run measures. perf-tester records
+ * itself through its own {@link JfrEndpoint}; the consumers are driven through their
+ * {@code /actuator/jfr} endpoints. A service that cannot be reached is logged and left out, so
+ * profiling never fails the run it observes. Recordings are kept as
+ * {@code <path>/<testRunId>/<service>.jfr} until the run's export job packages them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JfrCaptureService {
+
+    public static final String SELF = "perf-tester";
+    public static final String EXTENSION = ".jfr";
+
+    static final String ENDPOINT_PATH = "/actuator/jfr";
+
+    private static final String DEFAULT_PATH = "./jfr-recordings";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JfrEndpoint localEndpoint;
+    private final JfrProperties properties;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * Starts a recording on every service with the configured profile.
+     *
+     * @return {@code false} when the profile is not a valid JFR configuration, so nothing is recorded
+     */
+    public boolean start(Long testRunId) {
+        var profile = properties.profile() != null ? properties.profile() : JfrEndpoint.DEFAULT_PROFILE;
+        try {
+            localEndpoint.start(profile);
+        } catch (InvalidEndpointRequestException e) {
+            log.warn("Test run {} is not recorded, JFR profile '{}' is invalid: {}", testRunId, profile, e.getMessage());
+            return false;
+        }
+        for (var service : services().entrySet()) {
+            try {
+                var body = MAPPER.writeValueAsString(Map.of("profile", profile));
+                send(service.getKey(), request(service.getValue())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                log.warn("Could not start JFR recording on {}: {}", service.getKey(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        log.info("JFR recordings started for test run {} with profile '{}'", testRunId, profile);
+        return true;
+    }
+
+    /** Stops the recordings and downloads them into the run's recording directory. */
+    public void stop(Long testRunId) {
+        var directory = directory(testRunId);
+        try {
+            if (localEndpoint.stop().getStatus() == WebEndpointResponse.STATUS_OK) {
+                Files.createDirectories(directory);
+                Files.copy(localEndpoint.download().getBody().getFile().toPath(),
+                        directory.resolve(SELF + EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not save JFR recording of {}: {}", SELF, e.getMessage());
+        }
+        for (var service : services().entrySet()) {
+            var file = directory.resolve(service.getKey() + EXTENSION);
+            try {
+                send(service.getKey(), request(service.getValue()).DELETE().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                Files.createDirectories(directory);
+                // The body is only written to the file when the dump is actually there
+                send(service.getKey(), request(service.getValue()).GET().build(), info -> info.statusCode() == 200
+                        ? HttpResponse.BodySubscribers.ofFile(file)
+                        : HttpResponse.BodySubscribers.replacing(null));
+            } catch (IOException e) {
+                log.warn("Could not download JFR recording of {}: {}", service.getKey(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("JFR recordings of test run {} saved to {}", testRunId, directory);
+    }
+
+    /** Recordings kept for a run, by file name, or none when the run was not recorded. */
+    public List<Path> recordings(Long testRunId) throws IOException {
+        var directory = directory(testRunId);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    /** Deletes the recordings of a run once they have been packaged. */
+    public void discard(Long testRunId) throws IOException {
+        var directory = directory(testRunId);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private Path directory(Long testRunId) {
+        var path = properties.path() != null ? properties.path() : DEFAULT_PATH;
+        return Path.of(path, String.valueOf(testRunId));
+    }
+
+    private Map<String, String> services() {
+        return properties.services() != null ? properties.services() : Map.of();
+    }
+
+    private static HttpRequest.Builder request(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ENDPOINT_PATH)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private void send(String service, HttpRequest request, HttpResponse.BodyHandler<?> handler)
+            throws IOException, InterruptedException {
+        var status = httpClient.send(request, handler).statusCode();
+        if (status != 200) {
+            throw new IOException(service + " returned HTTP " + status);
+        }
+    }
+}
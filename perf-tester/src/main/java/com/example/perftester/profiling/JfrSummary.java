@@ -0,0 +1,146 @@
+package com.example.perftester.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a JFR recording of one service shows: the methods most often on CPU, the sites that
+ * allocated the most memory, garbage collection pauses and virtual threads that stayed pinned
+ * to their carrier thread.
+ *
+ * @param service         service the recording was taken from
+ * @param hotMethods      top frames of execution samples, counted in samples
+ * @param allocationSites top frames of allocation samples, counted in sampled bytes
+ * @param gcCount         garbage collections during the recording
+ * @param gcPauseTotal    sum of all GC pauses
+ * @param gcPauseMax      longest single GC pause
+ * @param pinnedCount     times a virtual thread blocked while pinned to its carrier
+ * @param pinnedTotal     time virtual threads spent blocked while pinned
+ * @param pinnedSites     top frames of the pinned events, counted in events
+ */
+public record JfrSummary(String service, List<Site> hotMethods, List<Site> allocationSites,
+                         long gcCount, Duration gcPauseTotal, Duration gcPauseMax,
+                         long pinnedCount, Duration pinnedTotal, List<Site> pinnedSites) {
+
+    static final int TOP_SITES = 10;
+
+    static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+    static final String VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+
+    private static final String UNKNOWN_FRAME = "<no stack trace>";
+
+    /** Reads a recording file event by event; only the aggregates are kept in memory. */
+    public static JfrSummary read(String service, Path recording) throws IOException {
+        var aggregator = new Aggregator();
+        try (var file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                aggregator.accept(file.readEvent());
+            }
+        }
+        return aggregator.summary(service);
+    }
+
+    /** Renders the summary as a section of {@code summary.txt}. */
+    public String format() {
+        var sb = new StringBuilder();
+        sb.append(String.format("%s%n", service));
+        sb.append("  Hot methods (execution samples):\n");
+        appendSites(sb, hotMethods);
+        sb.append("  Allocation sites (sampled bytes):\n");
+        appendSites(sb, allocationSites);
+        sb.append(String.format("  GC: %d collections, total pause %.1f ms, longest pause %.1f ms%n",
+                gcCount, millis(gcPauseTotal), millis(gcPauseMax)));
+        sb.append(String.format("  Virtual thread pinning: %d events, %.1f ms blocked%n",
+                pinnedCount, millis(pinnedTotal)));
+        appendSites(sb, pinnedSites);
+        return sb.toString();
+    }
+
+    private static void appendSites(StringBuilder sb, List<Site> sites) {
+        if (sites.isEmpty()) {
+            sb.append("    (none recorded)\n");
+        }
+        for (var site : sites) {
+            sb.append(String.format("    %,14d  %s%n", site.count(), site.frame()));
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * A stack frame and how much of a measure it accounts for.
+     *
+     * @param frame method and line, {@code package.Type.method:line}
+     * @param count samples, bytes or events, depending on the list it is in
+     */
+    public record Site(String frame, long count) {
+    }
+
+    /** Accumulates the events of one recording. */
+    static final class Aggregator {
+
+        private final Map<String, Long> executionSamples = new HashMap<>();
+        private final Map<String, Long> allocations = new HashMap<>();
+        private final Map<String, Long> pinnedSites = new HashMap<>();
+        private long gcCount;
+        private Duration gcPauseTotal = Duration.ZERO;
+        private Duration gcPauseMax = Duration.ZERO;
+        private long pinnedCount;
+        private Duration pinnedTotal = Duration.ZERO;
+
+        void accept(RecordedEvent event) {
+            var type = event.getEventType().getName();
+            if (EXECUTION_SAMPLE.equals(type)) {
+                executionSamples.merge(topFrame(event), 1L, Long::sum);
+            } else if (ALLOCATION_SAMPLE.equals(type)) {
+                allocations.merge(topFrame(event), event.getLong("weight"), Long::sum);
+            } else if (GARBAGE_COLLECTION.equals(type)) {
+                gcCount++;
+                gcPauseTotal = gcPauseTotal.plus(event.getDuration("sumOfPauses"));
+                var longest = event.getDuration("longestPause");
+                if (longest.compareTo(gcPauseMax) > 0) {
+                    gcPauseMax = longest;
+                }
+            } else if (VIRTUAL_THREAD_PINNED.equals(type)) {
+                pinnedCount++;
+                pinnedTotal = pinnedTotal.plus(event.getDuration());
+                pinnedSites.merge(topFrame(event), 1L, Long::sum);
+            }
+        }
+
+        JfrSummary summary(String service) {
+            return new JfrSummary(service, top(executionSamples), top(allocations), gcCount, gcPauseTotal,
+                    gcPauseMax, pinnedCount, pinnedTotal, top(pinnedSites));
+        }
+
+        private static List<Site> top(Map<String, Long> counts) {
+            return counts.entrySet().stream()
+                    .map(entry -> new Site(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(Site::count).reversed().thenComparing(Site::frame))
+                    .limit(TOP_SITES)
+                    .toList();
+        }
+
+        private static String topFrame(RecordedEvent event) {
+            var stackTrace = event.getStackTrace();
+            if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+                return UNKNOWN_FRAME;
+            }
+            var frame = stackTrace.getFrames().get(0);
+            var method = frame.getMethod();
+            return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+        }
+    }
+}
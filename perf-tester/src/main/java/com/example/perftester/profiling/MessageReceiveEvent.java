@@ -0,0 +1,14 @@
+package com.example.perftester.profiling;
+
+import com.example.profiling.MessageEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.perftester.MessageReceive")
+@Label("Message Receive")
+@Description("A response whose round trip from send to receive took at least the event threshold")
+@Category({"Perf Tester", "Messaging"})
+public class MessageReceiveEvent extends MessageEvent {
+}
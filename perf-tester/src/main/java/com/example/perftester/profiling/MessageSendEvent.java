@@ -0,0 +1,14 @@
+package com.example.perftester.profiling;
+
+import com.example.profiling.MessageEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.perftester.MessageSend")
+@Label("Message Send")
+@Description("A test message that took at least the event threshold to be tracked and put on the request queue")
+@Category({"Perf Tester", "Messaging"})
+public class MessageSendEvent extends MessageEvent {
+}
@@ -9,13 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Instant;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,9 +19,11 @@ import java.util.List;
 @Service
 public class PrometheusExportService {
 
+    private static final String LAST_SCRAPE_QUERY = "/api/v1/query?query=min(timestamp(up))";
+    private static final long SCRAPE_POLL_INTERVAL_MS = 1000L;
+
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
-    private final String exportPath;
     private final long prometheusBufferSeconds;
     private final int prometheusStepSeconds;
 
@@ -35,56 +33,39 @@ public class PrometheusExportService {
                 .build();
         this.objectMapper = new ObjectMapper()
                 .enable(SerializationFeature.INDENT_OUTPUT);
-        this.exportPath = prometheusProperties.exportPath();
         this.prometheusBufferSeconds = perfProperties.prometheusBufferSeconds();
         this.prometheusStepSeconds = perfProperties.prometheusStepSeconds();
     }
 
     /**
-     * Exports all Prometheus metrics for the given test time window to a JSON file.
-     *
-     * <p>Queries all metric names from Prometheus, then fetches range data for each metric
-     * using the configured buffer and step resolution. Metrics are streamed to a JSON file
-     * to avoid holding large datasets in memory.
+     * Streams all Prometheus metrics for the given test window as JSON to {@code os}, one metric
+     * at a time. The stream is flushed but not closed, so it can be an archive entry.
      *
      * @param testStartTimeMs epoch millis of test start
      * @param testEndTimeMs   epoch millis of test end
-     * @param testId          optional test identifier used in the export filename
-     * @return result containing the export file path, query URL pattern, or error details
+     * @param testId          test identifier written into the header
+     * @param os              destination, left open
+     * @return number of metrics that had data
      */
-    public PrometheusExportResult exportMetrics(long testStartTimeMs, long testEndTimeMs, String testId) {
-        var timestamp = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
-                .format(Instant.now().atZone(java.time.ZoneId.systemDefault()));
-
-        var exportDir = Path.of(exportPath);
-        try {
-            Files.createDirectories(exportDir);
-        } catch (IOException e) {
-            log.error("Failed to create export directory: {}", exportPath, e);
-            return new PrometheusExportResult(null, null, "Failed to create export directory: " + e.getMessage());
-        }
-
+    public int writeMetrics(long testStartTimeMs, long testEndTimeMs, String testId, OutputStream os)
+            throws IOException {
         // Add buffer for metric collection delay
         long fromSec = (testStartTimeMs / 1000) - prometheusBufferSeconds;
         long toSec = (testEndTimeMs / 1000) + prometheusBufferSeconds;
         int step = prometheusStepSeconds;
 
-        var filename = String.format("prometheus_export_%s.json", timestamp);
-        var filePath = exportDir.resolve(filename);
-
         var allMetrics = getAllMetricNames();
         log.info("Found {} metrics to export", allMetrics.size());
 
-        // Stream metrics directly to file to avoid OOM with large metric sets
         int exported = 0;
-        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(filePath));
-             JsonGenerator generator = objectMapper.getFactory().createGenerator(os)) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(os)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
 
             generator.useDefaultPrettyPrinter();
             generator.writeStartObject();
 
             // Write header fields
-            generator.writeStringField("testId", testId != null ? testId : timestamp);
+            generator.writeStringField("testId", testId);
             generator.writeStringField("exportTimestamp", Instant.now().toString());
             generator.writeStringField("testStartTime", Instant.ofEpochMilli(testStartTimeMs).toString());
             generator.writeStringField("testEndTime", Instant.ofEpochMilli(testEndTimeMs).toString());
@@ -118,23 +99,54 @@ public class PrometheusExportService {
 
             generator.writeEndArray();
             generator.writeEndObject();
-
-        } catch (IOException e) {
-            log.error("Failed to write export file: {}", e.getMessage());
-            return new PrometheusExportResult(null, null, "Failed to write export file: " + e.getMessage());
         }
+        return exported;
+    }
 
-        log.info("Exported {} metrics with data", exported);
-        log.info("Prometheus metrics exported to: {}", filePath.toAbsolutePath());
-
-        var queryUrl = buildQueryRangeUrl(fromSec, toSec);
-        log.info("Prometheus query URL pattern: {}", queryUrl);
+    /**
+     * Blocks until every Prometheus target has been scraped at or after {@code testEndTimeMs},
+     * so a subsequent export covers the whole test window.
+     *
+     * <p>Polls {@code min(timestamp(up))} - the oldest last-scrape time across all targets - once
+     * per second. Gives up after {@code timeoutMs} and lets the export proceed with whatever
+     * data is available.
+     *
+     * @param testEndTimeMs epoch millis of test end
+     * @param timeoutMs     maximum time to wait
+     * @return {@code true} if the scrapes caught up before the timeout
+     */
+    public boolean awaitScrapeCoverage(long testEndTimeMs, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            var lastScrapeSec = queryLastScrapeSeconds();
+            if (lastScrapeSec * 1000 >= testEndTimeMs) {
+                log.info("Prometheus scrapes cover test end ({} >= {})",
+                        Instant.ofEpochMilli((long) (lastScrapeSec * 1000)), Instant.ofEpochMilli(testEndTimeMs));
+                return true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.warn("Prometheus scrapes did not reach test end within {} ms, exporting anyway", timeoutMs);
+                return false;
+            }
+            Thread.sleep(Math.min(SCRAPE_POLL_INTERVAL_MS, remaining));
+        }
+    }
 
-        return new PrometheusExportResult(
-                filePath.toAbsolutePath().toString(),
-                queryUrl,
-                null
-        );
+    private double queryLastScrapeSeconds() {
+        try {
+            var response = restClient.get()
+                    .uri(LAST_SCRAPE_QUERY)
+                    .retrieve()
+                    .body(String.class);
+            var result = objectMapper.readTree(response).path("data").path("result");
+            if (result.isArray() && !result.isEmpty()) {
+                return result.get(0).path("value").path(1).asDouble(0);
+            }
+        } catch (Exception e) {
+            log.debug("Failed to query last scrape time: {}", e.getMessage());
+        }
+        return 0;
     }
 
     private List<String> getAllMetricNames() {
@@ -174,14 +186,4 @@ public class PrometheusExportService {
             return null;
         }
     }
-
-    private String buildQueryRangeUrl(long fromSec, long toSec) {
-        return String.format("/api/v1/query_range?query={metric}&start=%d&end=%d&step=15", fromSec, toSec);
-    }
-
-    public record PrometheusExportResult(String filePath, String queryUrl, String error) {
-        public boolean isSuccess() {
-            return error == null && filePath != null;
-        }
-    }
 }
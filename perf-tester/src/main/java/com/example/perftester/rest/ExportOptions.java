@@ -6,6 +6,7 @@ public class ExportOptions {
     private boolean exportKubernetes;
     private boolean exportLogs;
     private boolean exportDatabase;
+    private boolean exportJfr;
 
     @SuppressWarnings("PMD.UnnecessaryConstructor")
     public ExportOptions() {
@@ -51,4 +52,12 @@ public class ExportOptions {
     public void setExportDatabase(boolean exportDatabase) {
         this.exportDatabase = exportDatabase;
     }
+
+    public boolean exportJfr() {
+        return exportJfr;
+    }
+
+    public void setExportJfr(boolean exportJfr) {
+        this.exportJfr = exportJfr;
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.perftester.rest;
 
+import com.example.perftester.perf.TestRunInProgressException;
 import com.example.perftester.persistence.HeaderTemplateNotFoundException;
 import com.example.perftester.persistence.InfraProfileNotFoundException;
 import com.example.perftester.persistence.ResponseTemplateNotFoundException;
@@ -68,6 +69,13 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(TestRunInProgressException.class)
+    public ProblemDetail handleTestRunInProgress(TestRunInProgressException ex) {
+        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+        problem.setTitle("Test Run In Progress");
+        return problem;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
         var problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -2,5 +2,10 @@ package com.example.perftester.rest;
 
 import java.util.List;
 
-public record PagedResponse<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+/**
+ * One page of a list. {@code totalElements} and {@code totalPages} are {@code null} when the
+ * client skipped the count; {@code nextCursor} continues the list after this page.
+ */
+public record PagedResponse<T>(List<T> content, int page, int size, Long totalElements, Integer totalPages,
+                               boolean hasNext, String nextCursor) {
 }
@@ -0,0 +1,20 @@
+package com.example.perftester.rest;
+
+import com.example.perftester.monitoring.PartitionLagSeries;
+
+import java.time.Instant;
+
+/**
+ * Lag of one consumer group partition over a run. Sample times are milliseconds after
+ * {@code startedAt}; a {@code lagMs} of -1 means the time lag could not be estimated yet.
+ */
+public record PartitionLagResponse(String consumerGroup, String topic, int partition, Instant startedAt,
+                                   long[] sampleOffsetsMs, long[] lags, long[] lagMs,
+                                   long maxLag, long maxLagMs) {
+
+    static PartitionLagResponse from(PartitionLagSeries series) {
+        return new PartitionLagResponse(series.consumerGroup(), series.topic(), series.partition(),
+                series.startedAt(), series.sampleOffsetsMs(), series.lags(), series.lagMs(),
+                series.maxLag(), series.maxLagMs());
+    }
+}
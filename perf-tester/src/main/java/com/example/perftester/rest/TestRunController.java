@@ -1,18 +1,24 @@
 package com.example.perftester.rest;
 
+import com.example.perftester.comparison.RunComparison;
+import com.example.perftester.comparison.RunComparisonService;
 import com.example.perftester.loki.LogEntry;
 import com.example.perftester.loki.LokiService;
+import com.example.perftester.perf.HopLatency;
+import com.example.perftester.persistence.TagFilter;
 import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunCursor;
+import com.example.perftester.persistence.TestRunDailyRollup;
 import com.example.perftester.persistence.TestRunService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.perftester.persistence.TestRunSummary;
+import com.example.perftester.persistence.TestRunTagService;
+import com.example.perftester.persistence.TrendRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -30,30 +36,48 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @Tag(name = "Test Runs", description = "Query and manage historical test run records and results")
-@Slf4j
 @RestController
 @RequestMapping("/api/perf/test-runs")
 @RequiredArgsConstructor
 public class TestRunController {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int DEFAULT_TREND_DAYS = 365;
+    private static final int MIN_TREND_POINTS = 3;
+    private static final int MAX_TREND_POINTS = 5000;
 
     private final TestRunService testRunService;
     private final LokiService lokiService;
-
-    @Operation(summary = "List test runs with pagination")
+    private final TrendRollupService trendRollupService;
+    private final TestRunTagService testRunTagService;
+    private final RunComparisonService runComparisonService;
+
+    @Operation(summary = "List test runs with pagination",
+            description = "Repeat tag to filter by several tags; matchAll requires every tag instead of any. "
+                    + "Pass the nextCursor of a page as cursor to fetch the following page without an offset "
+                    + "scan, and includeTotal=false to skip counting the runs.")
     @GetMapping
     public PagedResponse<TestRunListResponse> listAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String tag) {
-        var result = testRunService.findAll(page, size, tag);
-        var content = result.getContent().stream().map(this::toListResponse).toList();
-        return new PagedResponse<>(content, result.getNumber(), result.getSize(),
-                result.getTotalElements(), result.getTotalPages());
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(defaultValue = "false") boolean matchAll,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        var after = cursor == null || cursor.isBlank() ? null : TestRunCursor.decode(cursor);
+        var result = testRunService.findSummaries(page, size, TagFilter.of(tag, matchAll), after, includeTotal);
+        var tags = testRunTagService.getTags(result.content().stream().map(TestRunSummary::id).toList());
+        var content = result.content().stream()
+                .map(run -> toListResponse(run, tags.getOrDefault(run.id(), List.of())))
+                .toList();
+        var total = result.totalElements();
+        var totalPages = total == null ? null : Math.toIntExact((total + size - 1) / size);
+        var nextCursor = result.nextCursor() == null ? null : result.nextCursor().encode();
+        return new PagedResponse<>(content, page, size, total, totalPages, result.hasNext(), nextCursor);
     }
 
     @Operation(summary = "Get all unique tags across test runs")
@@ -62,10 +86,18 @@ public class TestRunController {
         return testRunService.getAllUniqueTags();
     }
 
-    @Operation(summary = "Get trend data for completed test runs")
+    @Operation(summary = "Get daily trend data for completed test runs, downsampled per test ID")
     @GetMapping("/trends")
-    public List<TrendPoint> getTrends() {
-        return testRunService.getTrendData().stream().map(this::toTrendPoint).toList();
+    public List<TrendPoint> getTrends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String testId,
+            @RequestParam(defaultValue = "500") int maxPoints) {
+        var end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        var start = from != null ? from : end.minusDays(DEFAULT_TREND_DAYS);
+        var points = Math.clamp(maxPoints, MIN_TREND_POINTS, MAX_TREND_POINTS);
+        return trendRollupService.getTrends(start, end, testId, points).stream()
+                .map(this::toTrendPoint).toList();
     }
 
     @Operation(summary = "Get a test run by ID")
@@ -117,7 +149,9 @@ public class TestRunController {
                 .body(resource);
     }
 
-    @Operation(summary = "Get application logs for a test run", description = "Queries Loki for application logs in the time window of the test run")
+    @Operation(summary = "Get application logs for a test run",
+            description = "Queries Loki for application logs in the time window of the test run; at most the "
+                    + "first 5,000 entries are returned, the export ZIP holds the complete logs")
     @GetMapping("/{id}/logs")
     public List<LogEntry> getLogs(@PathVariable long id) {
         var run = testRunService.findById(id);
@@ -125,26 +159,53 @@ public class TestRunController {
         return lokiService.queryLogs(run.getStartedAt(), end);
     }
 
-    @Operation(summary = "Get infrastructure snapshots for a test run", description = "Returns queue depth and Kafka consumer lag snapshots captured during the test")
+    @Operation(summary = "Compare a test run against a baseline run",
+            description = "Compares latency quantiles and throughput with 95% confidence intervals and classifies "
+                    + "each metric as REGRESSION, IMPROVEMENT or NOISE")
+    @GetMapping("/{id}/compare/{baselineId}")
+    public RunComparison compare(@PathVariable long id, @PathVariable long baselineId) {
+        return runComparisonService.compare(id, baselineId);
+    }
+
+    @Operation(summary = "Get per-hop latency for a test run",
+            description = "Splits the round trip into its queue waits and processing legs using the timestamps the "
+                    + "consumers stamp on each message; empty for runs whose responses carried no timestamps")
+    @GetMapping("/{id}/hops")
+    public List<HopLatency> getHopLatencies(@PathVariable long id) {
+        testRunService.findById(id);
+        return testRunService.findDistribution(id).map(HopLatency::of).orElse(List.of());
+    }
+
+    @Operation(summary = "Get infrastructure snapshots for a test run", description = "Returns queue depth, queue statistics and Kafka consumer lag snapshots captured during the test")
     @GetMapping("/{id}/snapshots")
     public List<TestRunSnapshotResponse> getSnapshots(@PathVariable long id) {
         return testRunService.findSnapshots(id).stream()
                 .map(s -> new TestRunSnapshotResponse(s.getId(), s.getTestRunId(), s.getSampledAt(),
                         s.getOutboundQueueDepth(), s.getInboundQueueDepth(),
-                        s.getKafkaRequestsLag(), s.getKafkaResponsesLag()))
+                        s.getKafkaRequestsLag(), s.getKafkaResponsesLag(),
+                        s.getOutboundEnqueueCount(), s.getOutboundDequeueCount(),
+                        s.getOutboundOldestMessageAgeSeconds(), s.getOutboundOpenInputCount(),
+                        s.getInboundEnqueueCount(), s.getInboundDequeueCount(),
+                        s.getInboundOldestMessageAgeSeconds(), s.getInboundOpenInputCount()))
                 .toList();
     }
 
-    private TestRunListResponse toListResponse(TestRun run) {
+    @Operation(summary = "Get per-partition consumer lag for a test run", description = "Returns the lag of every sampled Kafka partition in messages and the estimated lag in milliseconds, to spot hot partitions")
+    @GetMapping("/{id}/snapshots/partitions")
+    public List<PartitionLagResponse> getPartitionLags(@PathVariable long id) {
+        return testRunService.findPartitionLags(id).stream().map(PartitionLagResponse::from).toList();
+    }
+
+    private TestRunListResponse toListResponse(TestRunSummary run, List<String> tags) {
         return new TestRunListResponse(
-                run.getId(), run.getTestRunId(), run.getTestId(), run.getStatus(),
-                run.getMessageCount(), run.getCompletedCount(),
-                run.getTps(), run.getAvgLatencyMs(), run.getMinLatencyMs(), run.getMaxLatencyMs(),
-                run.getP25LatencyMs(), run.getP50LatencyMs(), run.getP75LatencyMs(),
-                run.getP90LatencyMs(), run.getP95LatencyMs(), run.getP99LatencyMs(),
-                run.getTimeoutCount(), run.getTestType(), run.getThresholdStatus(),
-                run.getDurationMs(), run.getStartedAt(), run.getCompletedAt(), run.getZipFilePath(),
-                parseTags(run.getTags()));
+                run.id(), run.testRunId(), run.testId(), run.status(),
+                run.messageCount(), run.completedCount(),
+                run.tps(), run.avgLatencyMs(), run.minLatencyMs(), run.maxLatencyMs(),
+                run.p25LatencyMs(), run.p50LatencyMs(), run.p75LatencyMs(),
+                run.p90LatencyMs(), run.p95LatencyMs(), run.p99LatencyMs(),
+                run.timeoutCount(), run.testType(), run.thresholdStatus(),
+                run.durationMs(), run.startedAt(), run.completedAt(), run.zipFilePath(),
+                tags, run.exportStatus(), run.exportError());
     }
 
     private TestRunDetailResponse toDetailResponse(TestRun run) {
@@ -157,23 +218,18 @@ public class TestRunController {
                 run.getTimeoutCount(), run.getTestType(), run.getThresholdStatus(),
                 run.getThresholdResults(),
                 run.getDurationMs(), run.getStartedAt(), run.getCompletedAt(), run.getZipFilePath(),
-                parseTags(run.getTags()));
+                testRunTagService.getTags(run.getId()), run.getExportStatus(), run.getExportError(),
+                run.getAbortReason());
     }
 
-    private TrendPoint toTrendPoint(TestRun run) {
-        return new TrendPoint(run.getId(), run.getTestId(), run.getStartedAt(),
-                run.getTps(), run.getP99LatencyMs(), run.getStatus(), run.getTestType());
+    private TrendPoint toTrendPoint(TestRunDailyRollup rollup) {
+        return new TrendPoint(emptyToNull(rollup.getTestId()), emptyToNull(rollup.getTestType()),
+                rollup.getDay(), rollup.getRunCount(),
+                rollup.getAvgTps(), rollup.getMinTps(), rollup.getMaxTps(),
+                rollup.getAvgP99LatencyMs(), rollup.getMinP99LatencyMs(), rollup.getMaxP99LatencyMs());
     }
 
-    private List<String> parseTags(String tagsJson) {
-        if (tagsJson == null) {
-            return List.of();
-        }
-        try {
-            return MAPPER.readValue(tagsJson, new TypeReference<>() {});
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to parse tags JSON: {}", e.getMessage());
-            return List.of();
-        }
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
     }
 }
@@ -28,5 +28,8 @@ public record TestRunDetailResponse(
         Instant startedAt,
         Instant completedAt,
         String zipFilePath,
-        List<String> tags) {
+        List<String> tags,
+        String exportStatus,
+        String exportError,
+        String abortReason) {
 }
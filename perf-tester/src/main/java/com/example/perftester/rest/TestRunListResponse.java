@@ -27,5 +27,7 @@ public record TestRunListResponse(
         Instant startedAt,
         Instant completedAt,
         String zipFilePath,
-        List<String> tags) {
+        List<String> tags,
+        String exportStatus,
+        String exportError) {
 }
@@ -9,5 +9,13 @@ public record TestRunSnapshotResponse(
         Integer outboundQueueDepth,
         Integer inboundQueueDepth,
         Long kafkaRequestsLag,
-        Long kafkaResponsesLag) {
+        Long kafkaResponsesLag,
+        Integer outboundEnqueueCount,
+        Integer outboundDequeueCount,
+        Integer outboundOldestMessageAgeSeconds,
+        Integer outboundOpenInputCount,
+        Integer inboundEnqueueCount,
+        Integer inboundDequeueCount,
+        Integer inboundOldestMessageAgeSeconds,
+        Integer inboundOpenInputCount) {
 }
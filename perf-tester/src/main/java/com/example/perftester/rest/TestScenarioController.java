@@ -1,5 +1,6 @@
 package com.example.perftester.rest;
 
+import com.example.perftester.perf.ThresholdMetrics;
 import com.example.perftester.persistence.ScenarioExport;
 import com.example.perftester.persistence.TestScenarioDetail;
 import com.example.perftester.persistence.TestScenarioRequest;
@@ -35,6 +36,12 @@ public class TestScenarioController {
         return ResponseEntity.ok(testScenarioService.listAll());
     }
 
+    @Operation(summary = "List the metrics and operators thresholds can use")
+    @GetMapping("/threshold-metrics")
+    public ResponseEntity<ThresholdMetricsResponse> thresholdMetrics() {
+        return ResponseEntity.ok(ThresholdMetricsResponse.from(ThresholdMetrics.all(), ThresholdMetrics.operators()));
+    }
+
     @Operation(summary = "Get a test scenario by ID")
     @GetMapping("/{id}")
     public ResponseEntity<TestScenarioDetail> getById(@PathVariable Long id) {
@@ -0,0 +1,22 @@
+package com.example.perftester.rest;
+
+import com.example.perftester.perf.ThresholdMetric;
+import com.example.perftester.perf.ThresholdOperator;
+
+import java.util.List;
+
+/** Threshold metrics and operators offered by the scenario editor. */
+public record ThresholdMetricsResponse(List<Metric> metrics, List<Operator> operators) {
+
+    public record Metric(String name, String description, boolean perTestCase) {
+    }
+
+    public record Operator(String name, String symbol) {
+    }
+
+    static ThresholdMetricsResponse from(List<ThresholdMetric> metrics, List<ThresholdOperator> operators) {
+        return new ThresholdMetricsResponse(
+                metrics.stream().map(m -> new Metric(m.name(), m.description(), m.perTestCase())).toList(),
+                operators.stream().map(o -> new Operator(o.name(), o.symbol())).toList());
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.perftester.rest;
 
-import java.time.Instant;
+import java.time.LocalDate;
 
-public record TrendPoint(Long id, String testId, Instant startedAt,
-                         Double tps, Double p99LatencyMs, String status, String testType) {
+/** Daily aggregate of the completed runs of one test ID and type. */
+public record TrendPoint(String testId, String testType, LocalDate day, long runCount,
+                         Double tps, Double minTps, Double maxTps,
+                         Double p99LatencyMs, Double minP99LatencyMs, Double maxP99LatencyMs) {
 }
@@ -0,0 +1,97 @@
+package com.example.perftester.scheduling;
+
+import com.example.perftester.persistence.TestScenarioDetail;
+import com.example.perftester.persistence.TestScenarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Next fire time of every scheduled scenario, ordered so that a tick only looks at the head
+ * instead of evaluating every cron expression. Not thread-safe; the scheduler thread owns it.
+ *
+ * <p>A fire more than {@link #MISFIRE_THRESHOLD} late was missed, typically because the
+ * application was down. Scenarios with the {@code SKIP} policy drop missed fires; {@code RUN_ONCE}
+ * scenarios run once for all of them, recorded at the time of the catch-up. Either way the
+ * scenario continues with its first fire after now.
+ */
+@Slf4j
+class ScheduleQueue {
+
+    static final Duration MISFIRE_THRESHOLD = Duration.ofMinutes(1);
+
+    private final ZoneId zone;
+    private final PriorityQueue<NextFire> fires = new PriorityQueue<>(Comparator.comparing(NextFire::fireAt));
+
+    ScheduleQueue(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Replaces the queue. Scenarios continue after their last queued fire, so fires missed while
+     * the queue was not running are seen; scenarios that never fired start after now.
+     */
+    void rebuild(List<TestScenarioDetail> scenarios, Map<Long, Instant> lastFires, Instant now) {
+        fires.clear();
+        for (var scenario : scenarios) {
+            if (!scenario.scheduledEnabled() || scenario.scheduleCron() == null) {
+                continue;
+            }
+            try {
+                var cron = CronExpression.parse(scenario.scheduleCron());
+                var next = next(cron, lastFires.getOrDefault(scenario.id(), now));
+                if (next != null) {
+                    fires.add(new NextFire(scenario.id(), cron, scenario.missedFirePolicy(), next));
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring schedule of scenario {}: {}", scenario.id(), e.getMessage());
+            }
+        }
+    }
+
+    /** Removes the fires that are due at {@code now} and moves their scenarios to the next fire. */
+    List<Fire> due(Instant now) {
+        var due = new ArrayList<Fire>();
+        while (!fires.isEmpty() && !fires.peek().fireAt().isAfter(now)) {
+            var fire = fires.poll();
+            if (Duration.between(fire.fireAt(), now).compareTo(MISFIRE_THRESHOLD) <= 0) {
+                due.add(new Fire(fire.scenarioId(), fire.fireAt()));
+            } else if (TestScenarioService.MISSED_FIRE_RUN_ONCE.equals(fire.policy())) {
+                log.info("Scenario {} missed fires since {}, running it once", fire.scenarioId(), fire.fireAt());
+                due.add(new Fire(fire.scenarioId(), now.truncatedTo(ChronoUnit.SECONDS)));
+            } else {
+                log.info("Scenario {} missed fires since {}, skipping them", fire.scenarioId(), fire.fireAt());
+            }
+            var next = next(fire.cron(), now);
+            if (next != null) {
+                fires.add(new NextFire(fire.scenarioId(), fire.cron(), fire.policy(), next));
+            }
+        }
+        return due;
+    }
+
+    int size() {
+        return fires.size();
+    }
+
+    private Instant next(CronExpression cron, Instant after) {
+        var next = cron.next(after.atZone(zone));
+        return next != null ? next.toInstant() : null;
+    }
+
+    /** A scenario that is due, with the time it fired. */
+    record Fire(Long scenarioId, Instant fireTime) {
+    }
+
+    private record NextFire(Long scenarioId, CronExpression cron, String policy, Instant fireAt) {
+    }
+}
@@ -1,133 +1,175 @@
 package com.example.perftester.scheduling;
 
-import com.example.perftester.messaging.MessageSender;
-import com.example.perftester.perf.PerformanceTracker;
-import com.example.perftester.perf.ThresholdEvaluator;
-import com.example.perftester.perf.ThresholdResult;
+import com.example.perftester.config.SchedulingProperties;
+import com.example.perftester.perf.TestRunEngine;
+import com.example.perftester.perf.TestRunPlan;
+import com.example.perftester.persistence.ScheduledRun;
+import com.example.perftester.persistence.ScheduledRunRepository;
+import com.example.perftester.persistence.TestScenarioChangedEvent;
 import com.example.perftester.persistence.TestScenarioService;
-import com.example.perftester.persistence.TestRunService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs scenarios on their cron schedules. Every tick takes the fires that are due from the
+ * {@link ScheduleQueue}, stores them as queued {@link ScheduledRun}s and starts the oldest queued
+ * run once it can reserve the {@link TestRunEngine}. Fires that collide with a running test
+ * therefore run back to back after it instead of being dropped, and queued runs survive a
+ * restart. Runs execute on the engine exactly like runs started through the API.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduledScenarioService {
 
-    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
     private static final int DEFAULT_TIMEOUT_SECONDS = 300;
 
     private final TestScenarioService testScenarioService;
-    private final MessageSender messageSender;
-    private final PerformanceTracker performanceTracker;
-    private final TestRunService testRunService;
-    private final ThresholdEvaluator thresholdEvaluator;
+    private final TestRunEngine testRunEngine;
+    private final ScheduledRunRepository scheduledRunRepository;
+    private final SchedulingProperties schedulingProperties;
+
+    private final ScheduleQueue queue = new ScheduleQueue(ZoneId.systemDefault());
+    private final AtomicBoolean queueStale = new AtomicBoolean(true);
+    private final AtomicBoolean runInProgress = new AtomicBoolean();
+
+    /** Rebuilds the schedule on the next tick; the queue is left alone while nothing changes. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScenarioChanged(TestScenarioChangedEvent event) {
+        queueStale.set(true);
+    }
 
-    @Scheduled(cron = "0 * * * * *")
-    public void runScheduledScenarios() {
-        var currentTime = LocalTime.now().format(HH_MM);
-        if (performanceTracker.isActive()) {
-            log.debug("Skipping scheduled scenarios at {} — a test is already active", currentTime);
-            return;
+    /** Runs that were executing when the application stopped cannot be resumed. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedRuns() {
+        for (var run : scheduledRunRepository.findByStatus(ScheduledRun.RUNNING)) {
+            log.warn("Scheduled run {} of scenario {} was interrupted by a restart", run.getId(), run.getScenarioId());
+            finish(run, ScheduledRun.FAILED);
         }
+    }
 
-        var matching = testScenarioService.listScheduledEnabled().stream()
-                .filter(s -> currentTime.equals(s.scheduledTime()))
-                .toList();
-
-        if (matching.isEmpty()) {
-            return;
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        var now = Instant.now();
+        if (queueStale.getAndSet(false)) {
+            try {
+                rebuildQueue(now);
+            } catch (RuntimeException e) {
+                queueStale.set(true);
+                log.warn("Could not load scenario schedules: {}", e.getMessage());
+                return;
+            }
         }
-
-        for (var scenario : matching) {
-            log.info("Triggering scheduled scenario '{}' (id={}) at {}", scenario.name(), scenario.id(), currentTime);
-            Thread.ofVirtual()
-                    .name("scheduled-test-" + scenario.id() + "-" + currentTime)
-                    .start(() -> executeScenario(scenario.id(), scenario.name(), scenario.count()));
+        for (var fire : queue.due(now)) {
+            enqueue(fire);
         }
+        startNextRun();
     }
 
-    private void executeScenario(Long scenarioId, String scenarioName, int count) {
-        var testRunId = UUID.randomUUID().toString();
-        var testId = "scheduled-" + scenarioName;
-        var scenario = testScenarioService.getById(scenarioId);
-        var testRunEntity = testRunService.createRun(testRunId, testId, count, scenario.testType());
-        var testStarted = false;
+    private void rebuildQueue(Instant now) {
+        var scenarios = testScenarioService.listScheduledEnabled();
+        var lastFires = new HashMap<Long, Instant>();
+        for (var scenario : scenarios) {
+            scheduledRunRepository.findFirstByScenarioIdOrderByFireTimeDesc(scenario.id())
+                    .ifPresent(run -> lastFires.put(scenario.id(), run.getFireTime()));
+        }
+        queue.rebuild(scenarios, lastFires, now);
+        log.debug("Schedule queue rebuilt with {} scheduled scenarios", queue.size());
+    }
 
+    private void enqueue(ScheduleQueue.Fire fire) {
+        if (scheduledRunRepository.existsByScenarioIdAndFireTime(fire.scenarioId(), fire.fireTime())) {
+            return;
+        }
+        var run = new ScheduledRun();
+        run.setScenarioId(fire.scenarioId());
+        run.setFireTime(fire.fireTime());
+        run.setStatus(ScheduledRun.QUEUED);
         try {
-            log.info("Starting scheduled test: scenario='{}', count={}, testRunId={}",
-                    scenarioName, count, testRunId);
-
-            int warmupCount = testScenarioService.getWarmupCount(scenarioId);
-            if (warmupCount > 0) {
-                performanceTracker.startWarmupPhase(warmupCount);
-                for (int i = 0; i < warmupCount; i++) {
-                    messageSender.sendMessage("warmup-" + i);
-                }
-                performanceTracker.awaitWarmupCompletion(60, TimeUnit.SECONDS);
-                log.info("Warmup complete for scenario '{}'", scenarioName);
-            }
-
-            if (!performanceTracker.tryStart(count, testRunId)) {
-                log.warn("Scheduled test rejected — tracker already active: scenario='{}', testRunId={}",
-                        scenarioName, testRunId);
-                testRunService.completeRun(testRunEntity.getId(), "FAILED", performanceTracker.getResult(), null);
-                return;
-            }
-            testStarted = true;
-
-            var pool = testScenarioService.buildMessagePool(scenarioId);
-            var futures = new CompletableFuture<?>[count];
-            for (int i = 0; i < count; i++) {
-                if (!pool.isEmpty()) {
-                    var msg = pool.get(i % pool.size());
-                    futures[i] = messageSender.sendMessage(msg.content());
-                } else {
-                    futures[i] = messageSender.sendMessage("msg-" + i);
-                }
-            }
-            CompletableFuture.allOf(futures).join();
-
-            var completed = performanceTracker.awaitCompletion(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            var status = completed ? "COMPLETED" : "TIMEOUT";
-            var result = performanceTracker.getResult();
+            scheduledRunRepository.save(run);
+            log.info("Queued scheduled run of scenario {} fired at {}", fire.scenarioId(), fire.fireTime());
+        } catch (DataIntegrityViolationException e) {
+            // The scenario was deleted after the queue was built
+            log.warn("Could not queue scheduled run of scenario {}: {}", fire.scenarioId(), e.getMessage());
+        }
+    }
 
-            performanceTracker.setStatus(status);
-            testRunService.completeRun(testRunEntity.getId(), status, result, null);
+    private void startNextRun() {
+        if (!runInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        var next = scheduledRunRepository.findFirstByStatusOrderByFireTimeAscIdAsc(ScheduledRun.QUEUED);
+        // The engine's gate is shared with manual runs, including their warmup
+        if (next.isEmpty() || !testRunEngine.tryReserve()) {
+            runInProgress.set(false);
+            return;
+        }
+        var run = next.get();
+        run.setStatus(ScheduledRun.RUNNING);
+        run.setStartedAt(Instant.now());
+        ScheduledRun started;
+        try {
+            started = scheduledRunRepository.save(run);
+        } catch (RuntimeException e) {
+            testRunEngine.cancelReservation();
+            runInProgress.set(false);
+            throw e;
+        }
+        Thread.ofVirtual()
+                .name("scheduled-run-" + started.getId())
+                .start(() -> execute(started));
+    }
 
-            var thresholds = testScenarioService.getScenarioThresholds(scenarioId);
-            if (!thresholds.isEmpty()) {
-                var thresholdResults = thresholdEvaluator.evaluate(thresholds, result);
-                var passed = thresholdResults.stream().allMatch(ThresholdResult::passed);
-                testRunService.updateThresholdResult(testRunEntity.getId(),
-                        passed ? "PASSED" : "FAILED", thresholdResults);
+    private void execute(ScheduledRun run) {
+        var outcome = ScheduledRun.FAILED;
+        var executed = false;
+        try {
+            var scenario = testScenarioService.getById(run.getScenarioId());
+            log.info("Triggering scheduled scenario '{}' (id={}) fired at {}",
+                    scenario.name(), scenario.id(), run.getFireTime());
+            var timeoutSeconds = schedulingProperties.runTimeoutSeconds() > 0
+                    ? schedulingProperties.runTimeoutSeconds() : DEFAULT_TIMEOUT_SECONDS;
+            var plan = new TestRunPlan(UUID.randomUUID().toString(), "scheduled-" + scenario.name(), "msg",
+                    scenario.count(), timeoutSeconds, 0, scenario, TestRunPlan.Exports.NONE, false);
+            var testRun = testRunEngine.prepare(plan);
+            run.setTestRunId(testRun.getId());
+            executed = true;
+            if (!TestRunEngine.FAILED.equals(testRunEngine.execute(testRun.getId(), plan))) {
+                outcome = ScheduledRun.DONE;
             }
-
-            log.info("Scheduled test {}: scenario='{}', {}/{} messages, TPS={}, avgLatency={}ms",
-                    status.toLowerCase(), scenarioName, result.completedMessages(), count,
-                    String.format("%.2f", result.tps()),
-                    String.format("%.2f", result.avgLatencyMs()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            performanceTracker.setStatus("FAILED");
-            testRunService.completeRun(testRunEntity.getId(), "FAILED", performanceTracker.getResult(), null);
-            log.error("Scheduled test interrupted: scenario='{}', testRunId={}", scenarioName, testRunId);
-        } catch (Exception e) {
-            performanceTracker.setStatus("FAILED");
-            testRunService.completeRun(testRunEntity.getId(), "FAILED", performanceTracker.getResult(), null);
-            log.error("Scheduled test failed: scenario='{}', testRunId={}", scenarioName, testRunId, e);
+        } catch (RuntimeException e) {
+            log.error("Scheduled run {} of scenario {} could not start: {}",
+                    run.getId(), run.getScenarioId(), e.getMessage());
         } finally {
-            if (testStarted) {
-                performanceTracker.markIdle();
+            if (!executed) {
+                testRunEngine.cancelReservation();
             }
+            finish(run, outcome);
+            runInProgress.set(false);
+        }
+        // Runs that queued up behind this one start right away
+        startNextRun();
+    }
+
+    private void finish(ScheduledRun run, String status) {
+        run.setStatus(status);
+        run.setFinishedAt(Instant.now());
+        try {
+            scheduledRunRepository.save(run);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the end of scheduled run {}: {}", run.getId(), e.getMessage());
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.example.perftester.tracing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends traces to a local file, one OTLP/JSON document per line, the format the OpenTelemetry
+ * collector's {@code otlpjsonfile} receiver reads back.
+ */
+public class FileTraceExporter implements TraceExporter {
+
+    private final Path file;
+
+    public FileTraceExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(byte[] otlpJson) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (var out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(otlpJson);
+            out.write('\n');
+        }
+    }
+}
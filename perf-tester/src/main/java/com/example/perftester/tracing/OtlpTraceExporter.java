@@ -0,0 +1,35 @@
+package com.example.perftester.tracing;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Posts traces to an OTLP/HTTP endpoint such as Tempo or an OpenTelemetry collector. */
+public class OtlpTraceExporter implements TraceExporter {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+
+    public OtlpTraceExporter(HttpClient httpClient, URI endpoint) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public void export(byte[] otlpJson) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(endpoint)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(otlpJson))
+                .build();
+        var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("OTLP export to " + endpoint + " returned HTTP " + status);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.perftester.tracing;
+
+import com.example.perftester.perf.PipelineHop;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the OTLP/JSON request for the traces of a run. Each trace has a root span for the round
+ * trip as perf-tester saw it and, when the reply carried hop timestamps, a child span per
+ * {@link PipelineHop}, reported under the service that held the message during that leg.
+ */
+final class OtlpTraces {
+
+    static final String SERVICE = "perf-tester";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_CLIENT = 3;
+    private static final int KIND_CONSUMER = 5;
+
+    private OtlpTraces() {
+    }
+
+    static byte[] toJson(String testRunId, List<SampledTrace> traces) throws JsonProcessingException {
+        var spansByService = new LinkedHashMap<String, List<Span>>();
+        spansByService.put(SERVICE, new ArrayList<>());
+        for (var trace : traces) {
+            addSpans(spansByService, testRunId, trace);
+        }
+        var resourceSpans = new ArrayList<ResourceSpans>();
+        for (Map.Entry<String, List<Span>> entry : spansByService.entrySet()) {
+            resourceSpans.add(new ResourceSpans(
+                    new Resource(List.of(Attribute.of("service.name", entry.getKey()))),
+                    List.of(new ScopeSpans(new Scope(SERVICE), entry.getValue()))));
+        }
+        return MAPPER.writeValueAsBytes(new ExportRequest(resourceSpans));
+    }
+
+    private static void addSpans(Map<String, List<Span>> spansByService, String testRunId, SampledTrace trace) {
+        var uuid = UUID.fromString(trace.messageId());
+        var traceId = TraceContext.traceId(uuid);
+        var rootSpanId = TraceContext.rootSpanId(uuid);
+        var rootId = TraceContext.spanId(rootSpanId);
+        spansByService.get(SERVICE).add(new Span(traceId, rootId, null, "perf.round-trip", KIND_CLIENT,
+                nanos(trace.sentMicros()), nanos(trace.receivedMicros()), List.of(
+                        Attribute.of("perf.test_run_id", testRunId),
+                        Attribute.of("messaging.message.id", trace.messageId()),
+                        Attribute.of("perf.latency_ms", String.format("%.3f", trace.latencyNanos() / 1_000_000.0)))));
+        if (trace.hops() == null) {
+            return;
+        }
+        var times = PipelineHop.timestampsMicros(trace.sentMicros(), trace.hops(), trace.receivedMicros());
+        for (int i = 0; i < PipelineHop.ALL.size(); i++) {
+            var from = times[i];
+            var to = times[i + 1];
+            if (from <= 0 || to < from) {
+                continue;
+            }
+            var hop = PipelineHop.ALL.get(i);
+            var kind = PipelineHop.PROCESSING.equals(hop.kind()) ? KIND_CONSUMER : KIND_INTERNAL;
+            spansByService.computeIfAbsent(hop.service(), s -> new ArrayList<>())
+                    .add(new Span(traceId, TraceContext.spanId(rootSpanId + i + 1), rootId, hop.name(), kind,
+                            nanos(from), nanos(to), List.of(Attribute.of("perf.hop.kind", hop.kind()))));
+        }
+    }
+
+    /** OTLP/JSON writes 64-bit integers as strings. */
+    private static String nanos(long micros) {
+        return Long.toString(micros * 1000);
+    }
+
+    private record ExportRequest(List<ResourceSpans> resourceSpans) {
+    }
+
+    private record ResourceSpans(Resource resource, List<ScopeSpans> scopeSpans) {
+    }
+
+    private record Resource(List<Attribute> attributes) {
+    }
+
+    private record ScopeSpans(Scope scope, List<Span> spans) {
+    }
+
+    private record Scope(String name) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record Span(String traceId, String spanId, String parentSpanId, String name, int kind,
+                        String startTimeUnixNano, String endTimeUnixNano, List<Attribute> attributes) {
+    }
+
+    private record Attribute(String key, Value value) {
+
+        static Attribute of(String key, String value) {
+            return new Attribute(key, new Value(value));
+        }
+    }
+
+    private record Value(String stringValue) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.perftester.tracing;
+
+import com.example.perftester.perf.HopTimestamps;
+import org.springframework.lang.Nullable;
+
+/** A round trip kept by the {@link TraceSampler}; its spans are only built when it is exported. */
+record SampledTrace(String messageId, long latencyNanos, long receivedMicros, @Nullable HopTimestamps hops) {
+
+    long sentMicros() {
+        return receivedMicros - latencyNanos / 1000;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.perftester.tracing;
+
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * W3C trace context of a test message, derived from its message id so that nothing has to be
+ * remembered per message: the 128 random bits of the UUID are the trace id and the root span id
+ * folds them into 64. The sampled flag is off because the sampling decision is only taken when
+ * the response is back; the pipeline services propagate the context without recording it.
+ */
+public final class TraceContext {
+
+    /** JMS property and Kafka header that carry the context through the pipeline. */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private TraceContext() {
+    }
+
+    /** The {@code traceparent} value of the message with the given UUID message id. */
+    public static String traceparent(String messageId) {
+        var uuid = UUID.fromString(messageId);
+        return "00-" + traceId(uuid) + "-" + spanId(rootSpanId(uuid)) + "-00";
+    }
+
+    static String traceId(UUID uuid) {
+        return spanId(uuid.getMostSignificantBits()) + spanId(uuid.getLeastSignificantBits());
+    }
+
+    static long rootSpanId(UUID uuid) {
+        var id = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        return id != 0 ? id : 1;
+    }
+
+    static String spanId(long id) {
+        return HEX.toHexDigits(id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.perftester.tracing;
+
+import java.io.IOException;
+
+/** Destination of the traces a run kept, as an OTLP/JSON {@code ExportTraceServiceRequest}. */
+public interface TraceExporter {
+
+    /** Exporter used when no destination is configured; the sampler keeps no traces for it. */
+    TraceExporter NONE = otlpJson -> { };
+
+    void export(byte[] otlpJson) throws IOException, InterruptedException;
+}
@@ -0,0 +1,139 @@
+package com.example.perftester.tracing;
+
+import com.example.perftester.config.TracingProperties;
+import com.example.perftester.perf.HopTimestamps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tail sampling of message traces. Nothing is recorded while a message is in flight; when its
+ * response arrives the round trip is only kept if it is one of the slowest {@code slowestPerRun}
+ * of the run so far and not faster than the latency threshold. A volatile floor lets the fast
+ * majority of responses return without taking the lock. Spans are built from the kept round
+ * trips and exported once, when the run ends.
+ */
+@Slf4j
+@Component
+public class TraceSampler {
+
+    private static final int DEFAULT_SLOWEST_PER_RUN = 100;
+
+    private final boolean enabled;
+    private final boolean sampling;
+    private final int capacity;
+    private final long thresholdNanos;
+    private final TraceExporter exporter;
+    private final Counter exportedTraces;
+    private final Counter exportFailures;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<SampledTrace> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(SampledTrace::latencyNanos));
+    private volatile String testRunId;
+    private volatile long floorNanos;
+
+    public TraceSampler(TracingProperties properties, TraceExporter exporter, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.capacity = properties.slowestPerRun() > 0 ? properties.slowestPerRun() : DEFAULT_SLOWEST_PER_RUN;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.latencyThresholdMs());
+        this.exporter = exporter;
+        this.sampling = enabled && exporter != TraceExporter.NONE;
+        this.exportedTraces = Counter.builder("tracing.traces.exported")
+                .description("Slow message traces exported at the end of a run")
+                .register(meterRegistry);
+        this.exportFailures = Counter.builder("tracing.export.failures")
+                .description("Runs whose traces could not be exported")
+                .register(meterRegistry);
+    }
+
+    /** Whether test messages carry a trace context. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts keeping the slowest traces of the given run, dropping anything left from before. */
+    public void begin(String testRunId) {
+        if (!sampling) {
+            return;
+        }
+        lock.lock();
+        try {
+            slowest.clear();
+            floorNanos = -1;
+            this.testRunId = testRunId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Offers a completed round trip; called for every response, so the common path is lock-free. */
+    public void offer(String messageId, long latencyNanos, @Nullable HopTimestamps hops) {
+        if (testRunId == null || latencyNanos < thresholdNanos || latencyNanos <= floorNanos) {
+            return;
+        }
+        var trace = new SampledTrace(messageId, latencyNanos,
+                ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()), hops);
+        lock.lock();
+        try {
+            slowest.add(trace);
+            if (slowest.size() > capacity) {
+                slowest.poll();
+            }
+            if (slowest.size() == capacity) {
+                floorNanos = slowest.peek().latencyNanos();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops sampling and exports the traces the run kept, slowest first. An export failure is
+     * logged and never fails the run.
+     *
+     * @return number of traces exported
+     */
+    public int finish() {
+        String runId;
+        List<SampledTrace> traces;
+        lock.lock();
+        try {
+            runId = testRunId;
+            testRunId = null;
+            traces = new ArrayList<>(slowest);
+            slowest.clear();
+        } finally {
+            lock.unlock();
+        }
+        if (runId == null || traces.isEmpty()) {
+            return 0;
+        }
+        traces.sort(Comparator.comparingLong(SampledTrace::latencyNanos).reversed());
+        try {
+            exporter.export(OtlpTraces.toJson(runId, traces));
+            exportedTraces.increment(traces.size());
+            log.info("Exported {} slowest traces of testRunId={}, slowest {}ms", traces.size(), runId,
+                    TimeUnit.NANOSECONDS.toMillis(traces.getFirst().latencyNanos()));
+            return traces.size();
+        } catch (IOException e) {
+            exportFailures.increment();
+            log.warn("Could not export traces of testRunId={}: {}", runId, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exportFailures.increment();
+        }
+        return 0;
+    }
+}
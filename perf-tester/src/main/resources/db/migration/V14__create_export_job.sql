@@ -0,0 +1,25 @@
+ALTER TABLE test_run ADD COLUMN export_status VARCHAR(20);
+ALTER TABLE test_run ADD COLUMN export_error VARCHAR(1000);
+
+CREATE SEQUENCE export_job_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE export_job (
+    id                BIGINT        NOT NULL DEFAULT nextval('export_job_seq') PRIMARY KEY,
+    test_run_id       BIGINT        NOT NULL REFERENCES test_run(id) ON DELETE CASCADE,
+    status            VARCHAR(20)   NOT NULL,
+    test_id           VARCHAR(255),
+    window_start      TIMESTAMP WITH TIME ZONE NOT NULL,
+    window_end        TIMESTAMP WITH TIME ZONE NOT NULL,
+    export_grafana    BOOLEAN       NOT NULL DEFAULT FALSE,
+    export_prometheus BOOLEAN       NOT NULL DEFAULT FALSE,
+    export_kubernetes BOOLEAN       NOT NULL DEFAULT FALSE,
+    export_logs       BOOLEAN       NOT NULL DEFAULT FALSE,
+    export_database   BOOLEAN       NOT NULL DEFAULT FALSE,
+    attempts          INT           NOT NULL DEFAULT 0,
+    error             VARCHAR(1000),
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at        TIMESTAMP WITH TIME ZONE,
+    completed_at      TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_export_job_status ON export_job(status);
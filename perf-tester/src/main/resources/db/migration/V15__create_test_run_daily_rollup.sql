@@ -0,0 +1,20 @@
+CREATE SEQUENCE test_run_daily_rollup_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE test_run_daily_rollup (
+    id                   BIGINT           NOT NULL DEFAULT NEXTVAL('test_run_daily_rollup_seq') PRIMARY KEY,
+    test_type            VARCHAR(20)      NOT NULL DEFAULT '',
+    test_id              VARCHAR(255)     NOT NULL DEFAULT '',
+    rollup_day           DATE             NOT NULL,
+    run_count            BIGINT           NOT NULL,
+    min_tps              DOUBLE PRECISION,
+    avg_tps              DOUBLE PRECISION,
+    max_tps              DOUBLE PRECISION,
+    min_p99_latency_ms   DOUBLE PRECISION,
+    avg_p99_latency_ms   DOUBLE PRECISION,
+    max_p99_latency_ms   DOUBLE PRECISION,
+    updated_at           TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_test_run_daily_rollup UNIQUE (test_type, test_id, rollup_day)
+);
+
+CREATE INDEX idx_test_run_daily_rollup_day ON test_run_daily_rollup(rollup_day);
+CREATE INDEX idx_test_run_started_at ON test_run(started_at);
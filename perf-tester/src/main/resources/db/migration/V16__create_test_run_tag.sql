@@ -0,0 +1,10 @@
+CREATE SEQUENCE test_run_tag_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE test_run_tag (
+    id           BIGINT       NOT NULL DEFAULT NEXTVAL('test_run_tag_seq') PRIMARY KEY,
+    test_run_id  BIGINT       NOT NULL REFERENCES test_run(id) ON DELETE CASCADE,
+    tag          VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_test_run_tag UNIQUE (tag, test_run_id)
+);
+
+CREATE INDEX idx_test_run_tag_run ON test_run_tag(test_run_id);
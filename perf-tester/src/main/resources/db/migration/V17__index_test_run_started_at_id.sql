@@ -0,0 +1,2 @@
+DROP INDEX idx_test_run_started_at;
+CREATE INDEX idx_test_run_started_at_id ON test_run(started_at, id);
@@ -0,0 +1,11 @@
+CREATE SEQUENCE test_run_distribution_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE test_run_distribution (
+    id                 BIGINT NOT NULL DEFAULT NEXTVAL('test_run_distribution_seq') PRIMARY KEY,
+    test_run_id        BIGINT NOT NULL REFERENCES test_run(id) ON DELETE CASCADE,
+    latency_histogram  TEXT   NOT NULL,
+    throughput_series  TEXT   NOT NULL,
+    CONSTRAINT uk_test_run_distribution_run UNIQUE (test_run_id)
+);
+
+ALTER TABLE test_scenario ADD COLUMN baseline_run_id BIGINT REFERENCES test_run(id) ON DELETE SET NULL;
@@ -0,0 +1 @@
+ALTER TABLE test_run ADD COLUMN abort_reason VARCHAR(1000);
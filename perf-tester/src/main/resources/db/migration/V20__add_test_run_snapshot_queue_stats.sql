@@ -0,0 +1,8 @@
+ALTER TABLE test_run_snapshot ADD COLUMN outbound_enqueue_count INT;
+ALTER TABLE test_run_snapshot ADD COLUMN outbound_dequeue_count INT;
+ALTER TABLE test_run_snapshot ADD COLUMN outbound_oldest_message_age_seconds INT;
+ALTER TABLE test_run_snapshot ADD COLUMN outbound_open_input_count INT;
+ALTER TABLE test_run_snapshot ADD COLUMN inbound_enqueue_count INT;
+ALTER TABLE test_run_snapshot ADD COLUMN inbound_dequeue_count INT;
+ALTER TABLE test_run_snapshot ADD COLUMN inbound_oldest_message_age_seconds INT;
+ALTER TABLE test_run_snapshot ADD COLUMN inbound_open_input_count INT;
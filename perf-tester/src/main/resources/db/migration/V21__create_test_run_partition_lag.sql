@@ -0,0 +1,14 @@
+CREATE SEQUENCE test_run_partition_lag_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE test_run_partition_lag (
+    id                BIGINT       NOT NULL DEFAULT NEXTVAL('test_run_partition_lag_seq') PRIMARY KEY,
+    test_run_id       BIGINT       NOT NULL REFERENCES test_run(id) ON DELETE CASCADE,
+    consumer_group    VARCHAR(255) NOT NULL,
+    topic             VARCHAR(255) NOT NULL,
+    partition_id      INT          NOT NULL,
+    started_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    sample_offsets_ms TEXT         NOT NULL,
+    lags              TEXT         NOT NULL,
+    lag_ms            TEXT         NOT NULL,
+    CONSTRAINT uk_test_run_partition_lag UNIQUE (test_run_id, consumer_group, topic, partition_id)
+);
@@ -0,0 +1,2 @@
+-- Snapshot ids are handed out in blocks of 50, one sequence call per block
+ALTER SEQUENCE test_run_snapshot_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+ALTER TABLE health_check_config ADD COLUMN protocol VARCHAR(20) NOT NULL DEFAULT 'TCP';
+
+UPDATE health_check_config SET protocol = 'KAFKA' WHERE service = 'kafka';
+UPDATE health_check_config SET protocol = 'IBM_MQ' WHERE service = 'ibm-mq';
+
+INSERT INTO health_check_config (service, host, port, enabled, connection_timeout_ms, interval_ms, protocol) VALUES
+    ('ibm-mq-consumer', 'localhost', 8081, FALSE, 5000, 60000, 'HTTP'),
+    ('kafka-consumer',  'localhost', 8082, FALSE, 5000, 60000, 'HTTP');
@@ -0,0 +1,24 @@
+ALTER TABLE test_scenario ADD COLUMN schedule_cron VARCHAR(120);
+ALTER TABLE test_scenario ADD COLUMN missed_fire_policy VARCHAR(20) NOT NULL DEFAULT 'SKIP';
+
+UPDATE test_scenario
+SET schedule_cron = '0 ' || SUBSTRING(scheduled_time, 4, 2) || ' ' || SUBSTRING(scheduled_time, 1, 2) || ' * * *'
+WHERE scheduled_time IS NOT NULL AND scheduled_time <> '';
+
+ALTER TABLE test_scenario DROP COLUMN scheduled_time;
+
+CREATE SEQUENCE scheduled_run_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE scheduled_run (
+    id          BIGINT      NOT NULL DEFAULT NEXTVAL('scheduled_run_seq') PRIMARY KEY,
+    scenario_id BIGINT      NOT NULL REFERENCES test_scenario(id) ON DELETE CASCADE,
+    fire_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    status      VARCHAR(20) NOT NULL,
+    test_run_id BIGINT      REFERENCES test_run(id) ON DELETE SET NULL,
+    queued_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    started_at  TIMESTAMP WITH TIME ZONE,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_scheduled_run_fire UNIQUE (scenario_id, fire_time)
+);
+
+CREATE INDEX idx_scheduled_run_status ON scheduled_run(status);
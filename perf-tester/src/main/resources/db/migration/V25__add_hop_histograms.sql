@@ -0,0 +1 @@
+ALTER TABLE test_run_distribution ADD COLUMN hop_histograms TEXT;
@@ -0,0 +1,2 @@
+ALTER TABLE export_job ADD COLUMN export_jfr BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE run_test_preferences ADD COLUMN export_jfr BOOLEAN NOT NULL DEFAULT FALSE;
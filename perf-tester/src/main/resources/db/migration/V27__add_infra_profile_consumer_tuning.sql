@@ -0,0 +1 @@
+ALTER TABLE infra_profile ADD COLUMN consumer_tuning TEXT NOT NULL DEFAULT '{}';
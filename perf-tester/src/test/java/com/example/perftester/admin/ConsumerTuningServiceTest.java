@@ -0,0 +1,98 @@
+package com.example.perftester.admin;
+
+import com.example.perftester.config.TuningProperties;
+import com.example.perftester.kubernetes.KubernetesService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumerTuningServiceTest {
+
+    @Mock
+    private KubernetesService kubernetesService;
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(ConsumerTuningService.ENDPOINT_PATH, exchange -> {
+            requests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            var response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void tuneShouldCallEveryPodOfTheDeployment() throws Exception {
+        // The service host does not resolve, so the calls can only have gone to the pods
+        when(kubernetesService.podAddresses("kafka-consumer")).thenReturn(List.of("127.0.0.1", "127.0.0.1"));
+
+        service("http://kafka-consumer.invalid:" + server.getAddress().getPort())
+                .tune("kafka-consumer", Map.of("kafkaConcurrency", "auto"));
+
+        assertThat(requests).containsExactly("{\"kafkaConcurrency\":\"auto\"}", "{\"kafkaConcurrency\":\"auto\"}");
+    }
+
+    @Test
+    void tuneShouldCallTheServiceUrlOutsideKubernetes() throws Exception {
+        when(kubernetesService.podAddresses("kafka-consumer")).thenReturn(List.of());
+
+        service("http://127.0.0.1:" + server.getAddress().getPort())
+                .tune("kafka-consumer", Map.of("lingerMs", "5"));
+
+        assertThat(requests).containsExactly("{\"lingerMs\":\"5\"}");
+    }
+
+    @Test
+    void tuneShouldFailWhenAPodRejectsTheSettings() {
+        status = 400;
+        when(kubernetesService.podAddresses("kafka-consumer")).thenReturn(List.of("127.0.0.1"));
+        var service = service("http://kafka-consumer.invalid:" + server.getAddress().getPort());
+
+        assertThatThrownBy(() -> service.tune("kafka-consumer", Map.of("kafkaConcurrency", "many")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("kafka-consumer pod 127.0.0.1 returned HTTP 400");
+    }
+
+    @Test
+    void tuneShouldRejectAnUnknownService() {
+        var service = service("http://localhost:1");
+
+        assertThatThrownBy(() -> service.tune("ibm-mq-consumer", Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown service");
+        verifyNoInteractions(kubernetesService);
+    }
+
+    private ConsumerTuningService service(String baseUrl) {
+        return new ConsumerTuningService(new TuningProperties(Map.of("kafka-consumer", baseUrl)), kubernetesService);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.perf.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ComparisonStatisticsTest {
+
+    private static long[] uniform(int fromBucket, int toBucket, long countPerBucket) {
+        var counts = new long[LatencyHistogram.BUCKETS];
+        for (int i = fromBucket; i < toBucket; i++) {
+            counts[i] = countPerBucket;
+        }
+        return counts;
+    }
+
+    @Test
+    void totalShouldSumCounts() {
+        assertThat(ComparisonStatistics.total(new long[] {1, 0, 4})).isEqualTo(5);
+    }
+
+    @Test
+    void kolmogorovSmirnovShouldNotFlagIdenticalDistributions() {
+        var test = ComparisonStatistics.kolmogorovSmirnov(uniform(10, 20, 5), uniform(10, 20, 5));
+
+        assertThat(test.baselineSamples()).isEqualTo(50);
+        assertThat(test.candidateSamples()).isEqualTo(50);
+        assertThat(test.statistic()).isZero();
+        assertThat(test.pValue()).isEqualTo(1.0);
+        assertThat(test.significant()).isFalse();
+    }
+
+    @Test
+    void kolmogorovSmirnovShouldFlagDisjointDistributionsOfDifferentLengths() {
+        var test = ComparisonStatistics.kolmogorovSmirnov(new long[] {100, 100}, new long[] {0, 0, 200});
+
+        assertThat(test.statistic()).isEqualTo(1.0);
+        assertThat(test.pValue()).isLessThan(1e-10);
+        assertThat(test.significant()).isTrue();
+    }
+
+    @Test
+    void ksPValueShouldFollowTheAsymptoticDistribution() {
+        assertThat(ComparisonStatistics.ksPValue(0.1, 200, 200)).isCloseTo(0.2562, within(1e-4));
+        assertThat(ComparisonStatistics.ksPValue(0.01, 200, 200)).isEqualTo(1.0);
+    }
+
+    @Test
+    void quantileShouldBracketEstimateWithOrderStatistics() {
+        // 1000 samples, ten in each of buckets 10..109: ranks 469 and 531 bound the median
+        var median = ComparisonStatistics.quantile(uniform(10, 110, 10), 0.5);
+
+        assertThat(median.estimate()).isEqualTo(LatencyHistogram.bucketValueMs(59));
+        assertThat(median.low()).isEqualTo(LatencyHistogram.bucketValueMs(56));
+        assertThat(median.high()).isEqualTo(LatencyHistogram.bucketValueMs(63));
+    }
+
+    @Test
+    void quantileShouldCollapseWhenAllSamplesShareABucket() {
+        var p99 = ComparisonStatistics.quantile(uniform(40, 41, 500), 0.99);
+
+        assertThat(p99.low()).isEqualTo(p99.estimate()).isEqualTo(p99.high())
+                .isEqualTo(LatencyHistogram.bucketValueMs(40));
+    }
+
+    @Test
+    void valueAtRankShouldFallBackToLastBucketBeyondTotal() {
+        assertThat(ComparisonStatistics.valueAtRank(new long[] {1, 1, 0}, 5))
+                .isEqualTo(LatencyHistogram.bucketValueMs(2));
+    }
+
+    @Test
+    void meanShouldUseNormalInterval() {
+        var mean = ComparisonStatistics.mean(new double[] {1, 2, 3, 4, 5});
+
+        assertThat(mean.estimate()).isEqualTo(3.0);
+        assertThat(mean.low()).isCloseTo(3.0 - 1.3859, within(1e-4));
+        assertThat(mean.high()).isCloseTo(3.0 + 1.3859, within(1e-4));
+    }
+
+    @Test
+    void welchTShouldCompareMeansByTheirStandardError() {
+        // means 2 and 4, both variances 1, three samples each: 2 / sqrt(2/3)
+        assertThat(ComparisonStatistics.welchT(new double[] {1, 2, 3}, new double[] {3, 4, 5}))
+                .isCloseTo(2.4495, within(1e-4));
+        assertThat(ComparisonStatistics.welchT(new double[] {5, 5}, new double[] {5, 5})).isZero();
+        assertThat(ComparisonStatistics.welchT(new double[] {5, 5}, new double[] {3, 3}))
+                .isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+}
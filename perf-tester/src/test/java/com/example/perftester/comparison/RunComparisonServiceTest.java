@@ -0,0 +1,169 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.perf.LatencyHistogram;
+import com.example.perftester.perf.RunDistribution;
+import com.example.perftester.persistence.TestRunNotFoundException;
+import com.example.perftester.persistence.TestRunService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RunComparisonServiceTest {
+
+    private static final long[] STEADY = {40, 100, 100, 100, 100, 60};
+
+    @Mock
+    private TestRunService testRunService;
+
+    private RunComparisonService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RunComparisonService(testRunService, new ComparisonProperties(0));
+    }
+
+    /** 10,000 latencies spread evenly over 100 buckets starting at {@code fromBucket}. */
+    private static long[] latencies(int fromBucket) {
+        var counts = new long[LatencyHistogram.BUCKETS];
+        for (int i = fromBucket; i < fromBucket + 100; i++) {
+            counts[i] = 100;
+        }
+        return counts;
+    }
+
+    private void givenRun(long id, long[] latencies, long[] throughput) {
+        when(testRunService.findDistribution(id)).thenReturn(Optional.of(new RunDistribution(latencies, throughput)));
+    }
+
+    private static MetricComparison metric(RunComparison comparison, String name) {
+        return comparison.metrics().stream().filter(m -> name.equals(m.metric())).findFirst().orElseThrow();
+    }
+
+    @Test
+    void compareShouldClassifyIdenticalRunsAsNoise() {
+        givenRun(1L, latencies(300), STEADY);
+        givenRun(2L, latencies(300), STEADY);
+
+        var comparison = service.compare(2L, 1L);
+
+        assertThat(comparison.baselineRunId()).isEqualTo(1L);
+        assertThat(comparison.candidateRunId()).isEqualTo(2L);
+        assertThat(comparison.verdict()).isEqualTo(RunComparison.NOISE);
+        assertThat(comparison.latencyDistribution().significant()).isFalse();
+        assertThat(comparison.metrics()).extracting(MetricComparison::metric)
+                .containsExactly("P50", "P99", "P99_9", RunComparisonService.TPS);
+        assertThat(comparison.metrics()).allSatisfy(m -> {
+            assertThat(m.changePercent()).isZero();
+            assertThat(m.verdict()).isEqualTo(RunComparison.NOISE);
+        });
+    }
+
+    @Test
+    void compareShouldReportRegressionWhenLatencyDoubles() {
+        // 35 buckets of 2% growth is a factor of two
+        givenRun(1L, latencies(300), STEADY);
+        givenRun(2L, latencies(335), STEADY);
+
+        var comparison = service.compare(2L, 1L);
+
+        assertThat(comparison.verdict()).isEqualTo(RunComparison.REGRESSION);
+        assertThat(comparison.latencyDistribution().significant()).isTrue();
+        var p50 = metric(comparison, "P50");
+        assertThat(p50.verdict()).isEqualTo(RunComparison.REGRESSION);
+        assertThat(p50.changePercent()).isBetween(95.0, 105.0);
+        assertThat(p50.candidateLow()).isGreaterThan(p50.baselineHigh());
+    }
+
+    @Test
+    void compareShouldReportImprovementWhenFasterWithHigherThroughput() {
+        givenRun(1L, latencies(300), STEADY);
+        givenRun(2L, latencies(265), new long[] {70, 150, 150, 150, 150, 30});
+
+        var comparison = service.compare(2L, 1L);
+
+        assertThat(comparison.verdict()).isEqualTo(RunComparison.IMPROVEMENT);
+        assertThat(metric(comparison, "P99").verdict()).isEqualTo(RunComparison.IMPROVEMENT);
+        var tps = metric(comparison, RunComparisonService.TPS);
+        assertThat(tps.verdict()).isEqualTo(RunComparison.IMPROVEMENT);
+        assertThat(tps.changePercent()).isEqualTo(50.0);
+    }
+
+    @Test
+    void compareShouldReportRegressionWhenThroughputDrops() {
+        givenRun(1L, latencies(300), new long[] {10, 100, 101, 99, 100, 10});
+        givenRun(2L, latencies(300), new long[] {10, 50, 52, 48, 50, 10});
+
+        var comparison = service.compare(2L, 1L);
+
+        assertThat(comparison.verdict()).isEqualTo(RunComparison.REGRESSION);
+        assertThat(metric(comparison, RunComparisonService.TPS).verdict()).isEqualTo(RunComparison.REGRESSION);
+    }
+
+    @Test
+    void compareShouldTreatSmallChangesAsNoise() {
+        givenRun(1L, latencies(300), STEADY);
+        givenRun(2L, latencies(301), STEADY);
+
+        assertThat(service.compare(2L, 1L).verdict()).isEqualTo(RunComparison.NOISE);
+    }
+
+    @Test
+    void compareShouldApplyConfiguredMinimumChange() {
+        service = new RunComparisonService(testRunService, new ComparisonProperties(200));
+        givenRun(1L, latencies(300), STEADY);
+        givenRun(2L, latencies(335), STEADY);
+
+        assertThat(service.compare(2L, 1L).verdict()).isEqualTo(RunComparison.NOISE);
+    }
+
+    @Test
+    void compareShouldSkipThroughputForShortRuns() {
+        givenRun(1L, latencies(300), new long[] {100, 100});
+        givenRun(2L, latencies(300), STEADY);
+
+        assertThat(service.compare(2L, 1L).metrics()).extracting(MetricComparison::metric)
+                .doesNotContain(RunComparisonService.TPS);
+    }
+
+    @Test
+    void compareShouldHandleZeroBaselineThroughput() {
+        givenRun(1L, latencies(300), new long[] {0, 0, 0, 0, 0});
+        givenRun(2L, latencies(300), new long[] {0, 0, 0, 0, 0});
+
+        assertThat(metric(service.compare(2L, 1L), RunComparisonService.TPS).changePercent()).isZero();
+    }
+
+    @Test
+    void compareShouldRejectRunWithoutDistribution() {
+        when(testRunService.findDistribution(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.compare(2L, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Test run 1 has no recorded latency distribution");
+    }
+
+    @Test
+    void compareShouldRejectRunWithoutLatencies() {
+        givenRun(1L, new long[LatencyHistogram.BUCKETS], STEADY);
+
+        assertThatThrownBy(() -> service.compare(2L, 1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("recorded no latencies");
+    }
+
+    @Test
+    void compareShouldPropagateMissingRun() {
+        when(testRunService.findById(1L)).thenThrow(new TestRunNotFoundException(1L));
+
+        assertThatThrownBy(() -> service.compare(2L, 1L)).isInstanceOf(TestRunNotFoundException.class);
+    }
+}
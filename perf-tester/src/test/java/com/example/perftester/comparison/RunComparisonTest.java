@@ -0,0 +1,22 @@
+package com.example.perftester.comparison;
+
+import com.example.perftester.perf.ThresholdResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunComparisonTest {
+
+    @Test
+    void toThresholdResultsShouldFailOnlyRegressedMetrics() {
+        var comparison = new RunComparison(1L, 2L, RunComparison.REGRESSION, null, List.of(
+                new MetricComparison("P99", 10.0, 9.0, 11.0, 20.0, 19.0, 21.0, 100.0, RunComparison.REGRESSION),
+                new MetricComparison("TPS", 100.0, 98.0, 102.0, 101.0, 99.0, 103.0, 1.0, RunComparison.NOISE)));
+
+        assertThat(comparison.toThresholdResults()).containsExactly(
+                new ThresholdResult("BASELINE_P99", "LTE", 10.0, 20.0, false),
+                new ThresholdResult("BASELINE_TPS", "GTE", 100.0, 101.0, true));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.perftester.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CsvEncoderTest {
+
+    @Test
+    void writeShouldFormatColumnsByType() throws Exception {
+        var rs = resultSet(new String[] {"id", "ok", "amount", "ratio", "name"},
+                new int[] {Types.BIGINT, Types.BOOLEAN, Types.DECIMAL, Types.DOUBLE, Types.VARCHAR});
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getLong(1)).thenReturn(-42L, 0L);
+        when(rs.getBoolean(2)).thenReturn(true, false);
+        when(rs.getBigDecimal(3)).thenReturn(new BigDecimal("1E+3"), null);
+        when(rs.getString(4)).thenReturn("0.00001", null);
+        when(rs.getString(5)).thenReturn("plain", null);
+        when(rs.wasNull()).thenReturn(false, false, true, true);
+
+        var out = new ByteArrayOutputStream();
+        var rows = new CsvEncoder(out).write(rs);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,ok,amount,ratio,name\n-42,true,1000,0.00001,plain\n,,,,\n");
+        verify(rs, never()).getString(1);
+        verify(rs, never()).getDouble(4);
+    }
+
+    @Test
+    void writeShouldQuoteOnlyValuesThatNeedIt() throws Exception {
+        var rs = resultSet(new String[] {"a,b", "text"}, new int[] {Types.VARCHAR, Types.VARCHAR});
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getString(1)).thenReturn("say \"hi\"");
+        when(rs.getString(2)).thenReturn("zürich 😀\nline");
+
+        var out = new ByteArrayOutputStream();
+        new CsvEncoder(out).write(rs);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("\"a,b\",text\n\"say \"\"hi\"\"\",\"zürich 😀\nline\"\n");
+    }
+
+    @Test
+    void writeShouldStreamValuesLargerThanTheBuffer() throws Exception {
+        var rs = resultSet(new String[] {"big"}, new int[] {Types.CLOB});
+        var big = "x".repeat(100_000) + ",ü";
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getString(1)).thenReturn(big);
+
+        var out = new ByteArrayOutputStream();
+        new CsvEncoder(out).write(rs);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("big\n\"" + big + "\"\n");
+    }
+
+    private static ResultSet resultSet(String[] labels, int[] types) throws SQLException {
+        var rs = mock(ResultSet.class);
+        var meta = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(meta);
+        when(meta.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(meta.getColumnLabel(i + 1)).thenReturn(labels[i]);
+            when(meta.getColumnType(i + 1)).thenReturn(types[i]);
+        }
+        return rs;
+    }
+}
@@ -1,10 +1,11 @@
 package com.example.perftester.export;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -12,8 +13,14 @@ import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,9 +38,17 @@ class DatabaseExportServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
-    @InjectMocks
     private DatabaseExportService databaseExportService;
 
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        databaseExportService = new DatabaseExportService(repository, jdbcTemplate,
+                new DbExportProperties(2, 30, 3, false));
+    }
+
     private DbExportQuery queryWithId(Long id) {
         var query = new DbExportQuery();
         query.setId(id);
@@ -141,24 +156,68 @@ class DatabaseExportServiceTest {
     }
 
     @Test
-    void executeExportQueriesShouldReturnEmptyWhenNoQueries() {
+    void exportToShouldReturnZeroWhenNoQueries() throws Exception {
         when(repository.findAllByOrderByDisplayOrderAscNameAsc()).thenReturn(List.of());
 
-        var result = databaseExportService.executeExportQueries();
+        try (var archive = new ResultArchive(tempDir.resolve("empty.zip"))) {
+            assertThat(databaseExportService.exportTo(archive)).isZero();
+            assertThat(archive.entries()).isEmpty();
+        }
+    }
+
+    @Test
+    void exportToShouldStreamRowsIntoArchiveEntry() throws Exception {
+        var query = queryWithId(1L);
+        when(repository.findAllByOrderByDisplayOrderAscNameAsc()).thenReturn(List.of(query));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class),
+                ArgumentMatchers.<ResultSetExtractor<Long>>any())).thenReturn(3L);
 
-        assertThat(result).isEmpty();
+        try (var archive = new ResultArchive(tempDir.resolve("rows.zip"))) {
+            assertThat(databaseExportService.exportTo(archive)).isEqualTo(1);
+            assertThat(archive.entries()).containsEntry("db/query-1.csv", "3 rows, capped at 3");
+        }
     }
 
     @Test
-    void executeExportQueriesShouldSkipFailingQuery() {
+    void exportToShouldAnnotateFailingQuery() throws Exception {
         var query = queryWithId(1L);
         when(repository.findAllByOrderByDisplayOrderAscNameAsc()).thenReturn(List.of(query));
         doThrow(new RuntimeException("DB error"))
                 .when(jdbcTemplate)
-                .query(any(PreparedStatementCreator.class), ArgumentMatchers.<ResultSetExtractor<Void>>any());
+                .query(any(PreparedStatementCreator.class), ArgumentMatchers.<ResultSetExtractor<Long>>any());
 
-        var result = databaseExportService.executeExportQueries();
+        try (var archive = new ResultArchive(tempDir.resolve("failed.zip"))) {
+            assertThat(databaseExportService.exportTo(archive)).isZero();
+            assertThat(archive.entries()).containsEntry("db/query-1.csv", "failed: DB error");
+        }
+    }
 
-        assertThat(result).isEmpty();
+    @Test
+    void exportToShouldRunQueriesConcurrentlyAndGzipEntries() throws Exception {
+        databaseExportService = new DatabaseExportService(repository, jdbcTemplate,
+                new DbExportProperties(2, 0, 0, true));
+        when(repository.findAllByOrderByDisplayOrderAscNameAsc())
+                .thenReturn(List.of(queryWithId(1L), queryWithId(2L)));
+        var bothRunning = new CountDownLatch(2);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class),
+                ArgumentMatchers.<ResultSetExtractor<Long>>any())).thenAnswer(invocation -> {
+                    bothRunning.countDown();
+                    return bothRunning.await(5, TimeUnit.SECONDS) ? 5L : 0L;
+                });
+
+        var zip = tempDir.resolve("gzip.zip");
+        try (var archive = new ResultArchive(zip)) {
+            assertThat(databaseExportService.exportTo(archive)).isEqualTo(2);
+            assertThat(archive.entries())
+                    .containsEntry("db/query-1.csv.gz", "5 rows")
+                    .containsEntry("db/query-2.csv.gz", "5 rows");
+        }
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            var entry = zipFile.getEntry("db/query-1.csv.gz");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+            try (var gzip = new GZIPInputStream(zipFile.getInputStream(entry))) {
+                assertThat(gzip.readAllBytes()).isEmpty();
+            }
+        }
     }
 }
@@ -0,0 +1,333 @@
+package com.example.perftester.export;
+
+import com.example.perftester.config.PerfProperties;
+import com.example.perftester.export.TestResultPackager.PackageResult;
+import com.example.perftester.grafana.GrafanaExportService;
+import com.example.perftester.grafana.GrafanaExportService.DashboardExportResult;
+import com.example.perftester.kubernetes.KubernetesService;
+import com.example.perftester.loki.LokiLogReader;
+import com.example.perftester.loki.LokiService;
+import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.profiling.JfrCaptureService;
+import com.example.perftester.prometheus.PrometheusExportService;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExportJobServiceTest {
+
+    private static final long START_MS = 1_700_000_000_000L;
+    private static final long END_MS = 1_700_000_060_000L;
+
+    @Mock
+    private ExportJobRepository exportJobRepository;
+
+    @Mock
+    private TestRunService testRunService;
+
+    @Mock
+    private KubernetesService kubernetesService;
+
+    @Mock
+    private DatabaseExportService databaseExportService;
+
+    @Mock
+    private GrafanaExportService grafanaExportService;
+
+    @Mock
+    private PrometheusExportService prometheusExportService;
+
+    @Mock
+    private LokiService lokiService;
+
+    @Mock
+    private JfrCaptureService jfrCaptureService;
+
+    @Mock
+    private TestResultPackager testResultPackager;
+
+    @Mock
+    private ExecutorService exportExecutor;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ResultArchive archive;
+
+    private ExportJobService service;
+    private Path zip;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ExportJobService(exportJobRepository, testRunService, kubernetesService,
+                databaseExportService, grafanaExportService, prometheusExportService, lokiService,
+                jfrCaptureService, testResultPackager, new PerfProperties(100, 60000, 60000, 30000, 60, 15), exportExecutor);
+
+        var run = new TestRun();
+        run.setId(1L);
+        run.setCompletedCount(10);
+        run.setTps(10.0);
+        run.setAvgLatencyMs(5.0);
+        run.setDurationMs(1000L);
+        when(testRunService.findById(1L)).thenReturn(run);
+        when(exportJobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        zip = tempDir.resolve("test.zip");
+        Files.writeString(zip, "content");
+        when(testResultPackager.createArchive(any())).thenReturn(archive);
+        when(testResultPackager.complete(eq(archive), any(), any(), anyLong(), anyLong(), anyList()))
+                .thenReturn(new PackageResult("test.zip", zip.toString()));
+        when(archive.addStream(any(), any())).thenAnswer(inv -> {
+            ResultArchive.EntryWriter<?> writer = inv.getArgument(1);
+            return writer.write(new ByteArrayOutputStream());
+        });
+    }
+
+    @Test
+    void submitShouldPersistPendingJobAndQueueIt() {
+        when(exportJobRepository.save(any())).thenAnswer(inv -> {
+            ExportJob job = inv.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        var job = service.submit(new ExportJobRequest(1L, "tid", START_MS, END_MS,
+                true, false, false, true, false, true));
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobService.PENDING);
+        assertThat(job.getWindowStart()).isEqualTo(Instant.ofEpochMilli(START_MS));
+        assertThat(job.getWindowEnd()).isEqualTo(Instant.ofEpochMilli(END_MS));
+        assertThat(job.isExportGrafana()).isTrue();
+        assertThat(job.isExportLogs()).isTrue();
+        assertThat(job.isExportJfr()).isTrue();
+        verify(testRunService).updateExportStatus(1L, ExportJobService.PENDING, null, null);
+        verify(exportExecutor).execute(any());
+    }
+
+    @Test
+    void resumeUnfinishedJobsShouldRequeuePendingAndRunningJobs() {
+        when(exportJobRepository.findByStatusInOrderByIdAsc(List.of(ExportJobService.PENDING,
+                ExportJobService.RUNNING))).thenReturn(List.of(job(false, false, false, false, false),
+                job(false, false, false, false, false)));
+
+        service.resumeUnfinishedJobs();
+
+        verify(exportExecutor, times(2)).execute(any());
+    }
+
+    @Test
+    void runShouldPackageAndRecordZipPath() throws IOException {
+        givenJob(job(false, false, false, false, false));
+
+        service.run(1L);
+
+        verify(testRunService).updateExportStatus(1L, ExportJobService.RUNNING, null, null);
+        verify(testRunService).updateExportStatus(1L, ExportJobService.COMPLETED, zip.toString(), null);
+        verify(testResultPackager).complete(eq(archive), any(), eq("test-id"), eq(START_MS), eq(END_MS), eq(List.of()));
+        verify(prometheusExportService, never()).writeMetrics(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void runShouldAwaitScrapeCoverageBeforeGrafanaExport() throws Exception {
+        givenJob(job(true, false, false, false, false));
+        when(grafanaExportService.exportDashboards(anyLong(), anyLong()))
+                .thenReturn(new DashboardExportResult(List.of(), List.of()));
+
+        service.run(1L);
+
+        verify(prometheusExportService).awaitScrapeCoverage(END_MS, 100);
+        verify(grafanaExportService).exportDashboards(START_MS, END_MS);
+    }
+
+    @Test
+    void runShouldAddDashboardsToArchiveAndDeleteFiles() throws IOException {
+        var dashFile = tempDir.resolve("dashboard.png");
+        Files.writeString(dashFile, "image");
+        when(grafanaExportService.exportDashboards(anyLong(), anyLong())).thenReturn(
+                new DashboardExportResult(List.of("http://grafana/d/1"), List.of(dashFile.toString())));
+        givenJob(job(true, false, false, false, false));
+
+        service.run(1L);
+
+        verify(testResultPackager).addDashboards(archive, List.of(dashFile.toString()));
+        verify(testResultPackager).complete(eq(archive),
+                argThat(result -> result.dashboardUrls().equals(List.of("http://grafana/d/1"))),
+                any(), anyLong(), anyLong(), anyList());
+        assertThat(dashFile).doesNotExist();
+    }
+
+    @Test
+    void runShouldStreamPrometheusMetricsIntoArchive() throws IOException {
+        when(prometheusExportService.writeMetrics(anyLong(), anyLong(), any(), any())).thenReturn(4);
+        givenJob(job(false, true, false, false, false));
+
+        service.run(1L);
+
+        verify(prometheusExportService).writeMetrics(eq(START_MS), eq(END_MS), eq("test-id"), any());
+        verify(archive).addStream(eq("metrics/prometheus_export.json"), any());
+        verify(archive).annotate("metrics/prometheus_export.json", "4 metrics");
+        verify(testRunService).updateExportStatus(1L, ExportJobService.COMPLETED, zip.toString(), null);
+    }
+
+    @Test
+    void runShouldPassLogReaderToPackager() throws IOException {
+        var logReader = mock(LokiLogReader.class);
+        when(lokiService.openReader(Instant.ofEpochMilli(START_MS), Instant.ofEpochMilli(END_MS)))
+                .thenReturn(logReader);
+        givenJob(job(false, false, false, true, false));
+
+        service.run(1L);
+
+        verify(testResultPackager).addLogs(archive, logReader);
+    }
+
+    @Test
+    void runShouldStreamDatabaseQueriesIntoArchive() {
+        givenJob(job(false, false, false, false, true));
+
+        service.run(1L);
+
+        verify(databaseExportService).exportTo(archive);
+    }
+
+    @Test
+    void runShouldPackageJfrRecordingsAndSummariseThem() throws IOException {
+        var recording = tempDir.resolve("kafka-consumer.jfr");
+        try (var jfr = new Recording()) {
+            jfr.start();
+            jfr.stop();
+            jfr.dump(recording);
+        }
+        when(jfrCaptureService.recordings(1L)).thenReturn(List.of(recording));
+        var job = job(false, false, false, false, false);
+        job.setExportJfr(true);
+        givenJob(job);
+
+        service.run(1L);
+
+        verify(archive).addFile("jfr/kafka-consumer.jfr", recording);
+        verify(testResultPackager).complete(eq(archive), any(), any(), anyLong(), anyLong(),
+                argThat(profiles -> profiles.size() == 1 && profiles.getFirst().service().equals("kafka-consumer")));
+        verify(jfrCaptureService).discard(1L);
+    }
+
+    @Test
+    void runShouldCleanupKubernetesExportDirectory() throws IOException {
+        var kubeDir = tempDir.resolve("kubernetes-export");
+        Files.createDirectories(kubeDir);
+        var kubeFile = kubeDir.resolve("nodes.json");
+        Files.writeString(kubeFile, "{}");
+        when(kubernetesService.exportClusterInfo()).thenReturn(kubeDir.toString());
+        givenJob(job(false, false, true, false, false));
+
+        service.run(1L);
+
+        verify(testResultPackager).addKubernetesExport(archive, kubeDir.toString());
+        assertThat(kubeFile).doesNotExist();
+        assertThat(kubeDir).doesNotExist();
+    }
+
+    @Test
+    void runShouldDiscardArchiveWhenProducerFails() throws IOException {
+        when(prometheusExportService.writeMetrics(anyLong(), anyLong(), any(), any()))
+                .thenThrow(new IOException("Prometheus down"));
+        var job = job(false, true, false, false, false);
+        givenJob(job);
+
+        service.run(1L);
+
+        verify(archive).discard();
+        verify(testResultPackager, never()).complete(any(), any(), any(), anyLong(), anyLong(), anyList());
+        assertThat(job.getStatus()).isEqualTo(ExportJobService.FAILED);
+        assertThat(job.getError()).isEqualTo("Prometheus down");
+    }
+
+    @Test
+    void runShouldRecordFailureWhenPackagingFails() {
+        when(testResultPackager.complete(any(), any(), any(), anyLong(), anyLong(), anyList()))
+                .thenThrow(new IllegalStateException("disk full"));
+        var job = job(false, false, false, false, false);
+        givenJob(job);
+
+        service.run(1L);
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobService.FAILED);
+        assertThat(job.getError()).isEqualTo("disk full");
+        assertThat(job.getAttempts()).isEqualTo(1);
+        verify(testRunService).updateExportStatus(1L, ExportJobService.FAILED, null, "disk full");
+    }
+
+    @Test
+    void runShouldSkipMissingJob() {
+        when(exportJobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        service.run(1L);
+
+        verify(testRunService, never()).findById(any());
+    }
+
+    @Test
+    void runShouldPersistRunningStateBeforeExporting() {
+        var job = job(false, false, false, false, false);
+        givenJob(job);
+
+        service.run(1L);
+
+        verify(exportJobRepository, times(2)).save(job);
+        assertThat(job.getStartedAt()).isNotNull();
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(job.getStatus()).isEqualTo(ExportJobService.COMPLETED);
+    }
+
+    private void givenJob(ExportJob job) {
+        when(exportJobRepository.findById(1L)).thenReturn(Optional.of(job));
+    }
+
+    private static ExportJob job(boolean grafana, boolean prometheus, boolean kubernetes,
+                                 boolean logs, boolean database) {
+        var job = new ExportJob();
+        job.setId(1L);
+        job.setTestRunId(1L);
+        job.setTestId("test-id");
+        job.setStatus(ExportJobService.PENDING);
+        job.setWindowStart(Instant.ofEpochMilli(START_MS));
+        job.setWindowEnd(Instant.ofEpochMilli(END_MS));
+        job.setExportGrafana(grafana);
+        job.setExportPrometheus(prometheus);
+        job.setExportKubernetes(kubernetes);
+        job.setExportLogs(logs);
+        job.setExportDatabase(database);
+        return job;
+    }
+}
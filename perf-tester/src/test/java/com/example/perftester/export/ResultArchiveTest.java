@@ -0,0 +1,167 @@
+package com.example.perftester.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void addStreamShouldDeflateContent() throws IOException {
+        var zip = tempDir.resolve("deflated.zip");
+        var content = new StringBuilder();
+        var random = new Random(1);
+        while (content.length() < 1_000_000) {
+            content.append("line value=").append(random.nextInt(1000)).append('\n');
+        }
+        var bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+
+        try (var archive = new ResultArchive(zip)) {
+            archive.addStream("metrics/big.json", os -> {
+                for (int i = 0; i < bytes.length; i += 7777) {
+                    os.write(bytes, i, Math.min(7777, bytes.length - i));
+                }
+                return null;
+            });
+        }
+
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            var entry = zipFile.getEntry("metrics/big.json");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(entry.getCompressedSize()).isLessThan(bytes.length);
+            assertThat(zipFile.getInputStream(entry).readAllBytes()).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void addFileShouldStoreAlreadyCompressedImages() throws IOException {
+        var zip = tempDir.resolve("images.zip");
+        var image = tempDir.resolve("dashboard.png");
+        var bytes = new byte[50_000];
+        new Random(2).nextBytes(bytes);
+        Files.write(image, bytes);
+
+        try (var archive = new ResultArchive(zip)) {
+            archive.addFile("dashboards/dashboard.png", image);
+            archive.addFile("dashboards/missing.png", tempDir.resolve("missing.png"));
+        }
+
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            var entry = zipFile.getEntry("dashboards/dashboard.png");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(zipFile.getInputStream(entry).readAllBytes()).isEqualTo(bytes);
+            assertThat(zipFile.getEntry("dashboards/missing.png")).isNull();
+        }
+    }
+
+    @Test
+    void archiveShouldBeReadableAsStream() throws IOException {
+        var zip = tempDir.resolve("stream.zip");
+        var exact = new byte[64 * 1024];
+        Arrays.fill(exact, (byte) 'a');
+
+        try (var archive = new ResultArchive(zip)) {
+            archive.addText("summary.txt", "héllo");
+            archive.addText("empty.txt", "");
+            archive.addStream("exact.bin", os -> {
+                os.write(exact);
+                return null;
+            });
+        }
+
+        try (var zis = new ZipInputStream(Files.newInputStream(zip))) {
+            assertThat(zis.getNextEntry().getName()).isEqualTo("summary.txt");
+            assertThat(new String(zis.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("héllo");
+            assertThat(zis.getNextEntry().getName()).isEqualTo("empty.txt");
+            assertThat(zis.readAllBytes()).isEmpty();
+            assertThat(zis.getNextEntry().getName()).isEqualTo("exact.bin");
+            assertThat(zis.readAllBytes()).isEqualTo(exact);
+            assertThat(zis.getNextEntry()).isNull();
+        }
+    }
+
+    @Test
+    void addStreamShouldKeepPartialEntryWhenWriterFails() throws IOException {
+        var zip = tempDir.resolve("partial.zip");
+
+        try (var archive = new ResultArchive(zip)) {
+            assertThatThrownBy(() -> archive.addStream("logs/app.log", os -> {
+                os.write("partial".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("Loki down");
+            })).isInstanceOf(IOException.class).hasMessage("Loki down");
+            archive.addText("summary.txt", "after");
+            archive.annotate("logs/app.log", "incomplete");
+            assertThat(archive.entries()).containsEntry("logs/app.log", "incomplete")
+                    .containsKey("summary.txt");
+        }
+
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.getInputStream(zipFile.getEntry("logs/app.log")).readAllBytes())
+                    .isEqualTo("partial".getBytes(StandardCharsets.UTF_8));
+            assertThat(zipFile.getInputStream(zipFile.getEntry("summary.txt")).readAllBytes())
+                    .isEqualTo("after".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void addStreamConcurrentlyShouldAppendEntriesFromParallelWriters() throws Exception {
+        var zip = tempDir.resolve("concurrent.zip");
+        var content = "row,1234567890\n".repeat(100_000).getBytes(StandardCharsets.UTF_8);
+
+        try (var archive = new ResultArchive(zip);
+             var writers = Executors.newFixedThreadPool(3)) {
+            for (int i = 0; i < 3; i++) {
+                var entryName = "db/query-" + i + (i == 0 ? ".csv.gz" : ".csv");
+                writers.submit(() -> archive.addStreamConcurrently(entryName, os -> {
+                    os.write(content);
+                    return null;
+                }));
+            }
+        }
+
+        try (var zipFile = new ZipFile(zip.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(3);
+            assertThat(zipFile.getEntry("db/query-0.csv.gz").getMethod()).isEqualTo(ZipEntry.STORED);
+            for (int i = 1; i < 3; i++) {
+                var entry = zipFile.getEntry("db/query-" + i + ".csv");
+                assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+                assertThat(zipFile.getInputStream(entry).readAllBytes()).isEqualTo(content);
+            }
+        }
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("concurrent.zip");
+        }
+    }
+
+    @Test
+    void discardShouldDeleteArchive() throws IOException {
+        var zip = tempDir.resolve("discarded.zip");
+        var archive = new ResultArchive(zip);
+        archive.addText("summary.txt", "content");
+
+        archive.discard();
+
+        assertThat(zip).doesNotExist();
+    }
+
+    @Test
+    void safeNameShouldReplaceUnsafeCharacters() {
+        assertThat(ResultArchive.safeName("p99 latency/by host")).isEqualTo("p99_latency_by_host");
+    }
+}
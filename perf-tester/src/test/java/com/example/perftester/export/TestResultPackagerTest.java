@@ -1,22 +1,34 @@
 package com.example.perftester.export;
 
 import com.example.perftester.config.ExportProperties;
+import com.example.perftester.loki.LogEntry;
+import com.example.perftester.loki.LokiLogReader;
 import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.profiling.JfrSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class TestResultPackagerTest {
 
@@ -31,18 +43,10 @@ class TestResultPackagerTest {
     }
 
     @Test
-    void packageResultsShouldCreateZipFile() throws IOException {
+    void completeShouldCreateZipFile() throws IOException {
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                "test-id",
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult = complete(packager.createArchive("test-id"), result, "test-id");
 
         assertNotNull(packageResult.savedPath());
         assertTrue(Files.exists(Path.of(packageResult.savedPath())));
@@ -52,141 +56,112 @@ class TestResultPackagerTest {
     }
 
     @Test
-    void packageResultsShouldContainSummaryFile() throws IOException {
+    void completeShouldContainSummaryFile() throws IOException {
         PerfTestResult result = new PerfTestResult(100, 5, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                null,
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult = complete(packager.createArchive(null), result, null);
 
         assertTrue(zipContainsEntry(packageResult.savedPath(), "summary.txt"));
     }
 
     @Test
-    void packageResultsShouldIncludeDashboardFiles() throws IOException {
-        // Create a temp dashboard file
+    void addDashboardsShouldIncludeDashboardFiles() throws IOException {
         Path dashboardFile = tempDir.resolve("dashboard.png");
         Files.write(dashboardFile, "fake image data".getBytes());
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
-                .withDashboardExports(List.of("http://grafana/d/1"), List.of(dashboardFile.toString()));
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(dashboardFile.toString()),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addDashboards(archive, List.of(dashboardFile.toString()));
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
         assertTrue(zipContainsEntry(packageResult.savedPath(), "dashboards/dashboard.png"));
+        String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
+        assertTrue(summaryContent.contains("dashboards/dashboard.png"));
     }
 
     @Test
-    void packageResultsShouldIncludeKubernetesFile() throws IOException {
-        Path kubernetesFile = tempDir.resolve("kubernetes-nodes.json");
-        Files.write(kubernetesFile, "{\"kind\":\"NodeList\"}".getBytes());
+    void addDashboardsShouldHandleMultipleFiles() throws IOException {
+        Path file1 = tempDir.resolve("dashboard1.png");
+        Path file2 = tempDir.resolve("dashboard2.png");
+        Files.write(file1, "data1".getBytes());
+        Files.write(file2, "data2".getBytes());
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
-                .withKubernetesExport(kubernetesFile.toString());
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addDashboards(archive, List.of(file1.toString(), file2.toString()));
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
-        assertTrue(zipContainsEntry(packageResult.savedPath(), "kubernetes/kubernetes-nodes.json"));
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "dashboards/dashboard1.png"));
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "dashboards/dashboard2.png"));
     }
 
     @Test
-    void packageResultsShouldIncludePrometheusFile() throws IOException {
-        // Create a temp prometheus file
-        Path prometheusFile = tempDir.resolve("prometheus.json");
-        Files.write(prometheusFile, "{\"metrics\": []}".getBytes());
+    void addDashboardsShouldSkipNullAndMissingFiles() throws IOException {
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
+        // Use ArrayList which allows null elements (unlike List.of())
+        List<String> files = new ArrayList<>();
+        files.add(null);
+        files.add("/nonexistent/file.png");
 
-        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
-                .withPrometheusExport(prometheusFile.toString());
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                prometheusFile.toString(),
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addDashboards(archive, files);
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
-        assertTrue(zipContainsEntry(packageResult.savedPath(), "metrics/prometheus.json"));
+        assertTrue(Files.exists(Path.of(packageResult.savedPath())));
+        assertFalse(zipContainsEntry(packageResult.savedPath(), "dashboards/file.png"));
     }
 
     @Test
-    void packageResultsShouldHandleNullDashboardFiles() throws IOException {
+    void addKubernetesExportShouldIncludeFile() throws IOException {
+        Path kubernetesFile = tempDir.resolve("kubernetes-nodes.json");
+        Files.write(kubernetesFile, "{\"kind\":\"NodeList\"}".getBytes());
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        // Use ArrayList which allows null elements (unlike List.of())
-        List<String> filesWithNull = new ArrayList<>();
-        filesWithNull.add(null);
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                filesWithNull,
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addKubernetesExport(archive, kubernetesFile.toString());
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
-        assertNotNull(packageResult.savedPath());
-        assertTrue(Files.exists(Path.of(packageResult.savedPath())));
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "kubernetes/kubernetes-nodes.json"));
     }
 
     @Test
-    void packageResultsShouldHandleMissingFiles() throws IOException {
+    void addKubernetesExportShouldIncludeEveryFileOfDirectory() throws IOException {
+        Path kubernetesDir = Files.createDirectories(tempDir.resolve("kubernetes-export"));
+        Files.write(kubernetesDir.resolve("pods.json"), "{}".getBytes());
+        Files.write(kubernetesDir.resolve("events.json"), "{}".getBytes());
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of("/nonexistent/file.png"),
-                "/nonexistent/prometheus.json",
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
-
-        // Should not throw, just skip missing files
-        assertNotNull(packageResult.savedPath());
-        assertTrue(Files.exists(Path.of(packageResult.savedPath())));
+        var archive = packager.createArchive("test");
+        packager.addKubernetesExport(archive, kubernetesDir.toString());
+        packager.addKubernetesExport(archive, null);
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
+
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "kubernetes/pods.json"));
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "kubernetes/events.json"));
+    }
+
+    @Test
+    void completeShouldListStreamedEntriesInSummary() throws IOException {
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
+
+        var archive = packager.createArchive("test");
+        archive.addStream("metrics/prometheus.json", os -> {
+            os.write("{\"metrics\": []}".getBytes());
+            return 0;
+        });
+        archive.annotate("metrics/prometheus.json", "0 metrics");
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
+
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "metrics/prometheus.json"));
+        String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
+        assertTrue(summaryContent.contains("metrics/prometheus.json (0 metrics)"));
     }
 
     @Test
-    void packageResultsShouldGenerateTimestampedFilename() throws IOException {
+    void createArchiveShouldGenerateTimestampedFilename() {
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                null, // No test ID
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult = complete(packager.createArchive(null), result, null);
 
         assertTrue(packageResult.filename().startsWith("perf_test_"));
     }
@@ -203,130 +178,142 @@ class TestResultPackagerTest {
     }
 
     @Test
-    void packageResultsShouldIncludeDashboardUrlsInSummary() throws IOException {
+    void completeShouldIncludeDashboardUrlsInSummary() throws IOException {
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
                 .withDashboardExports(List.of("http://grafana/d/1", "http://grafana/d/2"), List.of());
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult = complete(packager.createArchive("test"), result, "test");
 
-        assertTrue(zipContainsEntry(packageResult.savedPath(), "summary.txt"));
         String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
         assertTrue(summaryContent.contains("http://grafana/d/1"));
         assertTrue(summaryContent.contains("http://grafana/d/2"));
     }
 
     @Test
-    void packageResultsShouldIncludeDashboardFilesInSummary() throws IOException {
-        Path dashboardFile = tempDir.resolve("dashboard.png");
-        Files.write(dashboardFile, "fake image data".getBytes());
+    void completeShouldIncludeTestIdInSummary() throws IOException {
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
-                .withDashboardExports(List.of(), List.of(dashboardFile.toString()));
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(dashboardFile.toString()),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult =
+                complete(packager.createArchive("my-test-id"), result, "my-test-id");
 
         String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
-        assertTrue(summaryContent.contains("dashboard.png"));
+        assertTrue(summaryContent.contains("my-test-id"));
     }
 
     @Test
-    void packageResultsShouldIncludePrometheusFileInSummary() throws IOException {
-        Path prometheusFile = tempDir.resolve("prometheus.json");
-        Files.write(prometheusFile, "{\"metrics\": []}".getBytes());
+    void completeShouldAddProfilingSectionToSummary() throws IOException {
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
+        var profile = new JfrSummary("kafka-consumer",
+                List.of(new JfrSummary.Site("com.example.Listener.onMessage:42", 120)), List.of(),
+                3, Duration.ofMillis(12), Duration.ofMillis(7), 0, Duration.ZERO, List.of());
 
-        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
-                .withPrometheusExport(prometheusFile.toString());
-
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                prometheusFile.toString(),
-                List.of(),
-                "test",
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        TestResultPackager.PackageResult packageResult = packager.complete(packager.createArchive("jfr-test"),
+                result, "jfr-test", System.currentTimeMillis() - 10000, System.currentTimeMillis(),
+                List.of(profile));
 
         String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
-        assertTrue(summaryContent.contains("prometheus.json"));
+        assertTrue(summaryContent.contains("PROFILING (JFR)"));
+        assertTrue(summaryContent.contains("com.example.Listener.onMessage:42"));
+        assertTrue(summaryContent.contains("GC: 3 collections"));
+    }
+
+    @Test
+    void createArchiveShouldThrowWhenDirectoryCreationFails() throws Exception {
+        // Create a file where the directory should be created
+        Path blockingFile = tempDir.resolve("blocking-file");
+        Files.write(blockingFile, "blocking content".getBytes());
+
+        // Try to create subdirectory inside a file (should fail)
+        TestResultPackager invalidPathPackager = new TestResultPackager(
+                new ExportProperties(blockingFile.resolve("subdir").toString()));
+
+        assertThrows(RuntimeException.class, () -> invalidPathPackager.createArchive("test"));
     }
 
     @Test
-    void packageResultsShouldIncludeTestIdInSummary() throws IOException {
+    @SuppressWarnings("unchecked")
+    void addLogsShouldStreamMergedLogsFromReader() throws IOException {
+        var reader = mock(LokiLogReader.class);
+        doAnswer(invocation -> {
+            Consumer<LogEntry> sink = invocation.getArgument(0);
+            sink.accept(new LogEntry("2024-01-01T00:00:00Z", "INFO", "first line"));
+            sink.accept(new LogEntry("2024-01-01T00:00:01Z", "WARN", "second line"));
+            return 2L;
+        }).when(reader).forEach(any(Consumer.class));
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                "my-test-id",
-                System.currentTimeMillis() - 10000,
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addLogs(archive, reader);
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
+        String logContent = getZipEntryContent(packageResult.savedPath(), "logs/application.log");
+        assertTrue(logContent.contains("INFO  first line"));
+        assertTrue(logContent.contains("WARN  second line"));
         String summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
-        assertTrue(summaryContent.contains("my-test-id"));
+        assertTrue(summaryContent.contains("logs/application.log (2 entries)"));
     }
 
     @Test
-    void packageResultsShouldHandleMultipleDashboardFiles() throws IOException {
-        Path file1 = tempDir.resolve("dashboard1.png");
-        Path file2 = tempDir.resolve("dashboard2.png");
-        Files.write(file1, "data1".getBytes());
-        Files.write(file2, "data2".getBytes());
-
+    @SuppressWarnings("unchecked")
+    void addLogsShouldWriteGzippedLogPerService() throws IOException {
+        var reader = mock(LokiLogReader.class);
+        when(reader.splitByService()).thenReturn(true);
+        when(reader.gzip()).thenReturn(true);
+        when(reader.serviceNames()).thenReturn(List.of("perf-tester", "kafka-consumer"));
+        doAnswer(invocation -> {
+            Consumer<LogEntry> sink = invocation.getArgument(1);
+            sink.accept(new LogEntry("2024-01-01T00:00:00Z", "INFO", "from " + invocation.getArgument(0)));
+            return 1L;
+        }).when(reader).forEach(any(String.class), any(Consumer.class));
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        TestResultPackager.PackageResult packageResult = packager.packageResults(
-                result,
-                List.of(file1.toString(), file2.toString()),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        );
+        var archive = packager.createArchive("test");
+        packager.addLogs(archive, reader);
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
 
-        assertTrue(zipContainsEntry(packageResult.savedPath(), "dashboards/dashboard1.png"));
-        assertTrue(zipContainsEntry(packageResult.savedPath(), "dashboards/dashboard2.png"));
+        assertTrue(gunzip(getZipEntryBytes(packageResult.savedPath(), "logs/perf-tester.log.gz"))
+                .contains("from perf-tester"));
+        assertTrue(gunzip(getZipEntryBytes(packageResult.savedPath(), "logs/kafka-consumer.log.gz"))
+                .contains("from kafka-consumer"));
     }
 
     @Test
-    void packageResultsShouldThrowWhenDirectoryCreationFails() throws Exception {
-        // Create a file where the directory should be created
-        Path blockingFile = tempDir.resolve("blocking-file");
-        Files.write(blockingFile, "blocking content".getBytes());
-
-        // Try to create subdirectory inside a file (should fail)
-        TestResultPackager invalidPathPackager = new TestResultPackager(new ExportProperties(blockingFile.resolve("subdir").toString()));
+    @SuppressWarnings("unchecked")
+    void addLogsShouldMarkTheEntryFailedWhenLogStreamingFails() throws IOException {
+        var reader = mock(LokiLogReader.class);
+        when(reader.forEach(any(Consumer.class))).thenThrow(new IllegalStateException("Loki down"));
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0);
 
-        assertThrows(RuntimeException.class, () -> invalidPathPackager.packageResults(
-                result,
-                List.of(),
-                null,
-                List.of(),
-                "test",
-                System.currentTimeMillis(),
-                System.currentTimeMillis()
-        ));
+        var archive = packager.createArchive("test");
+        packager.addLogs(archive, reader);
+        TestResultPackager.PackageResult packageResult = complete(archive, result, "test");
+
+        assertTrue(zipContainsEntry(packageResult.savedPath(), "logs/application.log"));
+        var summaryContent = getZipEntryContent(packageResult.savedPath(), "summary.txt");
+        assertTrue(summaryContent.contains("logs/application.log (failed: Loki down)"));
+    }
+
+    private TestResultPackager.PackageResult complete(ResultArchive archive, PerfTestResult result, String testId) {
+        return packager.complete(archive, result, testId, System.currentTimeMillis() - 10000,
+                System.currentTimeMillis());
+    }
+
+    private byte[] getZipEntryBytes(String zipPath, String entryName) throws IOException {
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(Path.of(zipPath)))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (entry.getName().equals(entryName)) {
+                    return zis.readAllBytes();
+                }
+            }
+        }
+        return new byte[0];
+    }
+
+    private String gunzip(byte[] data) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes());
+        }
     }
 
     private String getZipEntryContent(String zipPath, String entryName) throws IOException {
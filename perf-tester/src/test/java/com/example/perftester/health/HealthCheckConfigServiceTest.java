@@ -35,6 +35,7 @@ class HealthCheckConfigServiceTest {
         cfg.setEnabled(enabled);
         cfg.setConnectionTimeoutMs(3000);
         cfg.setIntervalMs(30000);
+        cfg.setProtocol("TCP");
         return cfg;
     }
 
@@ -69,7 +70,7 @@ class HealthCheckConfigServiceTest {
         when(repository.findById("kafka")).thenReturn(Optional.of(existing));
         when(repository.save(existing)).thenReturn(existing);
 
-        var request = new HealthCheckConfigRequest("new-host", 9092, true, 1000, 5000);
+        var request = new HealthCheckConfigRequest("new-host", 9092, true, 1000, 5000, "KAFKA");
         var response = service.update("kafka", request);
 
         assertThat(response.service()).isEqualTo("kafka");
@@ -78,14 +79,27 @@ class HealthCheckConfigServiceTest {
         assertThat(response.enabled()).isTrue();
         assertThat(response.connectionTimeoutMs()).isEqualTo(1000);
         assertThat(response.intervalMs()).isEqualTo(5000);
+        assertThat(response.protocol()).isEqualTo("KAFKA");
         verify(repository).save(existing);
+        verify(scheduler).onConfigChanged(existing);
+    }
+
+    @Test
+    void updateWithoutProtocolShouldKeepCurrentProtocol() {
+        var existing = config("redis", "old-host", 6379, true);
+        when(repository.findById("redis")).thenReturn(Optional.of(existing));
+        when(repository.save(existing)).thenReturn(existing);
+
+        var response = service.update("redis", new HealthCheckConfigRequest("host", 6379, true, 1000, 5000, null));
+
+        assertThat(response.protocol()).isEqualTo("TCP");
     }
 
     @Test
     void updateShouldThrowNotFoundWhenServiceDoesNotExist() {
         when(repository.findById("unknown")).thenReturn(Optional.empty());
 
-        var request = new HealthCheckConfigRequest("host", 9092, true, 1000, 5000);
+        var request = new HealthCheckConfigRequest("host", 9092, true, 1000, 5000, "TCP");
         assertThatThrownBy(() -> service.update("unknown", request))
                 .isInstanceOf(ResponseStatusException.class);
     }
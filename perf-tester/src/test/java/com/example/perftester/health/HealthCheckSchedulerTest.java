@@ -1,5 +1,7 @@
 package com.example.perftester.health;
 
+import com.example.perftester.admin.IbmMqAdminService;
+import com.example.perftester.admin.KafkaAdminService;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
@@ -11,9 +13,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +34,14 @@ class HealthCheckSchedulerTest {
     @Mock
     private HealthCheckConfigRepository repository;
 
+    @Mock
+    private KafkaAdminService kafkaAdminService;
+
+    @Mock
+    private IbmMqAdminService ibmMqAdminService;
+
+    private final List<HealthCheckScheduler> schedulers = new ArrayList<>();
+
     private MeterRegistry meterRegistry;
     private ServerSocket serverA;
     private ServerSocket serverB;
@@ -37,6 +57,13 @@ class HealthCheckSchedulerTest {
     void tearDown() {
         closeQuietly(serverA);
         closeQuietly(serverB);
+        schedulers.forEach(HealthCheckScheduler::close);
+    }
+
+    private HealthCheckScheduler scheduler(HealthProbes probes) {
+        var scheduler = new HealthCheckScheduler(repository, meterRegistry, probes);
+        schedulers.add(scheduler);
+        return scheduler;
     }
 
     private void closeQuietly(ServerSocket s) {
@@ -65,7 +92,7 @@ class HealthCheckSchedulerTest {
         var cfg = config("kafka", "localhost", serverA.getLocalPort(), true);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         var gauge = meterRegistry.find("health.infra.status").tag("service", "kafka").gauge();
@@ -79,7 +106,7 @@ class HealthCheckSchedulerTest {
         var cfg = config("kafka", "localhost", serverA.getLocalPort(), true);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         var gauge = meterRegistry.find("health.infra.status").tag("service", "kafka").gauge();
@@ -92,7 +119,7 @@ class HealthCheckSchedulerTest {
         var cfg = config("kafka", "localhost", serverA.getLocalPort(), false);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         var gauge = meterRegistry.find("health.infra.status").tag("service", "kafka").gauge();
@@ -104,7 +131,7 @@ class HealthCheckSchedulerTest {
         var cfg = config("mq", "localhost", serverB.getLocalPort(), true);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         var timer = meterRegistry.find("health.ping.duration").tag("service", "mq").timer();
@@ -119,7 +146,7 @@ class HealthCheckSchedulerTest {
         cfg.setConnectionTimeoutMs(500);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         var timer = meterRegistry.find("health.ping.duration").tag("service", "mq").timer();
@@ -133,7 +160,7 @@ class HealthCheckSchedulerTest {
         var cfgB = config("mq", "localhost", serverB.getLocalPort(), true);
         when(repository.findAll()).thenReturn(List.of(cfgA, cfgB));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
         scheduler.performHealthChecks();
 
         assertThat(meterRegistry.find("health.infra.status").tag("service", "kafka").gauge()).isNotNull();
@@ -141,22 +168,118 @@ class HealthCheckSchedulerTest {
     }
 
     @Test
-    void resetServiceTimerShouldRemoveCachedTime() {
+    void onConfigChangedShouldCheckServiceAgainWithNewConfig() {
         var cfg = config("kafka", "localhost", serverA.getLocalPort(), true);
+        cfg.setIntervalMs(60_000);
         when(repository.findAll()).thenReturn(List.of(cfg));
 
-        var scheduler = new HealthCheckScheduler(repository, meterRegistry);
-        // First run populates lastCheckedAt for "kafka"
+        var scheduler = scheduler(new HealthProbes(kafkaAdminService, ibmMqAdminService));
+        scheduler.performHealthChecks();
+        // Not due again yet
         scheduler.performHealthChecks();
 
-        // Reset clears the cached time — covers lines 31-33
-        scheduler.resetServiceTimer("kafka");
-
-        // Second run executes checkService again (re-registers timer)
+        var changed = config("kafka", "localhost", serverB.getLocalPort(), true);
+        changed.setIntervalMs(60_000);
+        scheduler.onConfigChanged(changed);
         scheduler.performHealthChecks();
 
         var timer = meterRegistry.find("health.ping.duration").tag("service", "kafka").timer();
         assertThat(timer).isNotNull();
         assertThat(timer.count()).isEqualTo(2);
+        // Configs are read from the database once
+        verify(repository).findAll();
+    }
+
+    @Test
+    void performHealthChecksShouldProbeServicesConcurrently() throws Exception {
+        var probes = mock(HealthProbes.class);
+        var bothStarted = new CountDownLatch(2);
+        doAnswer(inv -> {
+            bothStarted.countDown();
+            // Completes only when the other probe runs at the same time
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("probes ran one after another");
+            }
+            return null;
+        }).when(probes).probe(any());
+        when(repository.findAll()).thenReturn(List.of(config("kafka", "localhost", 1, true),
+                config("mq", "localhost", 2, true)));
+
+        scheduler(probes).performHealthChecks();
+
+        assertThat(meterRegistry.find("health.infra.status").tag("service", "kafka").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("health.infra.status").tag("service", "mq").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void performHealthChecksShouldMarkServiceDownWhenProbeExceedsTimeout() throws Exception {
+        var probes = mock(HealthProbes.class);
+        var interrupted = new CountDownLatch(1);
+        doAnswer(inv -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(probes).probe(any());
+        var cfg = config("oracle", "localhost", 1521, true);
+        cfg.setConnectionTimeoutMs(100);
+        when(repository.findAll()).thenReturn(List.of(cfg));
+
+        var start = System.nanoTime();
+        scheduler(probes).performHealthChecks();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+        assertThat(meterRegistry.find("health.infra.status").tag("service", "oracle").gauge().value()).isEqualTo(0.0);
+        var timer = meterRegistry.find("health.ping.duration").tag("service", "oracle").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100.0);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void performHealthChecksShouldMarkServiceDownWhenProbeThrowsAnError() throws Exception {
+        var probes = mock(HealthProbes.class);
+        doThrow(new NoClassDefFoundError("com/ibm/mq/MQException")).when(probes).probe(any());
+        var cfg = config("mq", "localhost", 1414, true);
+        cfg.setConnectionTimeoutMs(60_000);
+        when(repository.findAll()).thenReturn(List.of(cfg));
+
+        var start = System.nanoTime();
+        scheduler(probes).performHealthChecks();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+        assertThat(meterRegistry.find("health.infra.status").tag("service", "mq").gauge().value()).isEqualTo(0.0);
+        var timer = meterRegistry.find("health.ping.duration").tag("service", "mq").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isLessThan(5000.0);
+    }
+
+    @Test
+    void performHealthChecksShouldStopWaitingWhenInterrupted() throws Exception {
+        var probes = mock(HealthProbes.class);
+        var probing = new CountDownLatch(1);
+        doAnswer(inv -> {
+            probing.countDown();
+            Thread.sleep(60_000);
+            return null;
+        }).when(probes).probe(any());
+        var cfg = config("oracle", "localhost", 1521, true);
+        cfg.setConnectionTimeoutMs(60_000);
+        when(repository.findAll()).thenReturn(List.of(cfg));
+        var scheduler = scheduler(probes);
+        var interruptedAfterRun = new AtomicBoolean();
+
+        var runner = Thread.ofVirtual().start(() -> {
+            scheduler.performHealthChecks();
+            interruptedAfterRun.set(Thread.currentThread().isInterrupted());
+        });
+        assertThat(probing.await(5, TimeUnit.SECONDS)).isTrue();
+        runner.interrupt();
+
+        assertThat(runner.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(interruptedAfterRun).isTrue();
+        assertThat(meterRegistry.find("health.ping.duration").tag("service", "oracle").timer().count()).isZero();
     }
 }
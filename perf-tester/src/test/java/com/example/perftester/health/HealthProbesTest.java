@@ -0,0 +1,121 @@
+package com.example.perftester.health;
+
+import com.example.perftester.admin.IbmMqAdminService;
+import com.example.perftester.admin.KafkaAdminService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class HealthProbesTest {
+
+    @Mock
+    private KafkaAdminService kafkaAdminService;
+
+    @Mock
+    private IbmMqAdminService ibmMqAdminService;
+
+    private HealthProbes probes;
+    private HttpServer server;
+    private volatile int readinessStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        probes = new HealthProbes(kafkaAdminService, ibmMqAdminService);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(HealthProbes.READINESS_PATH, exchange -> {
+            exchange.sendResponseHeaders(readinessStatus, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static HealthCheckConfig config(String protocol, int port) {
+        var cfg = new HealthCheckConfig();
+        cfg.setService("svc");
+        cfg.setHost("localhost");
+        cfg.setPort(port);
+        cfg.setConnectionTimeoutMs(1000);
+        cfg.setProtocol(protocol);
+        return cfg;
+    }
+
+    @Test
+    void tcpProbeShouldConnectToOpenPort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            assertThatCode(() -> probes.probe(config("TCP", socket.getLocalPort()))).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void tcpProbeShouldFailWhenNothingListens() throws IOException {
+        var socket = new ServerSocket(0);
+        socket.close();
+
+        assertThatThrownBy(() -> probes.probe(config("TCP", socket.getLocalPort()))).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void probeWithoutProtocolShouldUseTcp() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            assertThatCode(() -> probes.probe(config(null, socket.getLocalPort()))).doesNotThrowAnyException();
+        }
+        verifyNoInteractions(kafkaAdminService, ibmMqAdminService);
+    }
+
+    @Test
+    void httpProbeShouldPassWhenServiceIsReady() {
+        assertThatCode(() -> probes.probe(config("HTTP", server.getAddress().getPort())))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void httpProbeShouldFailWhenServiceIsNotReady() {
+        readinessStatus = 503;
+
+        assertThatThrownBy(() -> probes.probe(config("HTTP", server.getAddress().getPort())))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    void httpProbeShouldFailOnRedirect() {
+        readinessStatus = 302;
+
+        assertThatThrownBy(() -> probes.probe(config("HTTP", server.getAddress().getPort())))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("302");
+    }
+
+    @Test
+    void kafkaProbeShouldRequestClusterMetadata() throws Exception {
+        probes.probe(config("KAFKA", 9092));
+
+        verify(kafkaAdminService).pingBroker("localhost", 9092, 1000);
+    }
+
+    @Test
+    void ibmMqProbeShouldPingQueueManager() throws Exception {
+        probes.probe(config("IBM_MQ", 1414));
+
+        verify(ibmMqAdminService).ping("localhost", 1414);
+    }
+}
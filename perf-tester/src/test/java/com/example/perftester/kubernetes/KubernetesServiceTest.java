@@ -5,6 +5,10 @@ import com.example.perftester.kubernetes.KubernetesProperties;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.NodeList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -118,6 +122,47 @@ class KubernetesServiceTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    void podAddressesShouldListTheRunningPodsOfTheDeployment() {
+        var deployment = new DeploymentBuilder()
+                .withNewSpec().withNewSelector().addToMatchLabels("app", "kafka-consumer").endSelector().endSpec()
+                .build();
+        var selector = deployment.getSpec().getSelector();
+        when(client.apps().deployments().inNamespace("perf-demo").withName("kafka-consumer").get())
+                .thenReturn(deployment);
+        when(client.pods().inNamespace("perf-demo").withLabelSelector(selector).list())
+                .thenReturn(new PodListBuilder().withItems(
+                        pod("Running", "10.0.0.1"), pod("Pending", null), pod("Running", "10.0.0.2"), new Pod())
+                        .build());
+
+        var service = new KubernetesService(client, new ExportProperties(tempDir.toString()), new KubernetesProperties("perf-demo", true));
+
+        assertThat(service.podAddresses("kafka-consumer")).containsExactly("10.0.0.1", "10.0.0.2");
+    }
+
+    @Test
+    void podAddressesShouldBeEmptyForAMissingDeployment() {
+        when(client.apps().deployments().inNamespace("perf-demo").withName("kafka-consumer").get())
+                .thenReturn(null);
+
+        var service = new KubernetesService(client, new ExportProperties(tempDir.toString()), new KubernetesProperties("perf-demo", true));
+
+        assertThat(service.podAddresses("kafka-consumer")).isEmpty();
+    }
+
+    @Test
+    void podAddressesShouldBeEmptyOutsideACluster() {
+        when(client.apps()).thenThrow(new RuntimeException("Connection refused"));
+
+        var service = new KubernetesService(client, new ExportProperties(tempDir.toString()), new KubernetesProperties("perf-demo", true));
+
+        assertThat(service.podAddresses("kafka-consumer")).isEmpty();
+    }
+
+    private static Pod pod(String phase, String podIp) {
+        return new PodBuilder().withNewStatus().withPhase(phase).withPodIP(podIp).endStatus().build();
+    }
+
     private NodeList createNodeList(String... nodeNames) {
         var nodeList = new NodeList();
         var nodes = java.util.Arrays.stream(nodeNames)
@@ -0,0 +1,99 @@
+package com.example.perftester.loki;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class LokiLogReaderTest {
+
+    private static final Instant START = Instant.ofEpochMilli(1_000);
+    private static final Instant END = Instant.ofEpochMilli(2_000);
+
+    private RestClient.Builder builder;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+    }
+
+    @Test
+    void forEachShouldMergeStreamsAndFollowCursorAcrossPages() {
+        server.expect(requestTo(containsString("start=1000000000&")))
+                .andRespond(withSuccess("""
+                        {"data":{"result":[
+                          {"stream":{"service_name":"a"},"values":[["1000000100","a1"],["1000000300","a3"]]},
+                          {"stream":{"service_name":"b"},"values":[["1000000200","b2"]]}
+                        ]}}""", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(containsString("start=1000000300&")))
+                .andRespond(withSuccess("""
+                        {"data":{"result":[
+                          {"stream":{"service_name":"a"},"values":[["1000000300","a3"],["1000000500","a5"]]}
+                        ]}}""", MediaType.APPLICATION_JSON));
+        var reader = reader(3, List.of("a", "b"));
+        var messages = new ArrayList<String>();
+
+        var count = reader.forEach(entry -> messages.add(entry.message()));
+
+        assertThat(messages).containsExactly("a1", "b2", "a3", "a5");
+        assertThat(count).isEqualTo(4);
+        server.verify();
+    }
+
+    @Test
+    void forEachWhileShouldStopWhenSinkReturnsFalse() {
+        server.expect(requestTo(containsString("start=1000000000&")))
+                .andRespond(withSuccess("""
+                        {"data":{"result":[
+                          {"stream":{"service_name":"a"},"values":[["1000000100","a1"],["1000000200","a2"]]}
+                        ]}}""", MediaType.APPLICATION_JSON));
+        var reader = reader(10, List.of("a"));
+        var messages = new ArrayList<String>();
+
+        reader.forEachWhile(entry -> messages.add(entry.message()) && messages.size() < 1);
+
+        assertThat(messages).containsExactly("a1");
+    }
+
+    @Test
+    void forEachShouldParseSpringLogLevel() {
+        server.expect(requestTo(containsString("query=")))
+                .andRespond(withSuccess("""
+                        {"data":{"result":[
+                          {"stream":{"service_name":"a"},"values":[["1000000100","2024-01-01T00:00:00Z  WARN slow"]]}
+                        ]}}""", MediaType.APPLICATION_JSON));
+        var entries = new ArrayList<LogEntry>();
+
+        reader(10, List.of("a")).forEach("a", entries::add);
+
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.level()).isEqualTo("WARN");
+            assertThat(entry.message()).isEqualTo("slow");
+        });
+    }
+
+    @Test
+    void forEachShouldReturnZeroWhenUrlNotConfigured() {
+        var reader = new LokiLogReader(builder.build(), new LokiProperties("", 10, 15, false, false),
+                List.of("a"), START, END);
+
+        assertThat(reader.forEach(entry -> { })).isZero();
+    }
+
+    private LokiLogReader reader(int pageSize, List<String> services) {
+        return new LokiLogReader(builder.build(),
+                new LokiProperties("http://loki", pageSize, 60, false, false), services, START, END);
+    }
+}
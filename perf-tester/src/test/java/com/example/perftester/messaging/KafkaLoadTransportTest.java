@@ -0,0 +1,80 @@
+package com.example.perftester.messaging;
+
+import com.example.avro.MqMessage;
+import com.example.perftester.tracing.TraceContext;
+import com.example.perftester.tracing.TraceSampler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.Message;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaLoadTransportTest {
+
+    @Mock
+    private KafkaTemplate<String, MqMessage> kafkaTemplate;
+
+    @Mock
+    private TraceSampler traceSampler;
+
+    @Test
+    void sendShouldProduceRequestWithCorrelationIdToRequestTopic() {
+        when(kafkaTemplate.send(any(Message.class)))
+                .thenReturn(CompletableFuture.<SendResult<String, MqMessage>>completedFuture(null));
+        var transport = new KafkaLoadTransport(kafkaTemplate, "mq-requests", traceSampler);
+
+        transport.send("id-1", "payload");
+
+        ArgumentCaptor<Message<MqMessage>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(messageCaptor.capture());
+        var sent = messageCaptor.getValue();
+        assertEquals("payload", sent.getPayload().getContent());
+        assertNotNull(sent.getPayload().getTimestamp());
+        assertEquals(sent.getPayload().getTimestamp(), sent.getPayload().getKafkaRequestSentAt());
+        assertNull(sent.getPayload().getMqReceivedAt());
+        assertEquals("mq-requests", sent.getHeaders().get("kafka_topic"));
+        assertEquals("id-1", sent.getHeaders().get(KafkaLoadTransport.CORRELATION_ID));
+        assertFalse(sent.getHeaders().containsKey("mq-reply-to"));
+        assertFalse(sent.getHeaders().containsKey(TraceContext.TRACEPARENT));
+    }
+
+    @Test
+    void sendShouldCarryTraceContextWhenTracingIsEnabled() {
+        when(traceSampler.isEnabled()).thenReturn(true);
+        when(kafkaTemplate.send(any(Message.class)))
+                .thenReturn(CompletableFuture.<SendResult<String, MqMessage>>completedFuture(null));
+        var transport = new KafkaLoadTransport(kafkaTemplate, "mq-requests", traceSampler);
+
+        transport.send("id-1", "payload");
+
+        ArgumentCaptor<Message<MqMessage>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(messageCaptor.capture());
+        assertEquals(TraceContext.traceparent("id-1"), messageCaptor.getValue().getHeaders().get(TraceContext.TRACEPARENT));
+    }
+
+    @Test
+    void sendShouldNotThrowWhenTheProducerFailsLater() {
+        when(kafkaTemplate.send(any(Message.class)))
+                .thenReturn(CompletableFuture.<SendResult<String, MqMessage>>failedFuture(
+                        new IllegalStateException("broker down")));
+        var transport = new KafkaLoadTransport(kafkaTemplate, "mq-requests", traceSampler);
+
+        transport.send("id-1", "payload");
+
+        verify(kafkaTemplate).send(any(Message.class));
+    }
+}
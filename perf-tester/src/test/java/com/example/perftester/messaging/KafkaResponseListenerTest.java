@@ -0,0 +1,117 @@
+package com.example.perftester.messaging;
+
+import com.example.avro.MqMessage;
+import com.example.perftester.perf.HopTimestamps;
+import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.tracing.TraceSampler;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaResponseListenerTest {
+
+    private static final Instant REQUEST_SENT = Instant.parse("2026-01-01T10:00:00.000100Z");
+    private static final Instant REQUEST_RECEIVED = Instant.parse("2026-01-01T10:00:00.000300Z");
+    private static final Instant RESPONSE_SENT = Instant.parse("2026-01-01T10:00:00.000400Z");
+
+    @Mock
+    private PerformanceTracker performanceTracker;
+
+    @Mock
+    private TraceSampler traceSampler;
+
+    private KafkaResponseListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new KafkaResponseListener(performanceTracker, traceSampler);
+    }
+
+    @Test
+    void onMessageShouldRecordReceiveWithKafkaHops() {
+        when(performanceTracker.recordReceive(eq("corr-1"), eq("body processed"), any())).thenReturn(5_000_000L);
+
+        listener.onMessage(response("corr-1"));
+
+        ArgumentCaptor<HopTimestamps> hopsCaptor = ArgumentCaptor.forClass(HopTimestamps.class);
+        verify(performanceTracker).recordReceive(eq("corr-1"), eq("body processed"), hopsCaptor.capture());
+        var hops = hopsCaptor.getValue();
+        assertEquals(0, hops.mqReceived());
+        assertEquals(micros(REQUEST_SENT), hops.kafkaRequestSent());
+        assertEquals(micros(REQUEST_RECEIVED), hops.kafkaRequestReceived());
+        assertEquals(micros(RESPONSE_SENT), hops.kafkaResponseSent());
+        assertTrue(hops.kafkaResponseReceived() >= micros(RESPONSE_SENT));
+        assertEquals(0, hops.mqReplySent());
+        verify(traceSampler).offer("corr-1", 5_000_000L, hops);
+    }
+
+    @Test
+    void onMessageShouldNotOfferUnknownMessageToTraceSampler() {
+        when(performanceTracker.recordReceive(eq("corr-1"), eq("body processed"), any())).thenReturn(-1L);
+
+        listener.onMessage(response("corr-1"));
+
+        verify(traceSampler, never()).offer(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void onMessageShouldLeaveMissingStampsEmpty() {
+        var response = MqMessage.newBuilder()
+                .setContent("body processed")
+                .setTimestamp(Instant.now())
+                .build();
+        var record = new ConsumerRecord<String, MqMessage>("mq-responses", 0, 0, null, response);
+        record.headers().add(KafkaLoadTransport.CORRELATION_ID, "corr-1".getBytes(StandardCharsets.UTF_8));
+
+        listener.onMessage(record);
+
+        ArgumentCaptor<HopTimestamps> hopsCaptor = ArgumentCaptor.forClass(HopTimestamps.class);
+        verify(performanceTracker).recordReceive(eq("corr-1"), eq("body processed"), hopsCaptor.capture());
+        assertEquals(0, hopsCaptor.getValue().kafkaRequestSent());
+        assertEquals(0, hopsCaptor.getValue().kafkaResponseSent());
+    }
+
+    @Test
+    void onMessageShouldIgnoreResponseWithoutCorrelationId() {
+        listener.onMessage(new ConsumerRecord<>("mq-responses", 0, 0, null, response(null).value()));
+
+        verify(performanceTracker, never()).recordReceive(anyString(), any(), any());
+    }
+
+    private static ConsumerRecord<String, MqMessage> response(String correlationId) {
+        var response = MqMessage.newBuilder()
+                .setContent("body processed")
+                .setTimestamp(RESPONSE_SENT)
+                .setKafkaRequestSentAt(REQUEST_SENT)
+                .setKafkaRequestReceivedAt(REQUEST_RECEIVED)
+                .setKafkaResponseSentAt(RESPONSE_SENT)
+                .build();
+        var record = new ConsumerRecord<String, MqMessage>("mq-responses", 0, 0, null, response);
+        if (correlationId != null) {
+            record.headers().add(KafkaLoadTransport.CORRELATION_ID, correlationId.getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+
+    private static long micros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1000;
+    }
+}
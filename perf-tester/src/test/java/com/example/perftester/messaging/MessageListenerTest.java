@@ -1,6 +1,8 @@
 package com.example.perftester.messaging;
 
+import com.example.perftester.perf.HopTimestamps;
 import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.tracing.TraceSampler;
 import jakarta.jms.JMSException;
 import jakarta.jms.TextMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -22,6 +26,9 @@ class MessageListenerTest {
     @Mock
     private PerformanceTracker performanceTracker;
 
+    @Mock
+    private TraceSampler traceSampler;
+
     @Mock
     private TextMessage jmsMessage;
 
@@ -29,16 +36,49 @@ class MessageListenerTest {
 
     @BeforeEach
     void setUp() {
-        listener = new MessageListener(performanceTracker);
+        listener = new MessageListener(performanceTracker, traceSampler);
     }
 
     @Test
     void receiveMessageShouldRecordReceiveForValidMessage() throws JMSException {
         when(jmsMessage.getJMSCorrelationID()).thenReturn("corr-123");
+        when(jmsMessage.getText()).thenReturn("body");
+
+        when(performanceTracker.recordReceive("corr-123", "body", null)).thenReturn(5_000_000L);
+
+        listener.receiveMessage(jmsMessage);
+
+        verify(performanceTracker).recordReceive("corr-123", "body", null);
+        verify(traceSampler).offer("corr-123", 5_000_000L, null);
+    }
+
+    @Test
+    void receiveMessageShouldNotOfferUnknownMessageToTraceSampler() throws JMSException {
+        when(jmsMessage.getJMSCorrelationID()).thenReturn("corr-123");
+        when(jmsMessage.getText()).thenReturn("body");
+        when(performanceTracker.recordReceive("corr-123", "body", null)).thenReturn(-1L);
+
+        listener.receiveMessage(jmsMessage);
+
+        verify(traceSampler, never()).offer(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void receiveMessageShouldPassHopTimestampsOfStampedReply() throws JMSException {
+        when(jmsMessage.getJMSCorrelationID()).thenReturn("corr-123");
+        when(jmsMessage.getText()).thenReturn("body");
+        when(jmsMessage.propertyExists(anyString())).thenReturn(true);
+        when(jmsMessage.propertyExists(HopTimestamps.KAFKA_REQUEST_RECEIVED)).thenReturn(false);
+        when(jmsMessage.getLongProperty(HopTimestamps.MQ_RECEIVED)).thenReturn(1L);
+        when(jmsMessage.getLongProperty(HopTimestamps.KAFKA_REQUEST_SENT)).thenReturn(2L);
+        when(jmsMessage.getLongProperty(HopTimestamps.KAFKA_RESPONSE_SENT)).thenReturn(4L);
+        when(jmsMessage.getLongProperty(HopTimestamps.KAFKA_RESPONSE_RECEIVED)).thenReturn(5L);
+        when(jmsMessage.getLongProperty(HopTimestamps.MQ_REPLY_SENT)).thenReturn(6L);
 
         listener.receiveMessage(jmsMessage);
 
-        verify(performanceTracker).recordReceive("corr-123");
+        verify(performanceTracker).recordReceive("corr-123", "body", new HopTimestamps(1, 2, 0, 4, 5, 6));
+        verify(traceSampler).offer("corr-123", 0L, new HopTimestamps(1, 2, 0, 4, 5, 6));
     }
 
     @Test
@@ -48,7 +88,7 @@ class MessageListenerTest {
 
         listener.receiveMessage(jmsMessage);
 
-        verify(performanceTracker, never()).recordReceive(anyString());
+        verify(performanceTracker, never()).recordReceive(anyString(), any(), any());
     }
 
     @Test
@@ -58,14 +98,15 @@ class MessageListenerTest {
 
         listener.receiveMessage(jmsMessage);
 
-        verify(performanceTracker, never()).recordReceive(anyString());
+        verify(performanceTracker, never()).recordReceive(anyString(), any(), any());
     }
 
     @Test
     void receiveMessageShouldRecordExceptionOnError() throws JMSException {
         when(jmsMessage.getJMSCorrelationID()).thenReturn("corr-123");
+        when(jmsMessage.getText()).thenReturn("body");
 
-        doThrow(new RuntimeException("Tracker failed")).when(performanceTracker).recordReceive("corr-123");
+        doThrow(new RuntimeException("Tracker failed")).when(performanceTracker).recordReceive("corr-123", "body", null);
 
         assertThrows(RuntimeException.class, () -> listener.receiveMessage(jmsMessage));
     }
@@ -1,74 +1,76 @@
 package com.example.perftester.messaging;
 
+import com.example.perftester.perf.MessageExpectation;
 import com.example.perftester.perf.PerformanceTracker;
-import jakarta.jms.JMSException;
-import jakarta.jms.Message;
-import jakarta.jms.Queue;
+import com.example.perftester.persistence.ScenarioMessage;
+import com.example.profiling.MessageEvents;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.jms.core.JmsTemplate;
-import org.springframework.jms.core.MessagePostProcessor;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class MessageSenderTest {
 
     @Mock
-    private JmsTemplate jmsTemplate;
+    private LoadTransport loadTransport;
 
     @Mock
     private PerformanceTracker performanceTracker;
 
     @Mock
-    private Message jmsMessage;
+    private MessageEvents messageEvents;
 
     private MessageSender messageSender;
 
     @BeforeEach
-    void setUp() throws JMSException {
-        messageSender = new MessageSender(jmsTemplate,
-                new MqProperties(new MqProperties.QueueProperties("DEV.QUEUE.2", "DEV.QUEUE.1")),
-                performanceTracker);
+    void setUp() {
+        messageSender = new MessageSender(loadTransport, performanceTracker, messageEvents);
     }
 
     @Test
-    void sendMessageShouldSendToOutboundQueue() throws JMSException {
+    void sendMessageShouldRecordAndSendUnderOneMessageId() {
         messageSender.sendMessage("test payload");
 
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
-        verify(jmsTemplate).convertAndSend(eq("queue:///DEV.QUEUE.2?targetClient=1"), messageCaptor.capture(), processorCaptor.capture());
+        ArgumentCaptor<String> idCaptor = ArgumentCaptor.forClass(String.class);
+        verify(performanceTracker).recordSend(idCaptor.capture());
+        verify(loadTransport).send(idCaptor.getValue(), "test payload");
+        verify(messageEvents).record(any(), eq(idCaptor.getValue()), eq("test payload"), anyLong());
+    }
 
-        String sentMessage = messageCaptor.getValue();
-        assertEquals("test payload", sentMessage);
-        verify(performanceTracker).recordSend(anyString());
+    @Test
+    void sendScenarioMessageShouldRecordItsExpectation() {
+        messageSender.sendMessage(new ScenarioMessage("payload", Map.of(), "tx-1", "case", List.of()));
 
-        // Invoke the lambda to cover the MessagePostProcessor code
-        MessagePostProcessor processor = processorCaptor.getValue();
-        Message result = processor.postProcessMessage(jmsMessage);
-        assertNotNull(result);
-        verify(jmsMessage).setJMSReplyTo(any(Queue.class));
-        verify(jmsMessage).setJMSCorrelationID(anyString());
+        ArgumentCaptor<String> idCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MessageExpectation> expectationCaptor = ArgumentCaptor.forClass(MessageExpectation.class);
+        verify(performanceTracker).recordSend(idCaptor.capture(), expectationCaptor.capture());
+        assertEquals("case", expectationCaptor.getValue().testCaseName());
+        verify(loadTransport).send(idCaptor.getValue(), "payload");
+        verify(messageEvents).record(any(), eq(idCaptor.getValue()), eq("payload"), anyLong());
     }
 
     @Test
-    void sendMessageShouldRecordExceptionOnError() {
-        RuntimeException exception = new RuntimeException("JMS send failed");
-        doThrow(exception).when(jmsTemplate).convertAndSend(anyString(), anyString(), any(MessagePostProcessor.class));
+    void sendMessageShouldPropagateTransportFailure() {
+        doThrow(new IllegalStateException("send failed")).when(loadTransport).send(anyString(), anyString());
 
-        assertThrows(RuntimeException.class, () -> messageSender.sendMessage("test payload"));
-    }
+        assertThrows(IllegalStateException.class, () -> messageSender.sendMessage("test payload"));
 
+        verify(messageEvents, never()).record(any(), anyString(), anyString(), anyLong());
+    }
 }
@@ -0,0 +1,123 @@
+package com.example.perftester.messaging;
+
+import com.example.perftester.tracing.TraceContext;
+import com.example.perftester.tracing.TraceSampler;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.jms.core.SessionCallback;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MqLoadTransportTest {
+
+    @Mock
+    private JmsTemplate jmsTemplate;
+
+    @Mock
+    private TraceSampler traceSampler;
+
+    @Mock
+    private Message jmsMessage;
+
+    private MqLoadTransport transport;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        transport = new MqLoadTransport(jmsTemplate,
+                new MqProperties(new MqProperties.QueueProperties("DEV.QUEUE.2", "DEV.QUEUE.1"), null),
+                traceSampler);
+    }
+
+    @Test
+    void sendShouldSendToOutboundQueue() throws JMSException {
+        transport.send("id-1", "test payload");
+
+        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(jmsTemplate).convertAndSend(eq("queue:///DEV.QUEUE.2?targetClient=1"), messageCaptor.capture(), processorCaptor.capture());
+
+        String sentMessage = messageCaptor.getValue();
+        assertEquals("test payload", sentMessage);
+
+        // Invoke the lambda to cover the MessagePostProcessor code
+        MessagePostProcessor processor = processorCaptor.getValue();
+        Message result = processor.postProcessMessage(jmsMessage);
+        assertNotNull(result);
+        verify(jmsMessage).setJMSReplyTo(any(Queue.class));
+        verify(jmsMessage).setJMSCorrelationID("id-1");
+        verify(jmsMessage, never()).setStringProperty(anyString(), anyString());
+    }
+
+    @Test
+    void sendShouldCarryTraceContextWhenTracingIsEnabled() throws JMSException {
+        when(traceSampler.isEnabled()).thenReturn(true);
+        transport = new MqLoadTransport(jmsTemplate,
+                new MqProperties(new MqProperties.QueueProperties("DEV.QUEUE.2", "DEV.QUEUE.1"), null),
+                traceSampler);
+
+        transport.send("id-1", "payload");
+
+        ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        // The trace context travels in the RFH2 header, so the message must keep its JMS format
+        verify(jmsTemplate).convertAndSend(eq("queue:///DEV.QUEUE.2"), eq("payload"), processorCaptor.capture());
+        processorCaptor.getValue().postProcessMessage(jmsMessage);
+        verify(jmsMessage).setJMSCorrelationID("id-1");
+        verify(jmsMessage).setStringProperty(TraceContext.TRACEPARENT, TraceContext.traceparent("id-1"));
+    }
+
+    @Test
+    void otherJmsProvidersShouldGetPlainQueueNamesAndTheirOwnReplyQueue() throws JMSException {
+        var replyQueue = mock(Queue.class);
+        var session = mock(Session.class);
+        when(session.createQueue("DEV.QUEUE.1")).thenReturn(replyQueue);
+        when(jmsTemplate.execute(ArgumentMatchers.<SessionCallback<Queue>>any(), eq(false)))
+                .thenAnswer(invocation -> invocation.<SessionCallback<Queue>>getArgument(0).doInJms(session));
+        transport = new MqLoadTransport(jmsTemplate,
+                new MqProperties(new MqProperties.QueueProperties("DEV.QUEUE.2", "DEV.QUEUE.1"), "jms"),
+                traceSampler);
+
+        transport.send("id-1", "first");
+        transport.send("id-2", "second");
+
+        ArgumentCaptor<MessagePostProcessor> processorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(jmsTemplate, times(2)).convertAndSend(eq("DEV.QUEUE.2"), anyString(), processorCaptor.capture());
+        for (var processor : processorCaptor.getAllValues()) {
+            processor.postProcessMessage(jmsMessage);
+        }
+        verify(jmsMessage, times(2)).setJMSReplyTo(replyQueue);
+        // The reply queue is created once and reused
+        verify(session).createQueue("DEV.QUEUE.1");
+    }
+
+    @Test
+    void sendShouldPropagateSendFailure() {
+        RuntimeException exception = new RuntimeException("JMS send failed");
+        doThrow(exception).when(jmsTemplate).convertAndSend(anyString(), anyString(), any(MessagePostProcessor.class));
+
+        assertThrows(RuntimeException.class, () -> transport.send("id-1", "test payload"));
+    }
+
+}
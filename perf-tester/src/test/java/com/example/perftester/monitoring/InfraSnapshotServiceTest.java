@@ -2,22 +2,35 @@ package com.example.perftester.monitoring;
 
 import com.example.perftester.admin.IbmMqAdminService;
 import com.example.perftester.admin.KafkaAdminService;
+import com.example.perftester.admin.KafkaAdminService.PartitionLag;
 import com.example.perftester.config.MonitoringProperties;
+import com.example.perftester.persistence.TestRunService;
 import com.example.perftester.persistence.TestRunSnapshot;
-import com.example.perftester.persistence.TestRunSnapshotRepository;
+import com.example.perftester.persistence.TestRunSnapshotWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static java.time.Duration.ofSeconds;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,22 +46,23 @@ class InfraSnapshotServiceTest {
     private KafkaAdminService kafkaAdminService;
 
     @Mock
-    private TestRunSnapshotRepository snapshotRepository;
+    private TestRunSnapshotWriter snapshotWriter;
+
+    @Mock
+    private TestRunService testRunService;
 
     private final MonitoringProperties monitoringProperties = new MonitoringProperties(
-            "DEV.QUEUE.2", "DEV.QUEUE.1", "ibm-mq-consumer", "ibm-mq-consumer");
+            "DEV.QUEUE.2", "DEV.QUEUE.1", "kafka-consumer", "ibm-mq-consumer", 0);
 
     private InfraSnapshotService service;
 
     @BeforeEach
     void setUp() throws Exception {
-        when(ibmMqAdminService.getQueueInfo(anyString()))
-                .thenReturn(new IbmMqAdminService.QueueInfo("DEV.QUEUE.2", 0, 5000));
-        when(kafkaAdminService.getTotalConsumerGroupLag(anyString())).thenReturn(0L);
-        when(snapshotRepository.save(any(TestRunSnapshot.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        when(ibmMqAdminService.getQueueStats(anyString()))
+                .thenReturn(new IbmMqAdminService.QueueStats("DEV.QUEUE.2", 0, 1, null, 0, 0));
+        when(kafkaAdminService.getPartitionLag(anyString())).thenReturn(List.of());
         service = new InfraSnapshotService(ibmMqAdminService, kafkaAdminService,
-                snapshotRepository, monitoringProperties);
+                snapshotWriter, monitoringProperties, testRunService);
     }
 
     @Test
@@ -56,9 +70,191 @@ class InfraSnapshotServiceTest {
         service.startMonitoring(42L);
 
         await().atMost(ofSeconds(5))
-                .untilAsserted(() -> verify(snapshotRepository, atLeastOnce()).save(any()));
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(any()));
+
+        service.stopMonitoring();
+        verify(snapshotWriter).flush();
+    }
+
+    @Test
+    void captureSnapshotShouldStoreQueueStatsAndLag() throws Exception {
+        when(ibmMqAdminService.getQueueStats("DEV.QUEUE.2"))
+                .thenReturn(new IbmMqAdminService.QueueStats("DEV.QUEUE.2", 7, 2, 3, 150, 140));
+        when(ibmMqAdminService.getQueueStats("DEV.QUEUE.1"))
+                .thenReturn(new IbmMqAdminService.QueueStats("DEV.QUEUE.1", 1, 5, null, null, null));
+        when(kafkaAdminService.getPartitionLag("kafka-consumer")).thenReturn(List.of(
+                new PartitionLag("requests", 0, 90, 100), new PartitionLag("requests", 1, 48, 50)));
+        when(kafkaAdminService.getPartitionLag("ibm-mq-consumer"))
+                .thenReturn(List.of(new PartitionLag("responses", 0, 16, 20)));
+
+        service.startMonitoring(7L);
+
+        var captor = ArgumentCaptor.forClass(TestRunSnapshot.class);
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(captor.capture()));
+        service.stopMonitoring();
+
+        var snapshot = captor.getValue();
+        assertThat(snapshot.getTestRunId()).isEqualTo(7L);
+        assertThat(snapshot.getOutboundQueueDepth()).isEqualTo(7);
+        assertThat(snapshot.getOutboundOpenInputCount()).isEqualTo(2);
+        assertThat(snapshot.getOutboundOldestMessageAgeSeconds()).isEqualTo(3);
+        assertThat(snapshot.getOutboundEnqueueCount()).isEqualTo(150);
+        assertThat(snapshot.getOutboundDequeueCount()).isEqualTo(140);
+        assertThat(snapshot.getInboundQueueDepth()).isEqualTo(1);
+        assertThat(snapshot.getInboundOpenInputCount()).isEqualTo(5);
+        assertThat(snapshot.getInboundEnqueueCount()).isNull();
+        assertThat(snapshot.getKafkaRequestsLag()).isEqualTo(12L);
+        assertThat(snapshot.getKafkaResponsesLag()).isEqualTo(4L);
+    }
+
+    @Test
+    void captureSnapshotShouldQuerySourcesConcurrently() throws Exception {
+        var kafkaQueried = new CountDownLatch(2);
+        when(kafkaAdminService.getPartitionLag(anyString())).thenAnswer(inv -> {
+            kafkaQueried.countDown();
+            return List.of();
+        });
+        when(ibmMqAdminService.getQueueStats(anyString())).thenAnswer(inv -> {
+            // Completes only when the Kafka lookups run while the queue lookups are still in flight
+            assertThat(kafkaQueried.await(5, TimeUnit.SECONDS)).isTrue();
+            return new IbmMqAdminService.QueueStats(inv.getArgument(0), 3, 1, null, 0, 0);
+        });
+
+        service.startMonitoring(8L);
+
+        var captor = ArgumentCaptor.forClass(TestRunSnapshot.class);
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(captor.capture()));
+        service.stopMonitoring();
+
+        assertThat(captor.getValue().getOutboundQueueDepth()).isEqualTo(3);
+        assertThat(captor.getValue().getInboundQueueDepth()).isEqualTo(3);
+    }
+
+    @Test
+    void stopMonitoringShouldInterruptSampleInProgress() throws Exception {
+        var sampling = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        when(ibmMqAdminService.getQueueStats(anyString())).thenAnswer(inv -> {
+            sampling.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        var slowService = new InfraSnapshotService(ibmMqAdminService, kafkaAdminService, snapshotWriter,
+                new MonitoringProperties("DEV.QUEUE.2", "DEV.QUEUE.1", "kafka-consumer", "ibm-mq-consumer", 60_000),
+                testRunService);
+
+        slowService.startMonitoring(9L);
+        assertThat(sampling.await(5, TimeUnit.SECONDS)).isTrue();
+        slowService.stopMonitoring();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void stopMonitoringShouldFlushOnlyAfterTheSampleInProgressIsWritten() throws Exception {
+        var writing = new CountDownLatch(1);
+        var written = new AtomicBoolean();
+        doAnswer(inv -> {
+            writing.countDown();
+            // A write that does not react to interrupts, such as a blocked JDBC call
+            var until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            while (System.nanoTime() < until) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    // keep writing
+                }
+            }
+            written.set(true);
+            return null;
+        }).when(snapshotWriter).write(any());
+        var flushedAfterWrite = new AtomicBoolean();
+        doAnswer(inv -> {
+            flushedAfterWrite.set(written.get());
+            return null;
+        }).when(snapshotWriter).flush();
+
+        service.startMonitoring(10L);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        service.stopMonitoring();
+
+        assertThat(flushedAfterWrite).isTrue();
+    }
+
+    @Test
+    void stopMonitoringShouldStillFlushWhenInterruptedWhileWaiting() throws Exception {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // still writing
+                }
+            }
+            return null;
+        }).when(snapshotWriter).write(any());
+
+        service.startMonitoring(14L);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.currentThread().interrupt();
+        service.stopMonitoring();
+
+        assertThat(Thread.interrupted()).isTrue();
+        verify(snapshotWriter).flush();
+        release.countDown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stopMonitoringShouldSavePartitionLagSeries() {
+        when(kafkaAdminService.getPartitionLag("kafka-consumer"))
+                .thenReturn(List.of(new PartitionLag("requests", 0, 90, 100)));
+
+        service.startMonitoring(11L);
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(any()));
+        service.stopMonitoring();
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(testRunService).savePartitionLags(eq(11L), captor.capture());
+        var series = (List<PartitionLagSeries>) captor.getValue();
+        assertThat(series).hasSize(1);
+        assertThat(series.getFirst().consumerGroup()).isEqualTo("kafka-consumer");
+        assertThat(series.getFirst().topic()).isEqualTo("requests");
+        assertThat(series.getFirst().lags()).contains(10L);
+    }
+
+    @Test
+    void stopMonitoringShouldNotSaveWhenNoPartitionsWereSampled() {
+        service.startMonitoring(12L);
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(any()));
+        service.stopMonitoring();
+
+        verify(testRunService, never()).savePartitionLags(any(), anyList());
+    }
 
+    @Test
+    void stopMonitoringShouldSurviveFailedPartitionLagSave() {
+        when(kafkaAdminService.getPartitionLag("ibm-mq-consumer"))
+                .thenReturn(List.of(new PartitionLag("responses", 0, 5, 5)));
+        doThrow(new IllegalStateException("db down")).when(testRunService).savePartitionLags(any(), anyList());
+
+        service.startMonitoring(13L);
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(any()));
         service.stopMonitoring();
+
+        verify(testRunService).savePartitionLags(eq(13L), anyList());
     }
 
     @Test
@@ -72,21 +268,21 @@ class InfraSnapshotServiceTest {
         service.startMonitoring(2L);
 
         await().atMost(ofSeconds(5))
-                .untilAsserted(() -> verify(snapshotRepository, atLeastOnce()).save(any()));
+                .untilAsserted(() -> verify(snapshotWriter, atLeastOnce()).write(any()));
 
         service.stopMonitoring();
     }
 
     @Test
     void captureSnapshotSkipsSaveWhenAllMetricsFail() throws Exception {
-        when(ibmMqAdminService.getQueueInfo(anyString())).thenThrow(new RuntimeException("MQ offline"));
-        when(kafkaAdminService.getTotalConsumerGroupLag(anyString()))
+        when(ibmMqAdminService.getQueueStats(anyString())).thenThrow(new RuntimeException("MQ offline"));
+        when(kafkaAdminService.getPartitionLag(anyString()))
                 .thenThrow(new RuntimeException("Kafka offline"));
 
         service.startMonitoring(99L);
 
         await().atMost(ofSeconds(3)).pollDelay(ofSeconds(1)).untilAsserted(() ->
-                verify(snapshotRepository, never()).save(any()));
+                verify(snapshotWriter, never()).write(any()));
 
         service.stopMonitoring();
     }
@@ -0,0 +1,87 @@
+package com.example.perftester.monitoring;
+
+import com.example.perftester.admin.KafkaAdminService.PartitionLag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PartitionLagTrackerTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void recordShouldKeepOneSeriesPerGroupAndPartition() {
+        var tracker = new PartitionLagTracker(START);
+
+        tracker.record("requests-group", START, List.of(
+                new PartitionLag("requests", 0, 0, 0), new PartitionLag("requests", 1, 0, 0)));
+        tracker.record("requests-group", START.plusMillis(1000), List.of(
+                new PartitionLag("requests", 0, 100, 100), new PartitionLag("requests", 1, 20, 300)));
+        tracker.record("responses-group", START.plusMillis(1000), List.of(new PartitionLag("responses", 0, 5, 5)));
+
+        var series = tracker.series();
+
+        assertThat(series).extracting(PartitionLagSeries::consumerGroup, PartitionLagSeries::partition)
+                .containsExactly(tuple("requests-group", 0), tuple("requests-group", 1), tuple("responses-group", 0));
+        var hot = series.get(1);
+        assertThat(hot.startedAt()).isEqualTo(START);
+        assertThat(hot.sampleOffsetsMs()).containsExactly(0, 1000);
+        assertThat(hot.lags()).containsExactly(0, 280);
+        // Offset 20 was produced 1/15 of the way into the second interval
+        assertThat(hot.lagMs()).containsExactly(0, 933);
+        assertThat(hot.maxLag()).isEqualTo(280);
+        assertThat(hot.maxLagMs()).isEqualTo(933);
+        assertThat(series.get(0).maxLag()).isZero();
+    }
+
+    @Test
+    void recordShouldGrowBeyondInitialCapacity() {
+        var tracker = new PartitionLagTracker(START);
+
+        for (int i = 0; i < 200; i++) {
+            tracker.record("group", START.plusMillis(i * 100L), List.of(new PartitionLag("topic", 0, i, i + 1)));
+        }
+
+        var series = tracker.series().getFirst();
+        assertThat(series.sampleOffsetsMs()).hasSize(200);
+        assertThat(series.sampleOffsetsMs()[199]).isEqualTo(19_900);
+        assertThat(series.lags()).containsOnly(1);
+        // The committed offset was the log end one sample earlier
+        assertThat(series.lagMs()[199]).isEqualTo(100);
+    }
+
+    @Test
+    void estimateLagMsShouldBeZeroWhenCaughtUp() {
+        assertThat(PartitionLagTracker.estimateLagMs(new long[] {0, 1000}, new long[] {10, 20}, 2, 20)).isZero();
+    }
+
+    @Test
+    void estimateLagMsShouldInterpolateBetweenSamples() {
+        var times = new long[] {0, 1000, 2000};
+        var ends = new long[] {0, 100, 200};
+
+        assertThat(PartitionLagTracker.estimateLagMs(times, ends, 3, 100)).isEqualTo(1000);
+        assertThat(PartitionLagTracker.estimateLagMs(times, ends, 3, 150)).isEqualTo(500);
+        assertThat(PartitionLagTracker.estimateLagMs(times, ends, 3, 0)).isEqualTo(2000);
+    }
+
+    @Test
+    void estimateLagMsShouldExtrapolateFromProduceRateBeforeFirstSample() {
+        // 100 messages per second, committed offset 50 messages before the first sample
+        var times = new long[] {0, 1000};
+        var ends = new long[] {100, 200};
+
+        assertThat(PartitionLagTracker.estimateLagMs(times, ends, 2, 50)).isEqualTo(1500);
+    }
+
+    @Test
+    void estimateLagMsShouldBeUnknownWithoutProduceRate() {
+        assertThat(PartitionLagTracker.estimateLagMs(new long[] {0}, new long[] {100}, 1, 50)).isEqualTo(-1);
+        assertThat(PartitionLagTracker.estimateLagMs(new long[] {0, 0}, new long[] {100, 120}, 2, 50))
+                .isEqualTo(-1);
+    }
+}
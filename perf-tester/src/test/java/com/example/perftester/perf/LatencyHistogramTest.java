@@ -0,0 +1,76 @@
+package com.example.perftester.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void recordShouldCountValuesInTheirBuckets() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(5_000_000);
+        histogram.record(5_000_000);
+        histogram.record(10);
+
+        var counts = histogram.snapshot();
+        assertThat(counts).hasSize(LatencyHistogram.BUCKETS);
+        assertThat(counts[LatencyHistogram.bucketOf(5_000_000)]).isEqualTo(2);
+        assertThat(counts[0]).isEqualTo(1);
+    }
+
+    @Test
+    void recordShouldClampValuesAboveTheRange() {
+        var histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.snapshot()[LatencyHistogram.BUCKETS - 1]).isEqualTo(1);
+    }
+
+    @Test
+    void resetShouldClearCounts() {
+        var histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+
+        histogram.reset();
+
+        assertThat(histogram.snapshot()).containsOnly(0L);
+    }
+
+    @Test
+    void bucketValueShouldReproduceRecordedValueWithinOnePercent() {
+        for (long nanos = 2_000; nanos < LatencyHistogram.MAX_NANOS; nanos *= 3) {
+            var valueMs = LatencyHistogram.bucketValueMs(LatencyHistogram.bucketOf(nanos));
+            var expectedMs = nanos / 1_000_000.0;
+            assertThat(valueMs).isCloseTo(expectedMs, within(expectedMs * 0.01));
+        }
+        assertThat(LatencyHistogram.bucketValueMs(0)).isEqualTo(0.001);
+    }
+
+    @Test
+    void summaryHelpersShouldReadCountedValues() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        var counts = histogram.snapshot();
+
+        assertThat(LatencyHistogram.quantileMs(counts, 0)).isCloseTo(1.0, within(0.01));
+        assertThat(LatencyHistogram.quantileMs(counts, 0.5)).isCloseTo(50.0, within(0.5));
+        assertThat(LatencyHistogram.quantileMs(counts, 0.99)).isCloseTo(99.0, within(1.0));
+        assertThat(LatencyHistogram.meanMs(counts)).isCloseTo(50.5, within(0.5));
+        assertThat(LatencyHistogram.maxMs(counts)).isCloseTo(100.0, within(1.0));
+    }
+
+    @Test
+    void summaryHelpersShouldReturnZeroWhenNothingWasCounted() {
+        var counts = new long[LatencyHistogram.BUCKETS];
+
+        assertThat(LatencyHistogram.quantileMs(counts, 0.99)).isZero();
+        assertThat(LatencyHistogram.meanMs(counts)).isZero();
+        assertThat(LatencyHistogram.maxMs(counts)).isZero();
+    }
+}
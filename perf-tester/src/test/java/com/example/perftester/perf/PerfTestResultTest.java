@@ -6,6 +6,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class PerfTestResultTest {
 
@@ -36,7 +37,8 @@ class PerfTestResultTest {
         PerfTestResult result = new PerfTestResult(
                 100, 5, 10.5, 9.52, 50.0, 10.0, 200.0,
                 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
-                urls, files, prometheusFile, kubernetesFile, null
+                urls, files, prometheusFile, kubernetesFile, null,
+                0L, 0L, List.of(), null
         );
 
         assertEquals(urls, result.dashboardUrls());
@@ -73,7 +75,8 @@ class PerfTestResultTest {
         PerfTestResult original = new PerfTestResult(
                 100, 5, 10.5, 9.52, 50.0, 10.0, 200.0,
                 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
-                urls, files, null, null, null
+                urls, files, null, null, null,
+                0L, 0L, List.of(), null
         );
 
         String prometheusFile = "/path/to/prometheus.json";
@@ -107,6 +110,18 @@ class PerfTestResultTest {
         assertEquals(original.tps(), updated.tps());
     }
 
+    @Test
+    void withDistributionShouldBeKeptByLaterWithMethods() {
+        RunDistribution distribution = new RunDistribution(new long[] {1, 2}, new long[] {3});
+
+        PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
+                .withDistribution(distribution)
+                .withPrometheusExport("prometheus.json");
+
+        assertSame(distribution, result.distribution());
+        assertEquals("prometheus.json", result.prometheusExportFile());
+    }
+
     @Test
     void chainedWithMethodsShouldWork() {
         PerfTestResult result = new PerfTestResult(100, 0, 10.0, 10.0, 50.0, 10.0, 100.0)
@@ -1,11 +1,17 @@
 package com.example.perftester.perf;
 
 import com.example.perftester.config.PerfProperties;
+import com.example.profiling.MessageEvents;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -15,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PerformanceTrackerTest {
 
+    private static final MessageEvents MESSAGE_EVENTS = new MessageEvents(10);
+
     private PerformanceTracker tracker;
     private MeterRegistry meterRegistry;
 
@@ -22,7 +30,7 @@ class PerformanceTrackerTest {
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
         var perfProperties = new PerfProperties(16000, 60000, 60000, 30000, 60, 15);
-        tracker = new PerformanceTracker(meterRegistry, perfProperties);
+        tracker = new PerformanceTracker(meterRegistry, perfProperties, MESSAGE_EVENTS);
     }
 
     @Test
@@ -40,7 +48,7 @@ class PerformanceTrackerTest {
 
         tracker.recordSend("msg-1");
         Thread.sleep(10); // Small delay to ensure measurable latency
-        tracker.recordReceive("msg-1");
+        tracker.recordReceive("msg-1", null);
 
         PerfTestResult result = tracker.getResult();
         assertEquals(1, result.completedMessages());
@@ -48,11 +56,61 @@ class PerformanceTrackerTest {
         assertTrue(result.avgLatencyMs() > 0);
     }
 
+    @Test
+    void getResultShouldKeepLatencyCountsPerTestCase() {
+        tracker.tryStart(3, "test-run");
+
+        tracker.recordSend("msg-1", new MessageExpectation("payment", null, Map.of()));
+        tracker.recordSend("msg-2", new MessageExpectation(null, null, Map.of()));
+        tracker.recordSend("msg-3");
+        tracker.recordReceive("msg-1", null);
+        tracker.recordReceive("msg-2", null);
+        tracker.recordReceive("msg-3", null);
+
+        var perTestCase = tracker.getResult().distribution().testCaseLatencyCounts();
+        assertEquals(Set.of("payment"), perTestCase.keySet());
+        assertEquals(1, Arrays.stream(perTestCase.get("payment")).sum());
+    }
+
+    @Test
+    void recordReceiveShouldRecordEveryLegOfStampedResponses() throws InterruptedException {
+        tracker.tryStart(2, "test-run");
+
+        tracker.recordSend("msg-1");
+        tracker.recordSend("msg-2");
+        var stamps = new long[6];
+        for (int i = 0; i < stamps.length; i++) {
+            Thread.sleep(1);
+            stamps[i] = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        }
+        Thread.sleep(1);
+        tracker.recordReceive("msg-1", null,
+                new HopTimestamps(stamps[0], stamps[1], stamps[2], stamps[3], stamps[4], stamps[5]));
+        tracker.recordReceive("msg-2", null);
+
+        var hops = tracker.getResult().distribution().hopLatencyCounts();
+        assertEquals(PipelineHop.ALL.size(), hops.size());
+        for (var hop : PipelineHop.ALL) {
+            assertEquals(1, Arrays.stream(hops.get(hop.name())).sum(), hop.name());
+            assertEquals(1, meterRegistry.get("mq.hop.latency").tag("hop", hop.name()).timer().count());
+        }
+    }
+
+    @Test
+    void recordReceiveShouldSkipLegsWithoutTimestamps() {
+        tracker.tryStart(1, "test-run");
+
+        tracker.recordSend("msg-1");
+        tracker.recordReceive("msg-1", null, new HopTimestamps(0, 0, 0, 0, 0, 0));
+
+        assertTrue(tracker.getResult().distribution().hopLatencyCounts().isEmpty());
+    }
+
     @Test
     void recordReceiveForUnknownMessageShouldNotCount() {
         tracker.tryStart(1, "test-run");
 
-        tracker.recordReceive("unknown-msg");
+        tracker.recordReceive("unknown-msg", null);
 
         PerfTestResult result = tracker.getResult();
         assertEquals(0, result.completedMessages());
@@ -64,8 +122,8 @@ class PerformanceTrackerTest {
 
         tracker.recordSend("msg-1");
         tracker.recordSend("msg-2");
-        tracker.recordReceive("msg-1");
-        tracker.recordReceive("msg-2");
+        tracker.recordReceive("msg-1", null);
+        tracker.recordReceive("msg-2", null);
 
         assertTrue(tracker.awaitCompletion(1, TimeUnit.SECONDS));
     }
@@ -75,7 +133,7 @@ class PerformanceTrackerTest {
         tracker.tryStart(2, "test-run");
 
         tracker.recordSend("msg-1");
-        tracker.recordReceive("msg-1");
+        tracker.recordReceive("msg-1", null);
         // msg-2 never received
 
         assertFalse(tracker.awaitCompletion(100, TimeUnit.MILLISECONDS));
@@ -94,7 +152,7 @@ class PerformanceTrackerTest {
             String msgId = "msg-" + i;
             tracker.recordSend(msgId);
             Thread.sleep(5);
-            tracker.recordReceive(msgId);
+            tracker.recordReceive(msgId, null);
         }
 
         PerfTestResult result = tracker.getResult();
@@ -140,15 +198,15 @@ class PerformanceTrackerTest {
         // Send all messages first
         tracker.recordSend("fast");
         Thread.sleep(5);
-        tracker.recordReceive("fast");
+        tracker.recordReceive("fast", null);
 
         tracker.recordSend("slow");
         Thread.sleep(20);
-        tracker.recordReceive("slow");
+        tracker.recordReceive("slow", null);
 
         tracker.recordSend("medium");
         Thread.sleep(10);
-        tracker.recordReceive("medium");
+        tracker.recordReceive("medium", null);
 
         PerfTestResult result = tracker.getResult();
         assertTrue(result.minLatencyMs() < result.maxLatencyMs());
@@ -161,7 +219,7 @@ class PerformanceTrackerTest {
         tracker.recordSend("msg-1");
         tracker.recordSend("msg-2");
         tracker.recordSend("msg-3");
-        tracker.recordReceive("msg-1");
+        tracker.recordReceive("msg-1", null);
 
         PerfTestResult result = tracker.getResult();
         assertEquals(1, result.completedMessages());
@@ -175,14 +233,14 @@ class PerformanceTrackerTest {
         // First message with short latency
         tracker.recordSend("short");
         Thread.sleep(5);
-        tracker.recordReceive("short");
+        tracker.recordReceive("short", null);
 
         double firstMin = tracker.getResult().minLatencyMs();
 
         // Second message with longer latency should not update min
         tracker.recordSend("long");
         Thread.sleep(50);
-        tracker.recordReceive("long");
+        tracker.recordReceive("long", null);
 
         double secondMin = tracker.getResult().minLatencyMs();
 
@@ -197,14 +255,14 @@ class PerformanceTrackerTest {
         // First message with long latency
         tracker.recordSend("long");
         Thread.sleep(50);
-        tracker.recordReceive("long");
+        tracker.recordReceive("long", null);
 
         double firstMax = tracker.getResult().maxLatencyMs();
 
         // Second message with shorter latency should not update max
         tracker.recordSend("short");
         Thread.sleep(5);
-        tracker.recordReceive("short");
+        tracker.recordReceive("short", null);
 
         double secondMax = tracker.getResult().maxLatencyMs();
 
@@ -216,7 +274,7 @@ class PerformanceTrackerTest {
     void recordReceiveWithNullCompletionLatchShouldWork() {
         // Don't call startTest to keep completionLatch null
         tracker.recordSend("msg-1");
-        tracker.recordReceive("msg-1");
+        tracker.recordReceive("msg-1", null);
 
         // Should not throw
         PerfTestResult result = tracker.getResult();
@@ -229,7 +287,7 @@ class PerformanceTrackerTest {
 
         tracker.recordSend("msg-1");
         Thread.sleep(5);
-        tracker.recordReceive("msg-1");
+        tracker.recordReceive("msg-1", null);
 
         var snapshot = tracker.getProgressSnapshot();
         assertEquals("snapshot-test", snapshot.testRunId());
@@ -265,7 +323,7 @@ class PerformanceTrackerTest {
     void recordReceiveDuringWarmupShouldCountDownLatch() throws InterruptedException {
         tracker.startWarmupPhase(1);
         tracker.recordSend("warmup-msg");
-        tracker.recordReceive("warmup-msg");
+        tracker.recordReceive("warmup-msg", null);
         // Latch is counted down — should complete immediately
         assertTrue(tracker.awaitWarmupCompletion(100, TimeUnit.MILLISECONDS));
     }
@@ -274,10 +332,11 @@ class PerformanceTrackerTest {
     void calculateWindowedTpsShouldCleanupOldTimestamps() throws InterruptedException {
         // Use 1ms TPS window so timestamps immediately age out
         var shortWindowProperties = new PerfProperties(100, 1, 60000, 30000, 60, 15);
-        var shortWindowTracker = new PerformanceTracker(new SimpleMeterRegistry(), shortWindowProperties);
+        var shortWindowTracker = new PerformanceTracker(new SimpleMeterRegistry(), shortWindowProperties,
+                MESSAGE_EVENTS);
         shortWindowTracker.tryStart(1, "tps-window-test");
         shortWindowTracker.recordSend("msg-1");
-        shortWindowTracker.recordReceive("msg-1");
+        shortWindowTracker.recordReceive("msg-1", null);
 
         Thread.sleep(5); // Allow the 1ms window to expire
 
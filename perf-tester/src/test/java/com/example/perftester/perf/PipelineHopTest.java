@@ -0,0 +1,56 @@
+package com.example.perftester.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PipelineHopTest {
+
+    @Test
+    void durationsShouldFollowTheMessageThroughEveryLeg() {
+        var stamps = new HopTimestamps(110, 115, 140, 160, 200, 204);
+
+        var durations = PipelineHop.durationsMicros(100, stamps, 250);
+
+        assertThat(durations).containsExactly(10, 5, 25, 20, 40, 4, 46);
+        assertThat(PipelineHop.ALL).extracting(PipelineHop::kind).containsExactly(
+                PipelineHop.QUEUE, PipelineHop.PROCESSING, PipelineHop.QUEUE, PipelineHop.PROCESSING,
+                PipelineHop.QUEUE, PipelineHop.PROCESSING, PipelineHop.QUEUE);
+    }
+
+    @Test
+    void legsWithMissingOrSkewedTimestampsShouldBeUnknown() {
+        // kafka-consumer did not stamp its receive; its clock runs behind on the send
+        var stamps = new HopTimestamps(110, 115, 0, 105, 200, 204);
+
+        var durations = PipelineHop.durationsMicros(100, stamps, 250);
+
+        assertThat(durations).containsExactly(10, 5, -1, -1, 95, 4, 46);
+    }
+
+    @Test
+    void hopLatencyShouldSummariseRecordedLegsInPipelineOrder() {
+        var queue = new LatencyHistogram();
+        queue.record(2_000_000);
+        queue.record(2_000_000);
+        queue.record(40_000_000);
+        var consumer = new LatencyHistogram();
+        consumer.record(500_000);
+        var distribution = new RunDistribution(new long[LatencyHistogram.BUCKETS], new long[0], Map.of(),
+                Map.of("mq-response-queue", queue.snapshot(), "kafka-consumer", consumer.snapshot()));
+
+        var latencies = HopLatency.of(distribution);
+
+        assertThat(latencies).extracting(HopLatency::hop).containsExactly("kafka-consumer", "mq-response-queue");
+        var mqResponse = latencies.get(1);
+        assertThat(mqResponse.kind()).isEqualTo(PipelineHop.QUEUE);
+        assertThat(mqResponse.count()).isEqualTo(3);
+        assertThat(mqResponse.p50Ms()).isCloseTo(2.0, within(0.05));
+        assertThat(mqResponse.p99Ms()).isCloseTo(40.0, within(0.5));
+        assertThat(mqResponse.maxMs()).isEqualTo(mqResponse.p99Ms());
+        assertThat(mqResponse.meanMs()).isBetween(14.0, 15.0);
+    }
+}
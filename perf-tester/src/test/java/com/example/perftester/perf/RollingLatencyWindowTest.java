@@ -0,0 +1,112 @@
+package com.example.perftester.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingLatencyWindowTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void countsShouldCoverFullSecondsBeforeTheCurrentOne() {
+        var window = new RollingLatencyWindow(5);
+        window.record(1, 10 * MS);
+        window.record(3, 10 * MS);
+        window.record(4, 10 * MS);
+        window.record(5, 10 * MS);
+
+        var counts = window.counts(5, 2);
+
+        assertThat(counts[LatencyHistogram.bucketOf(10 * MS)]).isEqualTo(2);
+    }
+
+    @Test
+    void recordShouldClearSlotReusedByLaterSecond() {
+        var window = new RollingLatencyWindow(2);
+        window.record(0, 10 * MS);
+        window.record(3, 20 * MS);
+
+        var counts = window.counts(4, 2);
+
+        assertThat(counts[LatencyHistogram.bucketOf(10 * MS)]).isZero();
+        assertThat(counts[LatencyHistogram.bucketOf(20 * MS)]).isEqualTo(1);
+    }
+
+    @Test
+    void resetShouldForgetAllSeconds() {
+        var window = new RollingLatencyWindow(2);
+        window.record(0, 10 * MS);
+
+        window.reset();
+
+        assertThat(window.counts(1, 2)).containsOnly(0L);
+    }
+
+    @Test
+    void resultShouldBeEmptyWithoutCompletions() {
+        var result = new RollingLatencyWindow(5).result(3, 2, 0, List.of());
+
+        assertThat(result.completedMessages()).isZero();
+        assertThat(result.tps()).isZero();
+        assertThat(result.p99LatencyMs()).isZero();
+    }
+
+    @Test
+    void resultShouldSummariseWindowAndClampItsLength() {
+        var window = new RollingLatencyWindow(2);
+        for (int i = 0; i < 99; i++) {
+            window.record(1, 10 * MS);
+        }
+        window.record(2, 1_000 * MS);
+
+        var result = window.result(3, 10, 0, List.of());
+
+        assertThat(result.testDurationSeconds()).isEqualTo(2.0);
+        assertThat(result.completedMessages()).isEqualTo(100);
+        assertThat(result.tps()).isEqualTo(50.0);
+        assertThat(result.minLatencyMs()).isEqualTo(LatencyHistogram.bucketValueMs(LatencyHistogram.bucketOf(10 * MS)));
+        assertThat(result.p99LatencyMs()).isEqualTo(result.minLatencyMs());
+        assertThat(result.maxLatencyMs()).isEqualTo(LatencyHistogram.bucketValueMs(LatencyHistogram.bucketOf(1_000 * MS)));
+        assertThat(result.avgLatencyMs()).isBetween(19.0, 21.0);
+    }
+
+    @Test
+    void resultShouldCountInFlightMessagesWithTheirAge() {
+        var window = new RollingLatencyWindow(15);
+        var now = 20_000 * MS;
+
+        var result = window.result(20, 15, now, List.of(now - 2_000 * MS, now - 16_000 * MS));
+
+        assertThat(result.completedMessages()).isZero();
+        assertThat(result.pendingMessages()).isEqualTo(1);
+        assertThat(result.maxLatencyMs()).isBetween(15_800.0, 16_200.0);
+        assertThat(result.p25LatencyMs()).isBetween(1_980.0, 2_020.0);
+        assertThat(ThresholdMetrics.find("TIMEOUT_RATIO").orElseThrow().valueOf(result, null)).isEqualTo(1.0);
+    }
+
+    @Test
+    void resultShouldCountValidationsOfTheWindow() {
+        var window = new RollingLatencyWindow(5);
+        window.recordValidation(1, false);
+        window.recordValidation(3, true);
+        window.recordValidation(4, false);
+        window.recordValidation(5, false);
+
+        var result = window.result(5, 2, 0, List.of());
+
+        assertThat(result.validationPassCount()).isEqualTo(1);
+        assertThat(result.validationFailCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordValidationShouldClearSlotReusedByLaterSecond() {
+        var window = new RollingLatencyWindow(2);
+        window.recordValidation(0, false);
+        window.record(3, 10 * MS);
+
+        assertThat(window.result(4, 2, 0, List.of()).validationFailCount()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.config.SlaGuardProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlaGuardServiceTest {
+
+    private static final List<ThresholdDef> THRESHOLDS = List.of(new ThresholdDef("TPS", "GTE", 10.0));
+
+    @Mock
+    private PerformanceTracker performanceTracker;
+
+    private SlaGuardService service(SlaGuardProperties properties) {
+        return new SlaGuardService(performanceTracker, new ThresholdEvaluator(), properties);
+    }
+
+    @Test
+    void startShouldReturnInactiveGuardWhenDisabled() {
+        var guard = service(new SlaGuardProperties(false, 15, 15, 10, 30, "ABORT")).start(THRESHOLDS);
+
+        assertThat(guard).isSameAs(SlaGuard.inactive());
+    }
+
+    @Test
+    void startShouldReturnInactiveGuardWithoutThresholds() {
+        var guard = service(new SlaGuardProperties(true, 15, 15, 10, 30, "ABORT")).start(List.of());
+
+        assertThat(guard).isSameAs(SlaGuard.inactive());
+    }
+
+    @Test
+    void startedGuardShouldAbortTrackerOnBreach() {
+        when(performanceTracker.getWindowResult(15)).thenReturn(new PerfTestResult(0, 0, 15, 0, 0, 0, 0));
+
+        try (var guard = service(new SlaGuardProperties(true, 0, 0, 0, 0, null)).start(THRESHOLDS)) {
+            await().atMost(ofSeconds(5)).until(guard::isAborted);
+            assertThat(guard.drainTimeoutSeconds()).isEqualTo(SlaGuardService.DEFAULT_DRAIN_TIMEOUT_SECONDS);
+        }
+        verify(performanceTracker).abort();
+    }
+
+    @Test
+    void startedGuardShouldOnlyWarnAndSurviveFailingChecks() {
+        when(performanceTracker.getWindowResult(anyInt()))
+                .thenThrow(new IllegalStateException("not running"))
+                .thenReturn(new PerfTestResult(0, 0, 5, 0, 0, 0, 0));
+
+        try (var guard = service(new SlaGuardProperties(true, 5, 0, 0, 10, "warn")).start(THRESHOLDS)) {
+            await().atMost(ofSeconds(5)).until(() -> guard.breachReason() != null);
+            assertThat(guard.isAborted()).isFalse();
+            assertThat(guard.drainTimeoutSeconds()).isEqualTo(10);
+        }
+        verify(performanceTracker, atLeast(2)).getWindowResult(5);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.perftester.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SlaGuardTest {
+
+    private final AtomicInteger aborts = new AtomicInteger();
+
+    private SlaGuard guard(boolean abortOnBreach) {
+        return new SlaGuard(List.of(new ThresholdDef("TPS", "GTE", 10.0), new ThresholdDef("P99", "LT", 500.0)),
+                new ThresholdEvaluator(), 15_000, 10_000, 30, abortOnBreach, aborts::incrementAndGet);
+    }
+
+    private static PerfTestResult window(double tps, double p99) {
+        return new PerfTestResult(100, 0, 15, tps, 50.0, 1.0, p99).withPercentiles(0, 0, 0, 0, 0, p99);
+    }
+
+    @Test
+    void inactiveGuardShouldNeverAbort() {
+        var guard = SlaGuard.inactive();
+
+        guard.close();
+
+        assertThat(guard.isAborted()).isFalse();
+        assertThat(guard.breachReason()).isNull();
+    }
+
+    @Test
+    void checkShouldIgnoreBreachesDuringRampUp() {
+        var guard = guard(true);
+
+        guard.check(window(0, 900), 0);
+        guard.check(window(0, 900), 9_999);
+        guard.check(window(100, 100), 10_000);
+        guard.check(window(0, 900), 20_000);
+
+        assertThat(guard.isAborted()).isFalse();
+    }
+
+    @Test
+    void checkShouldAbortOnceBreachIsSustained() {
+        var guard = guard(true);
+
+        guard.check(window(100, 900), 12_000);
+        guard.check(window(100, 900), 26_000);
+        assertThat(guard.isAborted()).isFalse();
+
+        guard.check(window(100, 900), 27_000);
+        guard.check(window(100, 900), 28_000);
+
+        assertThat(guard.isAborted()).isTrue();
+        assertThat(guard.breachReason()).isEqualTo("P99 LT 500.00 breached for 15s (actual 900.00)");
+        assertThat(guard.drainTimeoutSeconds()).isEqualTo(30);
+        assertThat(aborts).hasValue(1);
+    }
+
+    @Test
+    void checkShouldRestartSustainPeriodWhenThresholdRecovers() {
+        var guard = guard(true);
+
+        guard.check(window(5, 100), 10_000);
+        guard.check(window(50, 100), 20_000);
+        guard.check(window(5, 100), 21_000);
+        guard.check(window(5, 100), 35_000);
+
+        assertThat(guard.isAborted()).isFalse();
+    }
+
+    @Test
+    void warningGuardShouldRecordBreachWithoutAborting() {
+        var guard = guard(false);
+
+        guard.check(window(5, 100), 10_000);
+        guard.check(window(5, 100), 25_000);
+
+        assertThat(guard.isAborted()).isFalse();
+        assertThat(guard.breachReason()).startsWith("TPS GTE 10.00");
+        assertThat(aborts).hasValue(0);
+    }
+
+    @Test
+    void stopShouldIgnoreLaterBreachesButKeepEarlierOnes() {
+        var stoppedEarly = guard(true);
+        stoppedEarly.check(window(100, 900), 12_000);
+        stoppedEarly.stop();
+        stoppedEarly.check(window(100, 900), 30_000);
+
+        var stoppedLate = guard(true);
+        stoppedLate.check(window(100, 900), 12_000);
+        stoppedLate.check(window(100, 900), 30_000);
+        stoppedLate.stop();
+
+        assertThat(stoppedEarly.isAborted()).isFalse();
+        assertThat(stoppedLate.isAborted()).isTrue();
+        assertThat(aborts).hasValue(1);
+    }
+
+    @Test
+    void checkShouldAbortWhenResponsesStopArriving() {
+        var guard = new SlaGuard(List.of(new ThresholdDef("TIMEOUT_RATIO", "LT", 0.05)),
+                new ThresholdEvaluator(), 0, 0, 30, true, aborts::incrementAndGet);
+
+        guard.check(new PerfTestResult(0, 40, 15, 0, 20_000, 20_000, 20_000), 20_000);
+
+        assertThat(guard.isAborted()).isTrue();
+        assertThat(guard.breachReason()).startsWith("TIMEOUT_RATIO LT 0.05");
+    }
+
+    @Test
+    void closeShouldStopTheCheckExecutor() {
+        var guard = guard(true);
+        var executor = mock(ScheduledExecutorService.class);
+        guard.runOn(executor);
+
+        guard.close();
+        guard.close();
+
+        verify(executor).shutdownNow();
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.perftester.perf;
+
+import com.example.perftester.admin.LoggingAdminService;
+import com.example.perftester.comparison.MetricComparison;
+import com.example.perftester.comparison.RunComparison;
+import com.example.perftester.comparison.RunComparisonService;
+import com.example.perftester.export.ExportJobRequest;
+import com.example.perftester.export.ExportJobService;
+import com.example.perftester.messaging.MessageSender;
+import com.example.perftester.monitoring.InfraSnapshotService;
+import com.example.perftester.persistence.InfraProfileService;
+import com.example.perftester.persistence.ScenarioMessage;
+import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunNotFoundException;
+import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.persistence.TestScenarioDetail;
+import com.example.perftester.persistence.TestScenarioService;
+import com.example.perftester.profiling.JfrCaptureService;
+import com.example.perftester.tracing.TraceSampler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestRunEngineTest {
+
+    @Mock
+    private MessageSender messageSender;
+
+    @Mock
+    private PerformanceTracker performanceTracker;
+
+    @Mock
+    private LoggingAdminService loggingAdminService;
+
+    @Mock
+    private TestRunService testRunService;
+
+    @Mock
+    private TestScenarioService testScenarioService;
+
+    @Mock
+    private InfraProfileService infraProfileService;
+
+    @Mock
+    private ThinkTimeCalculator thinkTimeCalculator;
+
+    @Mock
+    private ThresholdEvaluator thresholdEvaluator;
+
+    @Mock
+    private InfraSnapshotService infraSnapshotService;
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @Mock
+    private SlaGuardService slaGuardService;
+
+    @Mock
+    private RunComparisonService runComparisonService;
+
+    @Mock
+    private TraceSampler traceSampler;
+
+    @Mock
+    private JfrCaptureService jfrCaptureService;
+
+    @InjectMocks
+    private TestRunEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(messageSender.sendMessage(any(ScenarioMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(performanceTracker.tryStart(anyInt(), anyString())).thenReturn(true);
+        doReturn(true).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+        when(performanceTracker.getResult()).thenReturn(new PerfTestResult(10, 0, 1.0, 10.0, 50.0, 10.0, 100.0));
+        when(slaGuardService.start(any())).thenReturn(SlaGuard.inactive());
+        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
+        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of());
+    }
+
+    private static TestScenarioDetail scenario(int warmupCount, Long infraProfileId, ThinkTimeConfig thinkTime,
+                                               Long baselineRunId) {
+        return new TestScenarioDetail(1L, "test", 3, List.of(), false, null, null, warmupCount, null,
+                infraProfileId, thinkTime, List.of(), baselineRunId, "now", "now");
+    }
+
+    private static TestRunPlan plan(int count, TestScenarioDetail scenario) {
+        return new TestRunPlan("run-1", "test-id", "msg", count, 60, 0, scenario, TestRunPlan.Exports.NONE, false);
+    }
+
+    @Test
+    void prepareShouldApplyInfraProfileAndCreateRun() {
+        var testRun = new TestRun();
+        when(testRunService.createRun("run-1", "test-id", 3, null)).thenReturn(testRun);
+
+        assertThat(engine.prepare(plan(3, scenario(0, 42L, null, null)))).isSameAs(testRun);
+
+        var order = inOrder(infraProfileService, testRunService);
+        order.verify(infraProfileService).applyProfile(42L);
+        order.verify(testRunService).createRun("run-1", "test-id", 3, null);
+    }
+
+    @Test
+    void prepareShouldNotApplyProfileWithoutScenario() {
+        engine.prepare(plan(3, null));
+
+        verify(infraProfileService, never()).applyProfile(anyLong());
+        verify(testRunService).createRun("run-1", "test-id", 3, null);
+    }
+
+    @Test
+    void tryReserveShouldHoldTheGateUntilCancelled() {
+        assertThat(engine.tryReserve()).isTrue();
+        assertThat(engine.tryReserve()).isFalse();
+
+        engine.cancelReservation();
+
+        assertThat(engine.tryReserve()).isTrue();
+    }
+
+    @Test
+    void executeShouldReleaseTheReservation() {
+        engine.tryReserve();
+
+        engine.execute(1L, plan(3, null));
+
+        assertThat(engine.tryReserve()).isTrue();
+    }
+
+    @Test
+    void executeShouldSendNumberedMessagesWithoutScenario() throws Exception {
+        var status = engine.execute(1L, new TestRunPlan("run-1", null, "msg", 3, 60, 1, null,
+                TestRunPlan.Exports.NONE, false));
+
+        assertThat(status).isEqualTo("COMPLETED");
+        verify(messageSender).sendMessage("msg-0");
+        verify(messageSender).sendMessage("msg-2");
+        verify(performanceTracker).setStatus("COMPLETED");
+        verify(testRunService).completeRun(eq(1L), eq("COMPLETED"), any(), isNull());
+        verify(infraSnapshotService).startMonitoring(1L);
+        verify(infraSnapshotService).stopMonitoring();
+        var order = inOrder(traceSampler, performanceTracker);
+        order.verify(traceSampler).begin("run-1");
+        order.verify(traceSampler).finish();
+        order.verify(performanceTracker).release();
+        verify(testScenarioService, never()).getScenarioThresholds(anyLong());
+        verify(testRunService, never()).updateThresholdResult(anyLong(), any(), any());
+    }
+
+    @Test
+    void executeShouldSendScenarioMessagesWithTheirExpectations() {
+        var first = new ScenarioMessage("a", Map.of("type", "A"), null, "case-a", List.of());
+        var second = new ScenarioMessage("b", Map.of(), null, "case-b", List.of());
+        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of(first, second));
+
+        engine.execute(1L, plan(3, scenario(0, null, null, null)));
+
+        verify(messageSender, times(2)).sendMessage(first);
+        verify(messageSender).sendMessage(second);
+        verify(messageSender, never()).sendMessage(anyString());
+    }
+
+    @Test
+    void executeShouldWaitThinkTimeBetweenSends() {
+        var thinkTime = new ThinkTimeConfig("CONSTANT", 1, 1, 1, 0);
+        when(thinkTimeCalculator.nextSleepMs(thinkTime)).thenReturn(1L);
+
+        engine.execute(1L, plan(2, scenario(0, null, thinkTime, null)));
+
+        verify(thinkTimeCalculator, times(2)).nextSleepMs(thinkTime);
+    }
+
+    @Test
+    void executeShouldRunWarmupBeforeTheMeasuredPhase() throws Exception {
+        engine.execute(1L, plan(3, scenario(5, null, null, null)));
+
+        var order = inOrder(performanceTracker, messageSender);
+        order.verify(performanceTracker).startWarmupPhase(5);
+        order.verify(messageSender).sendMessage("warmup-4");
+        order.verify(performanceTracker).awaitWarmupCompletion(60, TimeUnit.SECONDS);
+        order.verify(performanceTracker).tryStart(3, "run-1");
+    }
+
+    @Test
+    void executeShouldRecordTimeout() throws Exception {
+        doReturn(false).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+
+        assertThat(engine.execute(1L, plan(3, null))).isEqualTo("TIMEOUT");
+
+        verify(testRunService).completeRun(eq(1L), eq("TIMEOUT"), any(), isNull());
+    }
+
+    @Test
+    void executeShouldFailWhenTrackerRejectsStart() {
+        when(performanceTracker.tryStart(anyInt(), anyString())).thenReturn(false);
+
+        assertThat(engine.execute(1L, plan(3, null))).isEqualTo("FAILED");
+
+        verify(testRunService).completeRun(eq(1L), eq("FAILED"), any(), isNull());
+        verify(messageSender, never()).sendMessage(anyString());
+        verify(performanceTracker, never()).release();
+        verify(infraSnapshotService, never()).stopMonitoring();
+        verify(traceSampler, never()).begin(anyString());
+    }
+
+    @Test
+    void executeShouldEvaluateScenarioThresholds() {
+        var thresholds = List.of(new ThresholdDef("TPS", "GTE", 5.0));
+        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(thresholds);
+        when(thresholdEvaluator.evaluate(eq(thresholds), any()))
+                .thenReturn(List.of(new ThresholdResult("TPS", "GTE", 5.0, 10.0, true)));
+
+        engine.execute(1L, plan(3, scenario(0, null, null, null)));
+
+        verify(testRunService).updateThresholdResult(1L, "PASSED",
+                List.of(new ThresholdResult("TPS", "GTE", 5.0, 10.0, true)));
+    }
+
+    @Test
+    void executeShouldFailThresholdsWhenComparisonWithBaselineRegresses() {
+        var metric = new MetricComparison("P99", 10.0, 9.5, 10.5, 20.0, 19.0, 21.0, 100.0,
+                RunComparison.REGRESSION);
+        when(runComparisonService.compare(1L, 5L)).thenReturn(
+                new RunComparison(5L, 1L, RunComparison.REGRESSION, null, List.of(metric)));
+
+        engine.execute(1L, plan(3, scenario(0, null, null, 5L)));
+
+        verify(testRunService).updateThresholdResult(1L, "FAILED",
+                List.of(new ThresholdResult("BASELINE_P99", "LTE", 10.0, 20.0, false)));
+    }
+
+    @Test
+    void executeShouldSkipBaselineComparisonWhenItCannotBeMade() {
+        when(runComparisonService.compare(1L, 5L)).thenThrow(new TestRunNotFoundException(5L));
+
+        assertThat(engine.execute(1L, plan(3, scenario(0, null, null, 5L)))).isEqualTo("COMPLETED");
+
+        verify(testRunService, never()).updateThresholdResult(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void executeShouldNotCompareWithBaselineWhenRunTimedOut() throws Exception {
+        doReturn(false).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+
+        engine.execute(1L, plan(3, scenario(0, null, null, 5L)));
+
+        verify(runComparisonService, never()).compare(anyLong(), anyLong());
+    }
+
+    @Test
+    void executeShouldStopSendingAndMarkAbortedWhenGuardTrips() {
+        var thresholds = List.of(new ThresholdDef("P99", "LT", 500.0));
+        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(thresholds);
+        var guard = mock(SlaGuard.class);
+        when(guard.isAborted()).thenReturn(false, true);
+        when(guard.breachReason()).thenReturn("P99 LT 500.00 breached for 15s (actual 900.00)");
+        when(guard.drainTimeoutSeconds()).thenReturn(30);
+        when(slaGuardService.start(thresholds)).thenReturn(guard);
+
+        assertThat(engine.execute(1L, plan(3, scenario(0, null, null, 5L)))).isEqualTo("ABORTED");
+
+        verify(messageSender, times(1)).sendMessage(anyString());
+        verify(performanceTracker).awaitInFlight(30, TimeUnit.SECONDS);
+        verify(testRunService).completeRun(eq(1L), eq("ABORTED"), any(), isNull());
+        verify(testRunService).recordAbortReason(1L, "P99 LT 500.00 breached for 15s (actual 900.00)");
+        verify(runComparisonService, never()).compare(anyLong(), anyLong());
+        verify(guard).close();
+    }
+
+    @Test
+    void executeShouldStopTheGuardBeforeWaitingForResponses() throws Exception {
+        var thresholds = List.of(new ThresholdDef("P99", "LT", 500.0));
+        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(thresholds);
+        var guard = mock(SlaGuard.class);
+        when(slaGuardService.start(thresholds)).thenReturn(guard);
+
+        engine.execute(1L, plan(3, scenario(0, null, null, 5L)));
+
+        var order = inOrder(guard, performanceTracker);
+        order.verify(guard).stop();
+        order.verify(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void executeShouldSubmitExportJobAfterCompletingTheRun() {
+        var plan = new TestRunPlan("run-1", "test-id", "msg", 1, 60, 0, null,
+                new TestRunPlan.Exports(true, false, false, true, false, false), false);
+
+        engine.execute(1L, plan);
+
+        var captor = ArgumentCaptor.forClass(ExportJobRequest.class);
+        var order = inOrder(testRunService, exportJobService);
+        order.verify(testRunService).completeRun(eq(1L), eq("COMPLETED"), any(), isNull());
+        order.verify(exportJobService).submit(captor.capture());
+        var request = captor.getValue();
+        assertThat(request.testRunId()).isEqualTo(1L);
+        assertThat(request.testId()).isEqualTo("test-id");
+        assertThat(request.exportGrafana()).isTrue();
+        assertThat(request.exportLogs()).isTrue();
+        assertThat(request.exportPrometheus()).isFalse();
+        assertThat(request.startMs()).isLessThanOrEqualTo(request.endMs());
+        verify(jfrCaptureService, never()).start(anyLong());
+    }
+
+    @Test
+    void executeShouldRecordJfrAroundMeasurementOnly() throws Exception {
+        var plan = new TestRunPlan("run-1", "test-id", "msg", 1, 60, 0, scenario(2, null, null, null),
+                new TestRunPlan.Exports(false, false, false, false, false, true), false);
+
+        when(jfrCaptureService.start(1L)).thenReturn(true);
+
+        engine.execute(1L, plan);
+
+        var order = inOrder(performanceTracker, jfrCaptureService, messageSender, exportJobService);
+        order.verify(performanceTracker).awaitWarmupCompletion(anyLong(), any(TimeUnit.class));
+        order.verify(jfrCaptureService).start(1L);
+        order.verify(messageSender).sendMessage("msg-0");
+        order.verify(jfrCaptureService).stop(1L);
+        order.verify(exportJobService).submit(argThat(ExportJobRequest::exportJfr));
+        verify(jfrCaptureService).stop(1L);
+    }
+
+    @Test
+    void executeShouldNotSubmitExportJobWhenNoExportSelected() {
+        engine.execute(1L, plan(1, null));
+
+        verify(exportJobService, never()).submit(any());
+    }
+
+    @Test
+    void executeShouldLogAtDebugForTheRunAndRestoreTheLevel() {
+        when(loggingAdminService.getLoggerConfiguration("com.example"))
+                .thenReturn(new LoggerConfiguration("com.example", null, LogLevel.WARN));
+
+        engine.execute(1L, new TestRunPlan("run-1", null, "msg", 1, 60, 0, null, TestRunPlan.Exports.NONE, true));
+
+        var order = inOrder(loggingAdminService);
+        order.verify(loggingAdminService).setLogLevel("com.example", LogLevel.DEBUG);
+        order.verify(loggingAdminService).setLogLevel("com.example", LogLevel.WARN);
+    }
+
+    @Test
+    void executeShouldRestoreInfoWhenLoggerHasNoConfiguration() {
+        when(loggingAdminService.getLoggerConfiguration("com.example")).thenReturn(null);
+
+        engine.execute(1L, new TestRunPlan("run-1", null, "msg", 1, 60, 0, null, TestRunPlan.Exports.NONE, true));
+
+        verify(loggingAdminService).setLogLevel("com.example", LogLevel.INFO);
+    }
+
+    @Test
+    void executeShouldFailWhenInterrupted() throws Exception {
+        doThrow(new InterruptedException()).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+
+        assertThat(engine.execute(1L, plan(3, null))).isEqualTo("FAILED");
+
+        assertThat(Thread.interrupted()).isTrue();
+        verify(performanceTracker).setStatus("FAILED");
+        verify(testRunService).completeRun(eq(1L), eq("FAILED"), any(), isNull());
+        verify(performanceTracker).release();
+    }
+
+    @Test
+    void executeShouldFailOnUnexpectedException() {
+        when(messageSender.sendMessage(anyString())).thenThrow(new RuntimeException("Unexpected send failure"));
+
+        assertThat(engine.execute(1L, plan(3, null))).isEqualTo("FAILED");
+
+        verify(performanceTracker).setStatus("FAILED");
+        verify(testRunService).completeRun(eq(1L), eq("FAILED"), any(), isNull());
+        verify(performanceTracker).release();
+    }
+
+    @Test
+    void executeShouldStopJfrRecordingWhenTheRunFails() {
+        when(messageSender.sendMessage(anyString())).thenThrow(new RuntimeException("Unexpected send failure"));
+        when(jfrCaptureService.start(1L)).thenReturn(true);
+        var plan = new TestRunPlan("run-1", null, "msg", 3, 60, 0, null,
+                new TestRunPlan.Exports(false, false, false, false, false, true), false);
+
+        assertThat(engine.execute(1L, plan)).isEqualTo("FAILED");
+
+        verify(jfrCaptureService).stop(1L);
+        verify(exportJobService, never()).submit(any());
+    }
+
+    @Test
+    void executeShouldCompleteWithoutRecordingWhenJfrCannotStart() {
+        when(jfrCaptureService.start(1L)).thenReturn(false);
+        var plan = new TestRunPlan("run-1", null, "msg", 1, 60, 0, null,
+                new TestRunPlan.Exports(false, false, false, false, false, true), false);
+
+        assertThat(engine.execute(1L, plan)).isEqualTo("COMPLETED");
+
+        verify(jfrCaptureService, never()).stop(anyLong());
+    }
+}
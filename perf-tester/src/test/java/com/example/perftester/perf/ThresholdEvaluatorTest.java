@@ -3,6 +3,7 @@ package com.example.perftester.perf;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -96,6 +97,18 @@ class ThresholdEvaluatorTest {
         assertFalse(evaluator.evaluate(List.of(def), result).get(0).passed());
     }
 
+    @Test
+    void perTestCaseThresholdIsLabelledWithTestCase() {
+        var histogram = new LatencyHistogram();
+        histogram.record(300_000_000L);
+        var result = resultWith(100.0, 50.0, 80.0, 99.0, 0.0, 0.0)
+                .withDistribution(new RunDistribution(new long[0], new long[0], Map.of("payment", histogram.snapshot())));
+        var evaluated = evaluator.evaluate(List.of(new ThresholdDef("P99", "LT", 250.0, "payment")), result).get(0);
+        assertEquals("P99[payment]", evaluated.metric());
+        assertEquals(300.0, evaluated.actual(), 3.0);
+        assertFalse(evaluated.passed());
+    }
+
     @Test
     void multipleDefsAreAllEvaluated() {
         var defs = List.of(
@@ -0,0 +1,126 @@
+package com.example.perftester.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ThresholdMetricsTest {
+
+    private static double value(String metric, PerfTestResult result) {
+        return ThresholdMetrics.find(metric).orElseThrow().valueOf(result, null);
+    }
+
+    private static long[] countsOf(long... nanos) {
+        var histogram = new LatencyHistogram();
+        for (var value : nanos) {
+            histogram.record(value);
+        }
+        return histogram.snapshot();
+    }
+
+    @Test
+    void allShouldListMetricsInRegistrationOrder() {
+        assertThat(ThresholdMetrics.all()).extracting(ThresholdMetric::name).containsExactly(
+                "TPS", "AVG_LATENCY", "MIN_LATENCY", "MAX_LATENCY", "P25", "P50", "P75", "P90", "P95",
+                "P99", "P99_9", "TIMEOUT_RATIO", "VALIDATION_FAILURE_RATE");
+        assertThat(ThresholdMetrics.find("P99_9").orElseThrow().description())
+                .isEqualTo("99.9th percentile latency (ms)");
+    }
+
+    @Test
+    void runMetricsShouldReadTheResult() {
+        var result = new PerfTestResult(90, 10, 10.0, 9.0, 20.0, 1.0, 400.0)
+                .withPercentiles(10, 15, 20, 30, 40, 50)
+                .withValidation(3, 1, List.of())
+                .withDistribution(new RunDistribution(countsOf(1_000_000L, 700_000_000L), new long[0]));
+
+        assertThat(value("TPS", result)).isEqualTo(9.0);
+        assertThat(value("AVG_LATENCY", result)).isEqualTo(20.0);
+        assertThat(value("MIN_LATENCY", result)).isEqualTo(1.0);
+        assertThat(value("MAX_LATENCY", result)).isEqualTo(400.0);
+        assertThat(value("P25", result)).isEqualTo(10.0);
+        assertThat(value("P50", result)).isEqualTo(15.0);
+        assertThat(value("P75", result)).isEqualTo(20.0);
+        assertThat(value("P90", result)).isEqualTo(30.0);
+        assertThat(value("P95", result)).isEqualTo(40.0);
+        assertThat(value("P99", result)).isEqualTo(50.0);
+        assertThat(value("P99_9", result)).isCloseTo(700.0, within(7.0));
+        assertThat(value("TIMEOUT_RATIO", result)).isEqualTo(0.1);
+        assertThat(value("VALIDATION_FAILURE_RATE", result)).isEqualTo(0.25);
+    }
+
+    @Test
+    void runMetricsShouldBeZeroWithoutData() {
+        var result = new PerfTestResult(0, 0, 0, 0, 0, 0, 0);
+
+        assertThat(value("P99_9", result)).isZero();
+        assertThat(value("TIMEOUT_RATIO", result)).isZero();
+        assertThat(value("VALIDATION_FAILURE_RATE", result)).isZero();
+    }
+
+    @Test
+    void latencyMetricsShouldReadOneTestCase() {
+        var result = new PerfTestResult(3, 0, 1.0, 3.0, 0, 0, 0).withDistribution(new RunDistribution(
+                new long[0], new long[0], Map.of("payment", countsOf(10_000_000L, 20_000_000L, 30_000_000L))));
+
+        assertThat(ThresholdMetrics.find("AVG_LATENCY").orElseThrow().valueOf(result, "payment"))
+                .isCloseTo(20.0, within(0.2));
+        assertThat(ThresholdMetrics.find("MIN_LATENCY").orElseThrow().valueOf(result, "payment"))
+                .isCloseTo(10.0, within(0.1));
+        assertThat(ThresholdMetrics.find("MAX_LATENCY").orElseThrow().valueOf(result, "payment"))
+                .isCloseTo(30.0, within(0.3));
+        assertThat(ThresholdMetrics.find("P50").orElseThrow().valueOf(result, "payment"))
+                .isCloseTo(20.0, within(0.2));
+        assertThat(ThresholdMetrics.find("P50").orElseThrow().valueOf(result, "refund")).isZero();
+    }
+
+    @Test
+    void testCaseValueShouldBeZeroWithoutDistributionOrHistogram() {
+        var result = new PerfTestResult(1, 0, 1.0, 1.0, 5.0, 5.0, 5.0);
+
+        assertThat(ThresholdMetrics.find("P50").orElseThrow().valueOf(result, "payment")).isZero();
+        assertThat(ThresholdMetrics.find("TPS").orElseThrow().valueOf(result, "payment")).isZero();
+        assertThat(ThresholdMetrics.find("TPS").orElseThrow().perTestCase()).isFalse();
+    }
+
+    @Test
+    void operatorsShouldCompareActualAgainstThreshold() {
+        assertThat(ThresholdMetrics.operators()).extracting(ThresholdOperator::name)
+                .containsExactly("LT", "LTE", "GT", "GTE");
+        assertThat(ThresholdMetrics.operator("LT").orElseThrow().test(1, 1)).isFalse();
+        assertThat(ThresholdMetrics.operator("LTE").orElseThrow().test(1, 1)).isTrue();
+        assertThat(ThresholdMetrics.operator("GT").orElseThrow().test(2, 1)).isTrue();
+        assertThat(ThresholdMetrics.operator("GTE").orElseThrow().test(0, 1)).isFalse();
+        assertThat(ThresholdMetrics.operator("EQ")).isEmpty();
+    }
+
+    @Test
+    void validateShouldAcceptRegisteredMetricsAndOperators() {
+        ThresholdMetrics.validate(new ThresholdDef("TIMEOUT_RATIO", "LT", 0.01));
+        ThresholdMetrics.validate(new ThresholdDef("P99_9", "LTE", 500, "payment"));
+    }
+
+    @Test
+    void validateShouldRejectUnknownOrUnscopableThresholds() {
+        assertThatThrownBy(() -> ThresholdMetrics.validate(new ThresholdDef("P42", "LT", 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown threshold metric: P42");
+        assertThatThrownBy(() -> ThresholdMetrics.validate(new ThresholdDef("TPS", "EQ", 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown threshold operator: EQ");
+        assertThatThrownBy(() -> ThresholdMetrics.validate(new ThresholdDef("TPS", "GT", 1, "payment")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Threshold metric TPS cannot be set per test case");
+    }
+
+    @Test
+    void labelShouldIncludeTestCase() {
+        assertThat(new ThresholdDef("P99", "LT", 1).label()).isEqualTo("P99");
+        assertThat(new ThresholdDef("P99", "LT", 1, "payment").label()).isEqualTo("P99[payment]");
+    }
+}
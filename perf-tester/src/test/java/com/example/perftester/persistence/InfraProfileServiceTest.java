@@ -1,5 +1,6 @@
 package com.example.perftester.persistence;
 
+import com.example.perftester.admin.ConsumerTuningService;
 import com.example.perftester.admin.IbmMqAdminService;
 import com.example.perftester.admin.KafkaAdminService;
 import com.example.perftester.admin.LoggingAdminService;
@@ -11,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.logging.LogLevel;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +45,9 @@ class InfraProfileServiceTest {
     @Mock
     private IbmMqAdminService ibmMqAdminService;
 
+    @Mock
+    private ConsumerTuningService consumerTuningService;
+
     @InjectMocks
     private InfraProfileService infraProfileService;
 
@@ -56,7 +61,7 @@ class InfraProfileServiceTest {
     }
 
     private InfraProfileRequest emptyRequest(String name) {
-        return new InfraProfileRequest(name, Map.of(), Map.of(), Map.of(), Map.of());
+        return new InfraProfileRequest(name, Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
     }
 
     @Test
@@ -210,6 +215,71 @@ class InfraProfileServiceTest {
         assertThat(result.errors()).isEmpty();
     }
 
+    @Test
+    void applyProfileShouldTuneEachServiceOnce() throws IOException, InterruptedException {
+        var profile = profileWithId(1L);
+        profile.setConsumerTuning(Map.of(
+                "kafka-consumer.kafkaConcurrency", "auto",
+                "kafka-consumer.lingerMs", "5",
+                "ibm-mq-consumer.jmsConcurrency", "20-80"));
+        when(repository.findById(1L)).thenReturn(Optional.of(profile));
+
+        var result = infraProfileService.applyProfile(1L);
+
+        verify(consumerTuningService).tune("kafka-consumer", Map.of("kafkaConcurrency", "auto", "lingerMs", "5"));
+        verify(consumerTuningService).tune("ibm-mq-consumer", Map.of("jmsConcurrency", "20-80"));
+        assertThat(result.applied()).containsExactly(
+                "tuning:ibm-mq-consumer.jmsConcurrency=20-80",
+                "tuning:kafka-consumer.kafkaConcurrency=auto",
+                "tuning:kafka-consumer.lingerMs=5");
+        assertThat(result.errors()).isEmpty();
+    }
+
+    @Test
+    void applyProfileShouldRecordTuningErrors() throws IOException, InterruptedException {
+        var profile = profileWithId(1L);
+        profile.setConsumerTuning(Map.of("kafkaConcurrency", "4", "kafka-consumer.kafkaConcurrency", "many"));
+        when(repository.findById(1L)).thenReturn(Optional.of(profile));
+        doThrow(new IOException("kafka-consumer returned HTTP 400"))
+                .when(consumerTuningService).tune("kafka-consumer", Map.of("kafkaConcurrency", "many"));
+
+        var result = infraProfileService.applyProfile(1L);
+
+        assertThat(result.applied()).isEmpty();
+        assertThat(result.errors()).containsExactlyInAnyOrder(
+                "tuning:kafkaConcurrency: expected <service>.<setting>",
+                "tuning:kafka-consumer: kafka-consumer returned HTTP 400");
+    }
+
+    @Test
+    void applyProfileShouldRecordInterruptedTuning() throws IOException, InterruptedException {
+        var profile = profileWithId(1L);
+        profile.setConsumerTuning(Map.of("kafka-consumer.lingerMs", "5"));
+        when(repository.findById(1L)).thenReturn(Optional.of(profile));
+        doThrow(new InterruptedException()).when(consumerTuningService).tune(any(), any());
+
+        var result = infraProfileService.applyProfile(1L);
+
+        assertThat(result.errors()).containsExactly("tuning:kafka-consumer: interrupted");
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void createShouldTreatMissingConsumerTuningAsEmpty() {
+        var request = new InfraProfileRequest("old-client", Map.of(), Map.of(), Map.of(), Map.of(), null);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            InfraProfile saved = invocation.getArgument(0);
+            saved.setId(3L);
+            saved.setCreatedAt(Instant.now());
+            saved.setUpdatedAt(Instant.now());
+            return saved;
+        });
+
+        var result = infraProfileService.create(request);
+
+        assertThat(result.consumerTuning()).isEmpty();
+    }
+
     @Test
     void cloneShouldCreateCopyWithNameSuffix() {
         var source = profileWithId(1L);
@@ -0,0 +1,26 @@
+package com.example.perftester.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagFilterTest {
+
+    @Test
+    void ofShouldStripAndDeduplicateTags() {
+        var filter = TagFilter.of(Arrays.asList(" smoke ", "", null, "smoke"), true);
+
+        assertThat(filter.tags()).containsExactly("smoke");
+        assertThat(filter.matchAll()).isTrue();
+        assertThat(filter.isEmpty()).isFalse();
+    }
+
+    @Test
+    void ofShouldTreatMissingOrBlankTagsAsNoFilter() {
+        assertThat(TagFilter.of(null, true)).isEqualTo(TagFilter.NONE);
+        assertThat(TagFilter.of(List.of(" "), false).isEmpty()).isTrue();
+    }
+}
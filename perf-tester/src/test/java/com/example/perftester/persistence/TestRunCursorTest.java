@@ -0,0 +1,31 @@
+package com.example.perftester.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestRunCursorTest {
+
+    @Test
+    void encodeShouldRoundTripThroughDecode() {
+        var cursor = new TestRunCursor(Instant.parse("2024-01-02T03:04:05.123456789Z"), 42L);
+
+        var token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(TestRunCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeShouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> TestRunCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TestRunCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TestRunCursor.decode("eWVzdGVyZGF5fDE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.perftester.persistence;
 
+import com.example.perftester.monitoring.PartitionLagSeries;
+import com.example.perftester.perf.LatencyHistogram;
 import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.perf.RunDistribution;
 import com.example.perftester.perf.ThresholdResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,14 +12,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +38,18 @@ class TestRunServiceTest {
     @Mock
     private TestRunSnapshotRepository snapshotRepository;
 
+    @Mock
+    private TrendRollupService trendRollupService;
+
+    @Mock
+    private TestRunTagService testRunTagService;
+
+    @Mock
+    private TestRunDistributionRepository distributionRepository;
+
+    @Mock
+    private TestRunPartitionLagRepository partitionLagRepository;
+
     @InjectMocks
     private TestRunService testRunService;
 
@@ -81,6 +95,76 @@ class TestRunServiceTest {
         assertThat(run.getZipFilePath()).isEqualTo("/tmp/export.zip");
         assertThat(run.getCompletedAt()).isNotNull();
         verify(testRunRepository).save(run);
+        verify(trendRollupService).refresh(run.getTestType(), run.getTestId(), run.getStartedAt());
+    }
+
+    @Test
+    void completeRunShouldStoreDistribution() {
+        var run = runWithId(1L);
+        when(testRunRepository.findById(1L)).thenReturn(Optional.of(run));
+        when(distributionRepository.findByTestRunId(1L)).thenReturn(Optional.empty());
+        var latencies = new long[LatencyHistogram.BUCKETS];
+        latencies[3] = 7;
+        latencies[40] = 2;
+        var result = emptyResult().withDistribution(new RunDistribution(latencies, new long[] {4, 6}));
+
+        testRunService.completeRun(1L, "COMPLETED", result, null);
+
+        var captor = ArgumentCaptor.forClass(TestRunDistribution.class);
+        verify(distributionRepository).save(captor.capture());
+        assertThat(captor.getValue().getTestRunId()).isEqualTo(1L);
+        assertThat(captor.getValue().getLatencyHistogram()).isEqualTo("3:7,40:2");
+        assertThat(captor.getValue().getThroughputSeries()).isEqualTo("4,6");
+    }
+
+    @Test
+    void findDistributionShouldDecodeStoredArrays() {
+        var stored = new TestRunDistribution();
+        stored.setLatencyHistogram("3:7");
+        stored.setThroughputSeries("");
+        when(distributionRepository.findByTestRunId(1L)).thenReturn(Optional.of(stored));
+
+        var distribution = testRunService.findDistribution(1L).orElseThrow();
+
+        assertThat(distribution.latencyCounts()).hasSize(LatencyHistogram.BUCKETS);
+        assertThat(distribution.latencyCounts()[3]).isEqualTo(7);
+        assertThat(distribution.completionsPerSecond()).isEmpty();
+        assertThat(distribution.hopLatencyCounts()).isEmpty();
+    }
+
+    @Test
+    void completeRunShouldStoreHopHistograms() {
+        var run = runWithId(1L);
+        when(testRunRepository.findById(1L)).thenReturn(Optional.of(run));
+        when(distributionRepository.findByTestRunId(1L)).thenReturn(Optional.empty());
+        var kafka = new long[LatencyHistogram.BUCKETS];
+        kafka[12] = 5;
+        var queue = new long[LatencyHistogram.BUCKETS];
+        queue[3] = 1;
+        queue[9] = 2;
+        var result = emptyResult().withDistribution(new RunDistribution(new long[LatencyHistogram.BUCKETS],
+                new long[0], Map.of(), Map.of("mq-request-queue", queue, "kafka-consumer", kafka)));
+
+        testRunService.completeRun(1L, "COMPLETED", result, null);
+
+        var captor = ArgumentCaptor.forClass(TestRunDistribution.class);
+        verify(distributionRepository).save(captor.capture());
+        assertThat(captor.getValue().getHopHistograms()).isEqualTo("kafka-consumer=12:5;mq-request-queue=3:1,9:2");
+    }
+
+    @Test
+    void findDistributionShouldDecodeHopHistograms() {
+        var stored = new TestRunDistribution();
+        stored.setLatencyHistogram("");
+        stored.setThroughputSeries("");
+        stored.setHopHistograms("kafka-consumer=12:5;mq-request-queue=");
+        when(distributionRepository.findByTestRunId(1L)).thenReturn(Optional.of(stored));
+
+        var hops = testRunService.findDistribution(1L).orElseThrow().hopLatencyCounts();
+
+        assertThat(hops).containsOnlyKeys("kafka-consumer", "mq-request-queue");
+        assertThat(hops.get("kafka-consumer")[12]).isEqualTo(5);
+        assertThat(hops.get("mq-request-queue")).containsOnly(0L);
     }
 
     @Test
@@ -91,6 +175,17 @@ class TestRunServiceTest {
                 .isInstanceOf(TestRunNotFoundException.class);
     }
 
+    @Test
+    void recordAbortReasonShouldStoreReason() {
+        var run = runWithId(1L);
+        when(testRunRepository.findById(1L)).thenReturn(Optional.of(run));
+
+        testRunService.recordAbortReason(1L, "P99 LT 500.00 breached for 15s (actual 900.00)");
+
+        assertThat(run.getAbortReason()).isEqualTo("P99 LT 500.00 breached for 15s (actual 900.00)");
+        verify(testRunRepository).save(run);
+    }
+
     @Test
     void updateThresholdResultShouldSetStatusAndSerializeResults() {
         var run = runWithId(1L);
@@ -156,11 +251,15 @@ class TestRunServiceTest {
 
     @Test
     void deleteShouldDeleteRunWithoutZipFile() {
-        when(testRunRepository.findById(1L)).thenReturn(Optional.of(runWithId(1L)));
+        var run = runWithId(1L);
+        run.setTestId("test-id");
+        when(testRunRepository.findById(1L)).thenReturn(Optional.of(run));
 
         testRunService.delete(1L);
 
         verify(testRunRepository).deleteById(1L);
+        verify(testRunTagService).evictDistinctTags();
+        verify(trendRollupService).refresh(null, "test-id", run.getStartedAt());
     }
 
     @Test
@@ -184,57 +283,140 @@ class TestRunServiceTest {
                 .isInstanceOf(TestRunNotFoundException.class);
     }
 
+    private static TestRunSummary summary(long id, Instant startedAt) {
+        return new TestRunSummary(id, "uuid-" + id, "test-id", "COMPLETED", 100, 100L,
+                null, null, null, null, null, null, null, null, null, null,
+                0L, null, null, null, startedAt, null, null, null, null);
+    }
+
     @Test
-    void findAllPagedShouldDelegateToRepository() {
-        var run = runWithId(1L);
-        var pageable = PageRequest.of(0, 20);
-        when(testRunRepository.findAllByOrderByStartedAtDesc(pageable))
-                .thenReturn(new PageImpl<>(List.of(run)));
+    void findSummariesShouldDeriveTotalFromLastPageWithoutCounting() {
+        var rows = List.of(summary(2L, Instant.now()), summary(1L, Instant.now()));
+        when(testRunRepository.findSummaries(TagFilter.NONE, null, 0, 21)).thenReturn(rows);
 
-        var result = testRunService.findAll(0, 20, null);
+        var result = testRunService.findSummaries(0, 20, TagFilter.NONE, null, true);
 
-        assertThat(result.getContent()).containsExactly(run);
-        assertThat(result.getTotalElements()).isEqualTo(1L);
+        assertThat(result.content()).isEqualTo(rows);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.totalElements()).isEqualTo(2L);
+        verify(testRunRepository, never()).countRuns(any());
     }
 
     @Test
-    void findAllPagedWithTagShouldFilterByTag() {
-        var run = runWithId(1L);
-        var pageable = PageRequest.of(0, 20);
-        when(testRunRepository.findByTagsLike("%smoke%", pageable))
-                .thenReturn(new PageImpl<>(List.of(run)));
+    void findSummariesShouldReadOneExtraRowToDetectNextPage() {
+        var startedAt = Instant.parse("2024-01-02T03:04:05Z");
+        var filter = TagFilter.of(List.of("smoke"), true);
+        var rows = List.of(summary(5L, startedAt), summary(4L, startedAt), summary(3L, startedAt));
+        when(testRunRepository.findSummaries(filter, null, 2, 3)).thenReturn(rows);
+        when(testRunRepository.countRuns(filter)).thenReturn(9L);
+
+        var result = testRunService.findSummaries(1, 2, filter, null, true);
+
+        assertThat(result.content()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isEqualTo(new TestRunCursor(startedAt, 4L));
+        assertThat(result.totalElements()).isEqualTo(9L);
+    }
+
+    @Test
+    void findSummariesShouldContinueAfterCursorWithoutOffsetOrCount() {
+        var cursor = new TestRunCursor(Instant.parse("2024-01-02T03:04:05Z"), 4L);
+        when(testRunRepository.findSummaries(TagFilter.NONE, cursor, 0, 3)).thenReturn(List.of());
 
-        var result = testRunService.findAll(0, 20, "smoke");
+        var result = testRunService.findSummaries(7, 2, TagFilter.NONE, cursor, false);
 
-        assertThat(result.getContent()).containsExactly(run);
+        assertThat(result.content()).isEmpty();
+        assertThat(result.totalElements()).isNull();
+        verify(testRunRepository, never()).countRuns(any());
     }
 
     @Test
-    void setTagsShouldSerializeAndSave() {
-        var run = runWithId(1L);
-        when(testRunRepository.findById(1L)).thenReturn(Optional.of(run));
+    void findSummariesShouldCountWhenPageIsPastTheEnd() {
+        when(testRunRepository.findSummaries(TagFilter.NONE, null, 40, 21)).thenReturn(List.of());
+        when(testRunRepository.countRuns(TagFilter.NONE)).thenReturn(3L);
 
-        testRunService.setTags(1L, List.of("smoke", "before-deploy"));
+        assertThat(testRunService.findSummaries(2, 20, TagFilter.NONE, null, true).totalElements()).isEqualTo(3L);
+    }
 
-        assertThat(run.getTags()).contains("smoke").contains("before-deploy");
-        verify(testRunRepository).save(run);
+    @Test
+    void findSummariesShouldRejectInvalidPaging() {
+        assertThatThrownBy(() -> testRunService.findSummaries(0, 0, TagFilter.NONE, null, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testRunService.findSummaries(-1, 20, TagFilter.NONE, null, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void savePartitionLagsShouldReplaceEncodedSeries() {
+        var series = new PartitionLagSeries("group", "requests", 2, Instant.EPOCH,
+                new long[] {0, 1000}, new long[] {5, 40}, new long[] {-1, 750});
+
+        testRunService.savePartitionLags(3L, List.of(series));
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(partitionLagRepository).deleteByTestRunId(3L);
+        verify(partitionLagRepository).saveAll(captor.capture());
+        var saved = (List<TestRunPartitionLag>) captor.getValue();
+        assertThat(saved).hasSize(1);
+        assertThat(saved.getFirst().getTestRunId()).isEqualTo(3L);
+        assertThat(saved.getFirst().getPartitionId()).isEqualTo(2);
+        assertThat(saved.getFirst().getSampleOffsetsMs()).isEqualTo("0,1000");
+        assertThat(saved.getFirst().getLags()).isEqualTo("5,40");
+        assertThat(saved.getFirst().getLagMs()).isEqualTo("-1,750");
     }
 
     @Test
-    void getAllUniqueTagsShouldDeduplicateAndSort() {
-        when(testRunRepository.findAllTagsJson())
-                .thenReturn(List.of("[\"b\",\"a\"]", "[\"a\",\"c\"]"));
+    void findPartitionLagsShouldDecodeSeries() {
+        var entity = new TestRunPartitionLag();
+        entity.setConsumerGroup("group");
+        entity.setTopic("requests");
+        entity.setPartitionId(1);
+        entity.setStartedAt(Instant.EPOCH);
+        entity.setSampleOffsetsMs("0,1000");
+        entity.setLags("3,9");
+        entity.setLagMs("0,420");
+        when(testRunRepository.findById(4L)).thenReturn(Optional.of(runWithId(4L)));
+        when(partitionLagRepository.findByTestRunIdOrderByConsumerGroupAscTopicAscPartitionIdAsc(4L))
+                .thenReturn(List.of(entity));
+
+        var series = testRunService.findPartitionLags(4L);
+
+        assertThat(series).hasSize(1);
+        assertThat(series.getFirst().topic()).isEqualTo("requests");
+        assertThat(series.getFirst().partition()).isEqualTo(1);
+        assertThat(series.getFirst().lags()).containsExactly(3, 9);
+        assertThat(series.getFirst().maxLagMs()).isEqualTo(420);
+    }
 
-        var tags = testRunService.getAllUniqueTags();
+    @Test
+    void findPartitionLagsShouldThrowWhenRunNotFound() {
+        assertThatThrownBy(() -> testRunService.findPartitionLags(99L))
+                .isInstanceOf(TestRunNotFoundException.class);
+    }
 
-        assertThat(tags).containsExactly("a", "b", "c");
+    @Test
+    void setTagsShouldReplaceTagsOfExistingRun() {
+        when(testRunRepository.existsById(1L)).thenReturn(true);
+
+        testRunService.setTags(1L, List.of("smoke", "before-deploy"));
+
+        verify(testRunTagService).replaceTags(1L, List.of("smoke", "before-deploy"));
     }
 
     @Test
-    void getAllUniqueTagsShouldReturnEmptyWhenNoTags() {
-        when(testRunRepository.findAllTagsJson()).thenReturn(List.of());
+    void setTagsShouldThrowWhenRunNotFound() {
+        assertThatThrownBy(() -> testRunService.setTags(99L, List.of("smoke")))
+                .isInstanceOf(TestRunNotFoundException.class);
+        verify(testRunTagService, never()).replaceTags(any(), any());
+    }
+
+    @Test
+    void getAllUniqueTagsShouldDelegateToTagService() {
+        when(testRunTagService.getAllUniqueTags()).thenReturn(List.of("a", "b"));
 
-        assertThat(testRunService.getAllUniqueTags()).isEmpty();
+        assertThat(testRunService.getAllUniqueTags()).containsExactly("a", "b");
     }
 
     @Test
@@ -250,12 +432,4 @@ class TestRunServiceTest {
         verify(testRunRepository).deleteById(2L);
         verify(testRunRepository, times(2)).deleteById(any());
     }
-
-    @Test
-    void getTrendDataShouldDelegateToRepository() {
-        var runs = List.of(runWithId(1L), runWithId(2L));
-        when(testRunRepository.findCompletedOrderByStartedAtAsc()).thenReturn(runs);
-
-        assertThat(testRunService.getTrendData()).isEqualTo(runs);
-    }
 }
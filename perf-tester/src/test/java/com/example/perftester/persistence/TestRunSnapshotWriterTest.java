@@ -0,0 +1,171 @@
+package com.example.perftester.persistence;
+
+import com.example.perftester.config.TelemetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TestRunSnapshotWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TestRunSnapshotWriter> writers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        writers.forEach(TestRunSnapshotWriter::close);
+    }
+
+    private TestRunSnapshotWriter writer(int batchSize, int bufferCapacity, long flushIntervalMs) {
+        var writer = new TestRunSnapshotWriter(jdbcTemplate,
+                new TelemetryProperties(batchSize, bufferCapacity, flushIntervalMs), meterRegistry);
+        writers.add(writer);
+        return writer;
+    }
+
+    private static TestRunSnapshot snapshot(long testRunId) {
+        var snapshot = new TestRunSnapshot();
+        snapshot.setTestRunId(testRunId);
+        snapshot.setSampledAt(Instant.parse("2026-01-01T00:00:00Z"));
+        snapshot.setOutboundQueueDepth(3);
+        snapshot.setKafkaRequestsLag(12L);
+        return snapshot;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushShouldWriteBufferedSnapshotsInOneBatch() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(150L);
+        var writer = writer(50, 1000, 60_000);
+
+        writer.write(snapshot(1L));
+        writer.write(snapshot(1L));
+        assertThat(meterRegistry.get("telemetry.buffer.size").gauge().value()).isEqualTo(2);
+        writer.flush();
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        var rows = (List<Object[]>) captor.getValue();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).hasSize(15);
+        assertThat(rows.get(0)[0]).isEqualTo(101L);
+        assertThat(rows.get(1)[0]).isEqualTo(102L);
+        assertThat(rows.get(0)[1]).isEqualTo(1L);
+        assertThat(rows.get(0)[3]).isEqualTo(3);
+        assertThat(rows.get(0)[5]).isEqualTo(12L);
+        assertThat(rows.get(0)[14]).isNull();
+        assertThat(writer.pending()).isZero();
+        assertThat(meterRegistry.get("telemetry.write.rows").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("telemetry.write.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void idsShouldBeTakenFromTheSequenceOncePerBlock() {
+        // A fresh sequence hands out its start value before the first full block
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 51L);
+        var writer = writer(2, 1000, 60_000);
+        var snapshots = List.of(snapshot(1L), snapshot(1L), snapshot(1L));
+
+        snapshots.forEach(writer::write);
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertThat(snapshots).extracting(TestRunSnapshot::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void fullBatchShouldBeWrittenBeforeTheFlushInterval() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        var writer = writer(2, 1000, 60_000);
+
+        writer.write(snapshot(1L));
+        writer.write(snapshot(1L));
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(jdbcTemplate).batchUpdate(anyString(), anyList()));
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void flushIntervalShouldWritePartialBatch() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        var writer = writer(50, 1000, 50);
+
+        writer.write(snapshot(1L));
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(jdbcTemplate).batchUpdate(anyString(), anyList()));
+    }
+
+    @Test
+    void fullBufferShouldBeWrittenByTheProducer() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        var writer = writer(2, 1, 60_000);
+
+        writer.write(snapshot(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        writer.write(snapshot(1L));
+
+        // Capacity is raised to one batch, so the second write fills the buffer and writes in place
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void failedBatchShouldBeCountedAndDropped() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("test run deleted"));
+        var writer = writer(50, 1000, 60_000);
+
+        writer.write(snapshot(1L));
+        writer.write(snapshot(2L));
+        writer.flush();
+
+        assertThat(writer.pending()).isZero();
+        assertThat(meterRegistry.get("telemetry.write.failures").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("telemetry.write.rows").counter().count()).isZero();
+    }
+
+    @Test
+    void closeShouldWritePendingSnapshotsWithDefaultSettings() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(50L);
+        var writer = writer(0, 0, 0);
+
+        writer.write(snapshot(1L));
+        writer.close();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flushWithNothingBufferedShouldNotTouchTheDatabase() {
+        writer(50, 1000, 60_000).flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
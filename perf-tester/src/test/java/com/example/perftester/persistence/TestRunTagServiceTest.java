@@ -0,0 +1,147 @@
+package com.example.perftester.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TestRunTagServiceTest {
+
+    @Mock
+    private TestRunTagRepository tagRepository;
+
+    @Mock
+    private TestRunRepository testRunRepository;
+
+    @InjectMocks
+    private TestRunTagService tagService;
+
+    private static TestRunTag tag(Long testRunId, String value) {
+        var tag = new TestRunTag();
+        tag.setTestRunId(testRunId);
+        tag.setTag(value);
+        return tag;
+    }
+
+    @Test
+    void getTagsShouldReturnSortedTagsOfRun() {
+        when(tagRepository.findByTestRunId(1L)).thenReturn(List.of(tag(1L, "smoke"), tag(1L, "nightly")));
+
+        assertThat(tagService.getTags(1L)).containsExactly("nightly", "smoke");
+    }
+
+    @Test
+    void getTagsShouldGroupTagsByRun() {
+        when(tagRepository.findByTestRunIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(tag(1L, "smoke"), tag(2L, "b"), tag(1L, "a")));
+
+        var tags = tagService.getTags(List.of(1L, 2L, 3L));
+
+        assertThat(tags).hasSize(2);
+        assertThat(tags.get(1L)).containsExactly("a", "smoke");
+        assertThat(tags.get(2L)).containsExactly("b");
+    }
+
+    @Test
+    void getTagsShouldSkipQueryForEmptyPage() {
+        assertThat(tagService.getTags(List.<Long>of())).isEmpty();
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaceTagsShouldWriteOnlyTheDifference() {
+        var kept = tag(1L, "smoke");
+        var dropped = tag(1L, "old");
+        when(tagRepository.findByTestRunId(1L)).thenReturn(List.of(kept, dropped));
+
+        tagService.replaceTags(1L, Arrays.asList(" smoke ", "new", "new", "", null));
+
+        verify(tagRepository).deleteAll(List.of(dropped));
+        ArgumentCaptor<List<TestRunTag>> saved = ArgumentCaptor.forClass(List.class);
+        verify(tagRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(t -> {
+            assertThat(t.getTestRunId()).isEqualTo(1L);
+            assertThat(t.getTag()).isEqualTo("new");
+        });
+    }
+
+    @Test
+    void replaceTagsShouldSkipWritesWhenUnchanged() {
+        when(tagRepository.findByTestRunId(1L)).thenReturn(List.of(tag(1L, "smoke")));
+
+        tagService.replaceTags(1L, List.of("smoke"));
+
+        verify(tagRepository, never()).deleteAll(any());
+        verify(tagRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void replaceTagsShouldRejectOverlongTags() {
+        var tooLong = List.of("x".repeat(TestRunTagService.MAX_TAG_LENGTH + 1));
+
+        assertThatThrownBy(() -> tagService.replaceTags(1L, tooLong))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    void getAllUniqueTagsShouldBeCachedUntilTagsChange() {
+        when(tagRepository.findDistinctTags()).thenReturn(List.of("a", "b"), List.of("a", "b", "c"));
+        when(tagRepository.findByTestRunId(1L)).thenReturn(List.of());
+
+        assertThat(tagService.getAllUniqueTags()).containsExactly("a", "b");
+        assertThat(tagService.getAllUniqueTags()).containsExactly("a", "b");
+        tagService.replaceTags(1L, List.of("c"));
+
+        assertThat(tagService.getAllUniqueTags()).containsExactly("a", "b", "c");
+        verify(tagRepository, times(2)).findDistinctTags();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrateLegacyTagsShouldMoveJsonTagsAndClearColumn() {
+        var tagged = new TestRun();
+        tagged.setId(1L);
+        tagged.setLegacyTags("[\"smoke\",\"a\",\"smoke\"]");
+        var broken = new TestRun();
+        broken.setId(2L);
+        broken.setLegacyTags("not json");
+        when(testRunRepository.findWithLegacyTags()).thenReturn(List.of(tagged, broken));
+
+        tagService.migrateLegacyTags();
+
+        ArgumentCaptor<List<TestRunTag>> saved = ArgumentCaptor.forClass(List.class);
+        verify(tagRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(TestRunTag::getTag).containsExactly("a", "smoke");
+        assertThat(saved.getValue()).extracting(TestRunTag::getTestRunId).containsOnly(1L);
+        assertThat(tagged.getLegacyTags()).isNull();
+        assertThat(broken.getLegacyTags()).isNull();
+        verify(testRunRepository).saveAll(List.of(tagged, broken));
+    }
+
+    @Test
+    void migrateLegacyTagsShouldDoNothingWhenMigrated() {
+        when(testRunRepository.findWithLegacyTags()).thenReturn(List.of());
+
+        tagService.migrateLegacyTags();
+
+        verify(tagRepository, never()).saveAll(anyList());
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.perftester.persistence;
 
+import com.example.perftester.perf.ThresholdDef;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.List;
@@ -13,6 +16,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +29,12 @@ class TestScenarioServiceTest {
     @Mock
     private TestCaseRepository testCaseRepository;
 
+    @Mock
+    private TestRunRepository testRunRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TestScenarioService testScenarioService;
 
@@ -39,7 +49,7 @@ class TestScenarioServiceTest {
     }
 
     private TestScenarioRequest emptyRequest(String name) {
-        return new TestScenarioRequest(name, 100, List.of(), false, null, 0, null, null, null, List.of());
+        return new TestScenarioRequest(name, 100, List.of(), false, null, null, 0, null, null, null, List.of(), null);
     }
 
     @Test
@@ -88,6 +98,141 @@ class TestScenarioServiceTest {
         assertThat(result.name()).isEqualTo("new-scenario");
     }
 
+    @Test
+    void createShouldKeepExistingBaselineRun() {
+        var request = new TestScenarioRequest("baseline", 100, List.of(), true, "0 0 2 * * *", null, 0, null, null, null,
+                List.of(), 7L);
+        when(testRunRepository.existsById(7L)).thenReturn(true);
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(3L));
+
+        testScenarioService.create(request);
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().getBaselineRunId()).isEqualTo(7L);
+    }
+
+    @Test
+    void createShouldRejectUnknownBaselineRun() {
+        var request = new TestScenarioRequest("baseline", 100, List.of(), true, "0 0 2 * * *", null, 0, null, null, null,
+                List.of(), 8L);
+        when(testRunRepository.existsById(8L)).thenReturn(false);
+
+        assertThatThrownBy(() -> testScenarioService.create(request))
+                .isInstanceOf(TestRunNotFoundException.class);
+        verify(testScenarioRepository, never()).save(any());
+    }
+
+    @Test
+    void createShouldStorePerTestCaseThreshold() {
+        var request = new TestScenarioRequest("thresholds", 100, List.of(), false, null, null, 0, null, null, null,
+                List.of(new ThresholdDef("P99", "LT", 250, "payment")), null);
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(4L));
+
+        testScenarioService.create(request);
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().getThresholdsJson()).contains("\"testCase\":\"payment\"");
+    }
+
+    @Test
+    void createShouldRejectUnknownThresholdMetric() {
+        var request = new TestScenarioRequest("thresholds", 100, List.of(), false, null, null, 0, null, null, null,
+                List.of(new ThresholdDef("P42", "LT", 250)), null);
+
+        assertThatThrownBy(() -> testScenarioService.create(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown threshold metric: P42");
+        verify(testScenarioRepository, never()).save(any());
+    }
+
+    @Test
+    void createShouldStoreScheduleAndNotifyScheduler() {
+        var request = new TestScenarioRequest("nightly", 100, List.of(), true, " 0 0 2 * * MON-FRI ", "RUN_ONCE", 0,
+                null, null, null, List.of(), null);
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(5L));
+
+        testScenarioService.create(request);
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().getScheduleCron()).isEqualTo("0 0 2 * * MON-FRI");
+        assertThat(captor.getValue().getMissedFirePolicy()).isEqualTo("RUN_ONCE");
+        verify(eventPublisher).publishEvent(new TestScenarioChangedEvent(5L));
+    }
+
+    @Test
+    void createShouldDefaultMissedFirePolicyToSkip() {
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(5L));
+
+        testScenarioService.create(emptyRequest("unscheduled"));
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().getScheduleCron()).isNull();
+        assertThat(captor.getValue().getMissedFirePolicy()).isEqualTo("SKIP");
+    }
+
+    @Test
+    void createShouldRejectInvalidCron() {
+        var request = new TestScenarioRequest("nightly", 100, List.of(), true, "02:00", null, 0,
+                null, null, null, List.of(), null);
+
+        assertThatThrownBy(() -> testScenarioService.create(request))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(testScenarioRepository, never()).save(any());
+    }
+
+    @Test
+    void createShouldRejectScheduleWithoutCron() {
+        var request = new TestScenarioRequest("nightly", 100, List.of(), true, " ", null, 0,
+                null, null, null, List.of(), null);
+
+        assertThatThrownBy(() -> testScenarioService.create(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A scheduled scenario needs a cron expression");
+    }
+
+    @Test
+    void createShouldRejectUnknownMissedFirePolicy() {
+        var request = new TestScenarioRequest("nightly", 100, List.of(), true, "0 0 2 * * *", "RUN_ALL", 0,
+                null, null, null, List.of(), null);
+
+        assertThatThrownBy(() -> testScenarioService.create(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown missed fire policy: RUN_ALL");
+    }
+
+    @Test
+    void importShouldTurnLegacyScheduledTimeIntoDailyCron() {
+        var legacy = new ScenarioExport("1.0", "legacy", 100, true, null, null, "07:30", 0, null, null,
+                List.of(), List.of());
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(6L));
+
+        testScenarioService.importScenario(legacy);
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().isScheduledEnabled()).isTrue();
+        assertThat(captor.getValue().getScheduleCron()).isEqualTo("0 30 07 * * *");
+        assertThat(captor.getValue().getMissedFirePolicy()).isEqualTo("SKIP");
+    }
+
+    @Test
+    void importShouldLeaveScenarioUnscheduledWithoutSchedule() {
+        var legacy = new ScenarioExport("1.0", "legacy", 100, true, null, null, null, 0, null, null,
+                List.of(), List.of());
+        when(testScenarioRepository.save(any())).thenReturn(scenarioWithId(6L));
+
+        testScenarioService.importScenario(legacy);
+
+        var captor = ArgumentCaptor.forClass(TestScenario.class);
+        verify(testScenarioRepository).save(captor.capture());
+        assertThat(captor.getValue().isScheduledEnabled()).isFalse();
+        assertThat(captor.getValue().getScheduleCron()).isNull();
+    }
+
     @Test
     void updateShouldModifyAndReturnDetail() {
         var scenario = scenarioWithId(1L);
@@ -114,13 +259,14 @@ class TestScenarioServiceTest {
     void deleteShouldCallDeleteById() {
         testScenarioService.delete(5L);
         verify(testScenarioRepository).deleteById(5L);
+        verify(eventPublisher).publishEvent(new TestScenarioChangedEvent(5L));
     }
 
     @Test
     void listScheduledEnabledShouldReturnOnlyEnabled() {
         var scenario = scenarioWithId(1L);
         scenario.setScheduledEnabled(true);
-        scenario.setScheduledTime("08:00");
+        scenario.setScheduleCron("0 0 8 * * *");
         when(testScenarioRepository.findByScheduledEnabledTrue()).thenReturn(List.of(scenario));
 
         var result = testScenarioService.listScheduledEnabled();
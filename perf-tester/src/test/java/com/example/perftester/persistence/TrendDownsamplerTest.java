@@ -0,0 +1,29 @@
+package com.example.perftester.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendDownsamplerTest {
+
+    @Test
+    void lttbShouldReturnInputWhenAlreadySmallEnough() {
+        var points = List.of(1.0, 2.0, 3.0);
+
+        assertThat(TrendDownsampler.lttb(points, 5, p -> p, p -> p)).isSameAs(points);
+        assertThat(TrendDownsampler.lttb(points, 2, p -> p, p -> p)).isSameAs(points);
+    }
+
+    @Test
+    void lttbShouldKeepEndpointsAndPeaks() {
+        var values = IntStream.range(0, 100).mapToObj(i -> i == 42 ? 1000.0 : i == 77 ? -500.0 : 1.0).toList();
+        var indices = IntStream.range(0, 100).boxed().toList();
+
+        var sampled = TrendDownsampler.lttb(indices, 10, i -> i, values::get);
+
+        assertThat(sampled).hasSize(10).startsWith(0).endsWith(99).contains(42, 77).isSorted();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.perftester.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    private static final Instant STARTED = Instant.parse("2024-03-01T23:30:00Z");
+
+    @Mock
+    private TestRunRepository testRunRepository;
+
+    @Mock
+    private TestRunDailyRollupRepository rollupRepository;
+
+    @InjectMocks
+    private TrendRollupService service;
+
+    @Test
+    void refreshShouldCreateBucketFromUtcDayAggregates() {
+        when(testRunRepository.aggregateCompleted("", "t1", Instant.parse("2024-03-01T00:00:00Z"),
+                Instant.parse("2024-03-02T00:00:00Z")))
+                .thenReturn(new TrendBucketStats(2, 10.0, 15.0, 20.0, 5.0, 6.0, 7.0));
+        when(rollupRepository.findByTestTypeAndTestIdAndDay("", "t1", DAY)).thenReturn(Optional.empty());
+
+        service.refresh(null, "t1", STARTED);
+
+        var captor = ArgumentCaptor.forClass(TestRunDailyRollup.class);
+        verify(rollupRepository).save(captor.capture());
+        var rollup = captor.getValue();
+        assertThat(rollup.getDay()).isEqualTo(DAY);
+        assertThat(rollup.getTestType()).isEmpty();
+        assertThat(rollup.getRunCount()).isEqualTo(2);
+        assertThat(rollup.getAvgTps()).isEqualTo(15.0);
+        assertThat(rollup.getMaxP99LatencyMs()).isEqualTo(7.0);
+    }
+
+    @Test
+    void refreshShouldDeleteBucketWithoutCompletedRuns() {
+        var existing = rollup("t1", DAY, 10.0);
+        when(testRunRepository.aggregateCompleted(any(), any(), any(), any()))
+                .thenReturn(new TrendBucketStats(0, null, null, null, null, null, null));
+        when(rollupRepository.findByTestTypeAndTestIdAndDay("MQ", "t1", DAY)).thenReturn(Optional.of(existing));
+
+        service.refresh("MQ", "t1", STARTED);
+
+        verify(rollupRepository).delete(existing);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildIfEmptyShouldAggregateRecordedRuns() {
+        when(rollupRepository.count()).thenReturn(0L);
+        when(testRunRepository.findCompletedTrendSamples()).thenReturn(List.of(
+                new TrendSample("MQ", "t1", STARTED, 10.0, 4.0),
+                new TrendSample("MQ", "t1", Instant.parse("2024-03-01T01:00:00Z"), 30.0, null),
+                new TrendSample(null, null, STARTED, null, null)));
+
+        service.rebuildIfEmpty();
+
+        ArgumentCaptor<List<TestRunDailyRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        var first = captor.getValue().get(0);
+        assertThat(first.getRunCount()).isEqualTo(2);
+        assertThat(first.getMinTps()).isEqualTo(10.0);
+        assertThat(first.getAvgTps()).isEqualTo(20.0);
+        assertThat(first.getAvgP99LatencyMs()).isEqualTo(4.0);
+        assertThat(captor.getValue().get(1).getAvgTps()).isNull();
+    }
+
+    @Test
+    void rebuildIfEmptyShouldSkipWhenRollupsExist() {
+        when(rollupRepository.count()).thenReturn(5L);
+
+        service.rebuildIfEmpty();
+
+        verify(testRunRepository, never()).findCompletedTrendSamples();
+    }
+
+    @Test
+    void getTrendsShouldDownsampleEachSeriesAndOrderByDay() {
+        var from = DAY;
+        var to = DAY.plusDays(99);
+        var rollups = new ArrayList<TestRunDailyRollup>();
+        IntStream.range(0, 100).forEach(i -> rollups.add(rollup("a", DAY.plusDays(i), (double) i)));
+        rollups.add(rollup("b", DAY.plusDays(5), 1.0));
+        when(rollupRepository.findByDayBetweenOrderByTestIdAscTestTypeAscDayAsc(from, to)).thenReturn(rollups);
+
+        var result = service.getTrends(from, to, null, 10);
+
+        assertThat(result).hasSize(11);
+        assertThat(result).extracting(TestRunDailyRollup::getDay).isSorted();
+        assertThat(result).filteredOn(r -> r.getTestId().equals("b")).hasSize(1);
+    }
+
+    @Test
+    void getTrendsShouldFilterByTestId() {
+        when(rollupRepository.findByTestIdAndDayBetweenOrderByTestTypeAscDayAsc("a", DAY, DAY))
+                .thenReturn(List.of(rollup("a", DAY, 1.0)));
+
+        assertThat(service.getTrends(DAY, DAY, "a", 10)).hasSize(1);
+    }
+
+    private static TestRunDailyRollup rollup(String testId, LocalDate day, Double avgTps) {
+        var rollup = new TestRunDailyRollup();
+        rollup.setTestType("");
+        rollup.setTestId(testId);
+        rollup.setDay(day);
+        rollup.setRunCount(1);
+        rollup.setAvgTps(avgTps);
+        return rollup;
+    }
+}
@@ -21,7 +21,7 @@ class RunTestPreferencesControllerTest {
 
     @Test
     void getShouldDelegateToService() {
-        var response = new RunTestPreferencesResponse(true, false, true, false, true, false);
+        var response = new RunTestPreferencesResponse(true, false, true, false, true, false, false);
         when(service.get()).thenReturn(response);
 
         var result = controller.get();
@@ -31,8 +31,8 @@ class RunTestPreferencesControllerTest {
 
     @Test
     void updateShouldDelegateToService() {
-        var request = new RunTestPreferencesRequest(true, true, false, true, false, true);
-        var response = new RunTestPreferencesResponse(true, true, false, true, false, true);
+        var request = new RunTestPreferencesRequest(true, true, false, true, false, true, true);
+        var response = new RunTestPreferencesResponse(true, true, false, true, false, true, true);
         when(service.update(request)).thenReturn(response);
 
         var result = controller.update(request);
@@ -22,7 +22,7 @@ class RunTestPreferencesServiceTest {
     private RunTestPreferencesService service;
 
     private RunTestPreferences entity(boolean grafana, boolean prometheus, boolean kubernetes,
-                                      boolean logs, boolean database, boolean debug) {
+                                      boolean logs, boolean database, boolean jfr, boolean debug) {
         var p = new RunTestPreferences();
         p.setId(1L);
         p.setExportGrafana(grafana);
@@ -30,13 +30,14 @@ class RunTestPreferencesServiceTest {
         p.setExportKubernetes(kubernetes);
         p.setExportLogs(logs);
         p.setExportDatabase(database);
+        p.setExportJfr(jfr);
         p.setDebug(debug);
         return p;
     }
 
     @Test
     void getShouldReturnStoredPreferences() {
-        when(repository.findById(1L)).thenReturn(Optional.of(entity(true, false, true, false, true, false)));
+        when(repository.findById(1L)).thenReturn(Optional.of(entity(true, false, true, false, true, true, false)));
 
         var result = service.get();
 
@@ -45,6 +46,7 @@ class RunTestPreferencesServiceTest {
         assertThat(result.exportKubernetes()).isTrue();
         assertThat(result.exportLogs()).isFalse();
         assertThat(result.exportDatabase()).isTrue();
+        assertThat(result.exportJfr()).isTrue();
         assertThat(result.debug()).isFalse();
     }
 
@@ -59,16 +61,17 @@ class RunTestPreferencesServiceTest {
         assertThat(result.exportKubernetes()).isFalse();
         assertThat(result.exportLogs()).isFalse();
         assertThat(result.exportDatabase()).isFalse();
+        assertThat(result.exportJfr()).isFalse();
         assertThat(result.debug()).isFalse();
     }
 
     @Test
     void updateShouldSaveAndReturnUpdatedPreferences() {
-        var existing = entity(false, false, false, false, false, false);
+        var existing = entity(false, false, false, false, false, false, false);
         when(repository.findById(1L)).thenReturn(Optional.of(existing));
         when(repository.save(existing)).thenReturn(existing);
 
-        var request = new RunTestPreferencesRequest(true, true, false, true, false, true);
+        var request = new RunTestPreferencesRequest(true, true, false, true, false, true, true);
         var result = service.update(request);
 
         assertThat(result.exportGrafana()).isTrue();
@@ -76,6 +79,7 @@ class RunTestPreferencesServiceTest {
         assertThat(result.exportKubernetes()).isFalse();
         assertThat(result.exportLogs()).isTrue();
         assertThat(result.exportDatabase()).isFalse();
+        assertThat(result.exportJfr()).isTrue();
         assertThat(result.debug()).isTrue();
     }
 
@@ -84,7 +88,7 @@ class RunTestPreferencesServiceTest {
         when(repository.findById(1L)).thenReturn(Optional.empty());
         when(repository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-        var request = new RunTestPreferencesRequest(false, false, false, false, true, false);
+        var request = new RunTestPreferencesRequest(false, false, false, false, true, false, false);
         var result = service.update(request);
 
         assertThat(result.exportDatabase()).isTrue();
@@ -0,0 +1,177 @@
+package com.example.perftester.profiling;
+
+import com.example.perftester.config.JfrProperties;
+import com.example.profiling.JfrEndpoint;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JfrCaptureServiceTest {
+
+    private static final byte[] REMOTE_DUMP = "remote-dump".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private JfrEndpoint localEndpoint;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int startStatus = 200;
+    private volatile int stopStatus = 200;
+    private volatile int downloadStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(JfrCaptureService.ENDPOINT_PATH, exchange -> {
+            var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(exchange.getRequestMethod() + " " + body);
+            switch (exchange.getRequestMethod()) {
+                case "POST" -> exchange.sendResponseHeaders(startStatus, -1);
+                case "DELETE" -> exchange.sendResponseHeaders(stopStatus, -1);
+                default -> {
+                    exchange.sendResponseHeaders(downloadStatus, REMOTE_DUMP.length);
+                    exchange.getResponseBody().write(REMOTE_DUMP);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private JfrCaptureService service() {
+        var baseUrl = "http://localhost:" + server.getAddress().getPort();
+        return new JfrCaptureService(localEndpoint,
+                new JfrProperties("default", tempDir.toString(), Map.of("kafka-consumer", baseUrl)));
+    }
+
+    private void givenLocalDump() throws IOException {
+        var dump = Files.writeString(tempDir.resolve("local.tmp"), "local-dump");
+        when(localEndpoint.stop()).thenReturn(new WebEndpointResponse<>(new JfrEndpoint.Status(false, "default", 10)));
+        when(localEndpoint.download()).thenReturn(new WebEndpointResponse<>(new FileSystemResource(dump)));
+    }
+
+    @Test
+    void recordingsOfEveryServiceShouldBeKeptUntilDiscarded() throws IOException {
+        givenLocalDump();
+        var service = service();
+
+        service.start(1L);
+        service.stop(1L);
+
+        verify(localEndpoint).start("default");
+        assertThat(requests).containsExactly("POST {\"profile\":\"default\"}", "DELETE ", "GET ");
+        var recordings = service.recordings(1L);
+        assertThat(recordings).extracting(path -> path.getFileName().toString())
+                .containsExactly("kafka-consumer.jfr", "perf-tester.jfr");
+        assertThat(recordings.getFirst()).hasBinaryContent(REMOTE_DUMP);
+        assertThat(recordings.get(1)).hasContent("local-dump");
+
+        service.discard(1L);
+
+        assertThat(tempDir.resolve("1")).doesNotExist();
+        assertThat(service.recordings(1L)).isEmpty();
+    }
+
+    @Test
+    void invalidProfileShouldSkipRecording() {
+        when(localEndpoint.start("default")).thenThrow(new InvalidEndpointRequestException("Unknown", "Invalid"));
+
+        assertThat(service().start(1L)).isFalse();
+
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void unreachableServiceShouldBeLeftOutOfTheRecordings() throws IOException {
+        givenLocalDump();
+        startStatus = 500;
+        stopStatus = 404;
+        var service = service();
+
+        service.start(1L);
+        service.stop(1L);
+
+        assertThat(requests).containsExactly("POST {\"profile\":\"default\"}", "DELETE ");
+        assertThat(service.recordings(1L)).extracting(path -> path.getFileName().toString())
+                .containsExactly("perf-tester.jfr");
+    }
+
+    @Test
+    void failedDownloadShouldNotLeaveAFileBehind() throws IOException {
+        givenLocalDump();
+        downloadStatus = 404;
+        var service = service();
+
+        service.stop(1L);
+
+        assertThat(tempDir.resolve("1").resolve("kafka-consumer.jfr")).doesNotExist();
+    }
+
+    @Test
+    void localRecordingShouldBeSkippedWhenItIsNotRunningOrCannotBeSaved() throws IOException {
+        when(localEndpoint.stop()).thenReturn(new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND))
+                .thenThrow(new IOException("disk full"));
+        var service = new JfrCaptureService(localEndpoint, new JfrProperties(null, tempDir.toString(), null));
+
+        service.stop(1L);
+        service.stop(1L);
+
+        assertThat(service.recordings(1L)).isEmpty();
+        service.discard(1L);
+    }
+
+    @Test
+    void defaultsShouldRecordWithTheProfileSettingsAndOnlyLocally() throws IOException {
+        var service = new JfrCaptureService(localEndpoint, new JfrProperties(null, null, null));
+
+        service.start(1L);
+
+        verify(localEndpoint).start(JfrEndpoint.DEFAULT_PROFILE);
+        assertThat(service.recordings(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void interruptShouldStopTalkingToTheServices() throws IOException {
+        when(localEndpoint.stop()).thenReturn(new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+        var service = service();
+
+        Thread.currentThread().interrupt();
+        service.start(1L);
+        assertThat(Thread.interrupted()).isTrue();
+        Thread.currentThread().interrupt();
+        service.stop(1L);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(service.recordings(1L)).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.perftester.profiling;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JfrSummaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readShouldSummariseSamplesAndCollectionsOfARecording() throws IOException {
+        var file = tempDir.resolve("perf-tester.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(JfrSummary.EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(10));
+            recording.enable(JfrSummary.ALLOCATION_SAMPLE).with("throttle", "1000/s");
+            recording.enable(JfrSummary.GARBAGE_COLLECTION);
+            recording.start();
+            allocateFor(Duration.ofMillis(500));
+            System.gc();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var summary = JfrSummary.read("perf-tester", file);
+
+        assertThat(summary.service()).isEqualTo("perf-tester");
+        assertThat(summary.hotMethods()).isNotEmpty().hasSizeLessThanOrEqualTo(JfrSummary.TOP_SITES);
+        assertThat(summary.hotMethods().getFirst().frame()).matches(".+\\..+:-?\\d+");
+        assertThat(summary.allocationSites()).isNotEmpty();
+        assertThat(summary.gcCount()).isPositive();
+        assertThat(summary.gcPauseMax()).isLessThanOrEqualTo(summary.gcPauseTotal());
+        assertThat(summary.format()).startsWith("perf-tester").contains("Hot methods");
+    }
+
+    @Test
+    void aggregatorShouldCountPinnedVirtualThreadsAndIgnoreOtherEvents() {
+        var aggregator = new JfrSummary.Aggregator();
+
+        aggregator.accept(event(JfrSummary.VIRTUAL_THREAD_PINNED, Duration.ofMillis(20)));
+        aggregator.accept(event(JfrSummary.VIRTUAL_THREAD_PINNED, Duration.ofMillis(5)));
+        aggregator.accept(event("jdk.ThreadSleep", Duration.ofMillis(100)));
+        aggregator.accept(gc(Duration.ofMillis(8)));
+        aggregator.accept(gc(Duration.ofMillis(3)));
+        var summary = aggregator.summary("kafka-consumer");
+
+        assertThat(summary.pinnedCount()).isEqualTo(2);
+        assertThat(summary.pinnedTotal()).isEqualTo(Duration.ofMillis(25));
+        assertThat(summary.pinnedSites()).containsExactly(new JfrSummary.Site("<no stack trace>", 2));
+        assertThat(summary.gcCount()).isEqualTo(2);
+        assertThat(summary.gcPauseTotal()).isEqualTo(Duration.ofMillis(11));
+        assertThat(summary.gcPauseMax()).isEqualTo(Duration.ofMillis(8));
+        assertThat(summary.hotMethods()).isEmpty();
+    }
+
+    @Test
+    void formatShouldListSitesAndMarkEmptyLists() {
+        var summary = new JfrSummary("ibm-mq-consumer", List.of(new JfrSummary.Site("a.B.c:1", 1234)), List.of(),
+                1, Duration.ofMillis(2), Duration.ofMillis(2), 1, Duration.ofMillis(4),
+                List.of(new JfrSummary.Site("a.B.lock:9", 1)));
+
+        var text = summary.format();
+
+        assertThat(text).contains("1,234  a.B.c:1")
+                .contains("(none recorded)")
+                .contains("GC: 1 collections, total pause 2.0 ms, longest pause 2.0 ms")
+                .contains("Virtual thread pinning: 1 events, 4.0 ms blocked")
+                .contains("a.B.lock:9");
+    }
+
+    private static RecordedEvent event(String type, Duration duration) {
+        var eventType = mock(EventType.class);
+        when(eventType.getName()).thenReturn(type);
+        var event = mock(RecordedEvent.class);
+        when(event.getEventType()).thenReturn(eventType);
+        when(event.getDuration()).thenReturn(duration);
+        return event;
+    }
+
+    private static RecordedEvent gc(Duration pause) {
+        var event = event(JfrSummary.GARBAGE_COLLECTION, pause);
+        when(event.getDuration("sumOfPauses")).thenReturn(pause);
+        when(event.getDuration("longestPause")).thenReturn(pause);
+        return event;
+    }
+
+    private static void allocateFor(Duration duration) {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var retained = new ArrayList<byte[]>();
+        while (System.nanoTime() < deadline) {
+            retained.add(new byte[16 * 1024]);
+            if (retained.size() > 256) {
+                retained.clear();
+            }
+        }
+    }
+}
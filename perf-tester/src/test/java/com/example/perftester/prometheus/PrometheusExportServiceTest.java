@@ -4,20 +4,16 @@ import com.example.perftester.config.PerfProperties;
 import com.example.perftester.prometheus.PrometheusProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClient;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
@@ -27,9 +23,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class PrometheusExportServiceTest {
 
-    @TempDir
-    Path tempDir;
-
     @Mock
     private RestClient restClient;
 
@@ -38,7 +31,7 @@ class PrometheusExportServiceTest {
     @BeforeEach
     void setUp() {
         service = new PrometheusExportService(
-                new PrometheusProperties("http://localhost:9090", tempDir.toString()),
+                new PrometheusProperties("http://localhost:9090", "./prometheus-exports"),
                 new PerfProperties(16000, 60000, 60000, 30000, 60, 15)
         );
         // Inject mock RestClient
@@ -46,7 +39,7 @@ class PrometheusExportServiceTest {
     }
 
     @Test
-    void exportMetricsShouldCreateJsonFile() {
+    void writeMetricsShouldExportEveryMetricWithData() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1","metric2"]}
@@ -56,39 +49,36 @@ class PrometheusExportServiceTest {
                 """
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
+        var os = new ByteArrayOutputStream();
 
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test-id");
+        int exported = service.writeMetrics(1000, 2000, "test-id", os);
 
-        assertTrue(result.isSuccess());
-        assertNotNull(result.filePath());
-        assertNull(result.error());
-        assertTrue(Files.exists(Path.of(result.filePath())));
+        assertEquals(2, exported);
+        var json = os.toString(StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"testId\" : \"test-id\""));
+        assertTrue(json.contains("\"metric2\""));
     }
 
     @Test
-    void exportMetricsShouldReturnQueryUrl() {
+    void writeMetricsShouldStreamIntoOpenTarget() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1"]}
                 """,
                 """
-                {"status":"success","data":{"resultType":"matrix","result":[]}}
+                {"status":"success","data":{"resultType":"matrix","result":[{"metric":{"__name__":"metric1"},"values":[[1234567890,"1.0"]]}]}}
                 """
         );
+        var os = new ByteArrayOutputStream();
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test-id");
+        int exported = service.writeMetrics(1000, 2000, "test-id", os);
 
-        assertNotNull(result.queryUrl());
-        assertTrue(result.queryUrl().contains("/api/v1/query_range"));
+        assertEquals(1, exported);
+        assertTrue(os.toString(StandardCharsets.UTF_8).contains("metric1"));
     }
 
     @Test
-    void exportMetricsShouldHandleEmptyMetricsList() {
+    void writeMetricsShouldWriteHeaderForEmptyMetricsList() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":[]}
@@ -96,17 +86,16 @@ class PrometheusExportServiceTest {
                 null
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
+        var os = new ByteArrayOutputStream();
 
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, null);
+        int exported = service.writeMetrics(1000, 2000, "test-id", os);
 
-        assertTrue(result.isSuccess());
-        assertNotNull(result.filePath());
+        assertEquals(0, exported);
+        assertTrue(os.toString(StandardCharsets.UTF_8).contains("\"metrics\" : [ ]"));
     }
 
     @Test
-    void exportMetricsShouldHandleFailedMetricFetch() {
+    void writeMetricsShouldHandleFailedMetricFetch() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"error","error":"some error"}
@@ -114,28 +103,18 @@ class PrometheusExportServiceTest {
                 null
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleRestClientException() {
+    void writeMetricsShouldHandleRestClientException() throws Exception {
         when(restClient.get()).thenThrow(new RuntimeException("Connection refused"));
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldSkipEmptyResults() {
+    void writeMetricsShouldSkipEmptyResults() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1","metric2"]}
@@ -145,16 +124,11 @@ class PrometheusExportServiceTest {
                 """
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleMalformedJson() {
+    void writeMetricsShouldHandleMalformedJson() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1"]}
@@ -162,50 +136,11 @@ class PrometheusExportServiceTest {
                 "not valid json"
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
-    }
-
-    @Test
-    void prometheusExportResultIsSuccessShouldReturnFalseWhenError() {
-        var result = new PrometheusExportService.PrometheusExportResult(null, null, "Some error");
-
-        assertFalse(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void prometheusExportResultIsSuccessShouldReturnFalseWhenNoFilePath() {
-        var result = new PrometheusExportService.PrometheusExportResult(null, "http://query", null);
-
-        assertFalse(result.isSuccess());
-    }
-
-    @Test
-    void prometheusExportResultIsSuccessShouldReturnTrueWhenValid() {
-        var result = new PrometheusExportService.PrometheusExportResult("/path/file.json", "http://query", null);
-
-        assertTrue(result.isSuccess());
-    }
-
-    @Test
-    void prometheusExportResultRecordShouldStoreValues() {
-        var result = new PrometheusExportService.PrometheusExportResult(
-                "/path/file.json",
-                "http://query",
-                null
-        );
-
-        assertEquals("/path/file.json", result.filePath());
-        assertEquals("http://query", result.queryUrl());
-        assertNull(result.error());
-    }
-
-    @Test
-    void exportMetricsShouldHandleNonArrayDataResult() {
+    void writeMetricsShouldHandleNonArrayDataResult() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1"]}
@@ -215,16 +150,11 @@ class PrometheusExportServiceTest {
                 """
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleMissingStatusField() {
+    void writeMetricsShouldHandleMissingStatusField() throws Exception {
         setupRestClientMock(
                 """
                 {"data":["metric1"]}
@@ -232,16 +162,11 @@ class PrometheusExportServiceTest {
                 null
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleMissingDataField() {
+    void writeMetricsShouldHandleMissingDataField() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success"}
@@ -249,16 +174,11 @@ class PrometheusExportServiceTest {
                 null
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleMetricQueryException() {
+    void writeMetricsShouldHandleMetricQueryException() throws Exception {
         var requestHeadersUriSpec = mock(RestClient.RequestHeadersUriSpec.class);
         var responseSpec = mock(RestClient.ResponseSpec.class);
 
@@ -271,16 +191,11 @@ class PrometheusExportServiceTest {
                     """)
                 .thenThrow(new RuntimeException("Query failed"));
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
+        assertEquals(0, writeMetrics());
     }
 
     @Test
-    void exportMetricsShouldHandleMetricDataWithNullResultField() {
+    void writeMetricsShouldHandleMetricDataWithNullResultField() throws Exception {
         setupRestClientMock(
                 """
                 {"status":"success","data":["metric1"]}
@@ -290,69 +205,11 @@ class PrometheusExportServiceTest {
                 """
         );
 
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = service.exportMetrics(startTime, endTime, "test");
-
-        assertTrue(result.isSuccess());
-    }
-
-    @Test
-    void exportMetricsShouldHandleDirectoryCreationFailure() throws Exception {
-        // Create a file where the directory should be created
-        Path blockingFile = tempDir.resolve("blocking-file");
-        Files.write(blockingFile, "blocking content".getBytes());
-
-        // Try to create subdirectory inside a file (should fail)
-        PrometheusExportService invalidPathService = new PrometheusExportService(
-                new PrometheusProperties("http://localhost:9090", blockingFile.resolve("subdir").toString()),
-                new PerfProperties(16000, 60000, 60000, 30000, 60, 15)
-        );
-
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = invalidPathService.exportMetrics(startTime, endTime, "test");
-
-        assertFalse(result.isSuccess());
-        assertNotNull(result.error());
-        assertTrue(result.error().contains("Failed to create export directory"));
+        assertEquals(0, writeMetrics());
     }
 
-    @Test
-    void exportMetricsShouldHandleFileWriteFailure() throws Exception {
-        // Create a directory that is read-only (file write will fail)
-        Path readOnlyDir = tempDir.resolve("readonly-dir");
-        Files.createDirectories(readOnlyDir);
-
-        // Create the expected filename as a directory to prevent file write
-        String timestamp = java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
-                .format(java.time.Instant.now().atZone(java.time.ZoneId.systemDefault()));
-        Path blockingDir = readOnlyDir.resolve("prometheus_export_" + timestamp + ".json");
-        Files.createDirectories(blockingDir);  // Make it a directory so file write fails
-
-        PrometheusExportService fileWriteFailService = new PrometheusExportService(
-                new PrometheusProperties("http://localhost:9090", readOnlyDir.toString()),
-                new PerfProperties(16000, 60000, 60000, 30000, 60, 15)
-        );
-        ReflectionTestUtils.setField(fileWriteFailService, "restClient", restClient);
-
-        setupRestClientMock(
-                """
-                {"status":"success","data":[]}
-                """,
-                null
-        );
-
-        long startTime = System.currentTimeMillis() - 10000;
-        long endTime = System.currentTimeMillis();
-
-        PrometheusExportService.PrometheusExportResult result = fileWriteFailService.exportMetrics(startTime, endTime, "test");
-
-        assertFalse(result.isSuccess());
-        assertNotNull(result.error());
-        assertTrue(result.error().contains("Failed to write export file"));
+    private int writeMetrics() throws Exception {
+        return service.writeMetrics(1000, 2000, "test", new ByteArrayOutputStream());
     }
 
     private void setupRestClientMock(String metricNamesResponse, String metricDataResponse) {
@@ -1,5 +1,6 @@
 package com.example.perftester.rest;
 
+import com.example.perftester.perf.TestRunInProgressException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -21,6 +22,14 @@ class GlobalExceptionHandlerTest {
         assertThat(result.getTitle()).isEqualTo("Invalid Request");
     }
 
+    @Test
+    void handleTestRunInProgressReturnsConflict() {
+        var result = handler.handleTestRunInProgress(new TestRunInProgressException());
+
+        assertThat(result.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(result.getTitle()).isEqualTo("Test Run In Progress");
+    }
+
     @Test
     void handleConstraintViolationReturnsBadRequest() {
         var result = handler.handleConstraintViolation(new ConstraintViolationException("validation failed", Set.of()));
@@ -42,7 +42,8 @@ class InfraProfileControllerTest {
     @Test
     void getByIdShouldReturnProfile() {
         var detail = new InfraProfileDetail(
-                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
+                "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(infraProfileService.getById(1L)).thenReturn(detail);
 
         var response = controller.getById(1L);
@@ -53,9 +54,10 @@ class InfraProfileControllerTest {
 
     @Test
     void createShouldReturnCreated() {
-        var request = new InfraProfileRequest("profile-a", Map.of(), Map.of(), Map.of(), Map.of());
+        var request = new InfraProfileRequest("profile-a", Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
         var detail = new InfraProfileDetail(
-                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
+                "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(infraProfileService.create(request)).thenReturn(detail);
 
         var response = controller.create(request);
@@ -66,9 +68,10 @@ class InfraProfileControllerTest {
 
     @Test
     void updateShouldReturnOk() {
-        var request = new InfraProfileRequest("profile-a", Map.of(), Map.of(), Map.of(), Map.of());
+        var request = new InfraProfileRequest("profile-a", Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
         var detail = new InfraProfileDetail(
-                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "profile-a", Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
+                "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(infraProfileService.update(1L, request)).thenReturn(detail);
 
         var response = controller.update(1L, request);
@@ -100,7 +103,7 @@ class InfraProfileControllerTest {
     @Test
     void cloneShouldReturnCreated() {
         var detail = new InfraProfileDetail(
-                2L, "profile-a (copy)", Map.of(), Map.of(), Map.of(), Map.of(),
+                2L, "profile-a (copy)", Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
                 "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(infraProfileService.clone(1L)).thenReturn(detail);
 
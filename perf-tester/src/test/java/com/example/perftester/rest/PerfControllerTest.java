@@ -1,67 +1,39 @@
 package com.example.perftester.rest;
 
-import com.example.perftester.admin.LoggingAdminService;
-import com.example.perftester.export.DatabaseExportService;
-import com.example.perftester.config.PerfProperties;
-import com.example.perftester.export.TestResultPackager;
-import com.example.perftester.export.TestResultPackager.PackageResult;
-import com.example.perftester.grafana.GrafanaExportService;
-import com.example.perftester.grafana.GrafanaExportService.DashboardExportResult;
-import com.example.perftester.kubernetes.KubernetesService;
-import com.example.perftester.loki.LogEntry;
-import com.example.perftester.loki.LokiService;
-import com.example.perftester.messaging.MessageSender;
-import com.example.perftester.monitoring.InfraSnapshotService;
-import com.example.perftester.perf.PerfTestResult;
 import com.example.perftester.perf.PerformanceTracker;
 import com.example.perftester.perf.TestProgressEvent;
+import com.example.perftester.perf.TestRunEngine;
+import com.example.perftester.perf.TestRunInProgressException;
+import com.example.perftester.perf.TestRunPlan;
 import com.example.perftester.perf.TestStartResponse;
-import com.example.perftester.perf.ThinkTimeCalculator;
-import com.example.perftester.perf.ThresholdDef;
-import com.example.perftester.perf.ThresholdEvaluator;
-import com.example.perftester.perf.ThresholdResult;
-import com.example.perftester.persistence.ScenarioMessage;
 import com.example.perftester.persistence.TestRun;
-import com.example.perftester.persistence.InfraProfileService;
-import com.example.perftester.persistence.TestRunService;
 import com.example.perftester.persistence.TestScenarioDetail;
 import com.example.perftester.persistence.TestScenarioService;
-import com.example.perftester.prometheus.PrometheusExportService;
-import com.example.perftester.prometheus.PrometheusExportService.PrometheusExportResult;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.boot.logging.LogLevel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.times;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -69,78 +41,33 @@ import static org.mockito.Mockito.when;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class PerfControllerTest {
 
-    @Mock
-    private MessageSender messageSender;
-
     @Mock
     private PerformanceTracker performanceTracker;
 
-    @Mock
-    private GrafanaExportService grafanaExportService;
-
-    @Mock
-    private PrometheusExportService prometheusExportService;
-
-    @Mock
-    private TestResultPackager testResultPackager;
-
-    @Mock
-    private KubernetesService kubernetesService;
-
-    @Mock
-    private LokiService lokiService;
-
-    @Mock
-    private DatabaseExportService databaseExportService;
-
-    @Mock
-    private LoggingAdminService loggingAdminService;
-
-    @Mock
-    private TestRunService testRunService;
-
     @Mock
     private TestScenarioService testScenarioService;
 
     @Mock
-    private InfraProfileService infraProfileService;
-
-    @Mock
-    private ThinkTimeCalculator thinkTimeCalculator;
-
-    @Mock
-    private ThresholdEvaluator thresholdEvaluator;
-
-    @Mock
-    private InfraSnapshotService infraSnapshotService;
-
-    @TempDir
-    Path tempDir;
-
-    // Use 100ms propagation delay so export tests don't take 16 seconds
-    private final PerfProperties perfProperties = new PerfProperties(100, 60000, 60000, 30000, 60, 15);
+    private TestRunEngine testRunEngine;
 
     private PerfController controller;
 
     @BeforeEach
-    void setUp() throws Exception {
-        controller = new PerfController(messageSender, performanceTracker,
-                grafanaExportService, prometheusExportService, testResultPackager,
-                kubernetesService, lokiService, databaseExportService, loggingAdminService, perfProperties,
-                testRunService, testScenarioService, infraProfileService,
-                thinkTimeCalculator, thresholdEvaluator, infraSnapshotService);
+    void setUp() {
+        controller = new PerfController(performanceTracker, testScenarioService, testRunEngine);
 
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.tryStart(anyInt(), anyString())).thenReturn(true);
-        doReturn(true).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
-        var perfResult = new PerfTestResult(10, 0, 1.0, 10.0, 50.0, 10.0, 100.0);
-        when(performanceTracker.getResult()).thenReturn(perfResult);
         var mockTestRun = new TestRun();
         mockTestRun.setId(1L);
-        when(testRunService.createRun(anyString(), any(), anyInt(), any())).thenReturn(mockTestRun);
+        when(testRunEngine.tryReserve()).thenReturn(true);
+        when(testRunEngine.prepare(any())).thenReturn(mockTestRun);
         when(performanceTracker.getProgressSnapshot()).thenReturn(
                 new TestProgressEvent("run-id", "RUNNING", 5, 3, 10, 30.0, 3.0, 50.0, 10.0, 100.0, 0.5));
-        when(kubernetesService.exportClusterInfo()).thenReturn(null);
+    }
+
+    private TestRunPlan preparedPlan() {
+        var captor = ArgumentCaptor.forClass(TestRunPlan.class);
+        verify(testRunEngine).prepare(captor.capture());
+        return captor.getValue();
     }
 
     @Test
@@ -150,115 +77,74 @@ class PerfControllerTest {
 
         assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertNotNull(response.getBody().testRunId());
-    }
-
-    @Test
-    void sendMessagesShouldStartTestAsynchronously() {
-        controller.sendMessages("test message", 10, 1, 0, new ExportOptions(), new RunOptions());
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(messageSender, times(10)).sendMessage(anyString()));
-    }
-
-    @Test
-    void sendMessagesShouldCallStartTestWithGeneratedRunId() {
-        controller.sendMessages("test message", 5, 1, 0, new ExportOptions(), new RunOptions());
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).tryStart(anyInt(), anyString()));
+        assertEquals(1L, response.getBody().id());
+        assertEquals(preparedPlan().testRunId(), response.getBody().testRunId());
     }
 
     @Test
-    void sendMessagesShouldSetStatusCompletedOnSuccess() {
-        controller.sendMessages("test message", 3, 1, 0, new ExportOptions(), new RunOptions());
+    void sendMessagesShouldExecuteThePreparedPlanAsynchronously() {
+        controller.sendMessages("test message", 10, 30, 5, exportOptions(true, false, false, true),
+                new RunOptions("test-id", true, null));
 
+        var plan = preparedPlan();
         Awaitility.await()
                 .atMost(Duration.ofSeconds(5))
                 .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).setStatus("COMPLETED"));
+                .untilAsserted(() -> verify(testRunEngine).execute(eq(1L), eq(plan)));
+        assertEquals("test-id", plan.testId());
+        assertEquals("test message", plan.message());
+        assertEquals(10, plan.count());
+        assertEquals(30, plan.timeoutSeconds());
+        assertEquals(5, plan.delayMs());
+        assertNull(plan.scenario());
+        assertTrue(plan.debug());
+        assertEquals(new TestRunPlan.Exports(true, false, false, true, false, false), plan.exports());
     }
 
     @Test
-    void sendMessagesShouldSetStatusTimeoutWhenNotAllReceived() throws Exception {
-        doReturn(false).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
+    void sendMessagesShouldRejectRunWhileAnotherHoldsTheEngine() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        var exportOptions = new ExportOptions();
+        var runOptions = new RunOptions();
 
-        controller.sendMessages("test message", 3, 1, 0, new ExportOptions(), new RunOptions());
+        assertThrows(TestRunInProgressException.class,
+                () -> controller.sendMessages("test message", 10, 1, 0, exportOptions, runOptions));
 
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).setStatus("TIMEOUT"));
+        verify(testRunEngine, never()).prepare(any());
     }
 
     @Test
-    void sendMessagesShouldExportArtifactsWhenExportStatisticsEnabled() throws IOException {
-        var dashboardExport = new DashboardExportResult(List.of(), List.of());
-        when(grafanaExportService.exportDashboards(anyLong(), anyLong())).thenReturn(dashboardExport);
-
-        var prometheusExport = new PrometheusExportResult(null, null, "No connection");
-        when(prometheusExportService.exportMetrics(anyLong(), anyLong(), any())).thenReturn(prometheusExport);
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), any(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
+    void sendMessagesShouldReleaseTheReservationWhenPrepareFails() {
+        when(testRunEngine.prepare(any())).thenThrow(new IllegalStateException("database unavailable"));
+        var exportOptions = new ExportOptions();
+        var runOptions = new RunOptions();
 
-        controller.sendMessages("test message", 3, 1, 0, exportOptions(true, false, false, false),
-                new RunOptions("test-id", false, null));
+        assertThrows(IllegalStateException.class,
+                () -> controller.sendMessages("test message", 10, 1, 0, exportOptions, runOptions));
 
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(grafanaExportService).exportDashboards(anyLong(), anyLong()));
+        verify(testRunEngine).cancelReservation();
+        verify(testRunEngine, never()).execute(any(), any());
     }
 
     @Test
-    void sendMessagesShouldCleanupExportedFilesAfterExport() throws IOException {
-        var dashFile = tempDir.resolve("dashboard.png");
-        Files.write(dashFile, "image".getBytes());
-        var dashboardExport = new DashboardExportResult(
-                List.of("http://grafana/d/1"), List.of(dashFile.toString()));
-        when(grafanaExportService.exportDashboards(anyLong(), anyLong())).thenReturn(dashboardExport);
-
-        var promFile = tempDir.resolve("prometheus.json");
-        Files.writeString(promFile, "{}");
-        var prometheusExport = new PrometheusExportResult(
-                promFile.toString(), "http://prometheus/query", null);
-        when(prometheusExportService.exportMetrics(anyLong(), anyLong(), any())).thenReturn(prometheusExport);
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), anyString(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
+    void sendMessagesShouldUseEmptyMessageWhenBodyIsMissing() {
+        controller.sendMessages(null, 10, 1, 0, new ExportOptions(), new RunOptions());
 
-        controller.sendMessages("test message", 1, 1, 0, exportOptions(true, true, false, false),
-                new RunOptions("test-id", false, null));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> {
-                    assertFalse(Files.exists(dashFile));
-                    assertFalse(Files.exists(promFile));
-                });
+        assertEquals("", preparedPlan().message());
+        assertFalse(preparedPlan().exports().any());
     }
 
     @Test
-    void sendMessagesShouldEnableDebugLoggingWhenDebugIsTrue() {
-        when(loggingAdminService.getLoggerConfiguration("com.example")).thenReturn(null);
+    void sendMessagesShouldRunScenarioWithItsOwnCount() {
+        var detail = new TestScenarioDetail(1L, "test", 3, List.of(),
+                false, null, null, 0, null, null, null, List.of(), null, "now", "now");
+        when(testScenarioService.getById(1L)).thenReturn(detail);
 
-        controller.sendMessages("test message", 1, 1, 0, new ExportOptions(),
-                new RunOptions(null, true, null));
+        controller.sendMessages(null, 1000, 1, 0, new ExportOptions(), new RunOptions(null, false, 1L));
 
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(loggingAdminService).setLogLevel("com.example", LogLevel.DEBUG));
+        var plan = preparedPlan();
+        assertSame(detail, plan.scenario());
+        assertEquals(3, plan.count());
     }
 
     @Test
@@ -269,11 +155,13 @@ class PerfControllerTest {
         opts.setExportKubernetes(true);
         opts.setExportLogs(true);
         opts.setExportDatabase(true);
+        opts.setExportJfr(true);
         assertTrue(opts.exportGrafana());
         assertTrue(opts.exportPrometheus());
         assertTrue(opts.exportKubernetes());
         assertTrue(opts.exportLogs());
         assertTrue(opts.exportDatabase());
+        assertTrue(opts.exportJfr());
     }
 
     @Test
@@ -294,200 +182,6 @@ class PerfControllerTest {
         assertNotNull(emitter);
     }
 
-    @Test
-    void sendMessagesShouldUseScenarioPoolWhenScenarioIdProvided() {
-        var scenarioMsg = new ScenarioMessage("scenario-payload", Map.of(), null);
-        when(testScenarioService.getScenarioCount(1L)).thenReturn(3);
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(
-                List.of(scenarioMsg, scenarioMsg, scenarioMsg));
-        when(testScenarioService.getById(1L)).thenReturn(
-                new TestScenarioDetail(1L, "test", 3, List.of(),
-                        false, null, 0, null, null, null, List.of(), "now", "now"));
-
-        controller.sendMessages(null, 1000, 1, 0,
-                new ExportOptions(), new RunOptions(null, false, 1L));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(messageSender, times(3)).sendMessage(anyString()));
-    }
-
-    @Test
-    void sendMessagesShouldExportPrometheusWhenPrometheusExportEnabled() throws IOException {
-        var promFile = tempDir.resolve("prometheus.json");
-        Files.writeString(promFile, "{}");
-        var prometheusExport = new PrometheusExportResult(
-                promFile.toString(), "http://prometheus/query", null);
-        when(prometheusExportService.exportMetrics(anyLong(), anyLong(), any())).thenReturn(prometheusExport);
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), anyString(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
-
-        controller.sendMessages("test message", 1, 1, 0, exportOptions(false, true, false, false),
-                new RunOptions("test-id", false, null));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(prometheusExportService).exportMetrics(anyLong(), anyLong(), any()));
-    }
-
-    @Test
-    void sendMessagesShouldExecuteWarmupPhaseWhenWarmupCountIsPositive() throws Exception {
-        var detail = new TestScenarioDetail(
-                1L, "test", 3, List.of(), false, null, 5, null, null, null, List.of(), "now", "now");
-        when(testScenarioService.getScenarioCount(1L)).thenReturn(3);
-        when(testScenarioService.getById(1L)).thenReturn(detail);
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        doReturn(true).when(performanceTracker).awaitWarmupCompletion(anyLong(), any(TimeUnit.class));
-
-        controller.sendMessages(null, 3, 60, 0,
-                new ExportOptions(), new RunOptions(null, false, 1L));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).startWarmupPhase(5));
-    }
-
-    @Test
-    void sendMessagesShouldEvaluateThresholdsForScenario() {
-        var thresholds = List.of(new ThresholdDef("TPS", "GTE", 5.0));
-        var thresholdResults = List.of(new ThresholdResult("TPS", "GTE", 5.0, 10.0, true));
-        var detail = new TestScenarioDetail(
-                1L, "test", 3, List.of(), false, null, 0, null, null, null, List.of(), "now", "now");
-        when(testScenarioService.getScenarioCount(1L)).thenReturn(3);
-        when(testScenarioService.getById(1L)).thenReturn(detail);
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(thresholds);
-        when(thresholdEvaluator.evaluate(thresholds, performanceTracker.getResult()))
-                .thenReturn(thresholdResults);
-
-        controller.sendMessages(null, 3, 60, 0,
-                new ExportOptions(), new RunOptions(null, false, 1L));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(testRunService).updateThresholdResult(anyLong(), any(), any()));
-    }
-
-    @Test
-    void sendMessagesShouldExportLogsWhenLogsExportEnabled() throws IOException {
-        var logEntries = List.of(new LogEntry("2024-01-01T00:00:00Z", "INFO", "test log message"));
-        when(lokiService.queryLogs(any(), any())).thenReturn(logEntries);
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), any(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
-
-        controller.sendMessages("test message", 1, 1, 0, exportOptions(false, false, false, true),
-                new RunOptions("test-id", false, null));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(lokiService).queryLogs(any(), any()));
-    }
-
-    @Test
-    void sendMessagesShouldApplyInfraProfileWhenScenarioHasInfraProfileId() {
-        var detail = new TestScenarioDetail(
-                1L, "test", 3, List.of(), false, null, 0, null, 42L, null, List.of(), "now", "now");
-        when(testScenarioService.getScenarioCount(1L)).thenReturn(3);
-        when(testScenarioService.getById(1L)).thenReturn(detail);
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-
-        controller.sendMessages(null, 3, 60, 0,
-                new ExportOptions(), new RunOptions(null, false, 1L));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(infraProfileService).applyProfile(42L));
-    }
-
-    @Test
-    void sendMessagesShouldExportAndCleanupDatabaseFilesWhenExportDatabaseEnabled() throws IOException {
-        var csvFile = tempDir.resolve("query1.csv");
-        Files.writeString(csvFile, "col1,col2");
-        when(databaseExportService.executeExportQueries()).thenReturn(Map.of("query1", csvFile));
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), any(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
-
-        var exportOpts = new ExportOptions();
-        exportOpts.setExportDatabase(true);
-        controller.sendMessages("test message", 1, 1, 0, exportOpts,
-                new RunOptions("test-id", false, null));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> {
-                    verify(databaseExportService).executeExportQueries();
-                    assertFalse(Files.exists(csvFile));
-                });
-    }
-
-    @Test
-    void sendMessagesShouldCleanupKubernetesExportDirectory() throws IOException {
-        Path kubeDir = tempDir.resolve("kubernetes-export");
-        Files.createDirectories(kubeDir);
-        Path kubeFile = kubeDir.resolve("nodes.json");
-        Files.writeString(kubeFile, "{}");
-        when(kubernetesService.exportClusterInfo()).thenReturn(kubeDir.toString());
-
-        Path tempZip = tempDir.resolve("test.zip");
-        Files.write(tempZip, "content".getBytes());
-        when(testResultPackager.packageResults(any(), anyList(), any(), anyList(), any(), anyLong(), anyLong()))
-                .thenReturn(new PackageResult("test.zip", tempZip.toString()));
-
-        var exportOpts = new ExportOptions();
-        exportOpts.setExportKubernetes(true);
-        controller.sendMessages("test message", 1, 1, 0, exportOpts,
-                new RunOptions("test-id", false, null));
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> assertFalse(Files.exists(kubeFile)));
-    }
-
-    @Test
-    void sendMessagesShouldSetStatusFailedWhenInterrupted() throws Exception {
-        doThrow(new InterruptedException())
-                .when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
-
-        controller.sendMessages("test", 3, 1, 0,
-                new ExportOptions(), new RunOptions());
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).setStatus("FAILED"));
-    }
-
-    @Test
-    void sendMessagesShouldSetStatusFailedOnUnexpectedException() {
-        when(messageSender.sendMessage(anyString()))
-                .thenThrow(new RuntimeException("Unexpected send failure"));
-
-        controller.sendMessages("test", 3, 1, 0,
-                new ExportOptions(), new RunOptions());
-
-        Awaitility.await()
-                .atMost(Duration.ofSeconds(5))
-                .pollInterval(Duration.ofMillis(100))
-                .untilAsserted(() -> verify(performanceTracker).setStatus("FAILED"));
-    }
-
     private static ExportOptions exportOptions(
             boolean grafana, boolean prometheus, boolean kubernetes, boolean logs) {
         var opts = new ExportOptions();
@@ -1,25 +1,41 @@
 package com.example.perftester.rest;
 
+import com.example.perftester.comparison.RunComparison;
+import com.example.perftester.comparison.RunComparisonService;
 import com.example.perftester.loki.LogEntry;
 import com.example.perftester.loki.LokiService;
+import com.example.perftester.monitoring.PartitionLagSeries;
+import com.example.perftester.perf.HopLatency;
+import com.example.perftester.perf.LatencyHistogram;
+import com.example.perftester.perf.RunDistribution;
+import com.example.perftester.persistence.TagFilter;
 import com.example.perftester.persistence.TestRun;
+import com.example.perftester.persistence.TestRunCursor;
+import com.example.perftester.persistence.TestRunDailyRollup;
 import com.example.perftester.persistence.TestRunNotFoundException;
 import com.example.perftester.persistence.TestRunService;
 import com.example.perftester.persistence.TestRunSnapshot;
+import com.example.perftester.persistence.TestRunSummary;
+import com.example.perftester.persistence.TestRunSummaryPage;
+import com.example.perftester.persistence.TestRunTagService;
+import com.example.perftester.persistence.TrendRollupService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,6 +52,15 @@ class TestRunControllerTest {
     @Mock
     private LokiService lokiService;
 
+    @Mock
+    private TrendRollupService trendRollupService;
+
+    @Mock
+    private TestRunTagService testRunTagService;
+
+    @Mock
+    private RunComparisonService runComparisonService;
+
     @InjectMocks
     private TestRunController controller;
 
@@ -50,17 +75,60 @@ class TestRunControllerTest {
         return run;
     }
 
+    private static TestRunSummary summary(long id) {
+        return new TestRunSummary(id, "uuid-" + id, "test-id", "COMPLETED", 100, 100L,
+                null, null, null, null, null, null, null, null, null, null,
+                0L, null, null, null, Instant.parse("2024-01-02T03:04:05Z"), null, null, null, null);
+    }
+
     @Test
     void listAllShouldReturnPagedRuns() {
-        when(testRunService.findAll(0, 20, null))
-                .thenReturn(new PageImpl<>(List.of(runWithId(1L), runWithId(2L))));
+        when(testRunService.findSummaries(0, 20, TagFilter.NONE, null, true))
+                .thenReturn(new TestRunSummaryPage(List.of(summary(1L), summary(2L)), false, null, 2L));
 
-        var result = controller.listAll(0, 20, null);
+        var result = controller.listAll(0, 20, null, false, null, true);
 
         assertThat(result.content()).hasSize(2);
         assertThat(result.content().get(0).id()).isEqualTo(1L);
         assertThat(result.content().get(1).id()).isEqualTo(2L);
         assertThat(result.totalElements()).isEqualTo(2L);
+        assertThat(result.totalPages()).isEqualTo(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void listAllShouldAttachTagsLoadedForThePage() {
+        var tags = List.of("nightly", "smoke");
+        when(testRunService.findSummaries(0, 20, TagFilter.of(tags, true), null, true))
+                .thenReturn(new TestRunSummaryPage(List.of(summary(1L), summary(2L)), false, null, 2L));
+        when(testRunTagService.getTags(List.of(1L, 2L))).thenReturn(Map.of(1L, tags));
+
+        var result = controller.listAll(0, 20, tags, true, null, true);
+
+        assertThat(result.content().get(0).tags()).isEqualTo(tags);
+        assertThat(result.content().get(1).tags()).isEmpty();
+    }
+
+    @Test
+    void listAllShouldContinueFromCursorAndSkipTotal() {
+        var cursor = new TestRunCursor(Instant.parse("2024-01-02T03:04:05Z"), 7L);
+        var next = new TestRunCursor(Instant.parse("2024-01-01T00:00:00Z"), 3L);
+        when(testRunService.findSummaries(0, 1, TagFilter.NONE, cursor, false))
+                .thenReturn(new TestRunSummaryPage(List.of(summary(3L)), true, next, null));
+
+        var result = controller.listAll(0, 1, null, false, cursor.encode(), false);
+
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.totalPages()).isNull();
+        assertThat(result.hasNext()).isTrue();
+        assertThat(TestRunCursor.decode(result.nextCursor())).isEqualTo(next);
+    }
+
+    @Test
+    void listAllShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> controller.listAll(0, 20, null, false, "%%%", true))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -75,6 +143,14 @@ class TestRunControllerTest {
         assertThat(result.tags()).isEmpty();
     }
 
+    @Test
+    void getByIdShouldIncludeTags() {
+        when(testRunService.findById(1L)).thenReturn(runWithId(1L));
+        when(testRunTagService.getTags(1L)).thenReturn(List.of("smoke"));
+
+        assertThat(controller.getById(1L).tags()).containsExactly("smoke");
+    }
+
     @Test
     void getByIdShouldPropagateNotFound() {
         when(testRunService.findById(99L)).thenThrow(new TestRunNotFoundException(99L));
@@ -111,17 +187,36 @@ class TestRunControllerTest {
     }
 
     @Test
-    void getTrendsShouldReturnMappedPoints() {
-        var run = runWithId(1L);
-        run.setTps(50.0);
-        run.setP99LatencyMs(100.0);
-        when(testRunService.getTrendData()).thenReturn(List.of(run));
+    void getTrendsShouldReturnMappedRollups() {
+        var rollup = new TestRunDailyRollup();
+        rollup.setTestId("test-id");
+        rollup.setTestType("");
+        rollup.setDay(LocalDate.of(2024, 1, 2));
+        rollup.setRunCount(3);
+        rollup.setAvgTps(50.0);
+        rollup.setAvgP99LatencyMs(100.0);
+        var from = LocalDate.of(2024, 1, 1);
+        var to = LocalDate.of(2024, 1, 31);
+        when(trendRollupService.getTrends(from, to, "test-id", 200)).thenReturn(List.of(rollup));
+
+        var result = controller.getTrends(from, to, "test-id", 200);
+
+        assertThat(result).singleElement().satisfies(point -> {
+            assertThat(point.day()).isEqualTo(LocalDate.of(2024, 1, 2));
+            assertThat(point.runCount()).isEqualTo(3);
+            assertThat(point.tps()).isEqualTo(50.0);
+            assertThat(point.p99LatencyMs()).isEqualTo(100.0);
+            assertThat(point.testType()).isNull();
+        });
+    }
+
+    @Test
+    void getTrendsShouldDefaultToLastYearAndClampPoints() {
+        var today = LocalDate.now(ZoneOffset.UTC);
 
-        var result = controller.getTrends();
+        controller.getTrends(null, today, null, 1);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).tps()).isEqualTo(50.0);
-        assertThat(result.get(0).p99LatencyMs()).isEqualTo(100.0);
+        verify(trendRollupService).getTrends(today.minusDays(365), today, null, 3);
     }
 
     @Test
@@ -188,6 +283,14 @@ class TestRunControllerTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void compareShouldDelegateToComparisonService() {
+        var comparison = new RunComparison(1L, 2L, RunComparison.NOISE, null, List.of());
+        when(runComparisonService.compare(2L, 1L)).thenReturn(comparison);
+
+        assertThat(controller.compare(2L, 1L)).isSameAs(comparison);
+    }
+
     @Test
     void getSnapshotsShouldReturnMappedSnapshots() {
         var snapshot = new TestRunSnapshot();
@@ -198,6 +301,8 @@ class TestRunControllerTest {
         snapshot.setInboundQueueDepth(3);
         snapshot.setKafkaRequestsLag(10L);
         snapshot.setKafkaResponsesLag(2L);
+        snapshot.setOutboundEnqueueCount(120);
+        snapshot.setInboundOldestMessageAgeSeconds(4);
         when(testRunService.findSnapshots(1L)).thenReturn(List.of(snapshot));
 
         var result = controller.getSnapshots(1L);
@@ -206,5 +311,45 @@ class TestRunControllerTest {
         assertThat(result.get(0).id()).isEqualTo(10L);
         assertThat(result.get(0).outboundQueueDepth()).isEqualTo(5);
         assertThat(result.get(0).kafkaRequestsLag()).isEqualTo(10L);
+        assertThat(result.get(0).outboundEnqueueCount()).isEqualTo(120);
+        assertThat(result.get(0).inboundOldestMessageAgeSeconds()).isEqualTo(4);
+        assertThat(result.get(0).inboundDequeueCount()).isNull();
+    }
+
+    @Test
+    void getPartitionLagsShouldReturnSeriesWithMaxima() {
+        var series = new PartitionLagSeries("kafka-consumer", "requests", 3, Instant.EPOCH,
+                new long[] {0, 1000}, new long[] {4, 250}, new long[] {-1, 1200});
+        when(testRunService.findPartitionLags(1L)).thenReturn(List.of(series));
+
+        var result = controller.getPartitionLags(1L);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).consumerGroup()).isEqualTo("kafka-consumer");
+        assertThat(result.get(0).partition()).isEqualTo(3);
+        assertThat(result.get(0).lags()).containsExactly(4, 250);
+        assertThat(result.get(0).maxLag()).isEqualTo(250);
+        assertThat(result.get(0).maxLagMs()).isEqualTo(1200);
+    }
+
+    @Test
+    void getHopLatenciesShouldSummariseStoredHopHistograms() {
+        var counts = new long[LatencyHistogram.BUCKETS];
+        counts[100] = 4;
+        when(testRunService.findDistribution(1L)).thenReturn(Optional.of(new RunDistribution(
+                new long[LatencyHistogram.BUCKETS], new long[0], Map.of(), Map.of("kafka-consumer", counts))));
+
+        var result = controller.getHopLatencies(1L);
+
+        assertThat(result).extracting(HopLatency::hop).containsExactly("kafka-consumer");
+        assertThat(result.get(0).count()).isEqualTo(4);
+    }
+
+    @Test
+    void getHopLatenciesShouldBeEmptyWithoutDistribution() {
+        when(testRunService.findDistribution(1L)).thenReturn(Optional.empty());
+
+        assertThat(controller.getHopLatencies(1L)).isEmpty();
+        verify(testRunService).findById(1L);
     }
 }
@@ -37,10 +37,23 @@ class TestScenarioControllerTest {
         assertThat(response.getBody()).hasSize(1);
     }
 
+    @Test
+    void thresholdMetricsShouldListRegisteredMetricsAndOperators() {
+        var response = controller.thresholdMetrics();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().metrics())
+                .contains(new ThresholdMetricsResponse.Metric("TPS", "Throughput (messages/s)", false),
+                        new ThresholdMetricsResponse.Metric("P99_9", "99.9th percentile latency (ms)", true));
+        assertThat(response.getBody().operators())
+                .extracting(ThresholdMetricsResponse.Operator::symbol)
+                .containsExactly("<", "<=", ">", ">=");
+    }
+
     @Test
     void getByIdShouldReturnScenario() {
         var detail = new TestScenarioDetail(
-                1L, "scenario-a", 100, List.of(), false, null, 0, null, null, null, List.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "scenario-a", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null, "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(testScenarioService.getById(1L)).thenReturn(detail);
 
         var response = controller.getById(1L);
@@ -51,9 +64,9 @@ class TestScenarioControllerTest {
 
     @Test
     void createShouldReturnCreated() {
-        var request = new TestScenarioRequest("scenario-a", 100, List.of(), false, null, 0, null, null, null, List.of());
+        var request = new TestScenarioRequest("scenario-a", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null);
         var detail = new TestScenarioDetail(
-                1L, "scenario-a", 100, List.of(), false, null, 0, null, null, null, List.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "scenario-a", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null, "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(testScenarioService.create(request)).thenReturn(detail);
 
         var response = controller.create(request);
@@ -64,9 +77,9 @@ class TestScenarioControllerTest {
 
     @Test
     void updateShouldReturnOk() {
-        var request = new TestScenarioRequest("scenario-a", 100, List.of(), false, null, 0, null, null, null, List.of());
+        var request = new TestScenarioRequest("scenario-a", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null);
         var detail = new TestScenarioDetail(
-                1L, "scenario-a", 100, List.of(), false, null, 0, null, null, null, List.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "scenario-a", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null, "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(testScenarioService.update(1L, request)).thenReturn(detail);
 
         var response = controller.update(1L, request);
@@ -86,7 +99,7 @@ class TestScenarioControllerTest {
     @Test
     void cloneShouldReturnCreated() {
         var detail = new TestScenarioDetail(
-                2L, "scenario-a (copy)", 100, List.of(), false, null, 0, null, null, null, List.of(),
+                2L, "scenario-a (copy)", 100, List.of(), false, null, null, 0, null, null, null, List.of(), null,
                 "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
         when(testScenarioService.clone(1L)).thenReturn(detail);
 
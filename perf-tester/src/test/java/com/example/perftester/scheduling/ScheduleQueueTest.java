@@ -0,0 +1,94 @@
+package com.example.perftester.scheduling;
+
+import com.example.perftester.persistence.TestScenarioDetail;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleQueueTest {
+
+    private static final String HOURLY = "0 0 * * * *";
+
+    private final ScheduleQueue queue = new ScheduleQueue(ZoneOffset.UTC);
+
+    private static TestScenarioDetail scenario(Long id, boolean enabled, String cron, String policy) {
+        return new TestScenarioDetail(id, "scenario-" + id, 10, List.of(), enabled, cron, policy,
+                0, null, null, null, List.of(), null, "2026-01-01T00:00:00Z", "2026-01-01T00:00:00Z");
+    }
+
+    private static Instant at(String time) {
+        return Instant.parse("2026-03-02T" + time + "Z");
+    }
+
+    @Test
+    void rebuildShouldOnlyKeepScenariosWithAValidUpcomingFire() {
+        queue.rebuild(List.of(
+                scenario(1L, true, HOURLY, "SKIP"),
+                scenario(2L, false, HOURLY, "SKIP"),
+                scenario(3L, true, null, "SKIP"),
+                scenario(4L, true, "not a cron", "SKIP"),
+                scenario(5L, true, "0 0 0 30 2 *", "SKIP")), Map.of(), at("10:15:00"));
+
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void scenarioWithoutPreviousFireShouldFireAfterNow() {
+        queue.rebuild(List.of(scenario(1L, true, HOURLY, "SKIP")), Map.of(), at("10:15:00"));
+
+        assertThat(queue.due(at("10:59:59"))).isEmpty();
+        assertThat(queue.due(at("11:00:00"))).containsExactly(new ScheduleQueue.Fire(1L, at("11:00:00")));
+        assertThat(queue.due(at("11:59:59"))).isEmpty();
+        assertThat(queue.due(at("12:00:01"))).containsExactly(new ScheduleQueue.Fire(1L, at("12:00:00")));
+    }
+
+    @Test
+    void dueShouldReturnFiresInTimeOrder() {
+        queue.rebuild(List.of(
+                scenario(1L, true, "0 30 * * * *", "SKIP"),
+                scenario(2L, true, "0 20 * * * *", "SKIP")), Map.of(), at("10:15:00"));
+
+        assertThat(queue.due(at("10:30:00"))).containsExactly(
+                new ScheduleQueue.Fire(2L, at("10:20:00")), new ScheduleQueue.Fire(1L, at("10:30:00")));
+    }
+
+    @Test
+    void rebuildShouldContinueAfterLastQueuedFire() {
+        queue.rebuild(List.of(scenario(1L, true, HOURLY, "SKIP")), Map.of(1L, at("10:00:00")), at("11:00:30"));
+
+        // Thirty seconds late is within the misfire threshold
+        assertThat(queue.due(at("11:00:30"))).containsExactly(new ScheduleQueue.Fire(1L, at("11:00:00")));
+    }
+
+    @Test
+    void skipPolicyShouldDropMissedFires() {
+        queue.rebuild(List.of(scenario(1L, true, HOURLY, "SKIP")), Map.of(1L, at("07:00:00")), at("10:15:00"));
+
+        assertThat(queue.due(at("10:15:00"))).isEmpty();
+        assertThat(queue.due(at("11:00:00"))).containsExactly(new ScheduleQueue.Fire(1L, at("11:00:00")));
+    }
+
+    @Test
+    void runOncePolicyShouldCatchUpWithASingleRun() {
+        queue.rebuild(List.of(scenario(1L, true, HOURLY, "RUN_ONCE")), Map.of(1L, at("07:00:00")),
+                at("10:15:00"));
+
+        assertThat(queue.due(at("10:15:00.250"))).containsExactly(new ScheduleQueue.Fire(1L, at("10:15:00")));
+        assertThat(queue.due(at("10:59:59"))).isEmpty();
+        assertThat(queue.due(at("11:00:00"))).containsExactly(new ScheduleQueue.Fire(1L, at("11:00:00")));
+    }
+
+    @Test
+    void rebuildShouldReplaceThePreviousQueue() {
+        queue.rebuild(List.of(scenario(1L, true, HOURLY, "SKIP")), Map.of(), at("10:15:00"));
+        queue.rebuild(List.of(), Map.of(), at("10:15:00"));
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.due(at("11:00:00"))).isEmpty();
+    }
+}
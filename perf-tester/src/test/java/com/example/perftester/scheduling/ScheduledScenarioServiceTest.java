@@ -1,41 +1,44 @@
 package com.example.perftester.scheduling;
 
-import com.example.perftester.messaging.MessageSender;
-import com.example.perftester.perf.PerfTestResult;
-import com.example.perftester.perf.PerformanceTracker;
-import com.example.perftester.perf.ThresholdDef;
-import com.example.perftester.perf.ThresholdEvaluator;
-import com.example.perftester.perf.ThresholdResult;
-import com.example.perftester.persistence.ScenarioMessage;
+import com.example.perftester.config.SchedulingProperties;
+import com.example.perftester.perf.TestRunEngine;
+import com.example.perftester.perf.TestRunPlan;
+import com.example.perftester.persistence.ScheduledRun;
+import com.example.perftester.persistence.ScheduledRunRepository;
 import com.example.perftester.persistence.TestRun;
-import com.example.perftester.persistence.TestRunService;
+import com.example.perftester.persistence.TestScenarioChangedEvent;
 import com.example.perftester.persistence.TestScenarioDetail;
+import com.example.perftester.persistence.TestScenarioNotFoundException;
 import com.example.perftester.persistence.TestScenarioService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
 
 import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,30 +46,64 @@ import static org.mockito.Mockito.when;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class ScheduledScenarioServiceTest {
 
-    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String EVERY_SECOND = "* * * * * *";
 
     @Mock
     private TestScenarioService testScenarioService;
 
     @Mock
-    private MessageSender messageSender;
+    private TestRunEngine testRunEngine;
 
     @Mock
-    private PerformanceTracker performanceTracker;
+    private ScheduledRunRepository scheduledRunRepository;
 
     @Mock
-    private TestRunService testRunService;
-
-    @Mock
-    private ThresholdEvaluator thresholdEvaluator;
+    private SchedulingProperties schedulingProperties;
 
     @InjectMocks
     private ScheduledScenarioService scheduledScenarioService;
 
-    private TestScenarioDetail scenarioAt(String scheduledTime) {
+    @BeforeEach
+    void setUp() {
+        when(schedulingProperties.runTimeoutSeconds()).thenReturn(120);
+        when(scheduledRunRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private TestScenarioDetail scenario(String scheduleCron) {
         return new TestScenarioDetail(
-                1L, "test-scenario", 2, List.of(), true, scheduledTime,
-                0, null, null, null, List.of(), "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+                1L, "test-scenario", 2, List.of(), true, scheduleCron, "SKIP",
+                0, null, null, null, List.of(), null, "2024-01-01T00:00:00Z", "2024-01-01T00:00:00Z");
+    }
+
+    private ScheduledRun run(Long id, String status, Instant fireTime) {
+        var run = new ScheduledRun();
+        run.setId(id);
+        run.setScenarioId(1L);
+        run.setStatus(status);
+        run.setFireTime(fireTime);
+        return run;
+    }
+
+    /** Puts runs in the persistent queue; each is handed out once, oldest first. */
+    private List<ScheduledRun> queuedRuns(Long... ids) {
+        var runs = Stream.of(ids)
+                .map(id -> run(id, ScheduledRun.QUEUED, Instant.parse("2026-01-01T02:00:00Z")))
+                .toList();
+        var pending = new ConcurrentLinkedQueue<>(runs);
+        when(scheduledRunRepository.findFirstByStatusOrderByFireTimeAscIdAsc(ScheduledRun.QUEUED))
+                .thenAnswer(invocation -> Optional.ofNullable(pending.poll()));
+        return runs;
+    }
+
+    private ScheduledRun queuedRun(Long id) {
+        return queuedRuns(id).getFirst();
+    }
+
+    private void runSucceeds(Long testRunId) {
+        engineIdle();
+        when(testScenarioService.getById(1L)).thenReturn(scenario(null));
+        when(testRunEngine.prepare(any())).thenReturn(mockTestRun(testRunId));
+        when(testRunEngine.execute(eq(testRunId), any())).thenReturn("COMPLETED");
     }
 
     private TestRun mockTestRun(Long id) {
@@ -75,209 +112,251 @@ class ScheduledScenarioServiceTest {
         return run;
     }
 
-    private PerfTestResult emptyResult() {
-        return new PerfTestResult(0, 0, 0, 0, 0, 0, 0);
+    /** Stubs the engine so that the next queued run can reserve it. */
+    private void engineIdle() {
+        when(testRunEngine.tryReserve()).thenReturn(true);
+    }
+
+    /** Makes scenario 1 due now: it fires every second and last fired a few seconds ago. */
+    private void scenarioDue() {
+        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenario(EVERY_SECOND)));
+        when(scheduledRunRepository.findFirstByScenarioIdOrderByFireTimeDesc(1L)).thenReturn(
+                Optional.of(run(9L, ScheduledRun.DONE, Instant.now().minusSeconds(5))));
     }
 
-    /** Stubs the tracker so that the active-check passes and tryStart() succeeds. */
-    private void trackerIdle() {
-        when(performanceTracker.isActive()).thenReturn(false);
-        when(performanceTracker.tryStart(anyInt(), anyString())).thenReturn(true);
+    private static boolean isQueuedRunOfScenario1(ScheduledRun run) {
+        return run != null && ScheduledRun.QUEUED.equals(run.getStatus()) && run.getScenarioId() == 1L;
     }
 
     @Test
-    void shouldSkipWhenTestIsRunning() {
-        when(performanceTracker.isActive()).thenReturn(true);
+    void shouldNotStartQueuedRunWhileTestIsActive() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        var run = queuedRun(100L);
 
-        scheduledScenarioService.runScheduledScenarios();
+        scheduledScenarioService.tick();
 
-        verify(testScenarioService, never()).listScheduledEnabled();
+        assertThat(run.getStatus()).isEqualTo(ScheduledRun.QUEUED);
+        verify(scheduledRunRepository, never()).save(any());
+        verify(testRunEngine, never()).execute(anyLong(), any());
     }
 
     @Test
-    void shouldSkipWhenTestIsExporting() {
-        when(performanceTracker.isActive()).thenReturn(true);
+    void shouldNotReserveTheEngineWhenNothingIsQueued() {
+        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of());
+
+        scheduledScenarioService.tick();
+
+        verify(testRunEngine, never()).tryReserve();
+    }
 
-        scheduledScenarioService.runScheduledScenarios();
+    @Test
+    void shouldReleaseTheReservationWhenTheRunCannotBeMarkedRunning() {
+        engineIdle();
+        queuedRun(100L);
+        doThrow(new IllegalStateException("database unavailable")).when(scheduledRunRepository).save(any());
+
+        assertThatThrownBy(() -> scheduledScenarioService.tick()).isInstanceOf(IllegalStateException.class);
 
-        verify(testScenarioService, never()).listScheduledEnabled();
+        verify(testRunEngine).cancelReservation();
+        verify(testRunEngine, never()).execute(anyLong(), any());
     }
 
     @Test
     void shouldDoNothingWhenNoScenariosScheduled() {
-        when(performanceTracker.isActive()).thenReturn(false);
+        when(testRunEngine.tryReserve()).thenReturn(true);
         when(testScenarioService.listScheduledEnabled()).thenReturn(List.of());
 
-        scheduledScenarioService.runScheduledScenarios();
+        scheduledScenarioService.tick();
 
-        verify(messageSender, never()).sendMessage(anyString());
+        verify(scheduledRunRepository, never()).save(any());
+        verify(testRunEngine, never()).execute(anyLong(), any());
     }
 
     @Test
-    void shouldDoNothingWhenNoScenariosMatchCurrentTime() {
-        when(performanceTracker.isActive()).thenReturn(false);
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt("99:99")));
+    void shouldNotQueueScenarioBeforeItsFirstFire() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenario("0 0 0 1 1 *")));
 
-        scheduledScenarioService.runScheduledScenarios();
+        scheduledScenarioService.tick();
 
-        verify(messageSender, never()).sendMessage(anyString());
+        verify(scheduledRunRepository, never()).save(any());
     }
 
     @Test
-    void shouldTriggerExecutionForMatchingScenario() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(10L));
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of());
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.awaitCompletion(anyLong(), any(TimeUnit.class))).thenReturn(true);
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
-
-        await().atMost(ofSeconds(5)).untilAsserted(() -> {
-            verify(performanceTracker).tryStart(eq(2), anyString());
-            verify(testRunService).completeRun(eq(10L), eq("COMPLETED"), any(), eq(null));
-        });
+    void shouldQueueDueFireEvenWhileTestIsActive() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        scenarioDue();
+
+        scheduledScenarioService.tick();
+
+        verify(scheduledRunRepository, atLeastOnce()).save(argThat(ScheduledScenarioServiceTest::isQueuedRunOfScenario1));
+        verify(testRunEngine, never()).execute(anyLong(), any());
     }
 
     @Test
-    void shouldRecordTimeoutStatusWhenAwaitCompletionReturnsFalse() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(20L));
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.awaitCompletion(anyLong(), any(TimeUnit.class))).thenReturn(false);
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of());
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
+    void shouldNotQueueFireThatIsAlreadyQueued() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        scenarioDue();
+        when(scheduledRunRepository.existsByScenarioIdAndFireTime(eq(1L), any())).thenReturn(true);
 
-        await().atMost(ofSeconds(5)).untilAsserted(() ->
-                verify(testRunService).completeRun(eq(20L), eq("TIMEOUT"), any(), eq(null)));
+        scheduledScenarioService.tick();
+
+        verify(scheduledRunRepository, never()).save(any());
     }
 
     @Test
-    void shouldHandleExceptionDuringExecution() {
-        var currentTime = LocalTime.now().format(HH_MM);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(30L));
-        when(testScenarioService.buildMessagePool(1L)).thenThrow(new RuntimeException("DB error"));
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
-
-        await().atMost(ofSeconds(5)).untilAsserted(() -> {
-            verify(performanceTracker).setStatus("FAILED");
-            verify(testRunService).completeRun(eq(30L), eq("FAILED"), any(), eq(null));
-        });
+    void shouldIgnoreFireOfScenarioDeletedAfterQueueWasBuilt() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        scenarioDue();
+        doThrow(new DataIntegrityViolationException("fk_scheduled_run_scenario"))
+                .when(scheduledRunRepository).save(any());
+
+        scheduledScenarioService.tick();
+
+        verify(scheduledRunRepository, atLeastOnce()).save(any());
     }
 
     @Test
-    void shouldHandleInterruptedExceptionDuringExecution() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(40L));
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        doThrow(new InterruptedException()).when(performanceTracker).awaitCompletion(anyLong(), any(TimeUnit.class));
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
-
-        await().atMost(ofSeconds(5)).untilAsserted(() -> {
-            verify(performanceTracker).setStatus("FAILED");
-            verify(testRunService).completeRun(eq(40L), eq("FAILED"), any(), eq(null));
-        });
+    void shouldRebuildQueueOnlyAfterScenarioChanges() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+
+        scheduledScenarioService.tick();
+        scheduledScenarioService.tick();
+        verify(testScenarioService, times(1)).listScheduledEnabled();
+
+        scheduledScenarioService.onScenarioChanged(new TestScenarioChangedEvent(1L));
+        scheduledScenarioService.tick();
+        verify(testScenarioService, times(2)).listScheduledEnabled();
     }
 
     @Test
-    void shouldRecordFailedStatusWhenTrackerRejectsStart() {
-        var currentTime = LocalTime.now().format(HH_MM);
-        when(performanceTracker.isActive()).thenReturn(false);
-        when(performanceTracker.tryStart(anyInt(), anyString())).thenReturn(false);
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(80L));
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
+    void shouldRetryRebuildWhenSchedulesCannotBeLoaded() {
+        when(testRunEngine.tryReserve()).thenReturn(false);
+        when(testScenarioService.listScheduledEnabled())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of());
 
-        scheduledScenarioService.runScheduledScenarios();
+        scheduledScenarioService.tick();
+        scheduledScenarioService.tick();
+        scheduledScenarioService.tick();
 
-        await().atMost(ofSeconds(5)).untilAsserted(() ->
-                verify(testRunService).completeRun(eq(80L), eq("FAILED"), any(), eq(null)));
+        verify(testScenarioService, times(2)).listScheduledEnabled();
     }
 
     @Test
-    void shouldExecuteWarmupBeforeMainTest() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(50L));
-        when(testScenarioService.getWarmupCount(1L)).thenReturn(3);
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.awaitWarmupCompletion(anyLong(), any(TimeUnit.class))).thenReturn(true);
-        when(performanceTracker.awaitCompletion(anyLong(), any(TimeUnit.class))).thenReturn(true);
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of());
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
+    void shouldRunQueuedRunAndRecordItsTestRun() {
+        runSucceeds(10L);
+        var run = queuedRun(100L);
+
+        scheduledScenarioService.tick();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(run.getStatus()).isEqualTo(ScheduledRun.DONE));
+        assertThat(run.getTestRunId()).isEqualTo(10L);
+        // execute releases the reservation itself
+        verify(testRunEngine, never()).cancelReservation();
+        assertThat(run.getStartedAt()).isNotNull();
+        assertThat(run.getFinishedAt()).isNotNull();
+    }
 
-        await().atMost(ofSeconds(5)).untilAsserted(() ->
-                verify(performanceTracker).startWarmupPhase(3));
+    @Test
+    void shouldRunCollidedFiresBackToBack() {
+        runSucceeds(10L);
+        var runs = queuedRuns(100L, 101L);
+
+        scheduledScenarioService.tick();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(runs)
+                .extracting(ScheduledRun::getStatus).containsOnly(ScheduledRun.DONE));
+        verify(testRunEngine, times(2)).execute(eq(10L), any());
+        assertThat(runs.get(1).getStartedAt()).isAfterOrEqualTo(runs.get(0).getFinishedAt());
     }
 
     @Test
-    void shouldUseMessagePoolWhenNonEmpty() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        var poolMsg = new ScenarioMessage("payload", Map.of(), null);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(60L));
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of(poolMsg, poolMsg));
-        when(messageSender.sendMessage(anyString()))
-                .thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.awaitCompletion(anyLong(), any(TimeUnit.class))).thenReturn(true);
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of());
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
+    void shouldFailRunWhenScenarioWasDeleted() {
+        engineIdle();
+        var run = queuedRun(100L);
+        when(testScenarioService.getById(1L)).thenThrow(new TestScenarioNotFoundException(1L));
 
-        await().atMost(ofSeconds(5)).untilAsserted(() ->
-                verify(messageSender, atLeastOnce()).sendMessage(anyString()));
+        scheduledScenarioService.tick();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(run.getStatus()).isEqualTo(ScheduledRun.FAILED));
+        verify(testRunEngine, never()).prepare(any());
+        verify(testRunEngine).cancelReservation();
+    }
+
+    @Test
+    void failInterruptedRunsShouldFailRunsLeftRunning() {
+        var interrupted = run(100L, ScheduledRun.RUNNING, Instant.parse("2026-01-01T02:00:00Z"));
+        when(scheduledRunRepository.findByStatus(ScheduledRun.RUNNING)).thenReturn(List.of(interrupted));
+
+        scheduledScenarioService.failInterruptedRuns();
+
+        assertThat(interrupted.getStatus()).isEqualTo(ScheduledRun.FAILED);
+        assertThat(interrupted.getFinishedAt()).isNotNull();
     }
 
     @Test
-    void shouldEvaluateThresholdsWhenNonEmpty() throws Exception {
-        var currentTime = LocalTime.now().format(HH_MM);
-        var threshold = new ThresholdDef("TPS", "GTE", 5.0);
-        var thresholdResult = new ThresholdResult("TPS", "GTE", 5.0, 10.0, true);
-        trackerIdle();
-        when(testScenarioService.listScheduledEnabled()).thenReturn(List.of(scenarioAt(currentTime)));
-        when(testScenarioService.getById(1L)).thenReturn(scenarioAt(currentTime));
-        when(testRunService.createRun(anyString(), anyString(), anyInt(), any())).thenReturn(mockTestRun(70L));
-        when(testScenarioService.buildMessagePool(1L)).thenReturn(List.of());
-        when(messageSender.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
-        when(performanceTracker.awaitCompletion(anyLong(), any(TimeUnit.class))).thenReturn(true);
-        when(testScenarioService.getScenarioThresholds(1L)).thenReturn(List.of(threshold));
-        when(thresholdEvaluator.evaluate(any(), any())).thenReturn(List.of(thresholdResult));
-        when(performanceTracker.getResult()).thenReturn(emptyResult());
-
-        scheduledScenarioService.runScheduledScenarios();
+    void failInterruptedRunsShouldNotThrowWhenTheRunCannotBeSaved() {
+        var interrupted = run(100L, ScheduledRun.RUNNING, Instant.parse("2026-01-01T02:00:00Z"));
+        when(scheduledRunRepository.findByStatus(ScheduledRun.RUNNING)).thenReturn(List.of(interrupted));
+        doThrow(new IllegalStateException("database unavailable")).when(scheduledRunRepository).save(any());
+
+        scheduledScenarioService.failInterruptedRuns();
+
+        verify(scheduledRunRepository).save(interrupted);
+    }
+
+    @Test
+    void shouldExecuteScenarioThroughTheEngine() {
+        runSucceeds(10L);
+        queuedRun(100L);
+
+        scheduledScenarioService.tick();
+
+        var captor = ArgumentCaptor.forClass(TestRunPlan.class);
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(testRunEngine).execute(eq(10L), captor.capture()));
+        var plan = captor.getValue();
+        assertThat(plan.testId()).isEqualTo("scheduled-test-scenario");
+        assertThat(plan.count()).isEqualTo(2);
+        assertThat(plan.timeoutSeconds()).isEqualTo(120);
+        assertThat(plan.scenario().id()).isEqualTo(1L);
+        assertThat(plan.exports()).isEqualTo(TestRunPlan.Exports.NONE);
+        assertThat(plan.debug()).isFalse();
+        verify(testRunEngine).prepare(plan);
+    }
+
+    @Test
+    void shouldUseDefaultTimeoutWhenNoneIsConfigured() {
+        runSucceeds(10L);
+        when(schedulingProperties.runTimeoutSeconds()).thenReturn(0);
+        queuedRun(100L);
+
+        scheduledScenarioService.tick();
 
         await().atMost(ofSeconds(5)).untilAsserted(() ->
-                verify(testRunService).updateThresholdResult(anyLong(), anyString(), any()));
+                verify(testRunEngine).execute(eq(10L), argThat(plan -> plan.timeoutSeconds() == 300)));
+    }
+
+    @Test
+    void shouldFailRunWhenTheEngineReportsFailure() {
+        runSucceeds(80L);
+        when(testRunEngine.execute(eq(80L), any())).thenReturn(TestRunEngine.FAILED);
+        var run = queuedRun(100L);
+
+        scheduledScenarioService.tick();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(run.getStatus()).isEqualTo(ScheduledRun.FAILED));
+        assertThat(run.getTestRunId()).isEqualTo(80L);
+    }
+
+    @Test
+    void shouldCountTimedOutRunAsDone() {
+        runSucceeds(20L);
+        when(testRunEngine.execute(eq(20L), any())).thenReturn("TIMEOUT");
+        var run = queuedRun(100L);
+
+        scheduledScenarioService.tick();
+
+        await().atMost(ofSeconds(5)).untilAsserted(() -> assertThat(run.getStatus()).isEqualTo(ScheduledRun.DONE));
     }
 }
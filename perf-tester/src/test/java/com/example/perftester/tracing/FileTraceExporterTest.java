@@ -0,0 +1,28 @@
+package com.example.perftester.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileTraceExporterTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void exportShouldAppendOneDocumentPerLine() throws IOException {
+        var file = tempDir.resolve("traces/traces.jsonl");
+        var exporter = new FileTraceExporter(file);
+
+        exporter.export("{\"run\":1}".getBytes(StandardCharsets.UTF_8));
+        exporter.export("{\"run\":2}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Files.readAllLines(file)).containsExactly("{\"run\":1}", "{\"run\":2}");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.perftester.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OtlpTraceExporterTest {
+
+    private HttpServer server;
+    private OtlpTraceExporter exporter;
+    private volatile int status = 200;
+    private volatile String receivedBody;
+    private volatile String receivedContentType;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/traces", exchange -> {
+            receivedContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            receivedBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        exporter = new OtlpTraceExporter(HttpClient.newHttpClient(),
+                URI.create("http://localhost:" + server.getAddress().getPort() + "/v1/traces"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void exportShouldPostJsonToTheEndpoint() throws Exception {
+        exporter.export("{\"resourceSpans\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(receivedBody).isEqualTo("{\"resourceSpans\":[]}");
+        assertThat(receivedContentType).isEqualTo("application/json");
+    }
+
+    @Test
+    void exportShouldFailWhenTheEndpointRejectsTheTraces() {
+        status = 400;
+
+        assertThatThrownBy(() -> exporter.export(new byte[0]))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("HTTP 400");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.perftester.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TraceContextTest {
+
+    @Test
+    void traceparentShouldBeDerivedFromTheMessageId() {
+        var traceparent = TraceContext.traceparent("0123abcd-4567-89ef-0123-456789abcdef");
+
+        assertThat(traceparent).isEqualTo("00-0123abcd456789ef0123456789abcdef-0000eeaacccc4400-00");
+        assertThat(traceparent).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-00");
+    }
+
+    @Test
+    void rootSpanIdShouldNeverBeZero() {
+        var uuid = new UUID(42, 42);
+
+        assertThat(TraceContext.rootSpanId(uuid)).isEqualTo(1);
+        assertThat(TraceContext.traceparent(uuid.toString())).endsWith("-0000000000000001-00");
+    }
+
+    @Test
+    void messageIdThatIsNoUuidShouldBeRejected() {
+        assertThatThrownBy(() -> TraceContext.traceparent("corr-123")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
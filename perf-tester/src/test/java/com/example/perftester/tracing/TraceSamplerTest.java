@@ -0,0 +1,227 @@
+package com.example.perftester.tracing;
+
+import com.example.perftester.config.TracingProperties;
+import com.example.perftester.perf.HopTimestamps;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TraceSamplerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MS = 1_000_000L;
+
+    @Mock
+    private TraceExporter exporter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    private TraceSampler sampler(boolean enabled, int slowestPerRun, long thresholdMs) {
+        return new TraceSampler(new TracingProperties(enabled, slowestPerRun, thresholdMs, "OTLP", null, null),
+                exporter, meterRegistry);
+    }
+
+    private static String id(int n) {
+        return new UUID(n, n * 31L).toString();
+    }
+
+    private JsonNode exported() throws Exception {
+        var captor = ArgumentCaptor.forClass(byte[].class);
+        verify(exporter).export(captor.capture());
+        return MAPPER.readTree(captor.getValue());
+    }
+
+    private static List<JsonNode> rootSpans(JsonNode document) {
+        var spans = new ArrayList<JsonNode>();
+        document.get("resourceSpans").get(0).get("scopeSpans").get(0).get("spans").forEach(spans::add);
+        return spans;
+    }
+
+    private static String attribute(JsonNode node, String key) {
+        for (var attribute : node.get("attributes")) {
+            if (key.equals(attribute.get("key").asText())) {
+                return attribute.get("value").get("stringValue").asText();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void finishShouldExportOnlyTheSlowestTracesSlowestFirst() throws Exception {
+        var sampler = sampler(true, 2, 0);
+        sampler.begin("run-1");
+
+        sampler.offer(id(1), 5 * MS, null);
+        sampler.offer(id(2), 30 * MS, null);
+        sampler.offer(id(3), 10 * MS, null);
+        // Below the floor of a full sampler: dropped without taking the lock
+        sampler.offer(id(4), 7 * MS, null);
+
+        assertThat(sampler.finish()).isEqualTo(2);
+        var spans = rootSpans(exported());
+        assertThat(spans).extracting(span -> attribute(span, "messaging.message.id")).containsExactly(id(2), id(3));
+        var slowest = spans.getFirst();
+        assertThat(attribute(slowest, "perf.test_run_id")).isEqualTo("run-1");
+        assertThat(attribute(slowest, "perf.latency_ms")).isEqualTo("30.000");
+        assertThat(slowest.get("name").asText()).isEqualTo("perf.round-trip");
+        assertThat(slowest.has("parentSpanId")).isFalse();
+        assertThat(slowest.get("traceId").asText()).isEqualTo(TraceContext.traceparent(id(2)).substring(3, 35));
+        assertThat(slowest.get("spanId").asText()).isEqualTo(TraceContext.traceparent(id(2)).substring(36, 52));
+        var duration = Long.parseLong(slowest.get("endTimeUnixNano").asText())
+                - Long.parseLong(slowest.get("startTimeUnixNano").asText());
+        assertThat(duration).isEqualTo(30 * MS);
+        assertThat(meterRegistry.get("tracing.traces.exported").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void tracesFasterThanTheThresholdShouldNotBeKept() throws Exception {
+        var sampler = sampler(true, 10, 20);
+        sampler.begin("run-1");
+
+        sampler.offer(id(1), 19 * MS, null);
+        sampler.offer(id(2), 25 * MS, null);
+
+        assertThat(sampler.finish()).isEqualTo(1);
+        assertThat(rootSpans(exported())).extracting(span -> attribute(span, "messaging.message.id"))
+                .containsExactly(id(2));
+    }
+
+    @Test
+    void stampedTraceShouldHaveASpanPerHopUnderItsService() throws Exception {
+        var sampler = sampler(true, 0, 0);
+        sampler.begin("run-1");
+        var now = System.currentTimeMillis() * 1000;
+        // kafka-consumer's clock runs behind, so the request topic leg cannot be measured
+        var hops = new HopTimestamps(now - 900_000, now - 800_000, now - 950_000, now - 700_000, now - 500_000,
+                now - 400_000);
+
+        sampler.offer(id(1), 1000 * MS, hops);
+
+        assertThat(sampler.finish()).isEqualTo(1);
+        var document = exported();
+        var services = new ArrayList<String>();
+        var hopSpans = new ArrayList<JsonNode>();
+        for (var resource : document.get("resourceSpans")) {
+            services.add(resource.get("resource").get("attributes").get(0).get("value").get("stringValue").asText());
+            resource.get("scopeSpans").get(0).get("spans").forEach(span -> {
+                if (span.has("parentSpanId")) {
+                    hopSpans.add(span);
+                }
+            });
+        }
+        assertThat(services).containsExactly("perf-tester", "ibm-mq", "ibm-mq-consumer", "kafka-consumer", "kafka");
+        assertThat(hopSpans).extracting(span -> span.get("name").asText()).containsExactlyInAnyOrder(
+                "mq-request-queue", "ibm-mq-consumer-request", "kafka-consumer", "kafka-response-topic",
+                "ibm-mq-consumer-response", "mq-response-queue");
+        var root = rootSpans(document).getFirst();
+        assertThat(hopSpans).allSatisfy(span -> {
+            assertThat(span.get("traceId").asText()).isEqualTo(root.get("traceId").asText());
+            assertThat(span.get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+            assertThat(span.get("spanId").asText()).isNotEqualTo(root.get("spanId").asText());
+        });
+        var consumer = hopSpans.stream().filter(span -> "ibm-mq-consumer-request".equals(span.get("name").asText()))
+                .findFirst().orElseThrow();
+        assertThat(consumer.get("kind").asInt()).isEqualTo(5);
+        assertThat(attribute(consumer, "perf.hop.kind")).isEqualTo("PROCESSING");
+        assertThat(consumer.get("startTimeUnixNano").asText()).isEqualTo(Long.toString((now - 900_000) * 1000));
+    }
+
+    @Test
+    void offersOutsideARunShouldBeIgnored() throws Exception {
+        var sampler = sampler(true, 10, 0);
+
+        sampler.offer(id(1), 5 * MS, null);
+        assertThat(sampler.finish()).isZero();
+
+        sampler.begin("run-1");
+        assertThat(sampler.finish()).isZero();
+        sampler.offer(id(2), 5 * MS, null);
+        assertThat(sampler.finish()).isZero();
+
+        verifyNoInteractions(exporter);
+    }
+
+    @Test
+    void disabledSamplerShouldNeverKeepTraces() {
+        var sampler = sampler(false, 10, 0);
+
+        sampler.begin("run-1");
+        sampler.offer(id(1), 5 * MS, null);
+
+        assertThat(sampler.isEnabled()).isFalse();
+        assertThat(sampler.finish()).isZero();
+        verifyNoInteractions(exporter);
+    }
+
+    @Test
+    void samplerShouldPropagateButKeepNothingWithoutAnExporter() {
+        var sampler = new TraceSampler(new TracingProperties(true, 10, 0, "OTLP", null, null),
+                TraceExporter.NONE, meterRegistry);
+
+        sampler.begin("run-1");
+        sampler.offer(id(1), 5 * MS, null);
+
+        assertThat(sampler.isEnabled()).isTrue();
+        assertThat(sampler.finish()).isZero();
+    }
+
+    @Test
+    void newRunShouldDropTracesOfThePreviousOne() throws Exception {
+        var sampler = sampler(true, 1, 0);
+        sampler.begin("run-1");
+        sampler.offer(id(1), 50 * MS, null);
+
+        sampler.begin("run-2");
+        sampler.offer(id(2), 5 * MS, null);
+
+        assertThat(sampler.finish()).isEqualTo(1);
+        var spans = rootSpans(exported());
+        assertThat(spans).extracting(span -> attribute(span, "perf.test_run_id")).containsExactly("run-2");
+    }
+
+    @Test
+    void failedExportShouldBeCountedAndNotThrown() throws Exception {
+        doThrow(new IOException("connection refused")).when(exporter).export(any());
+        var sampler = sampler(true, 10, 0);
+        sampler.begin("run-1");
+        sampler.offer(id(1), 5 * MS, null);
+
+        assertThat(sampler.finish()).isZero();
+        assertThat(meterRegistry.get("tracing.export.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void interruptedExportShouldRestoreTheInterruptFlag() throws Exception {
+        doThrow(new InterruptedException()).when(exporter).export(any());
+        var sampler = sampler(true, 10, 0);
+        sampler.begin("run-1");
+        sampler.offer(id(1), 5 * MS, null);
+
+        assertThat(sampler.finish()).isZero();
+        assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        assertThat(meterRegistry.get("tracing.export.failures").counter().count()).isEqualTo(1);
+    }
+}
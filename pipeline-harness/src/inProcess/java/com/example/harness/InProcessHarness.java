@@ -0,0 +1,198 @@
+package com.example.harness;
+
+import com.example.avro.MqMessage;
+import com.example.avro.serialization.AvroDeserializer;
+import com.example.harness.inprocess.InMemoryTextMessage;
+import com.example.harness.inprocess.RingBuffer;
+import com.example.harness.inprocess.RingJmsTemplate;
+import com.example.harness.inprocess.RingProducer.SerializedRecord;
+import com.example.harness.inprocess.RingProducer;
+import com.example.ibmmqconsumer.messaging.KafkaResponseListener;
+import com.example.ibmmqconsumer.messaging.MqMessageListener;
+import com.example.kafkaconsumer.messaging.KafkaRequestListener;
+import com.example.perftester.config.PerfProperties;
+import com.example.perftester.config.TracingProperties;
+import com.example.perftester.messaging.MessageListener;
+import com.example.perftester.messaging.MessageSender;
+import com.example.perftester.messaging.MqLoadTransport;
+import com.example.perftester.messaging.MqProperties;
+import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.tracing.TraceSampler;
+import com.example.profiling.MessageEvents;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the listener code of all three services in this JVM with the brokers taken out: IBM MQ
+ * queues and Kafka topics become {@link RingBuffer}s, each drained by as many threads as the
+ * service's listener container would run. Avro serialization, the Spring message conversion in
+ * {@code KafkaTemplate}, the services' counters and JFR events and perf-tester's
+ * {@link PerformanceTracker} stay as they are, so the {@code PerfTestResult} is the ceiling a run
+ * on real brokers can be held against.
+ *
+ * <p>Not included: the brokers and their clients, listener containers, {@code @Timed} and
+ * Micrometer timers, which need a Spring context.
+ */
+@Slf4j
+public final class InProcessHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String REQUEST_QUEUE = "DEV.QUEUE.2";
+    private static final String REPLY_QUEUE = "DEV.QUEUE.1";
+    private static final String REQUEST_TOPIC = "mq-requests";
+    private static final String RESPONSE_TOPIC = "mq-responses";
+    private static final MessageEvents MESSAGE_EVENTS = new MessageEvents(10);
+    private static final long WARMUP_TIMEOUT_SECONDS = 60;
+    // As in perf-tester's application.yml
+    private static final PerfProperties PERF_PROPERTIES = new PerfProperties(16000, 60000, 60000, 30000, 60, 15);
+
+    private InProcessHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = InProcessOptions.from(System.getProperties());
+        var meterRegistry = new SimpleMeterRegistry();
+        var tracker = new PerformanceTracker(meterRegistry, PERF_PROPERTIES, MESSAGE_EVENTS);
+        var traceSampler = new TraceSampler(new TracingProperties(false, 0, 0, null, null, null), otlpJson -> {
+            // Tracing is off, nothing is ever exported
+        }, meterRegistry);
+
+        var requestQueue = new RingBuffer<InMemoryTextMessage>(options.ringCapacity());
+        var replyQueue = new RingBuffer<InMemoryTextMessage>(options.ringCapacity());
+        var requestTopic = new RingBuffer<SerializedRecord>(options.ringCapacity());
+        var responseTopic = new RingBuffer<SerializedRecord>(options.ringCapacity());
+        var jmsTemplate = new RingJmsTemplate(Map.of(REQUEST_QUEUE, requestQueue, REPLY_QUEUE, replyQueue));
+        var kafkaTemplate = new RingProducer(Map.of(REQUEST_TOPIC, requestTopic, RESPONSE_TOPIC, responseTopic))
+                .template();
+
+        var sender = new MessageSender(new MqLoadTransport(jmsTemplate, new MqProperties(
+                new MqProperties.QueueProperties(REQUEST_QUEUE, REPLY_QUEUE), "jms"), traceSampler), tracker,
+                messageEvents);
+        var listeners = startListeners(options, meterRegistry, tracker, traceSampler, jmsTemplate, kafkaTemplate,
+                new Rings(requestQueue, replyQueue, requestTopic, responseTopic));
+        try {
+            var status = run(options, sender, tracker);
+            var result = tracker.getResult();
+            Files.createDirectories(options.output().toAbsolutePath().getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(options.output().toFile(), result);
+            log.info("In-process run {}: {}/{} messages, TPS={}, avgLatency={}ms, p99={}ms, result: {}",
+                    status.toLowerCase(), result.completedMessages(), options.count(),
+                    String.format("%.2f", result.tps()), String.format("%.2f", result.avgLatencyMs()),
+                    String.format("%.2f", result.p99LatencyMs()), options.output().toAbsolutePath());
+        } finally {
+            listeners.forEach(Thread::interrupt);
+        }
+    }
+
+    /** Warmup and measured run, as {@code TestRunEngine} does them for plain messages. */
+    private static String run(InProcessOptions options, MessageSender sender, PerformanceTracker tracker)
+            throws InterruptedException {
+        var payload = "X".repeat(options.payloadBytes());
+        if (options.warmup() > 0) {
+            tracker.startWarmupPhase(options.warmup());
+            send(sender, "warmup", options.warmup());
+            if (!tracker.awaitWarmupCompletion(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Warmup did not complete within {}s", WARMUP_TIMEOUT_SECONDS);
+            }
+        }
+        if (!tracker.tryStart(options.count(), UUID.randomUUID().toString())) {
+            throw new IllegalStateException("Tracker already active");
+        }
+        try {
+            send(sender, payload, options.count());
+            var status = tracker.awaitCompletion(options.timeoutSeconds(), TimeUnit.SECONDS) ? "COMPLETED" : "TIMEOUT";
+            tracker.setStatus(status);
+            return status;
+        } finally {
+            tracker.release();
+        }
+    }
+
+    /** One virtual thread per message, like perf-tester's sender executor. */
+    private static void send(MessageSender sender, String prefix, int count) {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                var message = prefix + "-" + i;
+                executor.execute(() -> sender.sendMessage(message));
+            }
+        }
+    }
+
+    private static List<Thread> startListeners(InProcessOptions options, MeterRegistry meterRegistry,
+                                               PerformanceTracker tracker, TraceSampler traceSampler,
+                                               RingJmsTemplate jmsTemplate,
+                                               KafkaTemplate<String, MqMessage> kafkaTemplate, Rings rings) {
+        var mqListener = new MqMessageListener(kafkaTemplate, meterRegistry, REQUEST_TOPIC, "jms",
+                MESSAGE_EVENTS);
+        var requestListener = new KafkaRequestListener(kafkaTemplate, meterRegistry, RESPONSE_TOPIC,
+                MESSAGE_EVENTS);
+        var responseListener = new KafkaResponseListener(jmsTemplate, meterRegistry, MESSAGE_EVENTS);
+        var replyListener = new MessageListener(tracker, traceSampler);
+
+        var threads = new ArrayList<Thread>();
+        threads.addAll(drain("ibm-mq-consumer-mq", options.jmsConcurrency(), rings.requestQueue(),
+                () -> mqListener::onMessage));
+        threads.addAll(drain("kafka-consumer-kafka", options.kafkaConcurrency(), rings.requestTopic(), () -> {
+            var deserializer = new AvroDeserializer();
+            return record -> requestListener.onMessage(record.toConsumerRecord(deserializer));
+        }));
+        threads.addAll(drain("ibm-mq-consumer-kafka", options.kafkaConcurrency(), rings.responseTopic(), () -> {
+            var deserializer = new AvroDeserializer();
+            return record -> responseListener.onMessage(record.toConsumerRecord(deserializer));
+        }));
+        threads.addAll(drain("perf-tester-mq", options.jmsConcurrency(), rings.replyQueue(),
+                () -> replyListener::receiveMessage));
+        return threads;
+    }
+
+    /**
+     * Starts {@code concurrency} threads that hand everything on the ring to a listener of their
+     * own. A listener that throws loses the message, as it would with auto-acknowledge.
+     */
+    private static <T> List<Thread> drain(String name, int concurrency, RingBuffer<T> ring,
+                                          Supplier<Listener<T>> listenerPerThread) {
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < concurrency; i++) {
+            var listener = listenerPerThread.get();
+            threads.add(Thread.ofPlatform().name(name + "-" + i).daemon().start(() -> {
+                try {
+                    while (true) {
+                        var message = ring.take();
+                        try {
+                            listener.onMessage(message);
+                        } catch (Exception e) {
+                            log.warn("{} listener failed: {}", name, e.getMessage(), e);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        return threads;
+    }
+
+    /** A listener method as the containers call it. */
+    @FunctionalInterface
+    private interface Listener<T> {
+
+        void onMessage(T message) throws Exception;
+    }
+
+    /** The queues and topics of the pipeline. */
+    private record Rings(RingBuffer<InMemoryTextMessage> requestQueue, RingBuffer<InMemoryTextMessage> replyQueue,
+                         RingBuffer<SerializedRecord> requestTopic, RingBuffer<SerializedRecord> responseTopic) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.harness;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static com.example.harness.HarnessOptions.intProperty;
+
+/**
+ * Settings of one in-process run, read from the same {@code harness.*} system properties as
+ * {@link HarnessOptions} where they mean the same thing.
+ *
+ * @param count            messages in the measured run
+ * @param warmup           messages sent and discarded before the measured run
+ * @param payloadBytes     payload size of every message
+ * @param timeoutSeconds   how long to wait for responses after the last send
+ * @param jmsConcurrency   threads taking messages off each queue, the lower bound of the JMS listeners' {@code 10-50}
+ * @param kafkaConcurrency threads taking records off each topic, like {@code app.kafka.consumer.concurrency}
+ * @param ringCapacity     slots in every queue and topic ring
+ * @param output           file the {@code PerfTestResult} is written to as JSON
+ */
+record InProcessOptions(int count, int warmup, int payloadBytes, int timeoutSeconds, int jmsConcurrency,
+                        int kafkaConcurrency, int ringCapacity, Path output) {
+
+    static InProcessOptions from(Properties properties) {
+        return new InProcessOptions(
+                intProperty(properties, "count", 10_000),
+                intProperty(properties, "warmup", 1000),
+                intProperty(properties, "payload-bytes", 256),
+                intProperty(properties, "timeout-seconds", 120),
+                intProperty(properties, "jms-concurrency", 10),
+                intProperty(properties, "kafka-concurrency", 20),
+                intProperty(properties, "ring-capacity", 8192),
+                Path.of(properties.getProperty("harness.output", "build/harness/in-process-result.json")));
+    }
+}
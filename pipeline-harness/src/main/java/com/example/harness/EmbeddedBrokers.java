@@ -0,0 +1,66 @@
+package com.example.harness;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+/**
+ * Artemis in place of IBM MQ and a single-node KRaft Kafka, both in the harness JVM. Queues are
+ * created on first use, topics up front with the partition count of the compose stack.
+ */
+@Slf4j
+final class EmbeddedBrokers implements AutoCloseable {
+
+    static final String REQUEST_TOPIC = "mq-requests";
+    static final String RESPONSE_TOPIC = "mq-responses";
+
+    private static final int PARTITIONS = 20;
+
+    private final EmbeddedActiveMQ artemis;
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final String artemisUrl;
+
+    private EmbeddedBrokers(EmbeddedActiveMQ artemis, EmbeddedKafkaKraftBroker kafka, String artemisUrl) {
+        this.artemis = artemis;
+        this.kafka = kafka;
+        this.artemisUrl = artemisUrl;
+    }
+
+    static EmbeddedBrokers start(int artemisPort) throws Exception {
+        var artemisUrl = "tcp://localhost:" + artemisPort;
+        var configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("tcp", artemisUrl);
+        var artemis = new EmbeddedActiveMQ().setConfiguration(configuration);
+        artemis.start();
+
+        var kafka = new EmbeddedKafkaKraftBroker(1, PARTITIONS, REQUEST_TOPIC, RESPONSE_TOPIC);
+        try {
+            kafka.afterPropertiesSet();
+        } catch (Exception e) {
+            artemis.stop();
+            throw e;
+        }
+        log.info("Embedded brokers started: artemis={}, kafka={}", artemisUrl, kafka.getBrokersAsString());
+        return new EmbeddedBrokers(artemis, kafka, artemisUrl);
+    }
+
+    String artemisUrl() {
+        return artemisUrl;
+    }
+
+    String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            kafka.destroy();
+        } finally {
+            artemis.stop();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.harness;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Settings of one harness run, read from {@code harness.*} system properties.
+ *
+ * @param count                  messages in the measured run, ignored when a scenario is given
+ * @param warmup                 messages sent and discarded before the measured run, ignored when a scenario is given
+ * @param payloadBytes           payload size of messages that do not come from a scenario
+ * @param scenario               scenario export (JSON) to import and run, or null for plain messages
+ * @param timeoutSeconds         how long to wait for responses after the last send
+ * @param output                 file the {@code PerfTestResult} is written to as JSON
+ * @param artemisPort            port of the embedded JMS broker
+ * @param ibmMqConsumerPort      HTTP port of ibm-mq-consumer
+ * @param kafkaConsumerPort      HTTP port of kafka-consumer
+ * @param ibmMqConsumerClasspath runtime classpath ibm-mq-consumer is started with
+ * @param kafkaConsumerClasspath runtime classpath kafka-consumer is started with
+ * @param configRepo             config server repository the consumers take their settings from
+ * @param logDir                 directory the consumer logs are written to
+ */
+public record HarnessOptions(int count, int warmup, int payloadBytes, @Nullable Path scenario, int timeoutSeconds,
+                             Path output, int artemisPort, int ibmMqConsumerPort, int kafkaConsumerPort,
+                             String ibmMqConsumerClasspath, String kafkaConsumerClasspath, Path configRepo,
+                             Path logDir) {
+
+    private static final String PREFIX = "harness.";
+
+    public static HarnessOptions from(Properties properties) {
+        var scenario = properties.getProperty(PREFIX + "scenario");
+        var output = Path.of(properties.getProperty(PREFIX + "output", "build/harness/perf-test-result.json"));
+        return new HarnessOptions(
+                intProperty(properties, "count", 10_000),
+                intProperty(properties, "warmup", 1000),
+                intProperty(properties, "payload-bytes", 256),
+                scenario != null && !scenario.isBlank() ? Path.of(scenario) : null,
+                intProperty(properties, "timeout-seconds", 120),
+                output,
+                intProperty(properties, "artemis-port", 61616),
+                intProperty(properties, "ibm-mq-consumer-port", 8081),
+                intProperty(properties, "kafka-consumer-port", 8082),
+                requiredProperty(properties, "ibm-mq-consumer-classpath"),
+                requiredProperty(properties, "kafka-consumer-classpath"),
+                Path.of(properties.getProperty(PREFIX + "config-repo", "infrastructure/config-repo")),
+                output.toAbsolutePath().getParent());
+    }
+
+    static int intProperty(Properties properties, String name, int defaultValue) {
+        var value = properties.getProperty(PREFIX + name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static String requiredProperty(Properties properties, String name) {
+        var value = properties.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing system property " + PREFIX + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.harness;
+
+import com.example.perftester.PerfTesterApplication;
+import com.example.perftester.perf.PerfTestResult;
+import com.example.perftester.perf.PerformanceTracker;
+import com.example.perftester.perf.TestRunEngine;
+import com.example.perftester.perf.TestRunPlan;
+import com.example.perftester.persistence.ScenarioExport;
+import com.example.perftester.persistence.TestScenarioDetail;
+import com.example.perftester.persistence.TestScenarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the MQ → Kafka → MQ loop without the Docker Compose stack: Artemis and KRaft Kafka
+ * embedded, ibm-mq-consumer and kafka-consumer as child JVMs, perf-tester in this JVM on an
+ * in-memory database. The run goes through the same {@link TestRunEngine} as runs started from
+ * the UI, and its {@link PerfTestResult} is written as JSON to {@code harness.output}.
+ *
+ * <p>All three services talk to Artemis through their usual {@code JmsTemplate} and
+ * {@code @JmsListener} wiring; {@code app.mq.provider=jms} makes them address queues by plain
+ * name instead of IBM MQ queue URIs.
+ */
+@Slf4j
+public final class PipelineHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String MQ_AUTO_CONFIGURATION = "com.ibm.mq.spring.boot.MQAutoConfiguration";
+    private static final String JMS_PROVIDER = "jms";
+
+    private PipelineHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = HarnessOptions.from(System.getProperties());
+        try (var brokers = EmbeddedBrokers.start(options.artemisPort());
+             var kafkaConsumer = ServiceProcess.start("kafka-consumer",
+                     "com.example.kafkaconsumer.KafkaConsumerApplication", options.kafkaConsumerClasspath(),
+                     options.kafkaConsumerPort(), kafkaConsumerArgs(options, brokers), options.logDir());
+             var ibmMqConsumer = ServiceProcess.start("ibm-mq-consumer",
+                     "com.example.ibmmqconsumer.IbmMqConsumerApplication", options.ibmMqConsumerClasspath(),
+                     options.ibmMqConsumerPort(), ibmMqConsumerArgs(options, brokers), options.logDir());
+             var perfTester = new SpringApplicationBuilder(PerfTesterApplication.class)
+                     .properties(perfTesterProperties(options, brokers))
+                     .run(args)) {
+            var status = run(perfTester, options);
+            var result = perfTester.getBean(PerformanceTracker.class).getResult();
+            Files.createDirectories(options.output().toAbsolutePath().getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(options.output().toFile(), result);
+            log.info("Harness run {}: {}/{} messages, TPS={}, avgLatency={}ms, p99={}ms, result: {}",
+                    status.toLowerCase(), result.completedMessages(),
+                    result.completedMessages() + result.pendingMessages(),
+                    String.format("%.2f", result.tps()), String.format("%.2f", result.avgLatencyMs()),
+                    String.format("%.2f", result.p99LatencyMs()), options.output().toAbsolutePath());
+            log.info("Consumer logs: {}, {}", ibmMqConsumer.logFile(), kafkaConsumer.logFile());
+            if (TestRunEngine.FAILED.equals(status)) {
+                throw new IllegalStateException("Harness run failed, see the log above");
+            }
+        }
+    }
+
+    /** Imports the scenario if one is given, warms up when it is not, and runs the measured test. */
+    private static String run(ConfigurableApplicationContext perfTester, HarnessOptions options)
+            throws IOException {
+        var engine = perfTester.getBean(TestRunEngine.class);
+        TestScenarioDetail scenario = null;
+        if (options.scenario() != null) {
+            var scenarioExport = MAPPER.readValue(options.scenario().toFile(), ScenarioExport.class);
+            scenario = perfTester.getBean(TestScenarioService.class).importScenario(scenarioExport);
+            log.info("Imported scenario '{}' from {}", scenario.name(), options.scenario());
+        } else if (options.warmup() > 0) {
+            // A scenario brings its own warmup, plain messages get a discarded run of their own
+            execute(engine, "harness-warmup", options.warmup(), null, options);
+        }
+        var count = scenario != null ? scenario.count() : options.count();
+        return execute(engine, "harness", count, scenario, options);
+    }
+
+    private static String execute(TestRunEngine engine, String testId, int count,
+                                  @Nullable TestScenarioDetail scenario, HarnessOptions options) {
+        var plan = new TestRunPlan(UUID.randomUUID().toString(), testId, "X".repeat(options.payloadBytes()),
+                count, options.timeoutSeconds(), 0, scenario, TestRunPlan.Exports.NONE, false);
+        var testRun = engine.prepare(plan);
+        return engine.execute(testRun.getId(), plan);
+    }
+
+    private static String[] perfTesterProperties(HarnessOptions options, EmbeddedBrokers brokers) {
+        return new String[] {
+            "spring.datasource.url=jdbc:h2:mem:harness;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "spring.docker.compose.enabled=false",
+            "spring.autoconfigure.exclude=" + MQ_AUTO_CONFIGURATION,
+            "spring.artemis.mode=native",
+            "spring.artemis.broker-url=" + brokers.artemisUrl(),
+            "server.port=0",
+            "app.mq.provider=" + JMS_PROVIDER,
+            "app.kafka.bootstrap-servers=" + brokers.kafkaBootstrapServers(),
+            "app.tracing.enabled=false",
+            "app.jfr.services.ibm-mq-consumer=http://localhost:" + options.ibmMqConsumerPort(),
+            "app.jfr.services.kafka-consumer=http://localhost:" + options.kafkaConsumerPort(),
+        };
+    }
+
+    private static List<String> ibmMqConsumerArgs(HarnessOptions options, EmbeddedBrokers brokers) {
+        var args = consumerArgs("ibm-mq-consumer", options.ibmMqConsumerPort(), options, brokers);
+        args.add("--spring.autoconfigure.exclude=" + MQ_AUTO_CONFIGURATION);
+        args.add("--spring.artemis.mode=native");
+        args.add("--spring.artemis.broker-url=" + brokers.artemisUrl());
+        args.add("--app.mq.provider=" + JMS_PROVIDER);
+        return args;
+    }
+
+    private static List<String> kafkaConsumerArgs(HarnessOptions options, EmbeddedBrokers brokers) {
+        return consumerArgs("kafka-consumer", options.kafkaConsumerPort(), options, brokers);
+    }
+
+    /** Settings the config server would serve, read straight from the config repository. */
+    private static List<String> consumerArgs(String service, int port, HarnessOptions options,
+                                             EmbeddedBrokers brokers) {
+        var configRepo = options.configRepo().toAbsolutePath();
+        var args = new ArrayList<String>();
+        args.add("--spring.config.import=file:" + configRepo.resolve("application.yml")
+                + ",file:" + configRepo.resolve(service + ".yml"));
+        args.add("--spring.cloud.config.enabled=false");
+        args.add("--spring.docker.compose.enabled=false");
+        args.add("--server.port=" + port);
+        args.add("--spring.kafka.bootstrap-servers=" + brokers.kafkaBootstrapServers());
+        return args;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.harness;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A consumer service in a child JVM of its own. Each service has an {@code application.yml} at
+ * the root of its classpath, so the three Spring Boot applications cannot share one JVM.
+ */
+@Slf4j
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final String name;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, Process process, Path logFile) {
+        this.name = name;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Starts the service and waits until its actuator health endpoint answers 200.
+     *
+     * @param args Spring Boot command line arguments, e.g. {@code --server.port=8081}
+     */
+    static ServiceProcess start(String name, String mainClass, String classpath, int port, List<String> args,
+                                Path logDir) throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        var logFile = logDir.resolve(name + ".log");
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        // Same collector as the services run with, see bootRun
+        command.add("-XX:+UseZGC");
+        command.add("-cp");
+        command.add(classpath);
+        command.add(mainClass);
+        command.addAll(args);
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        var service = new ServiceProcess(name, process, logFile);
+        try {
+            service.awaitHealthy(port);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            service.close();
+            throw e;
+        }
+        return service;
+    }
+
+    Path logFile() {
+        return logFile;
+    }
+
+    private void awaitHealthy(int port) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        try (var client = HttpClient.newHttpClient()) {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + logFile);
+                }
+                if (isHealthy(client, request)) {
+                    log.info("{} is up on port {} (log: {})", name, port, logFile);
+                    return;
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        }
+        throw new IllegalStateException(name + " not healthy within " + STARTUP_TIMEOUT.toSeconds()
+                + "s, see " + logFile);
+    }
+
+    private static boolean isHealthy(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            log.warn("{} did not stop within {}s, killing it", name, SHUTDOWN_TIMEOUT.toSeconds());
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.harness.inprocess;
+
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageFormatException;
+import jakarta.jms.TextMessage;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A JMS text message that never leaves the JVM. Headers and properties are plain fields and a map;
+ * the ring a message is handed over on publishes them to the next thread, so nothing here needs
+ * to be thread-safe. Property conversions follow the JMS rules for the types the services use.
+ */
+public final class InMemoryTextMessage implements TextMessage {
+
+    private final Map<String, Object> properties = new HashMap<>();
+    private String text;
+    private String messageId;
+    private long timestamp;
+    private String correlationId;
+    private Destination replyTo;
+    private Destination destination;
+    private int deliveryMode;
+    private boolean redelivered;
+    private String type;
+    private long expiration;
+    private long deliveryTime;
+    private int priority;
+
+    public InMemoryTextMessage(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public String getJMSMessageID() {
+        return messageId;
+    }
+
+    @Override
+    public void setJMSMessageID(String id) {
+        this.messageId = id;
+    }
+
+    @Override
+    public long getJMSTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setJMSTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public byte[] getJMSCorrelationIDAsBytes() {
+        return correlationId != null ? correlationId.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public void setJMSCorrelationIDAsBytes(byte[] correlationId) {
+        this.correlationId = correlationId != null ? new String(correlationId, StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public void setJMSCorrelationID(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    @Override
+    public String getJMSCorrelationID() {
+        return correlationId;
+    }
+
+    @Override
+    public Destination getJMSReplyTo() {
+        return replyTo;
+    }
+
+    @Override
+    public void setJMSReplyTo(Destination replyTo) {
+        this.replyTo = replyTo;
+    }
+
+    @Override
+    public Destination getJMSDestination() {
+        return destination;
+    }
+
+    @Override
+    public void setJMSDestination(Destination destination) {
+        this.destination = destination;
+    }
+
+    @Override
+    public int getJMSDeliveryMode() {
+        return deliveryMode;
+    }
+
+    @Override
+    public void setJMSDeliveryMode(int deliveryMode) {
+        this.deliveryMode = deliveryMode;
+    }
+
+    @Override
+    public boolean getJMSRedelivered() {
+        return redelivered;
+    }
+
+    @Override
+    public void setJMSRedelivered(boolean redelivered) {
+        this.redelivered = redelivered;
+    }
+
+    @Override
+    public String getJMSType() {
+        return type;
+    }
+
+    @Override
+    public void setJMSType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public long getJMSExpiration() {
+        return expiration;
+    }
+
+    @Override
+    public void setJMSExpiration(long expiration) {
+        this.expiration = expiration;
+    }
+
+    @Override
+    public long getJMSDeliveryTime() {
+        return deliveryTime;
+    }
+
+    @Override
+    public void setJMSDeliveryTime(long deliveryTime) {
+        this.deliveryTime = deliveryTime;
+    }
+
+    @Override
+    public int getJMSPriority() {
+        return priority;
+    }
+
+    @Override
+    public void setJMSPriority(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public void clearProperties() {
+        properties.clear();
+    }
+
+    @Override
+    public boolean propertyExists(String name) {
+        return properties.containsKey(name);
+    }
+
+    @Override
+    public boolean getBooleanProperty(String name) {
+        var value = properties.get(name);
+        return value instanceof Boolean bool ? bool : Boolean.parseBoolean((String) value);
+    }
+
+    @Override
+    public byte getByteProperty(String name) throws JMSException {
+        return number(name).byteValue();
+    }
+
+    @Override
+    public short getShortProperty(String name) throws JMSException {
+        return number(name).shortValue();
+    }
+
+    @Override
+    public int getIntProperty(String name) throws JMSException {
+        return number(name).intValue();
+    }
+
+    @Override
+    public long getLongProperty(String name) throws JMSException {
+        return number(name).longValue();
+    }
+
+    @Override
+    public float getFloatProperty(String name) throws JMSException {
+        return number(name).floatValue();
+    }
+
+    @Override
+    public double getDoubleProperty(String name) throws JMSException {
+        return number(name).doubleValue();
+    }
+
+    @Override
+    public String getStringProperty(String name) {
+        var value = properties.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public Object getObjectProperty(String name) {
+        return properties.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getPropertyNames() {
+        return Collections.enumeration(properties.keySet());
+    }
+
+    @Override
+    public void setBooleanProperty(String name, boolean value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setByteProperty(String name, byte value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setShortProperty(String name, short value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setIntProperty(String name, int value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setLongProperty(String name, long value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setFloatProperty(String name, float value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setDoubleProperty(String name, double value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setStringProperty(String name, String value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setObjectProperty(String name, Object value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void acknowledge() {
+        // Nothing to acknowledge, the message was never persisted
+    }
+
+    @Override
+    public void clearBody() {
+        text = null;
+    }
+
+    @Override
+    public <T> T getBody(Class<T> type) {
+        return type.cast(text);
+    }
+
+    @Override
+    public boolean isBodyAssignableTo(Class type) {
+        return type.isAssignableFrom(String.class);
+    }
+
+    private Number number(String name) throws JMSException {
+        var value = properties.get(name);
+        if (value instanceof Number number) {
+            return number;
+        }
+        if (value instanceof String string) {
+            return new BigDecimal(string);
+        }
+        throw new MessageFormatException("Property " + name + " is not numeric: " + value);
+    }
+}
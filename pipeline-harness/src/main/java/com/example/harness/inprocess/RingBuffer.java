@@ -0,0 +1,116 @@
+package com.example.harness.inprocess;
+
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi-producer, multi-consumer queue after Dmitry Vyukov's design. A full ring
+ * blocks {@link #put} the way a full queue or a lagging consumer group would.
+ */
+public final class RingBuffer<E> {
+
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = 10_000;
+    private static final long MAX_PARK_NANOS = 100_000;
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /** @param capacity slots in the ring, rounded up to the next power of two */
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        var size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** @return false when the ring is full */
+    public boolean offer(E element) {
+        while (true) {
+            var position = tail.get();
+            var slot = (int) (position & mask);
+            var lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (lag < 0) {
+                // The consumer of this slot one lap ago has not taken it yet
+                return false;
+            }
+        }
+    }
+
+    /** @return the oldest element, or null when the ring is empty */
+    @Nullable
+    public E poll() {
+        while (true) {
+            var position = head.get();
+            var slot = (int) (position & mask);
+            var lag = sequences.get(slot) - (position + 1);
+            if (lag == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    var element = elements.get(slot);
+                    elements.set(slot, null);
+                    sequences.set(slot, position + mask + 1);
+                    return element;
+                }
+            } else if (lag < 0) {
+                // The producer of this slot has not published it yet
+                return null;
+            }
+        }
+    }
+
+    public void put(E element) throws InterruptedException {
+        for (int attempt = 0; !offer(element); attempt++) {
+            idle(attempt);
+        }
+    }
+
+    public E take() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            var element = poll();
+            if (element != null) {
+                return element;
+            }
+            idle(attempt);
+        }
+    }
+
+    /** Elements in the ring; only exact while nobody offers or polls. */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    private static void idle(int attempt) throws InterruptedException {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+            return;
+        }
+        // Back off so idle listener threads leave the CPU to the busy ones
+        LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, PARK_NANOS * (attempt - SPINS + 1)));
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.harness.inprocess;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.JmsUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * A {@link JmsTemplate} that puts messages on rings instead of sending them to a broker. It
+ * supports the two calls the services make: {@code convertAndSend} with a post processor, and a
+ * session callback that creates the reply queue.
+ */
+public final class RingJmsTemplate extends JmsTemplate {
+
+    private final Map<String, RingBuffer<InMemoryTextMessage>> queues;
+
+    /** @param queues rings by queue name */
+    public RingJmsTemplate(Map<String, RingBuffer<InMemoryTextMessage>> queues) {
+        this.queues = Map.copyOf(queues);
+    }
+
+    @Override
+    public void convertAndSend(String destinationName, Object message, MessagePostProcessor postProcessor) {
+        var queue = queues.get(destinationName);
+        if (queue == null) {
+            throw new IllegalArgumentException("No ring for queue " + destinationName);
+        }
+        try {
+            var jmsMessage = new InMemoryTextMessage((String) message);
+            jmsMessage.setJMSDestination(new InMemoryQueue(destinationName));
+            jmsMessage.setJMSTimestamp(System.currentTimeMillis());
+            queue.put((InMemoryTextMessage) postProcessor.postProcessMessage(jmsMessage));
+        } catch (JMSException e) {
+            throw JmsUtils.convertJmsAccessException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncategorizedJmsException("Interrupted while the ring of " + destinationName + " was full", e);
+        }
+    }
+
+    /** Runs the callback on a session that can only create queues, which is all the services ask of it. */
+    @Override
+    public <T> T execute(SessionCallback<T> action, boolean startConnection) {
+        var session = (Session) Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
+                new Class<?>[] {Session.class}, (proxy, method, args) -> {
+                    if ("createQueue".equals(method.getName())) {
+                        return new InMemoryQueue((String) args[0]);
+                    }
+                    throw new UnsupportedOperationException("In-process session does not support " + method.getName());
+                });
+        try {
+            return action.doInJms(session);
+        } catch (JMSException e) {
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    /** A queue known by its name only, which is how ibm-mq-consumer hands it on with {@code app.mq.provider=jms}. */
+    public record InMemoryQueue(String queueName) implements Queue {
+
+        @Override
+        public String getQueueName() {
+            return queueName;
+        }
+
+        @Override
+        public String toString() {
+            return queueName;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.harness.inprocess;
+
+import com.example.avro.MqMessage;
+import com.example.avro.serialization.AvroDeserializer;
+import com.example.avro.serialization.AvroSerializer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kafka producer that puts Avro-serialized records on rings instead of sending them to a broker,
+ * so every Kafka hop still pays for Avro.
+ */
+public final class RingProducer extends MockProducer<String, MqMessage> {
+
+    private final AvroSerializer<MqMessage> serializer = new AvroSerializer<>();
+    private final Map<String, RingBuffer<SerializedRecord>> topics;
+    private final AtomicLong offset = new AtomicLong();
+
+    public RingProducer(Map<String, RingBuffer<SerializedRecord>> topics) {
+        super(true, null, new StringSerializer(), new AvroSerializer<>());
+        this.topics = Map.copyOf(topics);
+    }
+
+    public KafkaTemplate<String, MqMessage> template() {
+        var template = new KafkaTemplate<String, MqMessage>(() -> this);
+        // Outside a Spring context there is no registry to publish template timers to
+        template.setMicrometerEnabled(false);
+        return template;
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<String, MqMessage> producerRecord, Callback callback) {
+        var topic = producerRecord.topic();
+        var ring = topics.get(topic);
+        if (ring == null) {
+            throw new IllegalArgumentException("No ring for topic " + topic);
+        }
+        var value = serializer.serialize(topic, producerRecord.value());
+        var recordOffset = offset.getAndIncrement();
+        try {
+            ring.put(new SerializedRecord(topic, recordOffset, producerRecord.key(), value,
+                    new RecordHeaders(producerRecord.headers().toArray())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var failed = new CompletableFuture<RecordMetadata>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        var metadata = new RecordMetadata(new TopicPartition(topic, 0), recordOffset, 0,
+                System.currentTimeMillis(), -1, value.length);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        return CompletableFuture.completedFuture(metadata);
+    }
+
+    /** The template closes its producer after every send; this one stays open for the whole run. */
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        // Nothing to release
+    }
+
+    public record SerializedRecord(String topic, long offset, String key, byte[] value, Headers headers) {
+
+        public ConsumerRecord<String, MqMessage> toConsumerRecord(AvroDeserializer deserializer) {
+            return new ConsumerRecord<>(topic, 0, offset, System.currentTimeMillis(), TimestampType.CREATE_TIME,
+                    -1, value.length, key, deserializer.deserialize(topic, value), headers, Optional.empty());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.harness;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HarnessOptionsTest {
+
+    @Test
+    void shouldDefaultEverythingButTheConsumerClasspaths() {
+        var options = HarnessOptions.from(classpaths());
+
+        assertThat(options.count()).isEqualTo(10_000);
+        assertThat(options.warmup()).isEqualTo(1000);
+        assertThat(options.payloadBytes()).isEqualTo(256);
+        assertThat(options.scenario()).isNull();
+        assertThat(options.timeoutSeconds()).isEqualTo(120);
+        assertThat(options.output()).isEqualTo(Path.of("build/harness/perf-test-result.json"));
+        assertThat(options.artemisPort()).isEqualTo(61616);
+        assertThat(options.ibmMqConsumerPort()).isEqualTo(8081);
+        assertThat(options.kafkaConsumerPort()).isEqualTo(8082);
+        assertThat(options.ibmMqConsumerClasspath()).isEqualTo("ibm.jar");
+        assertThat(options.kafkaConsumerClasspath()).isEqualTo("kafka.jar");
+        assertThat(options.configRepo()).isEqualTo(Path.of("infrastructure/config-repo"));
+        assertThat(options.logDir()).isEqualTo(Path.of("build/harness").toAbsolutePath());
+    }
+
+    @Test
+    void shouldReadHarnessProperties() {
+        var properties = classpaths();
+        properties.setProperty("harness.count", " 50000 ");
+        properties.setProperty("harness.warmup", "0");
+        properties.setProperty("harness.payload-bytes", "4096");
+        properties.setProperty("harness.scenario", "scenario.json");
+        properties.setProperty("harness.timeout-seconds", "30");
+        properties.setProperty("harness.output", "/tmp/run/result.json");
+        properties.setProperty("harness.artemis-port", "61617");
+        properties.setProperty("harness.ibm-mq-consumer-port", "9081");
+        properties.setProperty("harness.kafka-consumer-port", "9082");
+        properties.setProperty("harness.config-repo", "/repo/config");
+
+        var options = HarnessOptions.from(properties);
+
+        assertThat(options.count()).isEqualTo(50_000);
+        assertThat(options.warmup()).isZero();
+        assertThat(options.payloadBytes()).isEqualTo(4096);
+        assertThat(options.scenario()).isEqualTo(Path.of("scenario.json"));
+        assertThat(options.timeoutSeconds()).isEqualTo(30);
+        assertThat(options.output()).isEqualTo(Path.of("/tmp/run/result.json"));
+        assertThat(options.artemisPort()).isEqualTo(61617);
+        assertThat(options.ibmMqConsumerPort()).isEqualTo(9081);
+        assertThat(options.kafkaConsumerPort()).isEqualTo(9082);
+        assertThat(options.configRepo()).isEqualTo(Path.of("/repo/config"));
+        assertThat(options.logDir()).isEqualTo(Path.of("/tmp/run"));
+    }
+
+    @Test
+    void blankScenarioShouldMeanPlainMessages() {
+        var properties = classpaths();
+        properties.setProperty("harness.scenario", " ");
+
+        assertThat(HarnessOptions.from(properties).scenario()).isNull();
+    }
+
+    @Test
+    void shouldRequireTheConsumerClasspaths() {
+        var properties = new Properties();
+        properties.setProperty("harness.ibm-mq-consumer-classpath", "ibm.jar");
+
+        assertThatThrownBy(() -> HarnessOptions.from(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("harness.kafka-consumer-classpath");
+    }
+
+    private static Properties classpaths() {
+        var properties = new Properties();
+        properties.setProperty("harness.ibm-mq-consumer-classpath", "ibm.jar");
+        properties.setProperty("harness.kafka-consumer-classpath", "kafka.jar");
+        return properties;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.harness.inprocess;
+
+import com.example.harness.inprocess.RingJmsTemplate.InMemoryQueue;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MessageFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTextMessageTest {
+
+    private final InMemoryTextMessage message = new InMemoryTextMessage("payload");
+
+    @Test
+    void shouldKeepBodyAndHeaders() {
+        var queue = new InMemoryQueue("DEV.QUEUE.1");
+        message.setText("changed");
+        message.setJMSMessageID("ID:1");
+        message.setJMSTimestamp(1000);
+        message.setJMSCorrelationID("corr-1");
+        message.setJMSReplyTo(queue);
+        message.setJMSDestination(queue);
+        message.setJMSDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        message.setJMSRedelivered(true);
+        message.setJMSType("text");
+        message.setJMSExpiration(2000);
+        message.setJMSDeliveryTime(3000);
+        message.setJMSPriority(4);
+
+        assertThat(message.getText()).isEqualTo("changed");
+        assertThat(message.getJMSMessageID()).isEqualTo("ID:1");
+        assertThat(message.getJMSTimestamp()).isEqualTo(1000);
+        assertThat(message.getJMSCorrelationID()).isEqualTo("corr-1");
+        assertThat(message.getJMSReplyTo()).isEqualTo(queue);
+        assertThat(message.getJMSDestination()).isEqualTo(queue);
+        assertThat(message.getJMSDeliveryMode()).isEqualTo(DeliveryMode.NON_PERSISTENT);
+        assertThat(message.getJMSRedelivered()).isTrue();
+        assertThat(message.getJMSType()).isEqualTo("text");
+        assertThat(message.getJMSExpiration()).isEqualTo(2000);
+        assertThat(message.getJMSDeliveryTime()).isEqualTo(3000);
+        assertThat(message.getJMSPriority()).isEqualTo(4);
+    }
+
+    @Test
+    void correlationIdBytesShouldBeUtf8() {
+        assertThat(message.getJMSCorrelationIDAsBytes()).isNull();
+
+        message.setJMSCorrelationIDAsBytes("corr-é".getBytes(StandardCharsets.UTF_8));
+        assertThat(message.getJMSCorrelationID()).isEqualTo("corr-é");
+        assertThat(message.getJMSCorrelationIDAsBytes()).isEqualTo("corr-é".getBytes(StandardCharsets.UTF_8));
+
+        message.setJMSCorrelationIDAsBytes(null);
+        assertThat(message.getJMSCorrelationID()).isNull();
+    }
+
+    @Test
+    void shouldKeepTypedProperties() throws Exception {
+        message.setBooleanProperty("boolean", true);
+        message.setByteProperty("byte", (byte) 1);
+        message.setShortProperty("short", (short) 2);
+        message.setIntProperty("int", 3);
+        message.setLongProperty("long", 4L);
+        message.setFloatProperty("float", 5.5f);
+        message.setDoubleProperty("double", 6.5);
+        message.setStringProperty("string", "7");
+        message.setObjectProperty("object", 8);
+
+        assertThat(message.getBooleanProperty("boolean")).isTrue();
+        assertThat(message.getByteProperty("byte")).isEqualTo((byte) 1);
+        assertThat(message.getShortProperty("short")).isEqualTo((short) 2);
+        assertThat(message.getIntProperty("int")).isEqualTo(3);
+        assertThat(message.getLongProperty("long")).isEqualTo(4L);
+        assertThat(message.getFloatProperty("float")).isEqualTo(5.5f);
+        assertThat(message.getDoubleProperty("double")).isEqualTo(6.5);
+        assertThat(message.getStringProperty("string")).isEqualTo("7");
+        assertThat(message.getObjectProperty("object")).isEqualTo(8);
+        assertThat(Collections.list(message.getPropertyNames())).hasSize(9);
+        assertThat(message.propertyExists("int")).isTrue();
+    }
+
+    @Test
+    void stringPropertiesShouldConvertLikeJms() throws Exception {
+        message.setStringProperty("flag", "true");
+        message.setStringProperty("number", "42");
+
+        assertThat(message.getBooleanProperty("flag")).isTrue();
+        assertThat(message.getIntProperty("number")).isEqualTo(42);
+        assertThat(message.getLongProperty("number")).isEqualTo(42L);
+        assertThat(message.getStringProperty("missing")).isNull();
+    }
+
+    @Test
+    void nonNumericPropertiesShouldBeRejected() {
+        message.setBooleanProperty("flag", true);
+
+        assertThatThrownBy(() -> message.getIntProperty("flag")).isInstanceOf(MessageFormatException.class);
+    }
+
+    @Test
+    void clearShouldDropPropertiesAndBody() {
+        message.setIntProperty("int", 1);
+
+        message.clearProperties();
+        message.clearBody();
+        message.acknowledge();
+
+        assertThat(message.propertyExists("int")).isFalse();
+        assertThat(message.getText()).isNull();
+    }
+
+    @Test
+    void bodyShouldBeAString() {
+        assertThat(message.getBody(String.class)).isEqualTo("payload");
+        assertThat(message.isBodyAssignableTo(CharSequence.class)).isTrue();
+        assertThat(message.isBodyAssignableTo(Integer.class)).isFalse();
+    }
+}
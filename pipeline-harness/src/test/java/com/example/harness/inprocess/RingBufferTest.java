@@ -0,0 +1,147 @@
+package com.example.harness.inprocess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new RingBuffer<String>(1).capacity()).isEqualTo(1);
+        assertThat(new RingBuffer<String>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<String>(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThatThrownBy(() -> new RingBuffer<String>(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("capacity must be positive");
+    }
+
+    @Test
+    void shouldPollInOfferOrder() {
+        var ring = new RingBuffer<String>(4);
+
+        assertThat(ring.offer("a")).isTrue();
+        assertThat(ring.offer("b")).isTrue();
+        assertThat(ring.size()).isEqualTo(2);
+
+        assertThat(ring.poll()).isEqualTo("a");
+        assertThat(ring.poll()).isEqualTo("b");
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void shouldReturnNullWhenEmpty() {
+        var ring = new RingBuffer<String>(2);
+
+        assertThat(ring.poll()).isNull();
+    }
+
+    @Test
+    void shouldRefuseOfferWhenFull() {
+        var ring = new RingBuffer<String>(2);
+        ring.offer("a");
+        ring.offer("b");
+
+        assertThat(ring.offer("c")).isFalse();
+        assertThat(ring.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReuseSlotsAfterWrappingAround() {
+        var ring = new RingBuffer<Integer>(2);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(ring.offer(i)).isTrue();
+            assertThat(ring.poll()).isEqualTo(i);
+        }
+        assertThat(ring.poll()).isNull();
+    }
+
+    @Test
+    void takeShouldWaitForPut() throws Exception {
+        var ring = new RingBuffer<String>(1);
+        ring.put("a");
+        var putter = Thread.ofVirtual().start(() -> {
+            try {
+                ring.put("b");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(ring.take()).isEqualTo("a");
+        assertThat(ring.take()).isEqualTo("b");
+        putter.join();
+    }
+
+    @Test
+    void takeShouldThrowWhenInterrupted() throws Exception {
+        var ring = new RingBuffer<String>(1);
+        var interrupted = new CountDownLatch(1);
+        var taker = Thread.ofPlatform().start(() -> {
+            try {
+                ring.take();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        taker.interrupt();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldHandEveryElementToExactlyOneConsumer() throws Exception {
+        var ring = new RingBuffer<Integer>(64);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 10_000;
+        var taken = ConcurrentHashMap.<Integer>newKeySet();
+        var done = new CountDownLatch(producers * perProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        ring.put(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    while (true) {
+                        if (!taken.add(ring.take())) {
+                            throw new IllegalStateException("Taken twice");
+                        }
+                        done.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        threads.forEach(Thread::interrupt);
+
+        assertThat(taken).hasSize(producers * perProducer);
+        assertThat(ring.poll()).isNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.harness.inprocess;
+
+import com.example.harness.inprocess.RingJmsTemplate.InMemoryQueue;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.UncategorizedJmsException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingJmsTemplateTest {
+
+    private final RingBuffer<InMemoryTextMessage> queue = new RingBuffer<>(1);
+    private final RingJmsTemplate template = new RingJmsTemplate(Map.of("DEV.QUEUE.2", queue));
+
+    @Test
+    void convertAndSendShouldPutThePostProcessedMessageOnTheRing() {
+        template.convertAndSend("DEV.QUEUE.2", "payload", message -> {
+            message.setJMSCorrelationID("corr-1");
+            return message;
+        });
+
+        var message = queue.poll();
+        assertThat(message.getText()).isEqualTo("payload");
+        assertThat(message.getJMSCorrelationID()).isEqualTo("corr-1");
+        assertThat(message.getJMSDestination()).isEqualTo(new InMemoryQueue("DEV.QUEUE.2"));
+        assertThat(message.getJMSTimestamp()).isPositive();
+    }
+
+    @Test
+    void convertAndSendShouldRejectUnknownQueues() {
+        assertThatThrownBy(() -> template.convertAndSend("DEV.QUEUE.9", "payload", message -> message))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DEV.QUEUE.9");
+    }
+
+    @Test
+    void convertAndSendShouldConvertJmsExceptions() {
+        assertThatThrownBy(() -> template.convertAndSend("DEV.QUEUE.2", "payload", message -> {
+            throw new JMSException("broken");
+        })).isInstanceOf(JmsException.class);
+    }
+
+    @Test
+    void convertAndSendShouldGiveUpWhenInterruptedOnAFullRing() {
+        template.convertAndSend("DEV.QUEUE.2", "first", message -> message);
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> template.convertAndSend("DEV.QUEUE.2", "second", message -> message))
+                    .isInstanceOf(UncategorizedJmsException.class)
+                    .hasMessageContaining("DEV.QUEUE.2");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void executeShouldOfferASessionThatCreatesQueues() {
+        var replyQueue = template.execute(session -> session.createQueue("DEV.QUEUE.1"), false);
+
+        assertThat(replyQueue.getQueueName()).isEqualTo("DEV.QUEUE.1");
+        assertThat(replyQueue).hasToString("DEV.QUEUE.1");
+    }
+
+    @Test
+    void executeShouldRejectOtherSessionCalls() {
+        assertThatThrownBy(() -> template.execute(Session::createTemporaryQueue, false))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("createTemporaryQueue");
+    }
+
+    @Test
+    void executeShouldConvertJmsExceptions() {
+        assertThatThrownBy(() -> template.execute(session -> {
+            throw new JMSException("broken");
+        }, false)).isInstanceOf(JmsException.class);
+    }
+}
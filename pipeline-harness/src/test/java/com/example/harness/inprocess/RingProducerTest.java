@@ -0,0 +1,88 @@
+package com.example.harness.inprocess;
+
+import com.example.avro.MqMessage;
+import com.example.avro.serialization.AvroDeserializer;
+import com.example.harness.inprocess.RingProducer.SerializedRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingProducerTest {
+
+    private static final String TOPIC = "mq-requests";
+
+    private final RingBuffer<SerializedRecord> ring = new RingBuffer<>(1);
+    private final RingProducer producer = new RingProducer(Map.of(TOPIC, ring));
+
+    @Test
+    void sendShouldPutTheAvroBytesOnTheRingAndCompleteTheCallback() throws Exception {
+        var record = new ProducerRecord<>(TOPIC, "key", message("hello"));
+        record.headers().add("correlationId", "corr-1".getBytes(StandardCharsets.UTF_8));
+        var completed = new AtomicReference<RecordMetadata>();
+
+        var metadata = producer.send(record, (result, exception) -> completed.set(result)).get();
+
+        assertThat(completed.get()).isSameAs(metadata);
+        assertThat(metadata.topic()).isEqualTo(TOPIC);
+        assertThat(metadata.offset()).isZero();
+        var consumerRecord = ring.poll().toConsumerRecord(new AvroDeserializer());
+        assertThat(consumerRecord.key()).isEqualTo("key");
+        assertThat(consumerRecord.value().getContent()).hasToString("hello");
+        assertThat(consumerRecord.headers().lastHeader("correlationId").value())
+                .isEqualTo("corr-1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void templateShouldSendThroughTheRingAndKeepTheProducerOpen() throws Exception {
+        var template = producer.template();
+
+        template.send(TOPIC, "key", message("first")).get();
+        ring.poll();
+        template.send(TOPIC, "key", message("second")).get();
+
+        assertThat(ring.poll().offset()).isEqualTo(1);
+        producer.close();
+        producer.close(Duration.ofSeconds(1));
+        assertThat(producer.closed()).isFalse();
+    }
+
+    @Test
+    void sendShouldRejectUnknownTopics() {
+        assertThatThrownBy(() -> producer.send(new ProducerRecord<>("other", "key", message("hello"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("other");
+    }
+
+    @Test
+    void sendShouldFailTheFutureWhenInterruptedOnAFullRing() {
+        producer.send(new ProducerRecord<>(TOPIC, "key", message("first")));
+        Thread.currentThread().interrupt();
+        try {
+            var future = producer.send(new ProducerRecord<>(TOPIC, "key", message("second")));
+
+            assertThatThrownBy(future::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(InterruptedException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private static MqMessage message(String content) {
+        return MqMessage.newBuilder()
+                .setContent(content)
+                .setTimestamp(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .build();
+    }
+}